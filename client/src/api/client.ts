@@ -1,7 +1,7 @@
 import axios from 'axios'
 import type {
   Form,
-  FormListItem,
+  FormListPage,
   CreateFormRequest,
   UpdateFormRequest,
   FormElement,
@@ -10,9 +10,18 @@ import type {
   ReorderElementsRequest,
   Submission,
   SubmissionPage,
+  SubmissionSummaryPage,
+  TotalCount,
   SubmitFormRequest,
   UpdateSubmissionRequest,
+  JsonPatchOperation,
+  ExportSubmissionsParams,
+  ExportJob,
+  FormStatistics,
+  FormSketches,
+  SketchParams,
   FormExportData,
+  ApiError,
 } from './types'
 
 const api = axios.create({
@@ -93,8 +102,10 @@ export const authApi = {
 
 // Forms API
 export const formsApi = {
-  list: async (): Promise<FormListItem[]> => {
-    const { data } = await api.get<FormListItem[]>('/forms')
+  list: async (cursor?: string, size = 50): Promise<FormListPage> => {
+    const { data } = await api.get<FormListPage>('/forms', {
+      params: { cursor, size },
+    })
     return data
   },
 
@@ -212,6 +223,27 @@ export const publicApi = {
     const { data: result } = await api.put<Submission>(`/public/forms/${id}/draft`, { data })
     return result
   },
+
+  // Rejected with 412 when the draft is no longer at `version`
+  patchDraft: async (id: string, patch: JsonPatchOperation[], version: number): Promise<Submission> => {
+    const { data } = await api.patch<Submission>(`/public/forms/${id}/draft`, patch, {
+      headers: { 'Content-Type': 'application/json-patch+json', 'If-Match': `"${version}"` },
+    })
+    return data
+  },
+
+  // Resolves to null when the page is valid, otherwise to the error: its fieldErrors are keyed by
+  // JSON pointer, and a rejection that isn't about fields (an unpublished form) has only a message
+  validatePage: async (
+    id: string,
+    pageId: string,
+    data: Record<string, unknown>
+  ): Promise<ApiError | null> => {
+    const response = await api.post<ApiError>(`/public/forms/${id}/pages/${pageId}/validate`, { data }, {
+      validateStatus: (status) => status === 204 || status === 400,
+    })
+    return response.status === 204 ? null : response.data
+  },
 }
 
 // Submissions API
@@ -223,6 +255,21 @@ export const submissionsApi = {
     return data
   },
 
+  listSummaries: async (formId: string, page = 0, size = 20): Promise<SubmissionSummaryPage> => {
+    const { data } = await api.get<SubmissionSummaryPage>(`/forms/${formId}/submissions`, {
+      params: { page, size, view: 'SUMMARY' },
+    })
+    return data
+  },
+
+  // Pass '' for the first page, then each page's nextCursor
+  listAfter: async (formId: string, cursor = '', size = 20, count: TotalCount = 'NONE'): Promise<SubmissionPage> => {
+    const { data } = await api.get<SubmissionPage>(`/forms/${formId}/submissions`, {
+      params: { cursor, size, count },
+    })
+    return data
+  },
+
   get: async (formId: string, submissionId: string): Promise<Submission> => {
     const { data } = await api.get<Submission>(`/forms/${formId}/submissions/${submissionId}`)
     return data
@@ -233,8 +280,72 @@ export const submissionsApi = {
     return data
   },
 
-  export: async (formId: string): Promise<string> => {
-    const { data } = await api.get<string>(`/forms/${formId}/submissions/export`)
+  // Rejected with 412 when the submission is no longer at `version`
+  patch: async (formId: string, submissionId: string, patch: JsonPatchOperation[], version: number): Promise<Submission> => {
+    const { data } = await api.patch<Submission>(`/forms/${formId}/submissions/${submissionId}`, patch, {
+      headers: { 'Content-Type': 'application/json-patch+json', 'If-Match': `"${version}"` },
+    })
+    return data
+  },
+
+  export: async (formId: string, params: ExportSubmissionsParams = {}): Promise<string> => {
+    const { data } = await api.get<string>(`/forms/${formId}/submissions/export`, {
+      params: { ...params, format: 'csv', columns: params.columns?.join(',') },
+    })
+    return data
+  },
+
+  // NDJSON, one submission per line; pass the last line's cursor as `since` to continue
+  changes: async (formId: string, since?: string): Promise<string> => {
+    const { data } = await api.get<string>(`/forms/${formId}/submissions/changes`, {
+      params: { since },
+      responseType: 'text',
+    })
+    return data
+  },
+
+  exportParquet: async (formId: string, params: ExportSubmissionsParams = {}): Promise<Blob> => {
+    const { data } = await api.get<Blob>(`/forms/${formId}/submissions/export`, {
+      params: { ...params, format: 'parquet', columns: params.columns?.join(',') },
+      responseType: 'blob',
+    })
+    return data
+  },
+
+  // Background CSV export; poll getExportJob until SUCCEEDED, then download its file
+  createExportJob: async (formId: string, params: Omit<ExportSubmissionsParams, 'format'> = {}): Promise<ExportJob> => {
+    const { data } = await api.post<ExportJob>(`/forms/${formId}/submissions/export-jobs`, params)
+    return data
+  },
+
+  getExportJob: async (formId: string, jobId: string): Promise<ExportJob> => {
+    const { data } = await api.get<ExportJob>(`/forms/${formId}/submissions/export-jobs/${jobId}`)
+    return data
+  },
+
+  downloadExportJob: async (formId: string, jobId: string): Promise<Blob> => {
+    const { data } = await api.get<Blob>(`/forms/${formId}/submissions/export-jobs/${jobId}/file`, {
+      responseType: 'blob',
+    })
+    return data
+  },
+}
+
+export const statisticsApi = {
+  get: async (formId: string): Promise<FormStatistics> => {
+    const { data } = await api.get<FormStatistics>(`/forms/${formId}/statistics`)
+    return data
+  },
+
+  sketches: async (formId: string, params: SketchParams = {}): Promise<FormSketches> => {
+    const { data } = await api.get<FormSketches>(`/forms/${formId}/statistics/sketches`, {
+      params: { ...params, quantiles: params.quantiles?.join(',') },
+    })
+    return data
+  },
+
+  rebuild: async (formId: string): Promise<FormStatistics> => {
+    const { data } = await api.post<FormStatistics>(`/forms/${formId}/statistics/rebuild`)
     return data
   },
 }
@@ -37,6 +37,8 @@ export interface ElementConfiguration {
   fullPage?: boolean
   instanceLabel?: string
   allowOther?: boolean
+  // Shown in the summary view of the submission list; ignored inside repeatable groups
+  summary?: boolean
 }
 
 export interface FormElement {
@@ -81,6 +83,12 @@ export interface FormListItem {
   createdAt: string
   updatedAt: string
   elementCount: number
+  submissionCount: number
+}
+
+export interface FormListPage {
+  items: FormListItem[]
+  nextCursor?: string | null
 }
 
 export interface CreateFormRequest {
@@ -127,14 +135,48 @@ export interface Submission {
   updatedAt?: string
   status?: SubmissionStatus
   ipAddress?: string
+  // Send as If-Match to patch the data; absent in the summary view
+  version?: number
 }
 
+// One RFC 6902 operation; paths are JSON pointers into the submission data
+export type JsonPatchOperation =
+  | { op: 'add' | 'replace' | 'test'; path: string; value: unknown }
+  | { op: 'remove'; path: string }
+  | { op: 'move' | 'copy'; from: string; path: string }
+
 export interface SubmissionPage {
   submissions: Submission[]
-  page: number
+  // Absent for cursor pages
+  page?: number
   size: number
-  totalElements: number
-  totalPages: number
+  // Absent when not counted; the planner's estimate when totalEstimated
+  totalElements?: number
+  totalPages?: number
+  totalEstimated: boolean
+  // Pass as cursor for the next page; absent on the last page
+  nextCursor?: string
+}
+
+export type TotalCount = 'EXACT' | 'ESTIMATE' | 'NONE'
+
+// A submission in the summary view of the list: its summary fields instead of its data
+export interface SubmissionSummary extends Omit<Submission, 'data'> {
+  // Display text of the summary fields by path
+  summary: Record<string, string>
+  // Set when the submitter was signed in
+  submitterName?: string
+  submitterEmail?: string
+}
+
+export interface SummaryField {
+  path: string
+  label: string
+}
+
+export interface SubmissionSummaryPage extends Omit<SubmissionPage, 'submissions'> {
+  submissions: SubmissionSummary[]
+  summaryFields: SummaryField[]
 }
 
 export interface SubmitFormRequest {
@@ -147,6 +189,109 @@ export interface UpdateSubmissionRequest {
   status?: SubmissionStatus
 }
 
+export interface ExportSubmissionsParams {
+  status?: SubmissionStatus
+  // Inclusive submission dates, YYYY-MM-DD
+  from?: string
+  to?: string
+  // Field paths (e.g. mutations.allele_designation) or repeatable group paths to export, in order
+  columns?: string[]
+  // Parquet nests repeatable groups as lists of structs and ignores layout
+  format?: 'csv' | 'parquet'
+  // WIDE: one row per submission; LONG: one row per instance of `group`
+  layout?: 'WIDE' | 'LONG'
+  group?: string
+}
+
+export type ExportJobStatus = 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED'
+
+export interface ExportJob {
+  id: string
+  formId: string
+  status: ExportJobStatus
+  // Known once the job has started
+  totalRows?: number
+  processedRows: number
+  fileSize?: number
+  error?: string
+  createdAt: string
+  startedAt?: string
+  finishedAt?: string
+}
+
+export interface OptionCount {
+  value: string
+  // Submissions choosing the option
+  count: number
+}
+
+export interface HistogramBin {
+  lower: number
+  upper: number
+  count: number
+}
+
+export interface NumericSummary {
+  count: number
+  min?: number
+  max?: number
+  mean?: number
+  histogram: HistogramBin[]
+}
+
+export interface FieldStatistics {
+  path: string
+  label: string
+  type: ElementType
+  answered: number
+  missing: number
+  // Choice fields only, most chosen first
+  options?: OptionCount[]
+  // Number fields only
+  numeric?: NumericSummary
+}
+
+export interface FormStatistics {
+  formId: string
+  status?: 'BUILDING' | 'READY'
+  submissions: number
+  rebuiltAt?: string
+  appliedAt?: string
+  fields: FieldStatistics[]
+}
+
+export interface SketchQuantile {
+  q: number
+  value?: number
+}
+
+export interface FieldSketch {
+  path: string
+  label: string
+  type: ElementType
+  // Estimated distinct values entered
+  distinct: number
+  // Number fields only
+  values?: number
+  quantiles?: SketchQuantile[]
+}
+
+export interface FormSketches {
+  formId: string
+  from?: string
+  to?: string
+  distinctSubmitters: number
+  fields: FieldSketch[]
+}
+
+export interface SketchParams {
+  // Inclusive submission dates, YYYY-MM-DD
+  from?: string
+  to?: string
+  // Between 0 and 1; defaults to 0.5 and 0.95
+  quantiles?: number[]
+}
+
 export interface ApiError {
   status: number
   error: string
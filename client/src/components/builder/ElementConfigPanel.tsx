@@ -37,6 +37,7 @@ export default function ElementConfigPanel() {
   const [maxInstances, setMaxInstances] = useState(5)
   const [instanceLabel, setInstanceLabel] = useState('')
   const [allowOther, setAllowOther] = useState(false)
+  const [summary, setSummary] = useState(false)
 
   useEffect(() => {
     if (selectedElement) {
@@ -52,6 +53,7 @@ export default function ElementConfigPanel() {
       setMaxInstances(selectedElement.configuration?.maxInstances || 5)
       setInstanceLabel(selectedElement.configuration?.instanceLabel || '')
       setAllowOther(selectedElement.configuration?.allowOther || false)
+      setSummary(selectedElement.configuration?.summary || false)
     }
   }, [selectedElement])
 
@@ -103,6 +105,13 @@ export default function ElementConfigPanel() {
     })
   }
 
+  const handleSummaryChange = (checked: boolean) => {
+    setSummary(checked)
+    handleUpdate({
+      configuration: { ...selectedElement.configuration, summary: checked || undefined },
+    })
+  }
+
   const handleRepeatableChange = (checked: boolean) => {
     setRepeatable(checked)
     handleUpdate({
@@ -242,6 +251,19 @@ export default function ElementConfigPanel() {
           </div>
         )}
 
+        {!isGroup && !isStaticText && !isPageBreak && (
+          <div className="flex items-center gap-2">
+            <Checkbox
+              id="summary"
+              checked={summary}
+              onCheckedChange={(checked) => handleSummaryChange(checked as boolean)}
+            />
+            <Label htmlFor="summary" className="cursor-pointer">
+              Show in submission list
+            </Label>
+          </div>
+        )}
+
         {!isStaticText && !isPageBreak && (isGroup || selectedElement.type !== 'CHECKBOX') && (
           <div className="space-y-4 border-t pt-4">
             {isGroup && <h3 className="font-medium text-sm text-gray-600">Group Settings</h3>}
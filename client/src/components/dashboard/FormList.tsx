@@ -1,6 +1,6 @@
 import { useRef } from 'react'
 import { Link, useNavigate } from 'react-router-dom'
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query'
+import { useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query'
 import { Pencil, Eye, Trash2, BarChart2, ExternalLink, Upload, FileEdit } from 'lucide-react'
 import { formsApi } from '@/api/client'
 import type { FormExportData } from '@/api/types'
@@ -23,10 +23,13 @@ export default function FormList() {
   const { isAdmin } = useAuthStore()
   const fileInputRef = useRef<HTMLInputElement>(null)
 
-  const { data: forms, isLoading } = useQuery({
+  const { data, isLoading, hasNextPage, fetchNextPage, isFetchingNextPage } = useInfiniteQuery({
     queryKey: ['forms'],
-    queryFn: formsApi.list,
+    queryFn: ({ pageParam }) => formsApi.list(pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
   })
+  const forms = data?.pages.flatMap((page) => page.items)
 
   const deleteMutation = useMutation({
     mutationFn: formsApi.delete,
@@ -122,8 +125,11 @@ export default function FormList() {
             </CardDescription>
           </CardHeader>
           <CardContent>
-            <div className="text-sm text-gray-500 mb-4">
-              {form.elementCount} element{form.elementCount !== 1 ? 's' : ''}
+            <div className="text-sm text-gray-500 mb-4 flex gap-3">
+              <span>{form.elementCount} element{form.elementCount !== 1 ? 's' : ''}</span>
+              {isAdmin() && form.status === 'PUBLISHED' && (
+                <span>{form.submissionCount} submission{form.submissionCount !== 1 ? 's' : ''}</span>
+              )}
             </div>
             <div className="flex flex-wrap gap-2">
               {isAdmin() && (
@@ -183,6 +189,13 @@ export default function FormList() {
         </Card>
       ))}
       </div>
+      {hasNextPage && (
+        <div className="flex justify-center mt-6">
+          <Button variant="outline" onClick={() => fetchNextPage()} disabled={isFetchingNextPage}>
+            {isFetchingNextPage ? 'Loading...' : 'Load more'}
+          </Button>
+        </div>
+      )}
     </div>
   )
 }
@@ -18,7 +18,7 @@ export default function SubmissionList({ formId }: SubmissionListProps) {
 
   const { data: submissionsData, isLoading } = useQuery({
     queryKey: ['submissions', formId],
-    queryFn: () => submissionsApi.list(formId, 0, 50),
+    queryFn: () => submissionsApi.listSummaries(formId, 0, 50),
   })
 
   const handleExport = async () => {
@@ -37,7 +37,7 @@ export default function SubmissionList({ formId }: SubmissionListProps) {
   }
 
   const submissions = submissionsData?.submissions || []
-  const elements = form?.elements || []
+  const summaryFields = submissionsData?.summaryFields || []
 
   if (submissions.length === 0) {
     return (
@@ -72,12 +72,15 @@ export default function SubmissionList({ formId }: SubmissionListProps) {
               <th className="px-4 py-3 text-left text-sm font-medium text-gray-500 border-b">
                 Submitted At
               </th>
-              {elements.map((element) => (
+              <th className="px-4 py-3 text-left text-sm font-medium text-gray-500 border-b">
+                Submitter
+              </th>
+              {summaryFields.map((field) => (
                 <th
-                  key={element.id}
+                  key={field.path}
                   className="px-4 py-3 text-left text-sm font-medium text-gray-500 border-b"
                 >
-                  {element.label}
+                  {field.label}
                 </th>
               ))}
               <th className="px-4 py-3 text-left text-sm font-medium text-gray-500 border-b">
@@ -96,9 +99,16 @@ export default function SubmissionList({ formId }: SubmissionListProps) {
                 <td className="px-4 py-3 text-sm border-b">
                   {new Date(submission.submittedAt).toLocaleString()}
                 </td>
-                {elements.map((element) => (
-                  <td key={element.id} className="px-4 py-3 text-sm border-b">
-                    {formatValue(submission.data[element.fieldName])}
+                <td className="px-4 py-3 text-sm border-b">
+                  {submission.submitterName ? (
+                    <span title={submission.submitterEmail}>{submission.submitterName}</span>
+                  ) : (
+                    '-'
+                  )}
+                </td>
+                {summaryFields.map((field) => (
+                  <td key={field.path} className="px-4 py-3 text-sm border-b">
+                    {submission.summary[field.path] ?? '-'}
                   </td>
                 ))}
                 <td className="px-4 py-3 text-sm border-b">
@@ -125,19 +135,3 @@ export default function SubmissionList({ formId }: SubmissionListProps) {
     </div>
   )
 }
-
-function formatValue(value: unknown): string {
-  if (value === null || value === undefined) {
-    return '-'
-  }
-  if (typeof value === 'boolean') {
-    return value ? 'Yes' : 'No'
-  }
-  if (Array.isArray(value)) {
-    return `${value.length} item${value.length !== 1 ? 's' : ''}`
-  }
-  if (typeof value === 'object') {
-    return JSON.stringify(value)
-  }
-  return String(value)
-}
@@ -3,7 +3,7 @@ import { useForm, useFieldArray, Control } from 'react-hook-form'
 import { zodResolver } from '@hookform/resolvers/zod'
 import { z } from 'zod'
 import { ChevronLeft, ChevronRight, Plus, Trash2, ArrowLeft, Check, Pencil, ChevronRightIcon } from 'lucide-react'
-import type { FormElement, FormPage } from '@/api/types'
+import type { ApiError, FormElement, FormPage } from '@/api/types'
 import { Button } from '@/components/ui/button'
 import { Input } from '@/components/ui/input'
 import { Textarea } from '@/components/ui/textarea'
@@ -26,6 +26,16 @@ interface MultiPageFormRendererProps {
   readOnly?: boolean
   defaultValues?: Record<string, unknown>
   onValuesChange?: (data: Record<string, unknown>) => void
+  onValidatePage?: (pageId: string, data: Record<string, unknown>) => Promise<ApiError | null>
+}
+
+// Server field errors are keyed by JSON pointer ("/mutations/0/gene"); the form uses dotted paths
+function pointerToFieldPath(pointer: string): string {
+  return pointer
+    .slice(1)
+    .split('/')
+    .map((token) => token.replace(/~1/g, '/').replace(/~0/g, '~'))
+    .join('.')
 }
 
 function buildFieldSchema(element: FormElement): z.ZodTypeAny {
@@ -977,13 +987,15 @@ export default function MultiPageFormRenderer({
   readOnly,
   defaultValues,
   onValuesChange,
+  onValidatePage,
 }: MultiPageFormRendererProps) {
   const [currentPage, setCurrentPage] = useState(0)
   const [navigationStack, setNavigationStack] = useState<NavigationEntry[]>([])
+  const [pageError, setPageError] = useState<string | null>(null)
   const schema = buildFullSchema(pages)
 
   const {
-    register, handleSubmit, setValue, watch, control, trigger,
+    register, handleSubmit, setValue, watch, control, trigger, getValues, setError,
     formState: { errors },
   } = useForm({
     resolver: zodResolver(schema),
@@ -1004,15 +1016,31 @@ export default function MultiPageFormRenderer({
   const isLastPage = currentPage === pages.length - 1
 
   const handleNext = async () => {
+    setPageError(null)
     const pageSchema = buildPageSchema(page)
     const fieldNames = Object.keys(pageSchema.shape)
     const isValid = await trigger(fieldNames)
-    if (isValid) {
-      setCurrentPage((prev) => Math.min(prev + 1, pages.length - 1))
+    if (!isValid) return
+
+    if (onValidatePage) {
+      // The server check is advisory here; final submit validates everything again
+      const serverErrors = await onValidatePage(page.id, getValues()).catch(() => null)
+      if (serverErrors) {
+        const fieldErrors = Object.entries(serverErrors.fieldErrors ?? {})
+        fieldErrors.forEach(([pointer, message]) => {
+          setError(pointerToFieldPath(pointer), { type: 'server', message })
+        })
+        if (fieldErrors.length === 0) {
+          setPageError(serverErrors.message || 'This page could not be checked')
+        }
+        return
+      }
     }
+    setCurrentPage((prev) => Math.min(prev + 1, pages.length - 1))
   }
 
   const handlePrevious = () => {
+    setPageError(null)
     setCurrentPage((prev) => Math.max(prev - 1, 0))
   }
 
@@ -1111,6 +1139,8 @@ export default function MultiPageFormRenderer({
           (element, instanceIndex) => pushNavigation(element, instanceIndex),
         )}
 
+        {pageError && <p className="text-sm text-red-500">{pageError}</p>}
+
         {/* Navigation */}
         {!readOnly && (
           <div className="flex justify-between pt-4">
@@ -133,6 +133,7 @@ export default function PublicFormPage() {
                 isSubmitting={submitMutation.isPending}
                 defaultValues={defaultValues}
                 onValuesChange={isAuthenticated() ? handleValuesChange : undefined}
+                onValidatePage={(pageId, data) => publicApi.validatePage(formId!, pageId, data)}
               />
             ) : (
               <FormRenderer
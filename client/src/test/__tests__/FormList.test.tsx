@@ -47,6 +47,13 @@ describe('FormList', () => {
     expect(screen.getByText('5 elements')).toBeInTheDocument()
   })
 
+  it('shows submission counts for published forms', async () => {
+    renderWithProviders(<FormList />)
+    await screen.findByText('Contact Form')
+    expect(screen.getByText('2 submissions')).toBeInTheDocument()
+    expect(screen.queryByText('Load more')).not.toBeInTheDocument()
+  })
+
   it('shows status badges', async () => {
     renderWithProviders(<FormList />)
     await screen.findByText('Contact Form')
@@ -241,6 +241,26 @@ describe('MultiPageFormRenderer', () => {
       })
     })
 
+    it('stays on the page and shows the message when the server rejects it without field errors', async () => {
+      const user = userEvent.setup()
+      const onValidatePage = vi.fn().mockResolvedValue({
+        status: 400,
+        error: 'Validation Error',
+        message: 'Form is not published',
+        timestamp: '2024-01-01T00:00:00Z',
+      })
+      render(<MultiPageFormRenderer pages={makeTwoPageForm()} onSubmit={vi.fn()} onValidatePage={onValidatePage} />)
+
+      await user.type(screen.getByPlaceholderText('Enter name...'), 'John')
+      await user.click(screen.getByRole('button', { name: /Next/ }))
+
+      await vi.waitFor(() => {
+        expect(screen.getByText('Form is not published')).toBeInTheDocument()
+      })
+      expect(onValidatePage).toHaveBeenCalledWith('p1', expect.objectContaining({ name: 'John' }))
+      expect(screen.getByText('Step One (Page 1 of 2)')).toBeInTheDocument()
+    })
+
     it('Previous button goes back a page', async () => {
       const user = userEvent.setup()
       render(<MultiPageFormRenderer pages={makeTwoPageForm()} onSubmit={vi.fn()} />)
@@ -10,6 +10,7 @@ export const mockForms: FormListItem[] = [
     createdAt: '2024-01-01T00:00:00Z',
     updatedAt: '2024-01-02T00:00:00Z',
     elementCount: 3,
+    submissionCount: 2,
   },
   {
     id: '2',
@@ -19,12 +20,13 @@ export const mockForms: FormListItem[] = [
     createdAt: '2024-01-03T00:00:00Z',
     updatedAt: '2024-01-04T00:00:00Z',
     elementCount: 5,
+    submissionCount: 0,
   },
 ]
 
 export const handlers = [
   http.get('/api/forms', () => {
-    return HttpResponse.json(mockForms)
+    return HttpResponse.json({ items: mockForms, nextCursor: null })
   }),
 
   http.delete('/api/forms/:id', () => {
@@ -27,6 +27,8 @@ public class ElementConfiguration {
     private Boolean fullPage;
     private String instanceLabel;
     private Boolean allowOther;
+    // Shown in the summary view of the submission list; top-level fields only
+    private Boolean summary;
 
     @Data
     @NoArgsConstructor
@@ -3,6 +3,7 @@ package com.formbuilder.element;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import com.formbuilder.form.FormGraph;
 import lombok.*;
 
 import java.util.List;
@@ -107,4 +108,26 @@ public class FormElementDTO {
                 .children(childResponses)
                 .build();
     }
+
+    public static Response toTreeResponse(FormElement element, FormGraph graph) {
+        List<FormElement> children = graph.getChildren(element);
+        List<Response> childResponses = null;
+        if (!children.isEmpty()) {
+            childResponses = children.stream()
+                    .map(child -> toTreeResponse(child, graph))
+                    .toList();
+        }
+
+        return Response.builder()
+                .id(element.getId())
+                .type(element.getType())
+                .label(element.getLabel())
+                .fieldName(element.getFieldName())
+                .sortOrder(element.getSortOrder())
+                .configuration(element.getConfiguration())
+                .parentElementId(element.getParentElement() != null ? element.getParentElement().getId() : null)
+                .pageId(element.getPage() != null ? element.getPage().getId() : null)
+                .children(childResponses)
+                .build();
+    }
 }
@@ -4,8 +4,10 @@ import com.formbuilder.exception.ResourceNotFoundException;
 import com.formbuilder.exception.ValidationException;
 import com.formbuilder.form.Form;
 import com.formbuilder.form.FormRepository;
+import com.formbuilder.form.FormSnapshotCache;
 import com.formbuilder.page.FormPage;
 import com.formbuilder.page.FormPageRepository;
+import com.formbuilder.validation.PatternSafety;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,7 +22,9 @@ public class FormElementService {
 
     private final FormElementRepository elementRepository;
     private final FormRepository formRepository;
+    private final FormSnapshotCache snapshotCache;
     private final FormPageRepository pageRepository;
+    private final PatternSafety patternSafety;
 
     @Transactional(readOnly = true)
     public List<FormElementDTO.Response> getElements(UUID formId) {
@@ -64,6 +68,7 @@ public class FormElementService {
 
         ElementConfiguration config = request.getConfiguration() != null ? request.getConfiguration() : new ElementConfiguration();
         validateRepeatableConfig(request.getType(), config);
+        patternSafety.check(config.getPattern());
 
         FormPage page;
         if (request.getPageId() != null) {
@@ -86,6 +91,7 @@ public class FormElementService {
                 .build();
 
         FormElement saved = elementRepository.save(element);
+        snapshotCache.evictAfterCommit(formId);
         return FormElementDTO.toResponse(saved);
     }
 
@@ -109,6 +115,7 @@ public class FormElementService {
             element.setSortOrder(request.getSortOrder());
         }
         if (request.getConfiguration() != null) {
+            patternSafety.check(request.getConfiguration().getPattern());
             element.setConfiguration(request.getConfiguration());
         }
         if (request.getParentElementId() != null) {
@@ -121,6 +128,7 @@ public class FormElementService {
         }
 
         FormElement saved = elementRepository.save(element);
+        snapshotCache.evictAfterCommit(formId);
         return FormElementDTO.toResponse(saved);
     }
 
@@ -132,6 +140,7 @@ public class FormElementService {
                 .orElseThrow(() -> new ResourceNotFoundException("Element not found: " + elementId));
 
         elementRepository.delete(element);
+        snapshotCache.evictAfterCommit(formId);
     }
 
     @Transactional
@@ -151,6 +160,7 @@ public class FormElementService {
         }
 
         elementRepository.saveAll(elements);
+        snapshotCache.evictAfterCommit(formId);
 
         return elementRepository.findByFormIdAndParentElementIsNullOrderBySortOrderAsc(formId).stream()
                 .map(FormElementDTO::toTreeResponse)
@@ -1,8 +1,21 @@
 package com.formbuilder.exception;
 
+import java.util.Map;
+
 public class ValidationException extends RuntimeException {
 
+    private final Map<String, String> fieldErrors;
+
     public ValidationException(String message) {
+        this(message, null);
+    }
+
+    public ValidationException(String message, Map<String, String> fieldErrors) {
         super(message);
+        this.fieldErrors = fieldErrors;
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
     }
 }
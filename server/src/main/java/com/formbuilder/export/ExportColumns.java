@@ -0,0 +1,18 @@
+package com.formbuilder.export;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Export columns resolved against an {@link ExportPlan}: headers, and the cells of each row a
+ * submission produces. The submission id and time are not included; writers add them.
+ */
+public interface ExportColumns {
+
+    List<String> headers();
+
+    /** Which nodes (by index) {@link ExportPlan#read} has to parse for these columns. */
+    boolean[] wanted();
+
+    void rows(ExportPlan.Instance submission, Consumer<String[]> row);
+}
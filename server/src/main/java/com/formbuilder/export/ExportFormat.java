@@ -0,0 +1,24 @@
+package com.formbuilder.export;
+
+import com.formbuilder.exception.ValidationException;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The file format of a submission export: {@code CSV} in the chosen {@link ExportLayout}, or
+ * {@code PARQUET} with repeatable groups nested as lists of structs (see {@link ParquetWriter}).
+ */
+public enum ExportFormat {
+    CSV,
+    PARQUET;
+
+    /** The format named by a request parameter, in any case, e.g. {@code parquet}. */
+    public static ExportFormat of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid export request", Map.of("format", "Unknown format: " + name));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.formbuilder.export;
+
+/**
+ * How repeatable groups are laid out in an export: {@code WIDE} gives one row per submission with
+ * numbered columns for each instance, up to the most instances any exported submission has;
+ * {@code LONG} gives one row per instance of a chosen group, keyed by submission and instance numbers.
+ */
+public enum ExportLayout {
+    WIDE,
+    LONG
+}
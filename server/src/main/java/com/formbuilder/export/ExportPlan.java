@@ -0,0 +1,389 @@
+package com.formbuilder.export;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElement;
+import com.formbuilder.exception.ValidationException;
+import com.formbuilder.form.FormGraph;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The exportable fields of one form version, compiled once and cached on the form snapshot. The
+ * root and each repeatable {@code ELEMENT_GROUP} are {@link Node}s holding their leaf fields in form
+ * order; fields of non-repeatable groups belong to the enclosing node, as they do in the data.
+ *
+ * <p>{@link #read} parses a submission into an {@link Instance} tree that holds each leaf's text by
+ * slot index. Field names are resolved once per field while parsing. The column layouts then
+ * address values by index only.
+ */
+@Getter
+public final class ExportPlan {
+
+    // Summary fields when the form designates none: the first of its top-level fields
+    private static final int DEFAULT_SUMMARY_FIELDS = 3;
+
+    private final Node root;
+    // Pre-order, root first
+    private final List<Node> nodes;
+    private final Map<String, Node> nodesByPath;
+    private final Map<String, Leaf> leavesByPath;
+    private final List<Leaf> summaryLeaves;
+
+    private ExportPlan(Node root, List<Node> nodes) {
+        this.root = root;
+        this.nodes = nodes;
+        this.nodesByPath = new HashMap<>();
+        this.leavesByPath = new HashMap<>();
+        for (Node node : nodes) {
+            nodesByPath.put(node.path, node);
+            for (Leaf leaf : node.leaves) {
+                leavesByPath.putIfAbsent(leaf.path, leaf);
+            }
+        }
+        List<Leaf> designated = root.leaves.stream().filter(Leaf::isSummary).toList();
+        this.summaryLeaves = !designated.isEmpty() ? designated
+                : root.leaves.subList(0, Math.min(DEFAULT_SUMMARY_FIELDS, root.leaves.size()));
+    }
+
+    @Getter
+    public static final class Node {
+        private final int index;
+        private final Node parent;
+        // Dotted path of repeatable group field names; empty for the root
+        private final String path;
+        private final String label;
+        private final String field;
+        // Position among the parent's groups, as addressed in Instance#instances
+        private int groupIndex = -1;
+        private final List<Leaf> leaves = new ArrayList<>();
+        private final List<Node> groups = new ArrayList<>();
+        @Getter(AccessLevel.NONE)
+        private final Map<String, Target> targets = new HashMap<>();
+
+        Node(int index, Node parent, String path, String label, String field) {
+            this.index = index;
+            this.parent = parent;
+            this.path = path;
+            this.label = label;
+            this.field = field;
+        }
+
+        /** Nodes from the root down to this one. */
+        public List<Node> chain() {
+            List<Node> chain = new ArrayList<>();
+            for (Node node = this; node != null; node = node.parent) {
+                chain.add(0, node);
+            }
+            return chain;
+        }
+
+        /** A jsonpath yielding the size of every instance list of this group in a submission. */
+        public String sizePath() {
+            StringBuilder path = new StringBuilder("lax $");
+            List<Node> chain = chain();
+            for (int i = 1; i < chain.size(); i++) {
+                path.append(i > 1 ? "[*]." : ".").append(quote(chain.get(i).field));
+            }
+            return path.append(".size()").toString();
+        }
+    }
+
+    /** How a leaf's values are typed in typed exports, following the element type. */
+    public enum ValueType {
+        TEXT,
+        NUMBER,
+        DATE,
+        BOOLEAN,
+        // Checkbox groups and repeatable fields
+        TEXT_LIST
+    }
+
+    @Getter
+    public static final class Leaf {
+        private final Node node;
+        private final int slot;
+        // Dotted path: the node's path, then the field name
+        private final String path;
+        private final String field;
+        private final String label;
+        private final ElementType elementType;
+        private final ValueType type;
+        private final boolean summary;
+
+        Leaf(Node node, int slot, String path, String field, String label, ElementType elementType, ValueType type,
+             boolean summary) {
+            this.node = node;
+            this.slot = slot;
+            this.path = path;
+            this.field = field;
+            this.label = label;
+            this.elementType = elementType;
+            this.type = type;
+            this.summary = summary;
+        }
+
+        /** A jsonpath yielding every value of this field in a submission, with array items unwrapped. */
+        public String valuePath() {
+            StringBuilder path = new StringBuilder("lax $");
+            List<Node> chain = node.chain();
+            for (int i = 1; i < chain.size(); i++) {
+                path.append('.').append(quote(chain.get(i).field));
+            }
+            return path.append('.').append(quote(field)).append("[*]").toString();
+        }
+    }
+
+    // What a field name in a node's object maps to: leaf slots (several if field names repeat) and/or a group
+    private static final class Target {
+        private int[] slots = new int[0];
+        private int group = -1;
+    }
+
+    /**
+     * One object of submission data: leaf values by slot, and the instances of each nested group.
+     * Values are held as text, or a list of texts for arrays.
+     */
+    public static final class Instance {
+        // The instances of a group whose array isn't in the data, as opposed to an empty array
+        private static final List<Instance> ABSENT = List.of();
+
+        final Object[] values;
+        final List<List<Instance>> groups;
+
+        Instance(Node node) {
+            this.values = new Object[node.leaves.size()];
+            this.groups = new ArrayList<>(node.groups.size());
+            for (int i = 0; i < node.groups.size(); i++) {
+                groups.add(ABSENT);
+            }
+        }
+
+        /** The value as text, with array items joined by "; ". */
+        @SuppressWarnings("unchecked")
+        public String value(int slot) {
+            Object value = values[slot];
+            if (value instanceof List<?> items) {
+                return String.join("; ", (List<String>) items);
+            }
+            return value != null ? (String) value : "";
+        }
+
+        /** The value as read: null, a String, or a List of Strings. */
+        public Object raw(int slot) {
+            return values[slot];
+        }
+
+        public List<Instance> instances(int group) {
+            return groups.get(group);
+        }
+
+        /** Whether the group's array is in the data, even if empty. */
+        public boolean hasGroup(int group) {
+            return groups.get(group) != ABSENT;
+        }
+    }
+
+    public static ExportPlan compile(FormGraph graph) {
+        List<Node> nodes = new ArrayList<>();
+        Node root = new Node(0, null, "", "", null);
+        nodes.add(root);
+        addFields(graph, graph.getRootElements(), root, nodes);
+        return new ExportPlan(root, nodes);
+    }
+
+    private static void addFields(FormGraph graph, List<FormElement> elements, Node node, List<Node> nodes) {
+        for (FormElement element : elements) {
+            ElementType type = element.getType();
+            if (type == ElementType.STATIC_TEXT || type == ElementType.PAGE_BREAK) {
+                continue;
+            }
+            Target target = node.targets.computeIfAbsent(element.getFieldName(), name -> new Target());
+            String path = node.path.isEmpty() ? element.getFieldName() : node.path + "." + element.getFieldName();
+
+            if (type == ElementType.ELEMENT_GROUP) {
+                ElementConfiguration config = element.getConfiguration();
+                if (config != null && Boolean.TRUE.equals(config.getRepeatable())) {
+                    Node group = new Node(nodes.size(), node, path, element.getLabel(), element.getFieldName());
+                    nodes.add(group);
+                    target.group = node.groups.size();
+                    group.groupIndex = target.group;
+                    node.groups.add(group);
+                    addFields(graph, graph.getChildren(element), group, nodes);
+                } else {
+                    addFields(graph, graph.getChildren(element), node, nodes);
+                }
+                continue;
+            }
+
+            ElementConfiguration config = element.getConfiguration();
+            boolean repeatable = config != null && Boolean.TRUE.equals(config.getRepeatable());
+            boolean summary = node.parent == null && config != null && Boolean.TRUE.equals(config.getSummary());
+            Leaf leaf = new Leaf(node, node.leaves.size(), path, element.getFieldName(), element.getLabel(), type,
+                    valueType(type, repeatable), summary);
+            node.leaves.add(leaf);
+            target.slots = Arrays.copyOf(target.slots, target.slots.length + 1);
+            target.slots[target.slots.length - 1] = leaf.slot;
+        }
+    }
+
+    private static ValueType valueType(ElementType type, boolean repeatable) {
+        if (repeatable || type == ElementType.CHECKBOX_GROUP) {
+            return ValueType.TEXT_LIST;
+        }
+        return switch (type) {
+            case NUMBER -> ValueType.NUMBER;
+            case DATE -> ValueType.DATE;
+            case CHECKBOX -> ValueType.BOOLEAN;
+            default -> ValueType.TEXT;
+        };
+    }
+
+    public Optional<Node> group(String path) {
+        Node node = nodesByPath.get(path);
+        return node == root ? Optional.empty() : Optional.ofNullable(node);
+    }
+
+    /**
+     * The leaves named by {@code selectors} (leaf paths, or group paths standing for all their
+     * leaves), each mapped to the position of the first selector naming it, in form order; every leaf
+     * at position 0 when there are no selectors. Layouts order columns by this position.
+     */
+    public Map<Leaf, Integer> select(List<String> selectors) {
+        Map<Leaf, Integer> selected = new LinkedHashMap<>();
+        if (selectors == null || selectors.isEmpty()) {
+            for (Node node : nodes) {
+                node.leaves.forEach(leaf -> selected.put(leaf, 0));
+            }
+            return selected;
+        }
+        for (int i = 0; i < selectors.size(); i++) {
+            String selector = selectors.get(i);
+            Leaf leaf = leavesByPath.get(selector);
+            Node node = nodesByPath.get(selector);
+            Set<Leaf> named = new LinkedHashSet<>();
+            if (leaf != null) {
+                named.add(leaf);
+            } else if (node != null && node != root) {
+                addSubtree(node, named);
+            } else {
+                throw new ValidationException("Invalid export request", Map.of("columns", "Unknown field: " + selector));
+            }
+            for (Leaf l : named) {
+                selected.putIfAbsent(l, i);
+            }
+        }
+        return selected;
+    }
+
+    private static void addSubtree(Node node, Set<Leaf> selected) {
+        selected.addAll(node.leaves);
+        for (Node group : node.groups) {
+            addSubtree(group, selected);
+        }
+    }
+
+    /**
+     * Reads the submission object the parser is positioned on. Groups whose {@code wanted} flag
+     * (by node index) is false are skipped without being parsed.
+     */
+    public Instance read(JsonParser parser, boolean[] wanted) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return new Instance(root);
+        }
+        return readObject(parser, root, wanted);
+    }
+
+    /** A submission with no values. */
+    public Instance empty() {
+        return new Instance(root);
+    }
+
+    private Instance readObject(JsonParser parser, Node node, boolean[] wanted) throws IOException {
+        Instance instance = new Instance(node);
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            Target target = node.targets.get(name);
+            if (target == null) {
+                parser.skipChildren();
+                continue;
+            }
+
+            if (target.group >= 0 && token == JsonToken.START_ARRAY) {
+                Node group = node.groups.get(target.group);
+                if (!wanted[group.index]) {
+                    parser.skipChildren();
+                    continue;
+                }
+                List<Instance> instances = new ArrayList<>();
+                instance.groups.set(target.group, instances);
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        instances.add(readObject(parser, group, wanted));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if (target.slots.length > 0) {
+                Object value = value(parser, token);
+                for (int slot : target.slots) {
+                    instance.values[slot] = value;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return instance;
+    }
+
+    // Scalars as written; arrays (checkbox groups, repeatable fields) as a list of their non-null items
+    private static Object value(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.START_ARRAY) {
+            List<String> items = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                String item = text(parser, parser.currentToken());
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+            return items;
+        }
+        return text(parser, token);
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+            case VALUE_NUMBER_INT:
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return parser.getText();
+            case VALUE_NUMBER_FLOAT:
+                return Double.toString(parser.getDoubleValue());
+            default:
+                return parser.readValueAsTree().toString();
+        }
+    }
+
+    private static String quote(String field) {
+        return "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(field)) + "\"";
+    }
+}
@@ -0,0 +1,109 @@
+package com.formbuilder.export;
+
+import com.formbuilder.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One row per instance of a repeatable group. Rows start with the instance number of each group
+ * from the outermost down (the parent keys, together with the submission id), followed by the
+ * selected fields of the root, of each enclosing group instance, and of the instance itself.
+ * Submissions without instances of the group produce no rows.
+ */
+public final class LongColumns implements ExportColumns {
+
+    private final List<ExportPlan.Node> chain;
+    private final List<String> headers;
+    // Per field column: depth in the chain and slot
+    private final int[] levels;
+    private final int[] slots;
+    private final boolean[] wanted;
+
+    private LongColumns(List<ExportPlan.Node> chain, List<String> headers, int[] levels, int[] slots, boolean[] wanted) {
+        this.chain = chain;
+        this.headers = headers;
+        this.levels = levels;
+        this.slots = slots;
+        this.wanted = wanted;
+    }
+
+    /**
+     * Columns for instances of {@code group}. Selected leaves outside the group and its enclosing
+     * groups are rejected when named explicitly, and left out when every leaf is selected.
+     */
+    public static LongColumns of(ExportPlan plan, ExportPlan.Node group, Map<ExportPlan.Leaf, Integer> selected,
+                                 boolean explicit) {
+        List<ExportPlan.Node> chain = group.chain();
+        List<String> headers = new ArrayList<>();
+        for (int level = 1; level < chain.size(); level++) {
+            headers.add(chain.get(level).getLabel() + " #");
+        }
+
+        // Selection order is selector order, and form order (outermost group first) within one
+        List<ExportPlan.Leaf> leaves = new ArrayList<>();
+        for (ExportPlan.Leaf leaf : selected.keySet()) {
+            if (chain.contains(leaf.getNode())) {
+                leaves.add(leaf);
+            } else if (explicit) {
+                throw new ValidationException("Invalid export request", Map.of("columns",
+                        "Field " + leaf.getPath() + " is not in group " + group.getPath() + " or its enclosing groups"));
+            }
+        }
+
+        int[] levels = new int[leaves.size()];
+        int[] slots = new int[leaves.size()];
+        for (int i = 0; i < leaves.size(); i++) {
+            ExportPlan.Leaf leaf = leaves.get(i);
+            levels[i] = chain.indexOf(leaf.getNode());
+            slots[i] = leaf.getSlot();
+            headers.add(levels[i] == 0 ? leaf.getLabel() : leaf.getNode().getLabel() + " / " + leaf.getLabel());
+        }
+
+        boolean[] wanted = new boolean[plan.getNodes().size()];
+        for (ExportPlan.Node node : chain) {
+            wanted[node.getIndex()] = true;
+        }
+        return new LongColumns(chain, headers, levels, slots, wanted);
+    }
+
+    @Override
+    public List<String> headers() {
+        return headers;
+    }
+
+    @Override
+    public boolean[] wanted() {
+        return wanted;
+    }
+
+    @Override
+    public void rows(ExportPlan.Instance submission, Consumer<String[]> row) {
+        ExportPlan.Instance[] path = new ExportPlan.Instance[chain.size()];
+        path[0] = submission;
+        emit(1, path, new int[chain.size()], row);
+    }
+
+    private void emit(int level, ExportPlan.Instance[] path, int[] numbers, Consumer<String[]> row) {
+        if (level == chain.size()) {
+            int keys = chain.size() - 1;
+            String[] cells = new String[keys + slots.length];
+            for (int k = 0; k < keys; k++) {
+                cells[k] = Integer.toString(numbers[k + 1] + 1);
+            }
+            for (int c = 0; c < slots.length; c++) {
+                cells[keys + c] = path[levels[c]].value(slots[c]);
+            }
+            row.accept(cells);
+            return;
+        }
+        List<ExportPlan.Instance> instances = path[level - 1].instances(chain.get(level).getGroupIndex());
+        for (int i = 0; i < instances.size(); i++) {
+            path[level] = instances.get(i);
+            numbers[level] = i;
+            emit(level + 1, path, numbers, row);
+        }
+    }
+}
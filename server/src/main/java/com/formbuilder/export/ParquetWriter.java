@@ -0,0 +1,536 @@
+package com.formbuilder.export;
+
+import com.formbuilder.validation.ValueChecks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes submissions as a Parquet file, streaming each row group to the output once it holds
+ * about {@code rowGroupBytes} of compressed pages, so memory does not grow with the number of rows.
+ *
+ * <p>The schema follows the {@link ExportPlan}: the required {@code submission_id} and
+ * {@code submitted_at}, then the selected leaves as optional typed columns (text, double, date,
+ * boolean, or a list of text), and each repeatable group holding selected leaves as an optional
+ * list of structs. Values are shredded column by column into repetition and definition levels and
+ * written PLAIN encoded, with RLE levels, in gzip-compressed data pages. Values that don't fit a
+ * column's type are written as null.
+ */
+public final class ParquetWriter {
+
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    private static final int PAGE_BYTES = 1 << 20;
+
+    // parquet.thrift enum values
+    private static final int BOOLEAN = 0;
+    private static final int INT32 = 1;
+    private static final int INT64 = 2;
+    private static final int DOUBLE = 5;
+    private static final int BYTE_ARRAY = 6;
+    private static final int REQUIRED = 0;
+    private static final int OPTIONAL = 1;
+    private static final int REPEATED = 2;
+    private static final int CONVERTED_UTF8 = 0;
+    private static final int CONVERTED_LIST = 3;
+    private static final int CONVERTED_DATE = 6;
+    private static final int LOGICAL_STRING = 1;
+    private static final int LOGICAL_LIST = 3;
+    private static final int LOGICAL_DATE = 6;
+    private static final int LOGICAL_TIMESTAMP = 8;
+    private static final int ENCODING_PLAIN = 0;
+    private static final int ENCODING_RLE = 3;
+    private static final int CODEC_GZIP = 2;
+    private static final int PAGE_DATA = 0;
+
+    private final OutputStream out;
+    private final long rowGroupBytes;
+    private final boolean[] wanted;
+    private final List<SchemaField> schema = new ArrayList<>();
+    private final List<Column> columns = new ArrayList<>();
+    private final Column idColumn;
+    private final Column timeColumn;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+
+    private long position;
+    private long totalRows;
+    private long rowGroupRows;
+
+    /** A schema node, in the pre-order Parquet stores them in. */
+    private record SchemaField(String name, Integer type, Integer repetition, int children,
+                               Integer convertedType, Integer logicalType) {
+    }
+
+    private record ColumnChunk(Column column, long offset, long values, long uncompressed, long compressed) {
+    }
+
+    private record RowGroup(List<ColumnChunk> chunks, long rows) {
+    }
+
+    public ParquetWriter(ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected, OutputStream out, long rowGroupBytes) {
+        this.out = out;
+        this.rowGroupBytes = rowGroupBytes;
+        this.wanted = WideColumns.wanted(plan, selected);
+
+        schema.add(null);
+        Set<String> names = new HashSet<>();
+        idColumn = addColumn(new Column(List.of(unique("submission_id", names)), BYTE_ARRAY, null, new int[0], 0, 0));
+        schema.add(new SchemaField(idColumn.path.get(0), BYTE_ARRAY, REQUIRED, 0, CONVERTED_UTF8, LOGICAL_STRING));
+        timeColumn = addColumn(new Column(List.of(unique("submitted_at", names)), INT64, null, new int[0], 0, 0));
+        schema.add(new SchemaField(timeColumn.path.get(0), INT64, REQUIRED, 0, null, LOGICAL_TIMESTAMP));
+        int rootChildren = 2 + addFields(plan.getRoot(), new ArrayList<>(), new int[0], names, selected);
+        schema.set(0, new SchemaField("submission", null, null, rootChildren, null, null));
+    }
+
+    /** Which nodes (by index) {@link ExportPlan#read} has to parse for this file. */
+    public boolean[] wanted() {
+        return wanted;
+    }
+
+    public void write(String submissionId, LocalDateTime submittedAt, ExportPlan.Instance submission) throws IOException {
+        if (position == 0) {
+            write(MAGIC);
+        }
+        idColumn.level(0, 0);
+        idColumn.binary(submissionId);
+        timeColumn.level(0, 0);
+        timeColumn.int64(submittedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + submittedAt.getNano() / 1_000);
+        for (Column column : columns) {
+            if (column.leaf != null) {
+                shred(column, submission, 0, 0, 0);
+            }
+        }
+        totalRows++;
+        rowGroupRows++;
+
+        long buffered = 0;
+        for (Column column : columns) {
+            // Pages end on row boundaries, so no record spans two pages
+            if (column.pageBytes() >= PAGE_BYTES) {
+                column.flushPage();
+            }
+            buffered += column.bufferedBytes();
+        }
+        if (buffered >= rowGroupBytes) {
+            flushRowGroup();
+        }
+    }
+
+    /** Writes the remaining rows and the footer. The output is left open. */
+    public void finish() throws IOException {
+        if (position == 0) {
+            write(MAGIC);
+        }
+        if (rowGroupRows > 0) {
+            flushRowGroup();
+        }
+        byte[] footer = footer();
+        write(footer);
+        write(new byte[] {(byte) footer.length, (byte) (footer.length >>> 8),
+                (byte) (footer.length >>> 16), (byte) (footer.length >>> 24)});
+        write(MAGIC);
+    }
+
+    // Adds the schema fields and columns of a node's selected leaves and groups; returns how many fields it added
+    private int addFields(ExportPlan.Node node, List<String> path, int[] groups, Set<String> names,
+                          Map<ExportPlan.Leaf, Integer> selected) {
+        int fields = 0;
+        int depth = groups.length;
+        for (ExportPlan.Leaf leaf : node.getLeaves()) {
+            if (!selected.containsKey(leaf)) {
+                continue;
+            }
+            String name = unique(leaf.getField(), names);
+            List<String> columnPath = append(path, name);
+            switch (leaf.getType()) {
+                case TEXT_LIST -> {
+                    schema.add(new SchemaField(name, null, OPTIONAL, 1, CONVERTED_LIST, LOGICAL_LIST));
+                    schema.add(new SchemaField("list", null, REPEATED, 1, null, null));
+                    schema.add(new SchemaField("element", BYTE_ARRAY, OPTIONAL, 0, CONVERTED_UTF8, LOGICAL_STRING));
+                    addColumn(new Column(append(append(columnPath, "list"), "element"), BYTE_ARRAY, leaf, groups,
+                            depth + 1, 2 * depth + 3));
+                }
+                case NUMBER -> {
+                    schema.add(new SchemaField(name, DOUBLE, OPTIONAL, 0, null, null));
+                    addColumn(new Column(columnPath, DOUBLE, leaf, groups, depth, 2 * depth + 1));
+                }
+                case DATE -> {
+                    schema.add(new SchemaField(name, INT32, OPTIONAL, 0, CONVERTED_DATE, LOGICAL_DATE));
+                    addColumn(new Column(columnPath, INT32, leaf, groups, depth, 2 * depth + 1));
+                }
+                case BOOLEAN -> {
+                    schema.add(new SchemaField(name, BOOLEAN, OPTIONAL, 0, null, null));
+                    addColumn(new Column(columnPath, BOOLEAN, leaf, groups, depth, 2 * depth + 1));
+                }
+                default -> {
+                    schema.add(new SchemaField(name, BYTE_ARRAY, OPTIONAL, 0, CONVERTED_UTF8, LOGICAL_STRING));
+                    addColumn(new Column(columnPath, BYTE_ARRAY, leaf, groups, depth, 2 * depth + 1));
+                }
+            }
+            fields++;
+        }
+
+        for (ExportPlan.Node group : node.getGroups()) {
+            if (!wanted[group.getIndex()]) {
+                continue;
+            }
+            String name = unique(group.getField(), names);
+            schema.add(new SchemaField(name, null, OPTIONAL, 1, CONVERTED_LIST, LOGICAL_LIST));
+            schema.add(new SchemaField("list", null, REPEATED, 1, null, null));
+            int element = schema.size();
+            schema.add(null);
+            int[] groupRoute = Arrays.copyOf(groups, depth + 1);
+            groupRoute[depth] = group.getGroupIndex();
+            int children = addFields(group, append(append(append(path, name), "list"), "element"), groupRoute,
+                    new HashSet<>(), selected);
+            schema.set(element, new SchemaField("element", null, REQUIRED, children, null, null));
+            fields++;
+        }
+        return fields;
+    }
+
+    private Column addColumn(Column column) {
+        columns.add(column);
+        return column;
+    }
+
+    private static String unique(String name, Set<String> names) {
+        String unique = name;
+        for (int i = 2; !names.add(unique); i++) {
+            unique = name + "_" + i;
+        }
+        return unique;
+    }
+
+    private static List<String> append(List<String> path, String name) {
+        List<String> appended = new ArrayList<>(path);
+        appended.add(name);
+        return appended;
+    }
+
+    /*
+     * Levels for a leaf under k repeatable groups: each group is an optional LIST (definition +1)
+     * of repeated entries (definition +1, repetition +1) holding a required struct; a scalar leaf
+     * is optional (definition +1), and a list leaf is another optional LIST of optional items.
+     */
+    private void shred(Column column, ExportPlan.Instance instance, int depth, int repetition, int definition) {
+        if (depth < column.groups.length) {
+            List<ExportPlan.Instance> instances = instance.instances(column.groups[depth]);
+            if (instances.isEmpty()) {
+                // An empty list is defined down to its LIST field; an absent one is null
+                column.level(repetition, instance.hasGroup(column.groups[depth]) ? definition + 1 : definition);
+                return;
+            }
+            for (int i = 0; i < instances.size(); i++) {
+                shred(column, instances.get(i), depth + 1, i == 0 ? repetition : depth + 1, definition + 2);
+            }
+            return;
+        }
+
+        Object raw = instance.raw(column.leaf.getSlot());
+        if (column.leaf.getType() == ExportPlan.ValueType.TEXT_LIST) {
+            if (!(raw instanceof List<?> items)) {
+                column.level(repetition, definition);
+            } else if (items.isEmpty()) {
+                column.level(repetition, definition + 1);
+            } else {
+                for (int i = 0; i < items.size(); i++) {
+                    column.level(i == 0 ? repetition : depth + 1, definition + 3);
+                    column.binary((String) items.get(i));
+                }
+            }
+            return;
+        }
+
+        String text = raw instanceof List<?> ? instance.value(column.leaf.getSlot()) : (String) raw;
+        switch (column.leaf.getType()) {
+            case NUMBER -> {
+                if (text != null && ValueChecks.isNumber(text)) {
+                    column.level(repetition, definition + 1);
+                    column.float64(Double.parseDouble(text));
+                    return;
+                }
+            }
+            case DATE -> {
+                if (text != null && ValueChecks.isDate(text)) {
+                    column.level(repetition, definition + 1);
+                    column.int32((int) LocalDate.parse(text).toEpochDay());
+                    return;
+                }
+            }
+            case BOOLEAN -> {
+                if ("true".equals(text) || "false".equals(text)) {
+                    column.level(repetition, definition + 1);
+                    column.bool(Boolean.parseBoolean(text));
+                    return;
+                }
+            }
+            default -> {
+                if (text != null) {
+                    column.level(repetition, definition + 1);
+                    column.binary(text);
+                    return;
+                }
+            }
+        }
+        column.level(repetition, definition);
+    }
+
+    private void flushRowGroup() throws IOException {
+        List<ColumnChunk> chunks = new ArrayList<>();
+        for (Column column : columns) {
+            column.flushPage();
+            chunks.add(new ColumnChunk(column, position, column.chunkValues, column.chunkUncompressed,
+                    column.chunk.size()));
+            column.chunk.writeTo(out);
+            position += column.chunk.size();
+            column.resetChunk();
+        }
+        rowGroups.add(new RowGroup(chunks, rowGroupRows));
+        rowGroupRows = 0;
+    }
+
+    private byte[] footer() {
+        ThriftCompactWriter thrift = new ThriftCompactWriter().beginStruct();
+        thrift.i32(1, 1);
+        thrift.list(2, ThriftCompactWriter.TYPE_STRUCT, schema.size());
+        for (SchemaField field : schema) {
+            thrift.beginStruct();
+            if (field.type() != null) {
+                thrift.i32(1, field.type());
+            }
+            if (field.repetition() != null) {
+                thrift.i32(3, field.repetition());
+            }
+            thrift.string(4, field.name());
+            if (field.type() == null) {
+                thrift.i32(5, field.children());
+            }
+            if (field.convertedType() != null) {
+                thrift.i32(6, field.convertedType());
+            }
+            if (field.logicalType() != null) {
+                thrift.struct(10).struct(field.logicalType());
+                if (field.logicalType() == LOGICAL_TIMESTAMP) {
+                    // Submission times are local, in microseconds
+                    thrift.bool(1, false).struct(2).struct(2).endStruct().endStruct();
+                }
+                thrift.endStruct().endStruct();
+            }
+            thrift.endStruct();
+        }
+        thrift.i64(3, totalRows);
+        thrift.list(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+        for (RowGroup rowGroup : rowGroups) {
+            long uncompressed = 0;
+            long compressed = 0;
+            thrift.beginStruct();
+            thrift.list(1, ThriftCompactWriter.TYPE_STRUCT, rowGroup.chunks().size());
+            for (ColumnChunk chunk : rowGroup.chunks()) {
+                uncompressed += chunk.uncompressed();
+                compressed += chunk.compressed();
+                thrift.beginStruct();
+                thrift.i64(2, chunk.offset());
+                thrift.struct(3);
+                thrift.i32(1, chunk.column().type);
+                thrift.list(2, ThriftCompactWriter.TYPE_I32, 2).i32Element(ENCODING_PLAIN).i32Element(ENCODING_RLE);
+                thrift.list(3, ThriftCompactWriter.TYPE_BINARY, chunk.column().path.size());
+                chunk.column().path.forEach(thrift::stringElement);
+                thrift.i32(4, CODEC_GZIP);
+                thrift.i64(5, chunk.values());
+                thrift.i64(6, chunk.uncompressed());
+                thrift.i64(7, chunk.compressed());
+                thrift.i64(9, chunk.offset());
+                thrift.endStruct();
+                thrift.endStruct();
+            }
+            thrift.i64(2, uncompressed);
+            thrift.i64(3, rowGroup.rows());
+            thrift.i64(5, rowGroup.chunks().get(0).offset());
+            thrift.i64(6, compressed);
+            thrift.endStruct();
+        }
+        thrift.string(6, "form-builder");
+        return thrift.endStruct().toByteArray();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    /** One leaf column: the levels and values of its current page, and the finished pages of its chunk. */
+    private static final class Column {
+        private final List<String> path;
+        private final int type;
+        private final ExportPlan.Leaf leaf;
+        // Group index at each depth from the root down to the leaf's node
+        private final int[] groups;
+        private final int maxRepetition;
+        private final int maxDefinition;
+
+        private byte[] repetitions = new byte[1024];
+        private byte[] definitions = new byte[1024];
+        private int levels;
+        private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+        private int bits;
+        private int bitCount;
+
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        private long chunkValues;
+        private long chunkUncompressed;
+
+        Column(List<String> path, int type, ExportPlan.Leaf leaf, int[] groups, int maxRepetition, int maxDefinition) {
+            this.path = path;
+            this.type = type;
+            this.leaf = leaf;
+            this.groups = groups;
+            this.maxRepetition = maxRepetition;
+            this.maxDefinition = maxDefinition;
+        }
+
+        void level(int repetition, int definition) {
+            if (levels == repetitions.length) {
+                repetitions = Arrays.copyOf(repetitions, levels * 2);
+                definitions = Arrays.copyOf(definitions, levels * 2);
+            }
+            repetitions[levels] = (byte) repetition;
+            definitions[levels] = (byte) definition;
+            levels++;
+        }
+
+        void binary(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int32(bytes.length);
+            values.write(bytes, 0, bytes.length);
+        }
+
+        void int32(int value) {
+            littleEndian(value, 4);
+        }
+
+        void int64(long value) {
+            littleEndian(value, 8);
+        }
+
+        void float64(double value) {
+            littleEndian(Double.doubleToLongBits(value), 8);
+        }
+
+        // PLAIN booleans are bit-packed, least significant bit first
+        void bool(boolean value) {
+            if (value) {
+                bits |= 1 << bitCount;
+            }
+            if (++bitCount == 8) {
+                values.write(bits);
+                bits = 0;
+                bitCount = 0;
+            }
+        }
+
+        private void littleEndian(long value, int bytes) {
+            for (int i = 0; i < bytes; i++) {
+                values.write((int) (value >>> (8 * i)));
+            }
+        }
+
+        int pageBytes() {
+            return levels * 2 + values.size();
+        }
+
+        long bufferedBytes() {
+            return chunk.size() + pageBytes();
+        }
+
+        void flushPage() throws IOException {
+            if (levels == 0) {
+                return;
+            }
+            if (bitCount > 0) {
+                values.write(bits);
+                bits = 0;
+                bitCount = 0;
+            }
+
+            ByteArrayOutputStream page = new ByteArrayOutputStream(pageBytes());
+            if (maxRepetition > 0) {
+                writeLevels(page, repetitions, maxRepetition);
+            }
+            if (maxDefinition > 0) {
+                writeLevels(page, definitions, maxDefinition);
+            }
+            values.writeTo(page);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(page.size() / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                page.writeTo(gzip);
+            }
+
+            byte[] header = new ThriftCompactWriter().beginStruct()
+                    .i32(1, PAGE_DATA)
+                    .i32(2, page.size())
+                    .i32(3, compressed.size())
+                    .struct(5)
+                    .i32(1, levels)
+                    .i32(2, ENCODING_PLAIN)
+                    .i32(3, ENCODING_RLE)
+                    .i32(4, ENCODING_RLE)
+                    .endStruct()
+                    .endStruct()
+                    .toByteArray();
+            chunk.write(header, 0, header.length);
+            compressed.writeTo(chunk);
+            chunkValues += levels;
+            chunkUncompressed += header.length + page.size();
+
+            levels = 0;
+            values.reset();
+        }
+
+        void resetChunk() {
+            chunk.reset();
+            chunkValues = 0;
+            chunkUncompressed = 0;
+        }
+
+        // Length-prefixed RLE runs of the RLE/bit-packing hybrid encoding
+        private void writeLevels(ByteArrayOutputStream page, byte[] source, int maxLevel) throws IOException {
+            int width = (32 - Integer.numberOfLeadingZeros(maxLevel) + 7) / 8;
+            ByteArrayOutputStream runs = new ByteArrayOutputStream();
+            int i = 0;
+            while (i < levels) {
+                int start = i;
+                while (i < levels && source[i] == source[start]) {
+                    i++;
+                }
+                int header = (i - start) << 1;
+                while ((header & ~0x7F) != 0) {
+                    runs.write(header & 0x7F | 0x80);
+                    header >>>= 7;
+                }
+                runs.write(header);
+                for (int b = 0; b < width; b++) {
+                    runs.write(source[start] >>> (8 * b));
+                }
+            }
+            int length = runs.size();
+            page.write(length);
+            page.write(length >>> 8);
+            page.write(length >>> 16);
+            page.write(length >>> 24);
+            runs.writeTo(page);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.formbuilder.export;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Just enough of the Thrift compact protocol to write Parquet page headers and file metadata.
+ * Structs are written field by field in increasing id order; {@link #beginStruct} and
+ * {@link #endStruct} bracket nested structs, including list elements.
+ */
+final class ThriftCompactWriter {
+
+    static final int TYPE_TRUE = 1;
+    static final int TYPE_FALSE = 2;
+    static final int TYPE_I32 = 5;
+    static final int TYPE_I64 = 6;
+    static final int TYPE_BINARY = 8;
+    static final int TYPE_LIST = 9;
+    static final int TYPE_STRUCT = 12;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final Deque<Integer> enclosingFieldIds = new ArrayDeque<>();
+    private int lastFieldId;
+
+    ThriftCompactWriter beginStruct() {
+        enclosingFieldIds.push(lastFieldId);
+        lastFieldId = 0;
+        return this;
+    }
+
+    ThriftCompactWriter endStruct() {
+        out.write(0);
+        lastFieldId = enclosingFieldIds.pop();
+        return this;
+    }
+
+    ThriftCompactWriter i32(int id, int value) {
+        fieldHeader(id, TYPE_I32);
+        varint(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter i64(int id, long value) {
+        fieldHeader(id, TYPE_I64);
+        varint(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter bool(int id, boolean value) {
+        fieldHeader(id, value ? TYPE_TRUE : TYPE_FALSE);
+        return this;
+    }
+
+    ThriftCompactWriter string(int id, String value) {
+        fieldHeader(id, TYPE_BINARY);
+        binary(value);
+        return this;
+    }
+
+    /** Starts a struct field; close it with {@link #endStruct}. */
+    ThriftCompactWriter struct(int id) {
+        fieldHeader(id, TYPE_STRUCT);
+        return beginStruct();
+    }
+
+    /** Starts a list field; write {@code size} elements with the element methods below. */
+    ThriftCompactWriter list(int id, int elementType, int size) {
+        fieldHeader(id, TYPE_LIST);
+        if (size < 15) {
+            out.write(size << 4 | elementType);
+        } else {
+            out.write(0xF0 | elementType);
+            varint(size);
+        }
+        return this;
+    }
+
+    ThriftCompactWriter i32Element(int value) {
+        varint(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter stringElement(String value) {
+        binary(value);
+        return this;
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    private void fieldHeader(int id, int type) {
+        int delta = id - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            out.write(delta << 4 | type);
+        } else {
+            out.write(type);
+            varint(zigzag(id));
+        }
+        lastFieldId = id;
+    }
+
+    private void binary(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        varint(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private void varint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
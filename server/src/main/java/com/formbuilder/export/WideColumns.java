@@ -0,0 +1,104 @@
+package com.formbuilder.export;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One row per submission. Each leaf of a repeatable group gets a column per instance number, up to
+ * the observed maximum, headed e.g. {@code Mutations 2 / Genes 1 / Mutated Gene}. Every column is
+ * compiled to a route of (group, instance) index pairs from the root and a slot, so filling a row
+ * never looks anything up by name.
+ */
+public final class WideColumns implements ExportColumns {
+
+    private final List<String> headers;
+    // Per column: group and instance indexes from the root, alternating
+    private final int[][] routes;
+    private final int[] slots;
+    private final boolean[] wanted;
+
+    private WideColumns(List<Column> columns, boolean[] wanted) {
+        this.headers = columns.stream().map(Column::header).toList();
+        this.routes = columns.stream().map(Column::route).toArray(int[][]::new);
+        this.slots = columns.stream().mapToInt(column -> column.leaf().getSlot()).toArray();
+        this.wanted = wanted;
+    }
+
+    private record Column(ExportPlan.Leaf leaf, int[] route, String header) {
+    }
+
+    /** The nodes holding the selected leaves, and their ancestors. */
+    public static boolean[] wanted(ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected) {
+        boolean[] wanted = new boolean[plan.getNodes().size()];
+        for (ExportPlan.Leaf leaf : selected.keySet()) {
+            for (ExportPlan.Node node = leaf.getNode(); node != null; node = node.getParent()) {
+                wanted[node.getIndex()] = true;
+            }
+        }
+        wanted[0] = true;
+        return wanted;
+    }
+
+    /**
+     * Columns for the selected leaves, ordered by selector and then as in the form, with
+     * {@code maxInstances} (by node index) columns for each instance of a repeatable group.
+     */
+    public static WideColumns of(ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected, int[] maxInstances) {
+        List<Column> columns = new ArrayList<>();
+        expand(plan.getRoot(), new int[0], "", selected, maxInstances, columns);
+        columns.sort(Comparator.comparingInt(column -> selected.get(column.leaf())));
+        return new WideColumns(columns, wanted(plan, selected));
+    }
+
+    private static void expand(ExportPlan.Node node, int[] route, String prefix, Map<ExportPlan.Leaf, Integer> selected,
+                               int[] maxInstances, List<Column> columns) {
+        for (ExportPlan.Leaf leaf : node.getLeaves()) {
+            if (selected.containsKey(leaf)) {
+                columns.add(new Column(leaf, route, prefix + leaf.getLabel()));
+            }
+        }
+        for (ExportPlan.Node group : node.getGroups()) {
+            for (int i = 0; i < maxInstances[group.getIndex()]; i++) {
+                int[] instanceRoute = Arrays.copyOf(route, route.length + 2);
+                instanceRoute[route.length] = group.getGroupIndex();
+                instanceRoute[route.length + 1] = i;
+                expand(group, instanceRoute, prefix + group.getLabel() + " " + (i + 1) + " / ",
+                        selected, maxInstances, columns);
+            }
+        }
+    }
+
+    @Override
+    public List<String> headers() {
+        return headers;
+    }
+
+    @Override
+    public boolean[] wanted() {
+        return wanted;
+    }
+
+    @Override
+    public void rows(ExportPlan.Instance submission, Consumer<String[]> row) {
+        String[] cells = new String[slots.length];
+        for (int c = 0; c < slots.length; c++) {
+            cells[c] = value(submission, routes[c], slots[c]);
+        }
+        row.accept(cells);
+    }
+
+    private static String value(ExportPlan.Instance instance, int[] route, int slot) {
+        for (int i = 0; i < route.length; i += 2) {
+            List<ExportPlan.Instance> instances = instance.instances(route[i]);
+            if (route[i + 1] >= instances.size()) {
+                return "";
+            }
+            instance = instances.get(route[i + 1]);
+        }
+        return instance.value(slot);
+    }
+}
@@ -0,0 +1,62 @@
+package com.formbuilder.exportjob;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/forms/{formId}/submissions/export-jobs")
+@RequiredArgsConstructor
+@Tag(name = "Export jobs", description = "Background submission export endpoints")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @PostMapping
+    @Operation(summary = "Start a background CSV export",
+            description = "Takes the CSV parameters of GET /export. The export runs on a server worker; poll "
+                    + "the returned job for progress and download its file once it has SUCCEEDED. Rows are "
+                    + "in submission id order.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExportJobDTO.Response> createJob(
+            @PathVariable UUID formId,
+            @RequestBody ExportJobDTO.CreateRequest request) {
+        ExportJobDTO.Response job = exportJobService.createJob(formId, request);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{jobId}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get an export job's status and progress")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExportJobDTO.Response> getJob(
+            @PathVariable UUID formId,
+            @PathVariable UUID jobId) {
+        return ResponseEntity.ok(exportJobService.getJob(formId, jobId));
+    }
+
+    @GetMapping("/{jobId}/file")
+    @Operation(summary = "Download a finished export job's CSV")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getFile(
+            @PathVariable UUID formId,
+            @PathVariable UUID jobId) {
+        ExportJobService.ExportFile file = exportJobService.getFile(formId, jobId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=submissions.csv")
+                .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .contentLength(file.size())
+                .body(exportJobService.read(file));
+    }
+}
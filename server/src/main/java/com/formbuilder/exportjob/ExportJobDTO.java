@@ -0,0 +1,45 @@
+package com.formbuilder.exportjob;
+
+import com.formbuilder.export.ExportLayout;
+import com.formbuilder.submission.SubmissionStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class ExportJobDTO {
+
+    // The CSV export parameters of GET /api/forms/{formId}/submissions/export
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CreateRequest {
+        private SubmissionStatus status;
+        private LocalDate from;
+        private LocalDate to;
+        private List<String> columns;
+        private ExportLayout layout;
+        private String group;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private UUID id;
+        private UUID formId;
+        private ExportJobStatus status;
+        // Known once the job has started
+        private Long totalRows;
+        private long processedRows;
+        private Long fileSize;
+        private String error;
+        private LocalDateTime createdAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+    }
+}
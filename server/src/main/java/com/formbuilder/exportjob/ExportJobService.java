@@ -0,0 +1,148 @@
+package com.formbuilder.exportjob;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthService;
+import com.formbuilder.auth.User;
+import com.formbuilder.exception.ResourceNotFoundException;
+import com.formbuilder.export.ExportLayout;
+import com.formbuilder.submission.SubmissionDTO;
+import com.formbuilder.submission.SubmissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Creates export jobs and reports on them; {@link ExportJobWorker} runs them. Jobs export CSV with
+ * the same parameters as the streamed export, checked when the job is created.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportJobService {
+
+    private static final String INSERT_JOB = """
+            INSERT INTO export_jobs (id, form_id, user_id, filter, status, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_JOB = "SELECT * FROM export_jobs WHERE id = ? AND form_id = ?";
+
+    private static final RowMapper<ExportJobDTO.Response> RESPONSE = (rs, rowNum) -> ExportJobDTO.Response.builder()
+            .id(rs.getObject("id", UUID.class))
+            .formId(rs.getObject("form_id", UUID.class))
+            .status(ExportJobStatus.valueOf(rs.getString("status")))
+            .totalRows(rs.getObject("total_rows", Long.class))
+            .processedRows(rs.getLong("processed_rows"))
+            .fileSize(rs.getObject("file_size", Long.class))
+            .error(rs.getString("error"))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .startedAt(toLocalDateTime(rs.getTimestamp("started_at")))
+            .finishedAt(toLocalDateTime(rs.getTimestamp("finished_at")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SubmissionService submissionService;
+    private final AuthService authService;
+    private final ObjectMapper objectMapper;
+    private final ExportJobWorker worker;
+
+    /** A finished export's spool file. */
+    public record ExportFile(Path path, long size) {
+    }
+
+    @Transactional
+    public ExportJobDTO.Response createJob(UUID formId, ExportJobDTO.CreateRequest request) {
+        SubmissionDTO.ExportFilter filter = SubmissionDTO.ExportFilter.builder()
+                .status(request.getStatus())
+                .from(request.getFrom())
+                .to(request.getTo())
+                .columns(request.getColumns())
+                .layout(request.getLayout() != null ? request.getLayout() : ExportLayout.WIDE)
+                .group(request.getGroup())
+                .build();
+        submissionService.prepareExport(formId, filter);
+
+        UUID id = UUID.randomUUID();
+        User user = authService.getAuthenticatedUser();
+        jdbcTemplate.update(INSERT_JOB, id, formId, user != null ? user.getId() : null, write(filter),
+                ExportJobStatus.QUEUED.name(), LocalDateTime.now());
+        afterCommit(worker::wake);
+        return getJob(formId, id);
+    }
+
+    public ExportJobDTO.Response getJob(UUID formId, UUID jobId) {
+        return jdbcTemplate.query(SELECT_JOB, RESPONSE, jobId, formId).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Export job not found: " + jobId));
+    }
+
+    public ExportFile getFile(UUID formId, UUID jobId) {
+        ExportJobDTO.Response job = getJob(formId, jobId);
+        if (job.getStatus() != ExportJobStatus.SUCCEEDED) {
+            throw new IllegalStateException("Export job is " + job.getStatus() + ", not finished");
+        }
+        String filePath = jdbcTemplate.queryForObject(
+                "SELECT file_path FROM export_jobs WHERE id = ?", String.class, jobId);
+        Path path = Path.of(filePath);
+        // Spool directories are local unless shared between nodes
+        if (!Files.isReadable(path)) {
+            throw new ResourceNotFoundException("Export file is not available on this server: " + jobId);
+        }
+        return new ExportFile(path, job.getFileSize());
+    }
+
+    /** Copies the file to the response with {@link FileChannel#transferTo}, without buffering it in the heap. */
+    public StreamingResponseBody read(ExportFile file) {
+        return out -> {
+            try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                long size = channel.size();
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        };
+    }
+
+    private String write(SubmissionDTO.ExportFilter filter) {
+        try {
+            return objectMapper.writeValueAsString(filter);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
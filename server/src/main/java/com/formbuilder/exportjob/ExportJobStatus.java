@@ -0,0 +1,8 @@
+package com.formbuilder.exportjob;
+
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
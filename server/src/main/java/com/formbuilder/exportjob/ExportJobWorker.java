@@ -0,0 +1,332 @@
+package com.formbuilder.exportjob;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.export.ExportColumns;
+import com.formbuilder.submission.SubmissionDTO;
+import com.formbuilder.submission.SubmissionExporter;
+import com.formbuilder.submission.SubmissionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs queued export jobs. Any number of servers may poll the same table: a job is claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, so each goes to exactly one of them, and a running job whose
+ * heartbeat stops is claimed again by the next poll.
+ *
+ * <p>A job's submissions are split into id ranges written in parallel, each to its own part file
+ * in the spool directory, then joined behind the header. Every range reads the snapshot exported
+ * by the job's own transaction, so the parts add up to one consistent export.
+ */
+@Slf4j
+@Component
+public class ExportJobWorker {
+
+    private static final String CLAIM_JOB = """
+            UPDATE export_jobs
+            SET status = 'RUNNING', worker = ?, started_at = ?, heartbeat_at = ?,
+                processed_rows = 0, total_rows = NULL, error = NULL
+            WHERE id = (
+                SELECT id FROM export_jobs
+                WHERE status = 'QUEUED' OR (status = 'RUNNING' AND heartbeat_at < ?)
+                ORDER BY created_at
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id, form_id, filter
+            """;
+
+    private static final String UPDATE_PROGRESS = """
+            UPDATE export_jobs SET total_rows = ?, processed_rows = ?, heartbeat_at = ?
+            WHERE id = ? AND worker = ? AND status = 'RUNNING'
+            """;
+
+    private static final String MARK_SUCCEEDED = """
+            UPDATE export_jobs
+            SET status = 'SUCCEEDED', processed_rows = ?, file_path = ?, file_size = ?, finished_at = ?
+            WHERE id = ? AND worker = ? AND status = 'RUNNING'
+            """;
+
+    private static final String MARK_FAILED = """
+            UPDATE export_jobs SET status = 'FAILED', error = ?, finished_at = ?
+            WHERE id = ? AND worker = ? AND status = 'RUNNING'
+            """;
+
+    private static final String SELECT_EXPIRED = """
+            SELECT id, file_path FROM export_jobs
+            WHERE worker = ? AND status IN ('SUCCEEDED', 'FAILED') AND finished_at < ?
+            """;
+
+    private static final BigInteger UUID_SPACE = BigInteger.ONE.shiftLeft(128);
+    private static final BigInteger LONG_MASK = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    private record ClaimedJob(UUID id, UUID formId, String filter) {
+    }
+
+    private record Written(ExportColumns columns, long rows) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SubmissionService submissionService;
+    private final SubmissionExporter exporter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate separateTransaction;
+    private final Path spoolDir;
+    private final int parallelism;
+    private final long progressMillis;
+    private final long staleSeconds;
+    private final long retentionHours;
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final ExecutorService poller;
+    private final ExecutorService ranges;
+
+    public ExportJobWorker(JdbcTemplate jdbcTemplate, SubmissionService submissionService,
+                           SubmissionExporter exporter, ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${exports.spool-dir:${java.io.tmpdir}/form-builder-exports}") Path spoolDir,
+                           @Value("${exports.jobs.parallelism:4}") int parallelism,
+                           @Value("${exports.jobs.progress-millis:1000}") long progressMillis,
+                           @Value("${exports.jobs.stale-seconds:300}") long staleSeconds,
+                           @Value("${exports.jobs.retention-hours:24}") long retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.submissionService = submissionService;
+        this.exporter = exporter;
+        this.objectMapper = objectMapper;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.spoolDir = spoolDir;
+        this.parallelism = Math.max(1, parallelism);
+        this.progressMillis = progressMillis;
+        this.staleSeconds = staleSeconds;
+        this.retentionHours = retentionHours;
+        this.poller = Executors.newSingleThreadExecutor(namedThreads("export-jobs-"));
+        this.ranges = Executors.newFixedThreadPool(this.parallelism, namedThreads("export-range-"));
+    }
+
+    /** Starts a poll now rather than at the next scheduled one, e.g. when a job was just queued. */
+    public void wake() {
+        poller.execute(this::poll);
+    }
+
+    @Scheduled(fixedDelayString = "${exports.jobs.poll-millis:5000}")
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ClaimedJob job;
+            while ((job = claim()) != null) {
+                run(job);
+            }
+        } catch (RuntimeException e) {
+            log.error("Polling export jobs failed", e);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${exports.jobs.cleanup-millis:3600000}")
+    public void deleteExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        jdbcTemplate.query(SELECT_EXPIRED, rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            String filePath = rs.getString("file_path");
+            if (filePath != null) {
+                deleteQuietly(Path.of(filePath));
+            }
+            jdbcTemplate.update("DELETE FROM export_jobs WHERE id = ?", id);
+        }, workerId, cutoff);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        poller.shutdownNow();
+        ranges.shutdownNow();
+    }
+
+    private ClaimedJob claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedJob> claimed = jdbcTemplate.query(CLAIM_JOB,
+                (rs, rowNum) -> new ClaimedJob(rs.getObject("id", UUID.class),
+                        rs.getObject("form_id", UUID.class), rs.getString("filter")),
+                workerId, now, now, now.minusSeconds(staleSeconds));
+        return claimed.isEmpty() ? null : claimed.get(0);
+    }
+
+    private void run(ClaimedJob job) {
+        List<Path> parts = new ArrayList<>();
+        Path file = null;
+        try {
+            SubmissionDTO.ExportFilter filter = objectMapper.readValue(job.filter(), SubmissionDTO.ExportFilter.class);
+            SubmissionService.PreparedExport export = submissionService.prepareExport(job.formId(), filter);
+            Files.createDirectories(spoolDir);
+            // Unique per run, so a run that lost its job cannot touch the files of the one that took it over
+            file = Files.createTempFile(spoolDir, job.id() + "-", ".csv");
+            for (int i = 0; i < parallelism; i++) {
+                parts.add(Files.createTempFile(spoolDir, job.id() + "-", ".part" + i));
+            }
+
+            Written written = snapshotTransaction.execute(status -> {
+                String snapshot = jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class);
+                ExportColumns columns = exporter.csvColumns(job.formId(), export.plan(), export.selected(),
+                        export.columns(), filter);
+                long total = exporter.count(job.formId(), filter);
+                return new Written(columns, writeRanges(job, snapshot, export, columns, filter, total, parts));
+            });
+
+            long size;
+            try (FileChannel target = FileChannel.open(file, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                if (written.rows() > 0) {
+                    exporter.writeCsvHeader(written.columns(), Channels.newOutputStream(target));
+                    for (Path part : parts) {
+                        append(part, target);
+                    }
+                }
+                target.force(false);
+                size = target.size();
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (jdbcTemplate.update(MARK_SUCCEEDED, written.rows(), file.toString(), size, now,
+                    job.id(), workerId) == 0) {
+                throw new IllegalStateException("Export job " + job.id() + " was taken over by another worker");
+            }
+            file = null;
+        } catch (Exception e) {
+            log.warn("Export job {} failed", job.id(), e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            jdbcTemplate.update(MARK_FAILED, message, LocalDateTime.now(), job.id(), workerId);
+        } finally {
+            parts.forEach(ExportJobWorker::deleteQuietly);
+            if (file != null) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Writes each id range to its part on the range pool, recording progress and the heartbeat
+     * until all are done, and returns the number of rows written. Runs inside the transaction whose {@code snapshot} the ranges import,
+     * which must stay open until they have started.
+     */
+    private long writeRanges(ClaimedJob job, String snapshot, SubmissionService.PreparedExport export,
+                             ExportColumns columns, SubmissionDTO.ExportFilter filter, long total, List<Path> parts) {
+        AtomicLong processed = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < parts.size(); i++) {
+            UUID from = bound(i, parts.size());
+            UUID to = i + 1 < parts.size() ? bound(i + 1, parts.size()) : null;
+            Path part = parts.get(i);
+            futures.add(ranges.submit(() -> snapshotTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 65536)) {
+                    exporter.writeCsvRange(job.formId(), export.plan(), columns, filter, from, to, out,
+                            processed::incrementAndGet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                while (true) {
+                    try {
+                        future.get(progressMillis, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        heartbeat(job, total, processed.get());
+                    }
+                }
+            }
+            heartbeat(job, total, processed.get());
+            return processed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Export job " + job.id() + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    // Outside the snapshot transaction, which is read-only and would hide the update until the job ends
+    private void heartbeat(ClaimedJob job, long total, long processed) {
+        Integer updated = separateTransaction.execute(status -> jdbcTemplate.update(UPDATE_PROGRESS,
+                total, processed, LocalDateTime.now(), job.id(), workerId));
+        if (updated == null || updated == 0) {
+            throw new IllegalStateException("Export job " + job.id() + " was taken over by another worker");
+        }
+    }
+
+    // The lower bound of range i of n, splitting the 128-bit id space evenly as Postgres orders uuids
+    private static UUID bound(int i, int n) {
+        BigInteger value = UUID_SPACE.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(n));
+        return new UUID(value.shiftRight(64).longValue(), value.and(LONG_MASK).longValue());
+    }
+
+    private static void append(Path part, FileChannel target) throws IOException {
+        try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", path, e);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -4,12 +4,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -21,15 +21,19 @@ public class FormController {
     private final FormService formService;
 
     @GetMapping
-    @Operation(summary = "Get all forms")
-    public ResponseEntity<List<FormDTO.ListResponse>> getAllForms() {
-        return ResponseEntity.ok(formService.getAllForms());
+    @Operation(summary = "List forms, most recently updated first")
+    public ResponseEntity<FormDTO.ListPage> getForms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(formService.getForms(cursor, size));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get form by ID")
-    public ResponseEntity<FormDTO.Response> getForm(@PathVariable UUID id) {
-        return ResponseEntity.ok(formService.getForm(id));
+    public ResponseEntity<byte[]> getForm(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return formService.getForm(id).toResponseEntity(acceptEncoding);
     }
 
     @PostMapping
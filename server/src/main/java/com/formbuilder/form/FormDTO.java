@@ -2,13 +2,18 @@ package com.formbuilder.form;
 
 import com.formbuilder.element.ElementConfiguration;
 import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElement;
 import com.formbuilder.element.FormElementDTO;
 import com.formbuilder.page.FormPageDTO;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class FormDTO {
 
@@ -39,7 +44,17 @@ public class FormDTO {
         private FormStatus status;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
-        private int elementCount;
+        private long elementCount;
+        private long submissionCount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ListPage {
+        private List<ListResponse> items;
+        private String nextCursor;
     }
 
     @Data
@@ -112,4 +127,35 @@ public class FormDTO {
         private List<ExportPage> pages;
         private List<ExportElement> elements;
     }
+
+    public static Response toResponse(FormGraph graph) {
+        Form form = graph.getForm();
+
+        // Root elements are shared between the form-level list and their page's list
+        List<FormElementDTO.Response> elements = new ArrayList<>();
+        Map<UUID, List<FormElementDTO.Response>> elementsByPage = new HashMap<>();
+        for (FormElement element : graph.getRootElements()) {
+            FormElementDTO.Response response = FormElementDTO.toTreeResponse(element, graph);
+            elements.add(response);
+            if (response.getPageId() != null) {
+                elementsByPage.computeIfAbsent(response.getPageId(), id -> new ArrayList<>()).add(response);
+            }
+        }
+
+        List<FormPageDTO.Response> pages = graph.getPages().stream()
+                .map(p -> FormPageDTO.toResponse(p, elementsByPage.getOrDefault(p.getId(), List.of())))
+                .collect(Collectors.toList());
+
+        return Response.builder()
+                .id(form.getId())
+                .name(form.getName())
+                .description(form.getDescription())
+                .status(form.getStatus())
+                .createdAt(form.getCreatedAt())
+                .updatedAt(form.getUpdatedAt())
+                .publishedAt(form.getPublishedAt())
+                .elements(elements)
+                .pages(pages)
+                .build();
+    }
 }
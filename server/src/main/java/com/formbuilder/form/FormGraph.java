@@ -0,0 +1,59 @@
+package com.formbuilder.form;
+
+import com.formbuilder.element.FormElement;
+import com.formbuilder.page.FormPage;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A form with its pages and elements loaded as flat lists, with the parent/child element tree
+ * indexed in memory. Walking the tree through {@link #getChildren(FormElement)} never touches the
+ * lazy {@code FormElement.children} or {@code FormPage.elements} collections.
+ */
+@Getter
+public class FormGraph {
+
+    private final Form form;
+    private final List<FormPage> pages;
+    private final List<FormElement> elements;
+    private final List<FormElement> rootElements;
+    private final Map<UUID, List<FormElement>> childrenByParentId;
+
+    public FormGraph(Form form, List<FormPage> pages, List<FormElement> elements) {
+        this.form = form;
+        this.pages = pages;
+        this.elements = elements;
+        this.rootElements = new ArrayList<>();
+        this.childrenByParentId = new HashMap<>();
+        for (FormElement element : elements) {
+            if (element.getParentElement() == null) {
+                rootElements.add(element);
+            } else {
+                childrenByParentId.computeIfAbsent(element.getParentElement().getId(), id -> new ArrayList<>())
+                        .add(element);
+            }
+        }
+    }
+
+    public List<FormElement> getChildren(FormElement element) {
+        return childrenByParentId.getOrDefault(element.getId(), List.of());
+    }
+
+    public int pageIndexOf(FormElement element) {
+        if (element.getPage() == null) {
+            return -1;
+        }
+        UUID pageId = element.getPage().getId();
+        for (int i = 0; i < pages.size(); i++) {
+            if (pages.get(i).getId().equals(pageId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.formbuilder.form;
+
+import com.formbuilder.element.FormElementRepository;
+import com.formbuilder.page.FormPage;
+import com.formbuilder.page.FormPageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Loads a {@link FormGraph} in two queries regardless of form size: pages joined with their
+ * form, then every element of the form in sort order.
+ */
+@Component
+@RequiredArgsConstructor
+public class FormGraphLoader {
+
+    private final FormRepository formRepository;
+    private final FormPageRepository pageRepository;
+    private final FormElementRepository elementRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<FormGraph> load(UUID formId) {
+        List<FormPage> pages = pageRepository.findByFormIdWithForm(formId);
+        Optional<Form> form = pages.isEmpty()
+                ? formRepository.findById(formId)
+                : Optional.of(pages.get(0).getForm());
+        return form.map(f -> new FormGraph(f, pages, elementRepository.findByFormIdOrderBySortOrderAsc(formId)));
+    }
+}
@@ -1,25 +1,35 @@
 package com.formbuilder.form;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface FormRepository extends JpaRepository<Form, UUID> {
 
-    List<Form> findAllByOrderByUpdatedAtDesc();
-
-    List<Form> findByUserIdOrderByUpdatedAtDesc(UUID userId);
-
-    List<Form> findByStatusOrderByUpdatedAtDesc(FormStatus status);
-
-    @Query("SELECT f FROM Form f LEFT JOIN FETCH f.elements WHERE f.id = :id")
-    Optional<Form> findByIdWithElements(UUID id);
-
-    @Query("SELECT f FROM Form f LEFT JOIN FETCH f.elements WHERE f.id = :id AND f.status = 'PUBLISHED'")
-    Optional<Form> findPublishedByIdWithElements(UUID id);
+    // List rows carry their element and submission counts so the dashboard never loads collections.
+    // Pages are keyset-ordered on (updated_at, id) descending; see idx_forms_updated_at_id.
+    String LIST_SELECT = "SELECT new com.formbuilder.form.FormDTO$ListResponse("
+            + "f.id, f.name, f.description, f.status, f.createdAt, f.updatedAt, "
+            + "(SELECT COUNT(e) FROM FormElement e WHERE e.form = f), "
+            + "(SELECT COUNT(s) FROM Submission s WHERE s.form = f)) "
+            + "FROM Form f WHERE ";
+    String AFTER_CURSOR = "(f.updatedAt < :updatedAt OR (f.updatedAt = :updatedAt AND f.id < :id)) ";
+    String LIST_ORDER = "ORDER BY f.updatedAt DESC, f.id DESC";
+
+    @Query(LIST_SELECT + AFTER_CURSOR + LIST_ORDER)
+    List<FormDTO.ListResponse> findListPage(LocalDateTime updatedAt, UUID id, Pageable pageable);
+
+    @Query(LIST_SELECT + "f.user.id = :userId AND " + AFTER_CURSOR + LIST_ORDER)
+    List<FormDTO.ListResponse> findListPageByUserId(UUID userId, LocalDateTime updatedAt, UUID id,
+                                                    Pageable pageable);
+
+    @Query(LIST_SELECT + "f.status = :status AND " + AFTER_CURSOR + LIST_ORDER)
+    List<FormDTO.ListResponse> findListPageByStatus(FormStatus status, LocalDateTime updatedAt, UUID id,
+                                                    Pageable pageable);
 }
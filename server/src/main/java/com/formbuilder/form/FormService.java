@@ -7,15 +7,25 @@ import com.formbuilder.element.FormElement;
 import com.formbuilder.element.FormElementDTO;
 import com.formbuilder.element.FormElementRepository;
 import com.formbuilder.exception.ResourceNotFoundException;
+import com.formbuilder.exception.ValidationException;
 import com.formbuilder.page.FormPage;
 import com.formbuilder.page.FormPageDTO;
 import com.formbuilder.page.FormPageRepository;
+import com.formbuilder.projection.ProjectionService;
+import com.formbuilder.statistics.StatisticsService;
+import com.formbuilder.submission.SubmissionSummaries;
+import com.formbuilder.validation.PatternSafety;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,40 +34,71 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FormService {
 
+    private static final int MAX_LIST_PAGE_SIZE = 100;
+
+    // Start of the (updated_at, id) DESC keyset, sorting after every real row
+    private static final LocalDateTime LIST_START_UPDATED_AT = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final UUID LIST_START_ID = new UUID(-1L, -1L);
+
     private final FormRepository formRepository;
     private final FormPageRepository pageRepository;
     private final FormElementRepository elementRepository;
     private final AuthService authService;
+    private final FormSnapshotCache snapshotCache;
+    private final FormSnapshotLoader snapshotLoader;
+    private final FormGraphLoader graphLoader;
+    private final PatternSafety patternSafety;
+    private final ProjectionService projectionService;
+    private final StatisticsService statisticsService;
+    private final SubmissionSummaries submissionSummaries;
 
     @Transactional(readOnly = true)
-    public List<FormDTO.ListResponse> getAllForms() {
+    public FormDTO.ListPage getForms(String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_LIST_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page follows
+        Pageable pageable = PageRequest.of(0, limit + 1);
+
+        LocalDateTime afterUpdatedAt = LIST_START_UPDATED_AT;
+        UUID afterId = LIST_START_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterUpdatedAt = LocalDateTime.parse(parts[0]);
+            afterId = UUID.fromString(parts[1]);
+        }
+
         User user = authService.getAuthenticatedUser();
-        List<Form> forms;
+        List<FormDTO.ListResponse> rows;
         if (user != null && user.getRole() == UserRole.ADMIN) {
-            forms = formRepository.findByUserIdOrderByUpdatedAtDesc(user.getId());
+            rows = formRepository.findListPageByUserId(user.getId(), afterUpdatedAt, afterId, pageable);
         } else if (user != null) {
-            forms = formRepository.findByStatusOrderByUpdatedAtDesc(FormStatus.PUBLISHED);
+            rows = formRepository.findListPageByStatus(FormStatus.PUBLISHED, afterUpdatedAt, afterId, pageable);
         } else {
-            forms = formRepository.findAllByOrderByUpdatedAtDesc();
+            rows = formRepository.findListPage(afterUpdatedAt, afterId, pageable);
         }
-        return forms.stream()
-                .map(this::toListResponse)
-                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            FormDTO.ListResponse last = rows.get(limit - 1);
+            nextCursor = encodeCursor(last.getUpdatedAt(), last.getId());
+        }
+        return FormDTO.ListPage.builder()
+                .items(new ArrayList<>(rows))
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    @Transactional(readOnly = true)
-    public FormDTO.Response getForm(UUID id) {
-        Form form = formRepository.findByIdWithElements(id)
+    public FormSnapshot getForm(UUID id) {
+        FormSnapshot snapshot = snapshotCache.get(id, snapshotLoader::load)
                 .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + id));
-        verifyOwnership(form);
-        return toResponse(form);
+        verifyOwnership(snapshot.getId(), snapshot.getOwnerId());
+        return snapshot;
     }
 
-    @Transactional(readOnly = true)
-    public FormDTO.Response getPublishedForm(UUID id) {
-        Form form = formRepository.findPublishedByIdWithElements(id)
+    public FormSnapshot getPublishedForm(UUID id) {
+        return snapshotCache.get(id, snapshotLoader::load)
+                .filter(FormSnapshot::isPublished)
                 .orElseThrow(() -> new ResourceNotFoundException("Published form not found: " + id));
-        return toResponse(form);
     }
 
     @Transactional
@@ -77,13 +118,14 @@ public class FormService {
         pageRepository.save(defaultPage);
         saved.getPages().add(defaultPage);
 
-        return toResponse(saved);
+        return FormDTO.toResponse(new FormGraph(saved, List.of(defaultPage), List.of()));
     }
 
     @Transactional
     public FormDTO.Response updateForm(UUID id, FormDTO.UpdateRequest request) {
-        Form form = formRepository.findById(id)
+        FormGraph graph = graphLoader.load(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + id));
+        Form form = graph.getForm();
         verifyOwnership(form);
 
         if (request.getName() != null) {
@@ -96,25 +138,33 @@ public class FormService {
             form.setStatus(request.getStatus());
         }
 
-        Form saved = formRepository.save(form);
-        return toResponse(saved);
+        formRepository.save(form);
+        snapshotCache.evictAfterCommit(id);
+        return FormDTO.toResponse(graph);
     }
 
     @Transactional
     public FormDTO.Response publishForm(UUID id) {
-        Form form = formRepository.findByIdWithElements(id)
+        FormGraph graph = graphLoader.load(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + id));
+        Form form = graph.getForm();
         verifyOwnership(form);
 
-        if (form.getElements().isEmpty()) {
+        if (graph.getElements().isEmpty()) {
             throw new IllegalStateException("Cannot publish a form without elements");
         }
 
         form.setStatus(FormStatus.PUBLISHED);
         form.setPublishedAt(LocalDateTime.now());
 
-        Form saved = formRepository.save(form);
-        return toResponse(saved);
+        formRepository.saveAndFlush(form);
+        FormSnapshot snapshot = snapshotLoader.build(graph);
+        // Not cached: the graph may be outdated by the time this commits; the first read rebuilds it
+        snapshotCache.evictAfterCommit(id);
+        projectionService.publish(graph);
+        statisticsService.rebuildLater(id);
+        submissionSummaries.refreshLater(id);
+        return snapshot.getResponse();
     }
 
     @Transactional
@@ -122,17 +172,19 @@ public class FormService {
         Form form = formRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + id));
         verifyOwnership(form);
+        projectionService.drop(id);
         formRepository.deleteById(id);
+        snapshotCache.evictAfterCommit(id);
     }
 
     @Transactional(readOnly = true)
     public FormDTO.ExportResponse exportForm(UUID id) {
-        Form form = formRepository.findByIdWithElements(id)
+        FormGraph graph = graphLoader.load(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + id));
+        Form form = graph.getForm();
         verifyOwnership(form);
 
-        List<FormPage> pages = form.getPages() != null ? form.getPages() : List.of();
-        List<FormDTO.ExportPage> exportPages = pages.stream()
+        List<FormDTO.ExportPage> exportPages = graph.getPages().stream()
                 .map(p -> FormDTO.ExportPage.builder()
                         .pageNumber(p.getPageNumber())
                         .title(p.getTitle())
@@ -140,15 +192,8 @@ public class FormService {
                         .build())
                 .collect(Collectors.toList());
 
-        List<FormElement> rootElements = form.getElements() != null
-                ? form.getElements().stream()
-                    .filter(e -> e.getParentElement() == null)
-                    .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                    .collect(Collectors.toList())
-                : List.of();
-
-        List<FormDTO.ExportElement> exportElements = rootElements.stream()
-                .map(e -> toExportElement(e, pages))
+        List<FormDTO.ExportElement> exportElements = graph.getRootElements().stream()
+                .map(e -> toExportElement(e, graph))
                 .collect(Collectors.toList());
 
         return FormDTO.ExportResponse.builder()
@@ -199,7 +244,8 @@ public class FormService {
             }
         }
 
-        return toResponse(formRepository.findByIdWithElements(savedForm.getId()).orElse(savedForm));
+        return FormDTO.toResponse(graphLoader.load(savedForm.getId())
+                .orElseThrow(() -> new IllegalStateException("Imported form disappeared: " + savedForm.getId())));
     }
 
     private void createElementFromExport(FormDTO.ExportElement exportElement, Form form, FormElement parent, List<FormPage> pages) {
@@ -210,6 +256,10 @@ public class FormService {
             page = pages.get(0);
         }
 
+        if (exportElement.getConfiguration() != null) {
+            patternSafety.check(exportElement.getConfiguration().getPattern());
+        }
+
         FormElement element = FormElement.builder()
                 .form(form)
                 .type(exportElement.getType())
@@ -229,22 +279,14 @@ public class FormService {
         }
     }
 
-    private FormDTO.ExportElement toExportElement(FormElement element, List<FormPage> pages) {
-        Integer pageIndex = null;
-        if (element.getPage() != null) {
-            for (int i = 0; i < pages.size(); i++) {
-                if (pages.get(i).getId().equals(element.getPage().getId())) {
-                    pageIndex = i;
-                    break;
-                }
-            }
-        }
+    private FormDTO.ExportElement toExportElement(FormElement element, FormGraph graph) {
+        int pageIndex = graph.pageIndexOf(element);
 
+        List<FormElement> childElements = graph.getChildren(element);
         List<FormDTO.ExportElement> children = null;
-        if (element.getChildren() != null && !element.getChildren().isEmpty()) {
-            children = element.getChildren().stream()
-                    .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                    .map(c -> toExportElement(c, pages))
+        if (!childElements.isEmpty()) {
+            children = childElements.stream()
+                    .map(c -> toExportElement(c, graph))
                     .collect(Collectors.toList());
         }
 
@@ -254,57 +296,42 @@ public class FormService {
                 .fieldName(element.getFieldName())
                 .sortOrder(element.getSortOrder())
                 .configuration(element.getConfiguration())
-                .pageIndex(pageIndex)
+                .pageIndex(pageIndex >= 0 ? pageIndex : null)
                 .children(children)
                 .build();
     }
 
     private void verifyOwnership(Form form) {
+        verifyOwnership(form.getId(), form.getUser() != null ? form.getUser().getId() : null);
+    }
+
+    private void verifyOwnership(UUID formId, UUID ownerId) {
         User user = authService.getAuthenticatedUser();
         if (user != null && user.getRole() == UserRole.ADMIN) {
             return;
         }
-        if (user != null && form.getUser() != null && !form.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("Form not found: " + form.getId());
+        if (user != null && ownerId != null && !ownerId.equals(user.getId())) {
+            throw new ResourceNotFoundException("Form not found: " + formId);
         }
     }
 
-    private FormDTO.Response toResponse(Form form) {
-        List<FormElementDTO.Response> elements = form.getElements() != null
-                ? form.getElements().stream()
-                    .filter(e -> e.getParentElement() == null)
-                    .map(FormElementDTO::toTreeResponse)
-                    .collect(Collectors.toList())
-                : List.of();
-
-        List<FormPageDTO.Response> pages = form.getPages() != null
-                ? form.getPages().stream()
-                    .map(FormPageDTO::toResponse)
-                    .collect(Collectors.toList())
-                : List.of();
-
-        return FormDTO.Response.builder()
-                .id(form.getId())
-                .name(form.getName())
-                .description(form.getDescription())
-                .status(form.getStatus())
-                .createdAt(form.getCreatedAt())
-                .updatedAt(form.getUpdatedAt())
-                .publishedAt(form.getPublishedAt())
-                .elements(elements)
-                .pages(pages)
-                .build();
+    private static String encodeCursor(LocalDateTime updatedAt, UUID id) {
+        String raw = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
-    private FormDTO.ListResponse toListResponse(Form form) {
-        return FormDTO.ListResponse.builder()
-                .id(form.getId())
-                .name(form.getName())
-                .description(form.getDescription())
-                .status(form.getStatus())
-                .createdAt(form.getCreatedAt())
-                .updatedAt(form.getUpdatedAt())
-                .elementCount(form.getElements() != null ? form.getElements().size() : 0)
-                .build();
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(raw);
+            }
+            LocalDateTime.parse(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,140 @@
+package com.formbuilder.form;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.export.ExportPlan;
+import com.formbuilder.validation.ValidationPlan;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read-only view of a form as served to clients, built once per form version and shared
+ * between requests by {@link FormSnapshotCache}. Callers must treat the response tree as immutable.
+ *
+ * <p>The response is pre-encoded as UTF-8 JSON (plain and gzipped) so that reads only copy bytes.
+ * The {@code version} (and the ETag derived from it) is a hash of the encoded JSON: page and element
+ * edits don't touch {@code forms.updated_at}, so the content itself is the only version that changes
+ * with every mutation.
+ *
+ * <p>The snapshot also carries the form's compiled {@link ValidationPlan}, so submissions are
+ * validated against the same version that readers are served.
+ */
+@Value
+@Builder
+public class FormSnapshot {
+
+    UUID id;
+    UUID ownerId;
+    FormStatus status;
+    FormDTO.Response response;
+    String version;
+    ValidationPlan validationPlan;
+    ExportPlan exportPlan;
+
+    @Getter(AccessLevel.NONE)
+    byte[] json;
+
+    @Getter(AccessLevel.NONE)
+    byte[] gzippedJson;
+
+    public boolean isPublished() {
+        return status == FormStatus.PUBLISHED;
+    }
+
+    /**
+     * Builds the HTTP response for this snapshot, choosing the gzipped body when the client
+     * accepts it. Spring answers a matching {@code If-None-Match} with 304 based on the ETag set here.
+     */
+    public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag(gzip ? version + "-gzip" : version);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? gzippedJson : json);
+    }
+
+    public static FormSnapshot of(FormGraph graph, ValidationPlan validationPlan, ObjectMapper objectMapper) {
+        Form form = graph.getForm();
+        FormDTO.Response response = FormDTO.toResponse(graph);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode form " + form.getId(), e);
+        }
+
+        return FormSnapshot.builder()
+                .id(form.getId())
+                .ownerId(form.getUser() != null ? form.getUser().getId() : null)
+                .status(form.getStatus())
+                .response(response)
+                .version(versionOf(json))
+                .validationPlan(validationPlan)
+                .exportPlan(ExportPlan.compile(graph))
+                .json(json)
+                .gzippedJson(gzip(json))
+                .build();
+    }
+
+    /** Whether an {@code Accept-Encoding} header value accepts gzip (with a non-zero q). */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                String q = param.startsWith("q=") ? param.substring(2).trim() : "";
+                if (!q.isEmpty() && q.chars().allMatch(c -> c == '0' || c == '.')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static String versionOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,155 @@
+package com.formbuilder.form;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * In-process cache of {@link FormSnapshot}s keyed by form id.
+ *
+ * <p>Loads are single-flight: concurrent misses for the same form wait on the first caller's
+ * load instead of each querying the database. Entries are dropped after any transaction that
+ * mutates the form, its pages or its elements commits, and the least recently used entry is
+ * dropped once more than {@code forms.snapshot-cache.max-entries} forms are cached.
+ */
+@Component
+public class FormSnapshotCache {
+
+    // In access order, least recently used first; guarded by itself
+    private final Map<UUID, CompletableFuture<FormSnapshot>> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter capacityEvictions;
+
+    public FormSnapshotCache(MeterRegistry meterRegistry,
+                             @Value("${forms.snapshot-cache.max-entries:1000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CompletableFuture<FormSnapshot>> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                capacityEvictions.increment();
+                return true;
+            }
+        };
+        this.hits = Counter.builder("form.snapshot.cache.gets")
+                .tag("result", "hit")
+                .description("Form snapshot lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("form.snapshot.cache.gets")
+                .tag("result", "miss")
+                .description("Form snapshot lookups that triggered a load")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("form.snapshot.cache.evictions")
+                .tag("cause", "mutation")
+                .description("Form snapshots dropped after a form mutation")
+                .register(meterRegistry);
+        this.capacityEvictions = Counter.builder("form.snapshot.cache.evictions")
+                .tag("cause", "capacity")
+                .description("Least recently used form snapshots dropped to stay within the cache size")
+                .register(meterRegistry);
+        Gauge.builder("form.snapshot.cache.size", this, FormSnapshotCache::size)
+                .description("Number of cached form snapshots")
+                .register(meterRegistry);
+    }
+
+    public Optional<FormSnapshot> get(UUID formId, Function<UUID, Optional<FormSnapshot>> loader) {
+        CompletableFuture<FormSnapshot> existing;
+        CompletableFuture<FormSnapshot> pending = null;
+        synchronized (entries) {
+            existing = entries.get(formId);
+            if (existing == null) {
+                pending = new CompletableFuture<>();
+                entries.put(formId, pending);
+            }
+        }
+        if (pending != null) {
+            misses.increment();
+            return load(formId, pending, loader);
+        }
+        hits.increment();
+        return await(existing);
+    }
+
+    public void evictAfterCommit(UUID formId) {
+        afterCommit(() -> evict(formId));
+    }
+
+    public void evict(UUID formId) {
+        boolean removed;
+        synchronized (entries) {
+            removed = entries.remove(formId) != null;
+        }
+        if (removed) {
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Optional<FormSnapshot> load(UUID formId, CompletableFuture<FormSnapshot> pending,
+                                        Function<UUID, Optional<FormSnapshot>> loader) {
+        try {
+            Optional<FormSnapshot> loaded = loader.apply(formId);
+            if (loaded.isEmpty()) {
+                // Don't cache misses: a form created later under this id must become visible
+                discard(formId, pending);
+            }
+            pending.complete(loaded.orElse(null));
+            return loaded;
+        } catch (RuntimeException e) {
+            discard(formId, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void discard(UUID formId, CompletableFuture<FormSnapshot> pending) {
+        synchronized (entries) {
+            entries.remove(formId, pending);
+        }
+    }
+
+    private Optional<FormSnapshot> await(CompletableFuture<FormSnapshot> future) {
+        try {
+            return Optional.ofNullable(future.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
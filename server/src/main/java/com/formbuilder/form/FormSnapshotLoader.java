@@ -0,0 +1,31 @@
+package com.formbuilder.form;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.validation.ParallelValidation;
+import com.formbuilder.validation.PatternSafety;
+import com.formbuilder.validation.ValidationPlan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class FormSnapshotLoader {
+
+    private final FormGraphLoader graphLoader;
+    private final ObjectMapper objectMapper;
+    private final PatternSafety patternSafety;
+    private final ParallelValidation parallelValidation;
+
+    @Transactional(readOnly = true)
+    public Optional<FormSnapshot> load(UUID formId) {
+        return graphLoader.load(formId).map(this::build);
+    }
+
+    public FormSnapshot build(FormGraph graph) {
+        return FormSnapshot.of(graph, ValidationPlan.compile(graph, patternSafety, parallelValidation), objectMapper);
+    }
+}
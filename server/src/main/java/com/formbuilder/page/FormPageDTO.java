@@ -71,4 +71,16 @@ public class FormPageDTO {
                 .updatedAt(page.getUpdatedAt())
                 .build();
     }
+
+    public static Response toResponse(FormPage page, List<FormElementDTO.Response> elements) {
+        return Response.builder()
+                .id(page.getId())
+                .pageNumber(page.getPageNumber())
+                .title(page.getTitle())
+                .description(page.getDescription())
+                .elements(elements)
+                .createdAt(page.getCreatedAt())
+                .updatedAt(page.getUpdatedAt())
+                .build();
+    }
 }
@@ -15,6 +15,9 @@ public interface FormPageRepository extends JpaRepository<FormPage, UUID> {
 
     Optional<FormPage> findByIdAndFormId(UUID id, UUID formId);
 
+    @Query("SELECT p FROM FormPage p JOIN FETCH p.form WHERE p.form.id = :formId ORDER BY p.pageNumber ASC")
+    List<FormPage> findByFormIdWithForm(UUID formId);
+
     Optional<FormPage> findFirstByFormIdOrderByPageNumberAsc(UUID formId);
 
     @Query("SELECT COALESCE(MAX(p.pageNumber), -1) FROM FormPage p WHERE p.form.id = :formId")
@@ -5,6 +5,7 @@ import com.formbuilder.element.FormElementRepository;
 import com.formbuilder.exception.ResourceNotFoundException;
 import com.formbuilder.form.Form;
 import com.formbuilder.form.FormRepository;
+import com.formbuilder.form.FormSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,7 @@ public class FormPageService {
 
     private final FormPageRepository pageRepository;
     private final FormRepository formRepository;
+    private final FormSnapshotCache snapshotCache;
     private final FormElementRepository elementRepository;
 
     @Transactional(readOnly = true)
@@ -44,6 +46,7 @@ public class FormPageService {
                 .build();
 
         FormPage saved = pageRepository.save(page);
+        snapshotCache.evictAfterCommit(formId);
         return FormPageDTO.toResponse(saved);
     }
 
@@ -62,6 +65,7 @@ public class FormPageService {
         }
 
         FormPage saved = pageRepository.save(page);
+        snapshotCache.evictAfterCommit(formId);
         return FormPageDTO.toResponse(saved);
     }
 
@@ -99,6 +103,7 @@ public class FormPageService {
             remainingPages.get(i).setPageNumber(i);
         }
         pageRepository.saveAll(remainingPages);
+        snapshotCache.evictAfterCommit(formId);
     }
 
     @Transactional
@@ -118,6 +123,7 @@ public class FormPageService {
         }
 
         pageRepository.saveAll(pages);
+        snapshotCache.evictAfterCommit(formId);
 
         return pageRepository.findByFormIdOrderByPageNumberAsc(formId).stream()
                 .map(FormPageDTO::toResponse)
@@ -0,0 +1,239 @@
+package com.formbuilder.projection;
+
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElement;
+import com.formbuilder.form.FormGraph;
+import com.formbuilder.validation.ValueChecks;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Relational shape of one version of a form: a root table with a row per submission and a child
+ * table per repeatable {@code ELEMENT_GROUP}, each with a typed column per leaf field. Fields of
+ * non-repeatable groups sit in their parent's table, as they do in the submission data.
+ *
+ * <p>The layout is stored as JSON with the projection, so rows keep being written in the shape the
+ * tables were created with even after the form is edited. Its {@code version} is a hash of the
+ * structure alone, so republishing an unchanged form keeps the existing tables.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionLayout {
+
+    static final String TABLE_PREFIX = "fp_";
+
+    // Postgres truncates identifiers at 63 bytes; leave room for a de-duplicating suffix
+    private static final int MAX_COLUMN_NAME = 56;
+
+    private static final Set<String> ROOT_COLUMNS = Set.of("submission_id", "status");
+    private static final Set<String> CHILD_COLUMNS = Set.of("submission_id", "instance_path");
+
+    // Postgres numeric limits: 131072 digits before the decimal point, 16383 after
+    private static final int MAX_INTEGER_DIGITS = 131072;
+    private static final int MAX_SCALE = 16383;
+
+    private String version;
+    private Table root;
+
+    public enum ColumnType {
+        TEXT("TEXT"),
+        NUMERIC("NUMERIC"),
+        DATE("DATE"),
+        BOOLEAN("BOOLEAN"),
+        TEXT_ARRAY("TEXT[]");
+
+        private final String sqlType;
+
+        ColumnType(String sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        public String getSqlType() {
+            return sqlType;
+        }
+
+        /** The JDBC value for a submitted value, or null if it has no representation in this type. */
+        Object convert(Object value) {
+            return switch (this) {
+                case TEXT -> text(value);
+                case NUMERIC -> numeric(value);
+                case DATE -> value instanceof String s && ValueChecks.isDate(s) ? LocalDate.parse(s) : null;
+                case BOOLEAN -> value instanceof Boolean b ? b
+                        : value instanceof String s && (s.equals("true") || s.equals("false")) ? Boolean.valueOf(s)
+                        : null;
+                case TEXT_ARRAY -> value instanceof List<?> list
+                        ? list.stream().map(ColumnType::text).toArray(String[]::new)
+                        : null;
+            };
+        }
+
+        private static String text(Object value) {
+            return value instanceof String || value instanceof Number || value instanceof Boolean
+                    ? value.toString()
+                    : null;
+        }
+
+        private static BigDecimal numeric(Object value) {
+            String s = value instanceof Number n ? n.toString()
+                    : value instanceof String str && ValueChecks.isNumber(str) ? str
+                    : null;
+            if (s == null) {
+                return null;
+            }
+            try {
+                BigDecimal number = new BigDecimal(s);
+                // Out-of-range values would fail the whole write; drafts and old rows may hold anything
+                return number.precision() - number.scale() <= MAX_INTEGER_DIGITS && number.scale() <= MAX_SCALE
+                        ? number
+                        : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Table {
+        private String name;
+        // Array field holding this table's instances in the parent instance; null for the root table
+        private String field;
+        // Dotted path of the group from the submission root; empty for the root table
+        private String path;
+        private List<Column> columns = new ArrayList<>();
+        private List<Table> children = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Column {
+        private String name;
+        private String field;
+        private ColumnType type;
+    }
+
+    public static ProjectionLayout compile(FormGraph graph) {
+        Table root = new Table(null, null, "", new ArrayList<>(), new ArrayList<>());
+        addFields(graph, graph.getRootElements(), root);
+
+        String version = versionOf(root);
+        String base = TABLE_PREFIX + graph.getForm().getId().toString().replace("-", "") + "_" + version;
+        List<Table> tables = tables(root);
+        for (int i = 0; i < tables.size(); i++) {
+            Table table = tables.get(i);
+            table.setName(i == 0 ? base : base + "_" + i);
+            assignColumnNames(table, i == 0 ? ROOT_COLUMNS : CHILD_COLUMNS);
+        }
+        return new ProjectionLayout(version, root);
+    }
+
+    /** Every table, parents before their children. */
+    public List<Table> tables() {
+        return tables(root);
+    }
+
+    private static List<Table> tables(Table root) {
+        List<Table> tables = new ArrayList<>();
+        addTables(root, tables);
+        return tables;
+    }
+
+    private static void addTables(Table table, List<Table> tables) {
+        tables.add(table);
+        for (Table child : table.getChildren()) {
+            addTables(child, tables);
+        }
+    }
+
+    private static void addFields(FormGraph graph, List<FormElement> elements, Table table) {
+        for (FormElement element : elements) {
+            ElementType type = element.getType();
+            if (type == ElementType.STATIC_TEXT || type == ElementType.PAGE_BREAK) {
+                continue;
+            }
+
+            ElementConfiguration config = element.getConfiguration();
+            boolean repeatable = config != null && Boolean.TRUE.equals(config.getRepeatable());
+            if (type == ElementType.ELEMENT_GROUP) {
+                if (repeatable) {
+                    String path = table.getPath().isEmpty()
+                            ? element.getFieldName()
+                            : table.getPath() + "." + element.getFieldName();
+                    Table child = new Table(null, element.getFieldName(), path, new ArrayList<>(), new ArrayList<>());
+                    addFields(graph, graph.getChildren(element), child);
+                    table.getChildren().add(child);
+                } else {
+                    addFields(graph, graph.getChildren(element), table);
+                }
+                continue;
+            }
+
+            ColumnType columnType;
+            if (repeatable || type == ElementType.CHECKBOX_GROUP) {
+                columnType = ColumnType.TEXT_ARRAY;
+            } else if (type == ElementType.NUMBER) {
+                columnType = ColumnType.NUMERIC;
+            } else if (type == ElementType.DATE) {
+                columnType = ColumnType.DATE;
+            } else if (type == ElementType.CHECKBOX) {
+                columnType = ColumnType.BOOLEAN;
+            } else {
+                columnType = ColumnType.TEXT;
+            }
+            table.getColumns().add(new Column(null, element.getFieldName(), columnType));
+        }
+    }
+
+    private static void assignColumnNames(Table table, Set<String> reserved) {
+        Set<String> used = new HashSet<>(reserved);
+        for (Column column : table.getColumns()) {
+            String name = columnName(column.getField());
+            String candidate = name;
+            for (int n = 2; !used.add(candidate); n++) {
+                candidate = name + "_" + n;
+            }
+            column.setName(candidate);
+        }
+    }
+
+    private static String columnName(String field) {
+        String name = field.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "_");
+        if (name.isEmpty() || !Character.isLetter(name.charAt(0))) {
+            name = "f_" + name;
+        }
+        return name.length() > MAX_COLUMN_NAME ? name.substring(0, MAX_COLUMN_NAME) : name;
+    }
+
+    private static String versionOf(Table root) {
+        StringBuilder structure = new StringBuilder();
+        for (Table table : tables(root)) {
+            structure.append("T:").append(table.getPath()).append('\n');
+            for (Column column : table.getColumns()) {
+                structure.append("C:").append(column.getField()).append(':').append(column.getType()).append('\n');
+            }
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(structure.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
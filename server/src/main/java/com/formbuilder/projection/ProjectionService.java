@@ -0,0 +1,232 @@
+package com.formbuilder.projection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.form.FormGraph;
+import com.formbuilder.submission.SubmissionStatus;
+import com.formbuilder.submission.SubmissionStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Maintains a typed relational projection of each published form's submissions for SQL reporting
+ * (see {@link ProjectionLayout} and {@link ProjectionTables}).
+ *
+ * <p>Publishing creates the tables for the form's current structure, drops those of the previous
+ * structure, and backfills existing submissions in the background. Submits and updates write their
+ * rows in the same transaction as the submission. Writers hold a share lock on the form's
+ * {@code form_projections} row while they write, so a publish that replaces the tables waits for
+ * them, and they never write to dropped tables. Drafts are not projected.
+ */
+@Slf4j
+@Service
+public class ProjectionService {
+
+    static final String BUILDING = "BUILDING";
+    static final String READY = "READY";
+
+    private static final String SHARE_VERSION = "SELECT version FROM form_projections WHERE form_id = ? FOR SHARE";
+    private static final String LOCK_LAYOUT = "SELECT layout FROM form_projections WHERE form_id = ? FOR UPDATE";
+    private static final String SELECT_LAYOUT = "SELECT layout FROM form_projections WHERE form_id = ?";
+
+    private static final String UPSERT_PROJECTION = """
+            INSERT INTO form_projections (form_id, version, layout, status, created_at)
+            VALUES (?, ?, ?, ?, now())
+            ON CONFLICT (form_id) DO UPDATE
+            SET version = EXCLUDED.version, layout = EXCLUDED.layout, status = EXCLUDED.status,
+                created_at = EXCLUDED.created_at, ready_at = NULL
+            """;
+
+    private static final String MARK_READY = """
+            UPDATE form_projections SET status = ?, ready_at = now() WHERE form_id = ? AND version = ?
+            """;
+
+    // Locks each batch against concurrent updates, which then write their own rows after it commits
+    private static final String BACKFILL_BATCH = "SELECT id, status, " + SubmissionStorage.COLUMNS
+            + " FROM submissions WHERE form_id = ? AND status <> 'DRAFT' AND id > ?"
+            + " ORDER BY id LIMIT ? FOR SHARE";
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectionTables tables;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final SubmissionStorage storage;
+    private final int batchSize;
+
+    private final Map<UUID, ProjectionLayout> layouts = new ConcurrentHashMap<>();
+
+    public ProjectionService(JdbcTemplate jdbcTemplate, ProjectionTables tables, ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate, TaskExecutor taskExecutor,
+                             SubmissionStorage storage,
+                             @Value("${projections.backfill.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tables = tables;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.storage = storage;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates the projection for the form's current structure unless it already exists, replacing
+     * the previous one, and backfills it once the surrounding transaction commits.
+     */
+    @Transactional
+    public void publish(FormGraph graph) {
+        UUID formId = graph.getForm().getId();
+        ProjectionLayout layout = ProjectionLayout.compile(graph);
+
+        Optional<ProjectionLayout> current = lockedLayout(formId);
+        if (current.isPresent() && current.get().getVersion().equals(layout.getVersion())) {
+            return;
+        }
+
+        current.ifPresent(tables::drop);
+        tables.create(layout);
+        jdbcTemplate.update(UPSERT_PROJECTION, formId, layout.getVersion(), write(layout), BUILDING);
+        afterCommit(() -> taskExecutor.execute(() -> backfill(formId, layout.getVersion())));
+    }
+
+    /** Drops the form's projection tables; called before the form itself is deleted. */
+    @Transactional
+    public void drop(UUID formId) {
+        lockedLayout(formId).ifPresent(tables::drop);
+        afterCommit(() -> layouts.remove(formId));
+    }
+
+    /**
+     * Replaces the submission's projected rows. {@code data} is only read if the form has a
+     * projection and the submission is not a draft.
+     */
+    @Transactional
+    public void project(UUID formId, UUID submissionId, SubmissionStatus status, Supplier<Map<?, ?>> data) {
+        List<String> versions = jdbcTemplate.queryForList(SHARE_VERSION, String.class, formId);
+        if (versions.isEmpty()) {
+            return;
+        }
+
+        ProjectionLayout layout = layout(formId, versions.get(0));
+        tables.delete(layout, submissionId);
+        if (status != SubmissionStatus.DRAFT) {
+            tables.insert(layout, submissionId, status, data.get());
+        }
+    }
+
+    /**
+     * Projects the form's existing submissions into the tables of {@code version}, in batches of
+     * {@code projections.backfill.batch-size}, then marks the projection ready. Stops early if the
+     * form is republished with another structure meanwhile. Returns the number of rows projected.
+     */
+    public long backfill(UUID formId, String version) {
+        long projected = 0;
+        try {
+            UUID after = FIRST_ID;
+            while (after != null) {
+                UUID from = after;
+                BackfillBatch batch = transactionTemplate.execute(status -> backfillBatch(formId, version, from));
+                projected += batch.count();
+                after = batch.last();
+            }
+            jdbcTemplate.update(MARK_READY, READY, formId, version);
+        } catch (DataAccessException e) {
+            log.error("Projection backfill of form {} stopped after {} submissions", formId, projected, e);
+        }
+        return projected;
+    }
+
+    private record BackfillBatch(int count, UUID last) {
+    }
+
+    private record BackfillRow(UUID id, SubmissionStatus status, String data) {
+    }
+
+    private BackfillBatch backfillBatch(UUID formId, String version, UUID after) {
+        List<String> versions = jdbcTemplate.queryForList(SHARE_VERSION, String.class, formId);
+        if (versions.isEmpty() || !versions.get(0).equals(version)) {
+            return new BackfillBatch(0, null);
+        }
+
+        ProjectionLayout layout = layout(formId, version);
+        List<BackfillRow> rows = jdbcTemplate.query(BACKFILL_BATCH, (rs, rowNum) -> new BackfillRow(
+                rs.getObject("id", UUID.class), SubmissionStatus.valueOf(rs.getString("status")), storage.read(rs)),
+                formId, after, batchSize);
+        for (BackfillRow row : rows) {
+            tables.delete(layout, row.id());
+            tables.insert(layout, row.id(), row.status(), parseData(row.data()));
+        }
+        UUID last = rows.size() < batchSize ? null : rows.get(rows.size() - 1).id();
+        return new BackfillBatch(rows.size(), last);
+    }
+
+    private ProjectionLayout layout(UUID formId, String version) {
+        ProjectionLayout cached = layouts.get(formId);
+        if (cached != null && cached.getVersion().equals(version)) {
+            return cached;
+        }
+        ProjectionLayout layout = read(jdbcTemplate.queryForObject(SELECT_LAYOUT, String.class, formId));
+        layouts.put(formId, layout);
+        return layout;
+    }
+
+    private Optional<ProjectionLayout> lockedLayout(UUID formId) {
+        return jdbcTemplate.queryForList(LOCK_LAYOUT, String.class, formId).stream().findFirst().map(this::read);
+    }
+
+    private ProjectionLayout read(String json) {
+        try {
+            return objectMapper.readValue(json, ProjectionLayout.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String write(ProjectionLayout layout) {
+        try {
+            return objectMapper.writeValueAsString(layout);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<?, ?> parseData(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package com.formbuilder.projection;
+
+import com.formbuilder.submission.SubmissionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * DDL and row writes for the tables of a {@link ProjectionLayout}.
+ *
+ * <p>The root table is keyed by {@code submission_id}. Child tables are keyed by
+ * {@code (submission_id, instance_path)}, where {@code instance_path} holds the instance indexes
+ * from the outermost repeatable group down; a child row's parent is the row of the parent table
+ * whose path is its own without the last index. Every table references {@code submissions}, so
+ * deleting a submission deletes its projected rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectionTables {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void create(ProjectionLayout layout) {
+        for (ProjectionLayout.Table table : layout.tables()) {
+            boolean root = table == layout.getRoot();
+            StringBuilder ddl = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(quote(table.getName())).append(" (");
+            if (root) {
+                ddl.append("submission_id UUID PRIMARY KEY REFERENCES submissions(id) ON DELETE CASCADE, ")
+                        .append("status VARCHAR(20) NOT NULL");
+            } else {
+                ddl.append("submission_id UUID NOT NULL REFERENCES submissions(id) ON DELETE CASCADE, ")
+                        .append("instance_path INT[] NOT NULL");
+            }
+            for (ProjectionLayout.Column column : table.getColumns()) {
+                ddl.append(", ").append(quote(column.getName())).append(' ').append(column.getType().getSqlType());
+            }
+            if (!root) {
+                ddl.append(", PRIMARY KEY (submission_id, instance_path)");
+            }
+            jdbcTemplate.execute(ddl.append(')').toString());
+
+            // Map generated names back to form fields for whoever writes the reports
+            if (!root) {
+                jdbcTemplate.execute("COMMENT ON TABLE " + quote(table.getName()) + " IS " + literal(table.getPath()));
+            }
+            for (ProjectionLayout.Column column : table.getColumns()) {
+                String field = table.getPath().isEmpty() ? column.getField() : table.getPath() + "." + column.getField();
+                jdbcTemplate.execute("COMMENT ON COLUMN " + quote(table.getName()) + "." + quote(column.getName())
+                        + " IS " + literal(field));
+            }
+        }
+    }
+
+    public void drop(ProjectionLayout layout) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + layout.tables().stream()
+                .map(table -> quote(table.getName()))
+                .collect(Collectors.joining(", ")));
+    }
+
+    /** Deletes the submission's rows from every table in one statement. */
+    public void delete(ProjectionLayout layout, UUID submissionId) {
+        List<ProjectionLayout.Table> tables = layout.tables();
+        StringBuilder sql = new StringBuilder();
+        for (int i = tables.size() - 1; i > 0; i--) {
+            sql.append(sql.isEmpty() ? "WITH " : ", ")
+                    .append("d").append(i).append(" AS (DELETE FROM ").append(quote(tables.get(i).getName()))
+                    .append(" WHERE submission_id = ?) ");
+        }
+        sql.append("DELETE FROM ").append(quote(layout.getRoot().getName())).append(" WHERE submission_id = ?");
+        jdbcTemplate.update(sql.toString(), Collections.nCopies(tables.size(), submissionId).toArray());
+    }
+
+    public void insert(ProjectionLayout layout, UUID submissionId, SubmissionStatus status, Map<?, ?> data) {
+        ProjectionLayout.Table root = layout.getRoot();
+        Object[] rootRow = new Object[2 + root.getColumns().size()];
+        rootRow[0] = submissionId;
+        rootRow[1] = status.name();
+        fillColumns(root, data, rootRow);
+        jdbcTemplate.update(insertSql(root, "status"), rootRow);
+
+        Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+        collectChildRows(root, data, new Integer[0], submissionId, rows);
+        for (ProjectionLayout.Table table : layout.tables()) {
+            List<Object[]> tableRows = rows.get(table.getName());
+            if (tableRows != null) {
+                jdbcTemplate.batchUpdate(insertSql(table, "instance_path"), tableRows);
+            }
+        }
+    }
+
+    private void collectChildRows(ProjectionLayout.Table table, Map<?, ?> instance, Integer[] path, UUID submissionId,
+                                  Map<String, List<Object[]>> rows) {
+        for (ProjectionLayout.Table child : table.getChildren()) {
+            if (!(instance.get(child.getField()) instanceof List<?> instances)) {
+                continue;
+            }
+            for (int i = 0; i < instances.size(); i++) {
+                if (!(instances.get(i) instanceof Map<?, ?> childInstance)) {
+                    continue;
+                }
+                Integer[] childPath = Arrays.copyOf(path, path.length + 1);
+                childPath[path.length] = i;
+
+                Object[] row = new Object[2 + child.getColumns().size()];
+                row[0] = submissionId;
+                row[1] = childPath;
+                fillColumns(child, childInstance, row);
+                rows.computeIfAbsent(child.getName(), name -> new ArrayList<>()).add(row);
+
+                collectChildRows(child, childInstance, childPath, submissionId, rows);
+            }
+        }
+    }
+
+    private static void fillColumns(ProjectionLayout.Table table, Map<?, ?> instance, Object[] row) {
+        List<ProjectionLayout.Column> columns = table.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            ProjectionLayout.Column column = columns.get(i);
+            row[2 + i] = column.getType().convert(instance.get(column.getField()));
+        }
+    }
+
+    private static String insertSql(ProjectionLayout.Table table, String keyColumn) {
+        StringBuilder names = new StringBuilder("submission_id, ").append(keyColumn);
+        StringBuilder values = new StringBuilder("?, ?");
+        for (ProjectionLayout.Column column : table.getColumns()) {
+            names.append(", ").append(quote(column.getName()));
+            values.append(", ?");
+        }
+        return "INSERT INTO " + quote(table.getName()) + " (" + names + ") VALUES (" + values + ")";
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
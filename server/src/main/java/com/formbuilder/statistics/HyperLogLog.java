@@ -0,0 +1,122 @@
+package com.formbuilder.statistics;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct values added, within about 1.6% with its
+ * 4096 registers. Merging two sketches gives the sketch of the union of their values, so sketches
+ * kept per day can be merged over any range of days. Adding a value again changes nothing.
+ *
+ * <p>Serialized sparse, as (register, value) pairs, until that is no smaller than the registers
+ * themselves.
+ */
+final class HyperLogLog {
+
+    private static final int P = 12;
+    private static final int M = 1 << P;
+    private static final int SPARSE = 0;
+    private static final int DENSE = 1;
+
+    private final byte[] registers = new byte[M];
+
+    void add(String value) {
+        addHash(hash(value));
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - P));
+        // The bit below the index bits caps the rank when the remaining bits are all zero
+        int rank = Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    HyperLogLog merge(HyperLogLog other) {
+        for (int i = 0; i < M; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / M);
+        double estimate = alpha * M * M / sum;
+        // Linear counting is more accurate while many registers are still empty
+        if (estimate <= 2.5 * M && zeros > 0) {
+            estimate = M * Math.log((double) M / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    byte[] toBytes() {
+        int used = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                used++;
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (used * 3 < M) {
+            out.write(SPARSE);
+            out.write(P);
+            out.write(used >>> 8);
+            out.write(used);
+            for (int i = 0; i < M; i++) {
+                if (registers[i] != 0) {
+                    out.write(i >>> 8);
+                    out.write(i);
+                    out.write(registers[i]);
+                }
+            }
+        } else {
+            out.write(DENSE);
+            out.write(P);
+            out.write(registers, 0, M);
+        }
+        return out.toByteArray();
+    }
+
+    static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length < 2 || bytes[1] != P) {
+            throw new IllegalArgumentException("Not a HyperLogLog sketch with " + M + " registers");
+        }
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes[0] == DENSE) {
+            System.arraycopy(bytes, 2, sketch.registers, 0, M);
+            return sketch;
+        }
+        int used = (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+        for (int i = 0, offset = 4; i < used; i++, offset += 3) {
+            int index = (bytes[offset] & 0xFF) << 8 | (bytes[offset + 1] & 0xFF);
+            sketch.registers[index] = bytes[offset + 2];
+        }
+        return sketch;
+    }
+
+    /** A 64-bit hash of the text: FNV-1a over its UTF-8 bytes, then MurmurHash3's finalizer to spread the bits. */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,56 @@
+package com.formbuilder.statistics;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/forms/{formId}/statistics")
+@RequiredArgsConstructor
+@Tag(name = "Statistics", description = "Per-field submission statistics")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @GetMapping
+    @Operation(summary = "Get per-field statistics of a form's submissions",
+            description = "Answered and missing counts for every field, option counts for choice fields, and "
+                    + "count, min, max, mean and a histogram for number fields. Drafts are not counted. "
+                    + "Changes are applied in the background every few seconds.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StatisticsDTO.Response> getStatistics(@PathVariable UUID formId) {
+        return ResponseEntity.ok(statisticsService.getStatistics(formId));
+    }
+
+    @GetMapping("/sketches")
+    @Operation(summary = "Get approximate distinct counts and quantiles of a form's submissions",
+            description = "Estimated distinct submitters, distinct values of every field, and quantiles of number "
+                    + "fields over the submissions made from from to to inclusive (ISO dates; either may be "
+                    + "omitted). Estimates come from HyperLogLog and t-digest sketches kept per day, so the "
+                    + "cost does not grow with the number of submissions. Values replaced by edits stay in the "
+                    + "sketches until the statistics are rebuilt.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StatisticsDTO.SketchResponse> getSketches(
+            @PathVariable UUID formId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0.5,0.95") List<Double> quantiles) {
+        return ResponseEntity.ok(statisticsService.getSketches(formId, from, to, quantiles));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Recompute a form's statistics from its submissions in the background")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StatisticsDTO.Response> rebuild(@PathVariable UUID formId) {
+        statisticsService.rebuildLater(formId);
+        return ResponseEntity.accepted().body(statisticsService.getStatistics(formId));
+    }
+}
@@ -0,0 +1,118 @@
+package com.formbuilder.statistics;
+
+import com.formbuilder.element.ElementType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class StatisticsDTO {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private UUID formId;
+        // BUILDING while a rebuild runs, READY after; null if the form's statistics were never built
+        private String status;
+        // Non-draft submissions
+        private long submissions;
+        private LocalDateTime rebuiltAt;
+        // When the last batch of changes was applied
+        private LocalDateTime appliedAt;
+        private List<FieldStatistics> fields;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FieldStatistics {
+        private String path;
+        private String label;
+        private ElementType type;
+        // Submissions with a value in at least one instance of the field, and without
+        private long answered;
+        private long missing;
+        // Radio, select, checkbox group and checkbox fields, most chosen first
+        private List<OptionCount> options;
+        // Number fields
+        private NumericSummary numeric;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OptionCount {
+        private String value;
+        // Submissions choosing the option
+        private long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class NumericSummary {
+        // Values, counting each instance of a repeated field
+        private long count;
+        private Double min;
+        private Double max;
+        private Double mean;
+        private List<Bin> histogram;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Bin {
+        // One bin per leading digit and power of ten, e.g. [20, 30); the edge nearest zero is inclusive
+        private double lower;
+        private double upper;
+        private long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SketchResponse {
+        private UUID formId;
+        // Days submitted, inclusive; null when open
+        private LocalDate from;
+        private LocalDate to;
+        // Estimated distinct users, and addresses of anonymous submitters
+        private long distinctSubmitters;
+        private List<FieldSketch> fields;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FieldSketch {
+        private String path;
+        private String label;
+        private ElementType type;
+        // Estimated distinct values entered
+        private long distinct;
+        // Number fields: values sketched, and their estimated quantiles
+        private Long values;
+        private List<Quantile> quantiles;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Quantile {
+        private double q;
+        // Null when there are no values
+        private Double value;
+    }
+}
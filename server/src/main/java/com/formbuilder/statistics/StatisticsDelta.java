@@ -0,0 +1,244 @@
+package com.formbuilder.statistics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Changes to the statistics of one or more forms, added up by field and by bucket before they are
+ * written. A change to a submission subtracts its previous values and adds its new ones; fields
+ * whose values did not change contribute nothing.
+ *
+ * <p>Sketches only ever add: the values a change adds are sketched under the day the submission
+ * was made, and values it removes stay in the sketches until the form's statistics are rebuilt.
+ */
+final class StatisticsDelta {
+
+    static final String FIELD = "FIELD";
+    static final String OPTION = "OPTION";
+    static final String BIN = "BIN";
+    static final String HLL = "HLL";
+    static final String TDIGEST = "TDIGEST";
+
+    // The field_statistics path counting the submissions themselves
+    static final String SUBMISSIONS = "";
+
+    record FieldKey(UUID formId, String path) {
+    }
+
+    record BucketKey(UUID formId, String path, String kind, String bucket) {
+    }
+
+    record SketchKey(UUID formId, String path, String kind, LocalDate day) {
+    }
+
+    static final class FieldChange {
+        long answered;
+        long numCount;
+        double numSum;
+        Double addedMin;
+        Double addedMax;
+        Double removedMin;
+        Double removedMax;
+
+        boolean removedExtremes() {
+            return removedMin != null;
+        }
+
+        boolean isEmpty() {
+            return answered == 0 && numCount == 0 && numSum == 0 && addedMin == null && removedMin == null;
+        }
+    }
+
+    private final Map<FieldKey, FieldChange> fields = new LinkedHashMap<>();
+    private final Map<BucketKey, Long> buckets = new LinkedHashMap<>();
+    private final Map<SketchKey, HyperLogLog> distinct = new LinkedHashMap<>();
+    private final Map<SketchKey, TDigest> quantiles = new LinkedHashMap<>();
+
+    Map<FieldKey, FieldChange> fields() {
+        return fields;
+    }
+
+    Map<BucketKey, Long> buckets() {
+        return buckets;
+    }
+
+    /** HyperLogLog sketches of distinct values; on the empty path, of distinct submitters. */
+    Map<SketchKey, HyperLogLog> distinct() {
+        return distinct;
+    }
+
+    Map<SketchKey, TDigest> quantiles() {
+        return quantiles;
+    }
+
+    Set<UUID> formIds() {
+        Set<UUID> formIds = new HashSet<>();
+        fields.keySet().forEach(key -> formIds.add(key.formId()));
+        buckets.keySet().forEach(key -> formIds.add(key.formId()));
+        distinct.keySet().forEach(key -> formIds.add(key.formId()));
+        quantiles.keySet().forEach(key -> formIds.add(key.formId()));
+        return formIds;
+    }
+
+    boolean isEmpty() {
+        return fields.isEmpty() && buckets.isEmpty() && distinct.isEmpty() && quantiles.isEmpty();
+    }
+
+    /**
+     * Replaces a submission's {@code before} values with {@code after}; either is null when the
+     * submission was not, or is no longer, counted (a draft). {@code day} is the day it was
+     * submitted and {@code submitter} identifies who submitted it, if known.
+     */
+    void change(UUID formId, LocalDate day, String submitter,
+                Map<String, SubmissionValues.Values> before, Map<String, SubmissionValues.Values> after) {
+        if (before == null && after == null) {
+            return;
+        }
+        if ((before == null) != (after == null)) {
+            field(formId, SUBMISSIONS).answered += before == null ? 1 : -1;
+        }
+        if (before == null && submitter != null) {
+            distinct(new SketchKey(formId, SUBMISSIONS, HLL, day)).add(submitter);
+        }
+        Set<String> paths = new HashSet<>();
+        if (before != null) {
+            paths.addAll(before.keySet());
+        }
+        if (after != null) {
+            paths.addAll(after.keySet());
+        }
+        for (String path : paths) {
+            SubmissionValues.Values old = before != null ? before.get(path) : null;
+            SubmissionValues.Values now = after != null ? after.get(path) : null;
+            if (Objects.equals(old, now)) {
+                continue;
+            }
+            if (old != null) {
+                values(formId, path, old, -1);
+            }
+            if (now != null) {
+                values(formId, path, now, 1);
+                sketch(formId, day, path, old, now);
+            }
+        }
+    }
+
+    private void sketch(UUID formId, LocalDate day, String path, SubmissionValues.Values old,
+                        SubmissionValues.Values now) {
+        for (String text : now.texts()) {
+            if (old == null || !old.texts().contains(text)) {
+                distinct(new SketchKey(formId, path, HLL, day)).add(text);
+            }
+        }
+        List<Double> previous = old != null ? new ArrayList<>(old.numbers()) : new ArrayList<>();
+        for (Double number : now.numbers()) {
+            if (!previous.remove(number)) {
+                digest(new SketchKey(formId, path, TDIGEST, day)).add(number);
+            }
+        }
+    }
+
+    private void values(UUID formId, String path, SubmissionValues.Values values, int sign) {
+        FieldChange change = field(formId, path);
+        if (values.answered()) {
+            change.answered += sign;
+        }
+        for (String option : values.options()) {
+            bucket(new BucketKey(formId, path, OPTION, option), sign);
+        }
+        for (double number : values.numbers()) {
+            change.numCount += sign;
+            change.numSum += sign * number;
+            if (sign > 0) {
+                change.addedMin = change.addedMin == null ? number : Math.min(change.addedMin, number);
+                change.addedMax = change.addedMax == null ? number : Math.max(change.addedMax, number);
+            } else {
+                change.removedMin = change.removedMin == null ? number : Math.min(change.removedMin, number);
+                change.removedMax = change.removedMax == null ? number : Math.max(change.removedMax, number);
+            }
+            bucket(new BucketKey(formId, path, BIN, bin(number)), sign);
+        }
+    }
+
+    /** Adds a change read back from a delta row. */
+    void add(FieldKey key, FieldChange row) {
+        FieldChange change = field(key.formId(), key.path());
+        change.answered += row.answered;
+        change.numCount += row.numCount;
+        change.numSum += row.numSum;
+        change.addedMin = min(change.addedMin, row.addedMin);
+        change.addedMax = max(change.addedMax, row.addedMax);
+        change.removedMin = min(change.removedMin, row.removedMin);
+        change.removedMax = max(change.removedMax, row.removedMax);
+    }
+
+    void bucket(BucketKey key, long delta) {
+        buckets.merge(key, delta, Long::sum);
+    }
+
+    HyperLogLog distinct(SketchKey key) {
+        return distinct.computeIfAbsent(key, k -> new HyperLogLog());
+    }
+
+    TDigest digest(SketchKey key) {
+        return quantiles.computeIfAbsent(key, k -> new TDigest());
+    }
+
+    private FieldChange field(UUID formId, String path) {
+        return fields.computeIfAbsent(new FieldKey(formId, path), key -> new FieldChange());
+    }
+
+    /** Drops the changes that added up to nothing. */
+    void prune() {
+        fields.values().removeIf(FieldChange::isEmpty);
+        buckets.values().removeIf(delta -> delta == 0);
+    }
+
+    /**
+     * The histogram bin of a value: one per leading digit and power of ten, so bins stay few and
+     * fixed whatever the range of the values. Keys read as the bin's edge nearest zero, e.g. "2e1"
+     * for [20, 30) and "-2e1" for (-30, -20].
+     */
+    static String bin(double value) {
+        if (value == 0) {
+            return "0";
+        }
+        double abs = Math.abs(value);
+        int exponent = (int) Math.floor(Math.log10(abs));
+        int digit = (int) (abs / Math.pow(10, exponent));
+        // Corrects rounding in log10 near powers of ten
+        if (digit >= 10) {
+            exponent++;
+            digit = (int) (abs / Math.pow(10, exponent));
+        } else if (digit < 1) {
+            exponent--;
+            digit = (int) (abs / Math.pow(10, exponent));
+        }
+        return (value < 0 ? "-" : "") + digit + "e" + exponent;
+    }
+
+    /** The lower and upper edges of the bin with the given key. */
+    static double[] binEdges(String key) {
+        if (key.equals("0")) {
+            return new double[]{0, 0};
+        }
+        double edge = Double.parseDouble(key);
+        double width = Math.pow(10, Integer.parseInt(key.substring(key.indexOf('e') + 1)));
+        return edge < 0 ? new double[]{edge - width, edge} : new double[]{edge, edge + width};
+    }
+
+    private static Double min(Double a, Double b) {
+        return a == null ? b : b == null ? a : Double.valueOf(Math.min(a, b));
+    }
+
+    private static Double max(Double a, Double b) {
+        return a == null ? b : b == null ? a : Double.valueOf(Math.max(a, b));
+    }
+}
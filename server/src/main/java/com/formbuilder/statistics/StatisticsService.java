@@ -0,0 +1,606 @@
+package com.formbuilder.statistics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.exception.ResourceNotFoundException;
+import com.formbuilder.exception.ValidationException;
+import com.formbuilder.export.ExportPlan;
+import com.formbuilder.form.FormSnapshot;
+import com.formbuilder.form.FormSnapshotCache;
+import com.formbuilder.form.FormSnapshotLoader;
+import com.formbuilder.submission.Submission;
+import com.formbuilder.submission.SubmissionStatus;
+import com.formbuilder.submission.SubmissionStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-field statistics of each form's non-draft submissions: how many answer each field, how
+ * often each option is chosen, and the count, range, mean and histogram of number fields.
+ *
+ * <p>Submits and updates {@link #record} what they changed as delta rows in their own transaction,
+ * which only appends. {@link #applyDeltas} folds pending deltas into the aggregates in batches, so
+ * concurrent submissions to a form don't contend for its aggregate rows, and reads cost the same
+ * however many submissions there are. Minimum and maximum can't be undone by a delta; when a
+ * removed value was an extreme, it is recomputed from the form's submissions.
+ *
+ * <p>{@link #rebuild} recomputes a form's aggregates from its submissions in one repeatable-read
+ * transaction, deleting the deltas its snapshot includes; deltas committed later are applied on
+ * top. Publishing a form rebuilds its statistics, as field paths may have changed.
+ *
+ * <p>Alongside, HyperLogLog and t-digest sketches of each field are kept per day submitted, for
+ * distinct counts and quantiles over any range of days; see {@link #getSketches}. Delta rows carry
+ * the sketch of the values a change added, and are merged into the stored sketches under a row
+ * lock. Sketches can't forget values, so edits and drafts add to them until the next rebuild.
+ */
+@Slf4j
+@Service
+public class StatisticsService {
+
+    static final String BUILDING = "BUILDING";
+    static final String READY = "READY";
+
+    private static final String INSERT_DELTA = """
+            INSERT INTO field_statistic_deltas
+                (form_id, path, kind, bucket, delta, num_count, num_sum, added_min, added_max, removed_min, removed_max,
+                 day, sketch)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String CLAIM_DELTAS = """
+            DELETE FROM field_statistic_deltas
+            WHERE id IN (SELECT id FROM field_statistic_deltas ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING form_id, path, kind, bucket, delta, num_count, num_sum,
+                      added_min, added_max, removed_min, removed_max, day, sketch
+            """;
+
+    private static final String UPSERT_FIELD = """
+            INSERT INTO field_statistics AS f (form_id, path, answered, num_count, num_sum, num_min, num_max)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (form_id, path) DO UPDATE
+            SET answered = f.answered + EXCLUDED.answered,
+                num_count = f.num_count + EXCLUDED.num_count,
+                num_sum = f.num_sum + EXCLUDED.num_sum,
+                num_min = LEAST(f.num_min, EXCLUDED.num_min),
+                num_max = GREATEST(f.num_max, EXCLUDED.num_max)
+            """;
+
+    private static final String UPSERT_BUCKET = """
+            INSERT INTO field_statistic_buckets AS b (form_id, path, kind, bucket, frequency)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (form_id, path, kind, bucket) DO UPDATE
+            SET frequency = b.frequency + EXCLUDED.frequency
+            """;
+
+    private static final String DELETE_EMPTY_BUCKETS =
+            "DELETE FROM field_statistic_buckets WHERE form_id = ? AND frequency <= 0";
+
+    private static final String LOCK_SKETCH =
+            "SELECT sketch FROM field_sketches WHERE form_id = ? AND path = ? AND kind = ? AND day = ? FOR UPDATE";
+
+    private static final String INSERT_SKETCH = """
+            INSERT INTO field_sketches (form_id, path, kind, day, sketch) VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (form_id, path, kind, day) DO NOTHING
+            """;
+
+    private static final String UPDATE_SKETCH =
+            "UPDATE field_sketches SET sketch = ? WHERE form_id = ? AND path = ? AND kind = ? AND day = ?";
+
+    // Locked in one order by every writer
+    private static final Comparator<StatisticsDelta.SketchKey> SKETCH_ORDER =
+            Comparator.comparing(StatisticsDelta.SketchKey::formId)
+                    .thenComparing(StatisticsDelta.SketchKey::path)
+                    .thenComparing(StatisticsDelta.SketchKey::kind)
+                    .thenComparing(StatisticsDelta.SketchKey::day);
+
+    private static final String SELECT_EXTREMES =
+            "SELECT num_count, num_min, num_max FROM field_statistics WHERE form_id = ? AND path = ?";
+
+    private static final String UPDATE_EXTREMES =
+            "UPDATE field_statistics SET num_min = ?, num_max = ? WHERE form_id = ? AND path = ?";
+
+    // Reads number values the way SubmissionValues does: JSON numbers, and strings that look like one
+    private static final String COMPUTE_EXTREMES = """
+            SELECT min(x) AS num_min, max(x) AS num_max FROM (
+                SELECT CASE
+                    WHEN jsonb_typeof(v) = 'number' THEN (v #>> '{}')::double precision
+                    WHEN jsonb_typeof(v) = 'string' AND btrim(v #>> '{}') ~ ? THEN btrim(v #>> '{}')::double precision
+                END AS x
+                FROM submissions s CROSS JOIN LATERAL jsonb_path_query(s.data_json, CAST(? AS jsonpath)) v
+                WHERE s.form_id = ? AND s.status <> 'DRAFT') t
+            """;
+
+    private static final String UPSERT_FORM = """
+            INSERT INTO form_statistics (form_id, status, rebuilt_at, applied_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (form_id) DO UPDATE
+            SET status = EXCLUDED.status,
+                rebuilt_at = COALESCE(EXCLUDED.rebuilt_at, form_statistics.rebuilt_at),
+                applied_at = COALESCE(EXCLUDED.applied_at, form_statistics.applied_at)
+            """;
+
+    private static final String MARK_APPLIED = "UPDATE form_statistics SET applied_at = ? WHERE form_id = ?";
+
+    private static final String SELECT_SUBMISSIONS =
+            "SELECT " + SubmissionStorage.COLUMNS + ", submitted_at, user_id, ip_address"
+                    + " FROM submissions WHERE form_id = ? AND status <> 'DRAFT'";
+
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final FormSnapshotCache snapshotCache;
+    private final FormSnapshotLoader snapshotLoader;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final TaskExecutor taskExecutor;
+    private final SubmissionStorage storage;
+    private final int batchSize;
+    private final int fetchSize;
+
+    public StatisticsService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                             FormSnapshotCache snapshotCache, FormSnapshotLoader snapshotLoader,
+                             TransactionTemplate transactionTemplate, PlatformTransactionManager transactionManager,
+                             TaskExecutor taskExecutor, SubmissionStorage storage,
+                             @Value("${statistics.apply.batch-size:5000}") int batchSize,
+                             @Value("${submissions.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshotCache = snapshotCache;
+        this.snapshotLoader = snapshotLoader;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.taskExecutor = taskExecutor;
+        this.storage = storage;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Records the change of a saved submission from {@code oldData} to {@code data}, read with the
+     * form's current export plan. Drafts are not counted; a null status means the submission is new.
+     */
+    @Transactional
+    public void record(ExportPlan plan, Submission submission, String data, SubmissionStatus oldStatus, String oldData) {
+        UUID formId = submission.getForm().getId();
+        UUID userId = submission.getUser() != null ? submission.getUser().getId() : null;
+        StatisticsDelta delta = new StatisticsDelta();
+        delta.change(formId, submission.getSubmittedAt().toLocalDate(), submitter(userId, submission.getIpAddress()),
+                counted(plan, oldStatus, oldData), counted(plan, submission.getStatus(), data));
+        delta.prune();
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        delta.fields().forEach((key, change) -> rows.add(new Object[]{
+                key.formId(), key.path(), StatisticsDelta.FIELD, "", change.answered, change.numCount, change.numSum,
+                change.addedMin, change.addedMax, change.removedMin, change.removedMax, null, null}));
+        delta.buckets().forEach((key, count) -> rows.add(new Object[]{
+                key.formId(), key.path(), key.kind(), key.bucket(), count, 0L, 0.0, null, null, null, null, null, null}));
+        delta.distinct().forEach((key, sketch) -> rows.add(sketchRow(key, sketch.toBytes())));
+        delta.quantiles().forEach((key, digest) -> rows.add(sketchRow(key, digest.toBytes())));
+        jdbcTemplate.batchUpdate(INSERT_DELTA, rows, new int[]{
+                Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.DOUBLE,
+                Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.DATE, Types.BINARY});
+    }
+
+    private static Object[] sketchRow(StatisticsDelta.SketchKey key, byte[] sketch) {
+        return new Object[]{key.formId(), key.path(), key.kind(), "", 0L, 0L, 0.0, null, null, null, null,
+                key.day(), sketch};
+    }
+
+    // Who made a submission, for counting distinct submitters: the user, or the address of an anonymous one
+    private static String submitter(UUID userId, String ipAddress) {
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        return ipAddress != null ? "ip:" + ipAddress : null;
+    }
+
+    private Map<String, SubmissionValues.Values> counted(ExportPlan plan, SubmissionStatus status, String data) {
+        if (status == null || status == SubmissionStatus.DRAFT || data == null) {
+            return null;
+        }
+        return SubmissionValues.read(plan, objectMapper.getFactory(), data);
+    }
+
+    @Scheduled(fixedDelayString = "${statistics.apply.interval-millis:2000}")
+    public void applyPendingDeltas() {
+        try {
+            applyDeltas();
+        } catch (DataAccessException e) {
+            log.error("Applying statistics deltas failed", e);
+        }
+    }
+
+    /**
+     * Folds pending deltas into the aggregates, {@code statistics.apply.batch-size} at a time, each
+     * batch in its own transaction. Any number of servers may do this at once; each claims different
+     * deltas. Returns the number of deltas applied.
+     */
+    public long applyDeltas() {
+        long applied = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> applyBatch());
+            applied += count;
+        } while (count == batchSize);
+        return applied;
+    }
+
+    private int applyBatch() {
+        StatisticsDelta delta = new StatisticsDelta();
+        int[] count = {0};
+        jdbcTemplate.query(CLAIM_DELTAS, rs -> {
+            count[0]++;
+            UUID formId = rs.getObject("form_id", UUID.class);
+            String path = rs.getString("path");
+            String kind = rs.getString("kind");
+            if (StatisticsDelta.FIELD.equals(kind)) {
+                StatisticsDelta.FieldChange change = new StatisticsDelta.FieldChange();
+                change.answered = rs.getLong("delta");
+                change.numCount = rs.getLong("num_count");
+                change.numSum = rs.getDouble("num_sum");
+                change.addedMin = rs.getObject("added_min", Double.class);
+                change.addedMax = rs.getObject("added_max", Double.class);
+                change.removedMin = rs.getObject("removed_min", Double.class);
+                change.removedMax = rs.getObject("removed_max", Double.class);
+                delta.add(new StatisticsDelta.FieldKey(formId, path), change);
+            } else if (StatisticsDelta.HLL.equals(kind)) {
+                delta.distinct(new StatisticsDelta.SketchKey(formId, path, kind, rs.getObject("day", LocalDate.class)))
+                        .merge(HyperLogLog.fromBytes(rs.getBytes("sketch")));
+            } else if (StatisticsDelta.TDIGEST.equals(kind)) {
+                delta.digest(new StatisticsDelta.SketchKey(formId, path, kind, rs.getObject("day", LocalDate.class)))
+                        .merge(TDigest.fromBytes(rs.getBytes("sketch")));
+            } else {
+                delta.bucket(new StatisticsDelta.BucketKey(formId, path, kind, rs.getString("bucket")),
+                        rs.getLong("delta"));
+            }
+        }, batchSize);
+        if (count[0] == 0) {
+            return 0;
+        }
+
+        delta.prune();
+        write(delta);
+        for (Map.Entry<StatisticsDelta.FieldKey, StatisticsDelta.FieldChange> entry : delta.fields().entrySet()) {
+            if (entry.getValue().removedExtremes()) {
+                restoreExtremes(entry.getKey(), entry.getValue());
+            }
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(MARK_APPLIED, delta.formIds().stream()
+                .map(formId -> new Object[]{now, formId}).toList());
+        return count[0];
+    }
+
+    private void write(StatisticsDelta delta) {
+        jdbcTemplate.batchUpdate(UPSERT_FIELD, delta.fields().entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey().formId(), entry.getKey().path(), entry.getValue().answered,
+                        entry.getValue().numCount, entry.getValue().numSum, entry.getValue().addedMin,
+                        entry.getValue().addedMax})
+                .toList(), new int[]{Types.OTHER, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.DOUBLE,
+                Types.DOUBLE, Types.DOUBLE});
+        jdbcTemplate.batchUpdate(UPSERT_BUCKET, delta.buckets().entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey().formId(), entry.getKey().path(), entry.getKey().kind(),
+                        entry.getKey().bucket(), entry.getValue()})
+                .toList());
+        jdbcTemplate.batchUpdate(DELETE_EMPTY_BUCKETS, delta.formIds().stream()
+                .map(formId -> new Object[]{formId}).toList());
+
+        List<StatisticsDelta.SketchKey> keys = new ArrayList<>(delta.distinct().keySet());
+        keys.addAll(delta.quantiles().keySet());
+        keys.sort(SKETCH_ORDER);
+        for (StatisticsDelta.SketchKey key : keys) {
+            HyperLogLog distinct = delta.distinct().get(key);
+            TDigest digest = delta.quantiles().get(key);
+            mergeSketch(key, stored -> distinct != null
+                    ? distinct.merge(HyperLogLog.fromBytes(stored)).toBytes()
+                    : digest.merge(TDigest.fromBytes(stored)).toBytes(),
+                    () -> distinct != null ? distinct.toBytes() : digest.toBytes());
+        }
+    }
+
+    // Merges into the stored sketch under its row lock, so servers applying deltas at once don't lose each other's values
+    private void mergeSketch(StatisticsDelta.SketchKey key, UnaryOperator<byte[]> merge, Supplier<byte[]> created) {
+        Object[] id = {key.formId(), key.path(), key.kind(), key.day()};
+        while (true) {
+            List<byte[]> stored = jdbcTemplate.query(LOCK_SKETCH, (rs, rowNum) -> rs.getBytes("sketch"), id);
+            if (!stored.isEmpty()) {
+                jdbcTemplate.update(UPDATE_SKETCH, merge.apply(stored.get(0)), key.formId(), key.path(), key.kind(),
+                        key.day());
+                return;
+            }
+            // Nothing inserted if another server inserted it meanwhile; then lock and merge into theirs
+            if (jdbcTemplate.update(INSERT_SKETCH, key.formId(), key.path(), key.kind(), key.day(), created.get()) > 0) {
+                return;
+            }
+        }
+    }
+
+    // A removed value at or beyond the current minimum or maximum may have been the only one there
+    private void restoreExtremes(StatisticsDelta.FieldKey key, StatisticsDelta.FieldChange change) {
+        Map<String, Object> current = jdbcTemplate.queryForMap(SELECT_EXTREMES, key.formId(), key.path());
+        long numCount = ((Number) current.get("num_count")).longValue();
+        Double min = current.get("num_min") != null ? ((Number) current.get("num_min")).doubleValue() : null;
+        Double max = current.get("num_max") != null ? ((Number) current.get("num_max")).doubleValue() : null;
+        if (numCount <= 0) {
+            jdbcTemplate.update(UPDATE_EXTREMES, null, null, key.formId(), key.path());
+            return;
+        }
+        if ((min == null || change.removedMin > min) && (max == null || change.removedMax < max)) {
+            return;
+        }
+        Optional<ExportPlan.Leaf> leaf = snapshotCache.get(key.formId(), snapshotLoader::load)
+                .map(snapshot -> snapshot.getExportPlan().getLeavesByPath().get(key.path()));
+        if (leaf.isEmpty()) {
+            // The field is gone from the form; the rebuild on publish drops it
+            return;
+        }
+        Map<String, Object> computed = jdbcTemplate.queryForMap(COMPUTE_EXTREMES,
+                SubmissionValues.NUMBER_PATTERN, leaf.get().valuePath(), key.formId());
+        jdbcTemplate.update(UPDATE_EXTREMES, computed.get("num_min"), computed.get("num_max"),
+                key.formId(), key.path());
+    }
+
+    /**
+     * Marks the form's statistics as building and rebuilds them in the background once the
+     * surrounding transaction commits.
+     */
+    @Transactional
+    public void rebuildLater(UUID formId) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM forms WHERE id = ?)", Boolean.class, formId))) {
+            throw new ResourceNotFoundException("Form not found: " + formId);
+        }
+        jdbcTemplate.update(UPSERT_FORM, formId, BUILDING, null, null);
+        afterCommit(() -> taskExecutor.execute(() -> {
+            try {
+                rebuild(formId);
+            } catch (RuntimeException e) {
+                log.error("Rebuilding statistics of form {} failed", formId, e);
+            }
+        }));
+    }
+
+    /** Recomputes the form's statistics from its submissions; see the class comment. */
+    public void rebuild(UUID formId) {
+        ExportPlan plan = loadSnapshot(formId).getExportPlan();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                snapshotTransaction.executeWithoutResult(status -> recompute(formId, plan));
+                return;
+            } catch (ConcurrencyFailureException e) {
+                // A batch of deltas was applied to the form meanwhile
+                if (attempt == REBUILD_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void recompute(UUID formId, ExportPlan plan) {
+        jdbcTemplate.update("DELETE FROM field_statistic_deltas WHERE form_id = ?", formId);
+        jdbcTemplate.update("DELETE FROM field_statistic_buckets WHERE form_id = ?", formId);
+        jdbcTemplate.update("DELETE FROM field_statistics WHERE form_id = ?", formId);
+        jdbcTemplate.update("DELETE FROM field_sketches WHERE form_id = ?", formId);
+
+        StatisticsDelta delta = new StatisticsDelta();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SUBMISSIONS);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, formId);
+            return ps;
+        }, rs -> {
+            delta.change(formId, rs.getTimestamp("submitted_at").toLocalDateTime().toLocalDate(),
+                    submitter(rs.getObject("user_id", UUID.class), rs.getString("ip_address")),
+                    null, SubmissionValues.read(plan, objectMapper.getFactory(), storage.read(rs)));
+        });
+        delta.prune();
+        write(delta);
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(UPSERT_FORM, formId, READY, now, now);
+    }
+
+    /** The form's statistics, in the order of its current fields. */
+    @Transactional(readOnly = true)
+    public StatisticsDTO.Response getStatistics(UUID formId) {
+        ExportPlan plan = loadSnapshot(formId).getExportPlan();
+
+        StatisticsDTO.Response.ResponseBuilder response = StatisticsDTO.Response.builder().formId(formId);
+        jdbcTemplate.query("SELECT status, rebuilt_at, applied_at FROM form_statistics WHERE form_id = ?", rs -> {
+            response.status(rs.getString("status"));
+            response.rebuiltAt(toLocalDateTime(rs.getTimestamp("rebuilt_at")));
+            response.appliedAt(toLocalDateTime(rs.getTimestamp("applied_at")));
+        }, formId);
+
+        Map<String, StatisticsDTO.FieldStatistics> fields = new HashMap<>();
+        Map<String, double[]> sums = new HashMap<>();
+        jdbcTemplate.query("SELECT * FROM field_statistics WHERE form_id = ?", rs -> {
+            StatisticsDTO.NumericSummary numeric = StatisticsDTO.NumericSummary.builder()
+                    .count(rs.getLong("num_count"))
+                    .min(rs.getObject("num_min", Double.class))
+                    .max(rs.getObject("num_max", Double.class))
+                    .histogram(new ArrayList<>())
+                    .build();
+            if (numeric.getCount() > 0) {
+                numeric.setMean(rs.getDouble("num_sum") / numeric.getCount());
+            }
+            fields.put(rs.getString("path"), StatisticsDTO.FieldStatistics.builder()
+                    .answered(rs.getLong("answered"))
+                    .options(new ArrayList<>())
+                    .numeric(numeric)
+                    .build());
+        }, formId);
+        long submissions = Optional.ofNullable(fields.get(StatisticsDelta.SUBMISSIONS))
+                .map(StatisticsDTO.FieldStatistics::getAnswered).orElse(0L);
+
+        jdbcTemplate.query("SELECT path, kind, bucket, frequency FROM field_statistic_buckets WHERE form_id = ?", rs -> {
+            StatisticsDTO.FieldStatistics field = fields.get(rs.getString("path"));
+            if (field == null) {
+                return;
+            }
+            if (StatisticsDelta.OPTION.equals(rs.getString("kind"))) {
+                field.getOptions().add(new StatisticsDTO.OptionCount(rs.getString("bucket"), rs.getLong("frequency")));
+            } else {
+                double[] edges = StatisticsDelta.binEdges(rs.getString("bucket"));
+                field.getNumeric().getHistogram().add(new StatisticsDTO.Bin(edges[0], edges[1], rs.getLong("frequency")));
+            }
+        }, formId);
+
+        List<StatisticsDTO.FieldStatistics> ordered = new ArrayList<>();
+        for (ExportPlan.Node node : plan.getNodes()) {
+            for (ExportPlan.Leaf leaf : node.getLeaves()) {
+                if (leaf != plan.getLeavesByPath().get(leaf.getPath())) {
+                    continue;
+                }
+                ordered.add(fieldStatistics(leaf, fields.get(leaf.getPath()), submissions));
+            }
+        }
+        return response.submissions(submissions).fields(ordered).build();
+    }
+
+    /**
+     * Approximate distinct counts of every field and of submitters, and quantiles of number fields,
+     * over the submissions made from {@code from} to {@code to} inclusive (either open if null).
+     */
+    @Transactional(readOnly = true)
+    public StatisticsDTO.SketchResponse getSketches(UUID formId, LocalDate from, LocalDate to, List<Double> quantiles) {
+        ExportPlan plan = loadSnapshot(formId).getExportPlan();
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("Invalid sketch request", Map.of("from", "must not be after to"));
+        }
+        if (quantiles.stream().anyMatch(q -> q == null || !(q >= 0 && q <= 1))) {
+            throw new ValidationException("Invalid sketch request", Map.of("quantiles", "must be between 0 and 1"));
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT path, kind, sketch FROM field_sketches WHERE form_id = ?");
+        List<Object> args = new ArrayList<>(List.of(formId));
+        if (from != null) {
+            sql.append(" AND day >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND day <= ?");
+            args.add(to);
+        }
+        Map<String, HyperLogLog> distinct = new HashMap<>();
+        Map<String, TDigest> digests = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            if (StatisticsDelta.HLL.equals(rs.getString("kind"))) {
+                distinct.computeIfAbsent(rs.getString("path"), path -> new HyperLogLog())
+                        .merge(HyperLogLog.fromBytes(rs.getBytes("sketch")));
+            } else {
+                digests.computeIfAbsent(rs.getString("path"), path -> new TDigest())
+                        .merge(TDigest.fromBytes(rs.getBytes("sketch")));
+            }
+        }, args.toArray());
+
+        List<StatisticsDTO.FieldSketch> fields = new ArrayList<>();
+        for (ExportPlan.Node node : plan.getNodes()) {
+            for (ExportPlan.Leaf leaf : node.getLeaves()) {
+                if (leaf != plan.getLeavesByPath().get(leaf.getPath())) {
+                    continue;
+                }
+                StatisticsDTO.FieldSketch field = StatisticsDTO.FieldSketch.builder()
+                        .path(leaf.getPath())
+                        .label(leaf.getLabel())
+                        .type(leaf.getElementType())
+                        .distinct(Optional.ofNullable(distinct.get(leaf.getPath())).map(HyperLogLog::estimate).orElse(0L))
+                        .build();
+                if (SubmissionValues.isNumeric(leaf)) {
+                    TDigest digest = digests.getOrDefault(leaf.getPath(), new TDigest());
+                    field.setValues(digest.count());
+                    field.setQuantiles(quantiles.stream()
+                            .map(q -> new StatisticsDTO.Quantile(q, digest.quantile(q)))
+                            .toList());
+                }
+                fields.add(field);
+            }
+        }
+        return StatisticsDTO.SketchResponse.builder()
+                .formId(formId)
+                .from(from)
+                .to(to)
+                .distinctSubmitters(Optional.ofNullable(distinct.get(StatisticsDelta.SUBMISSIONS))
+                        .map(HyperLogLog::estimate).orElse(0L))
+                .fields(fields)
+                .build();
+    }
+
+    private static StatisticsDTO.FieldStatistics fieldStatistics(ExportPlan.Leaf leaf,
+                                                                 StatisticsDTO.FieldStatistics stored,
+                                                                 long submissions) {
+        StatisticsDTO.FieldStatistics field = stored != null ? stored : StatisticsDTO.FieldStatistics.builder()
+                .options(new ArrayList<>())
+                .numeric(StatisticsDTO.NumericSummary.builder().histogram(new ArrayList<>()).build())
+                .build();
+        field.setPath(leaf.getPath());
+        field.setLabel(leaf.getLabel());
+        field.setType(leaf.getElementType());
+        field.setMissing(Math.max(0, submissions - field.getAnswered()));
+        if (SubmissionValues.hasOptions(leaf)) {
+            field.getOptions().sort(Comparator.comparingLong(StatisticsDTO.OptionCount::getCount).reversed()
+                    .thenComparing(StatisticsDTO.OptionCount::getValue));
+        } else {
+            field.setOptions(null);
+        }
+        if (SubmissionValues.isNumeric(leaf)) {
+            field.getNumeric().getHistogram().sort(Comparator.comparingDouble(StatisticsDTO.Bin::getLower));
+        } else {
+            field.setNumeric(null);
+        }
+        return field;
+    }
+
+    private FormSnapshot loadSnapshot(UUID formId) {
+        return snapshotCache.get(formId, snapshotLoader::load)
+                .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + formId));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.formbuilder.statistics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.export.ExportPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The values of one submission that the statistics count, by field path: whether the field is
+ * answered in any instance, the distinct values entered, the options chosen, and the numbers.
+ */
+final class SubmissionValues {
+
+    // Numbers as JSON writes them, or as typed into a text value; the same test is made in SQL
+    static final String NUMBER_PATTERN = "^[-+]?([0-9]+\\.?[0-9]*|\\.[0-9]+)([eE][-+]?[0-9]+)?$";
+
+    private static final Pattern NUMBER = Pattern.compile(NUMBER_PATTERN);
+    private static final Set<ElementType> OPTION_TYPES = Set.of(
+            ElementType.RADIO_GROUP, ElementType.SELECT, ElementType.CHECKBOX_GROUP, ElementType.CHECKBOX);
+
+    record Values(boolean answered, Set<String> texts, Set<String> options, List<Double> numbers) {
+    }
+
+    private SubmissionValues() {
+    }
+
+    static boolean hasOptions(ExportPlan.Leaf leaf) {
+        return OPTION_TYPES.contains(leaf.getElementType());
+    }
+
+    static boolean isNumeric(ExportPlan.Leaf leaf) {
+        return leaf.getElementType() == ElementType.NUMBER;
+    }
+
+    /** Reads submission data JSON; malformed data counts as an empty submission. */
+    static Map<String, Values> read(ExportPlan plan, JsonFactory factory, String json) {
+        boolean[] wanted = new boolean[plan.getNodes().size()];
+        Arrays.fill(wanted, true);
+        try (JsonParser parser = factory.createParser(json)) {
+            parser.nextToken();
+            return of(plan, plan.read(parser, wanted));
+        } catch (IOException e) {
+            return of(plan, plan.empty());
+        }
+    }
+
+    static Map<String, Values> of(ExportPlan plan, ExportPlan.Instance instance) {
+        Map<ExportPlan.Leaf, Builder> builders = new HashMap<>();
+        collect(plan.getRoot(), instance, builders);
+
+        Map<String, Values> values = new LinkedHashMap<>();
+        for (ExportPlan.Node node : plan.getNodes()) {
+            for (ExportPlan.Leaf leaf : node.getLeaves()) {
+                Builder builder = builders.get(leaf);
+                values.putIfAbsent(leaf.getPath(), builder != null ? builder.build()
+                        : new Values(false, Set.of(), Set.of(), List.of()));
+            }
+        }
+        return values;
+    }
+
+    private static void collect(ExportPlan.Node node, ExportPlan.Instance instance,
+                                Map<ExportPlan.Leaf, Builder> builders) {
+        for (ExportPlan.Leaf leaf : node.getLeaves()) {
+            Object raw = instance.raw(leaf.getSlot());
+            if (raw instanceof List<?> items) {
+                items.forEach(item -> add(leaf, (String) item, builders));
+            } else if (raw != null) {
+                add(leaf, (String) raw, builders);
+            }
+        }
+        for (ExportPlan.Node group : node.getGroups()) {
+            for (ExportPlan.Instance child : instance.instances(group.getGroupIndex())) {
+                collect(group, child, builders);
+            }
+        }
+    }
+
+    private static void add(ExportPlan.Leaf leaf, String text, Map<ExportPlan.Leaf, Builder> builders) {
+        if (text.isBlank()) {
+            return;
+        }
+        Builder builder = builders.computeIfAbsent(leaf, l -> new Builder());
+        builder.answered = true;
+        builder.texts.add(text.trim());
+        if (hasOptions(leaf)) {
+            builder.options.add(text);
+        }
+        if (isNumeric(leaf)) {
+            String trimmed = text.trim();
+            if (NUMBER.matcher(trimmed).matches()) {
+                double number = Double.parseDouble(trimmed);
+                if (Double.isFinite(number)) {
+                    builder.numbers.add(number);
+                }
+            }
+        }
+    }
+
+    private static final class Builder {
+        private boolean answered;
+        private final Set<String> texts = new LinkedHashSet<>();
+        private final Set<String> options = new LinkedHashSet<>();
+        private final List<Double> numbers = new ArrayList<>();
+
+        Values build() {
+            return new Values(answered, texts, options, numbers);
+        }
+    }
+}
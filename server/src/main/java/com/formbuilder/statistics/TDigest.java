@@ -0,0 +1,213 @@
+package com.formbuilder.statistics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A merging t-digest: numeric values summarized as weighted centroids, small near the extremes and
+ * larger towards the median, so quantiles near 0 and 1 stay accurate. Merging two digests gives the
+ * digest of all their values, so digests kept per day can be merged over any range of days. Holds
+ * at most a few hundred centroids whatever the number of values.
+ */
+final class TDigest {
+
+    private static final double COMPRESSION = 100;
+    private static final int VERSION = 1;
+
+    private double[] means = new double[16];
+    private long[] counts = new long[16];
+    private int size;
+    // Centroids past this index were added since the last compression
+    private int merged;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    void add(double value) {
+        add(value, 1);
+    }
+
+    private void add(double mean, long count) {
+        if (size == means.length) {
+            if (size - merged > 5 * COMPRESSION) {
+                compress();
+            }
+            if (size == means.length) {
+                means = Arrays.copyOf(means, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+        }
+        means[size] = mean;
+        counts[size] = count;
+        size++;
+    }
+
+    TDigest merge(TDigest other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.means[i], other.counts[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    long count() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    /** The estimated value at quantile {@code q} (0 to 1), or null if the digest is empty. */
+    Double quantile(double q) {
+        compress();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return means[0];
+        }
+        double target = q * count();
+        // Each centroid's weight is taken as centred on its mean
+        double left = counts[0] / 2.0;
+        if (target <= left) {
+            return interpolate(min, means[0], target / left);
+        }
+        for (int i = 0; i < size - 1; i++) {
+            double right = left + (counts[i] + counts[i + 1]) / 2.0;
+            if (target <= right) {
+                return interpolate(means[i], means[i + 1], (target - left) / (right - left));
+            }
+            left = right;
+        }
+        double last = counts[size - 1] / 2.0;
+        return interpolate(means[size - 1], max, Math.min(1, (target - left) / last));
+    }
+
+    private static double interpolate(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+
+    // Sorts the centroids and merges neighbours while the merged centroid stays within one unit of the scale function
+    private void compress() {
+        if (merged == size && isSorted()) {
+            return;
+        }
+        for (int i = merged; i < size; i++) {
+            min = Math.min(min, means[i]);
+            max = Math.max(max, means[i]);
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(means[a], means[b]));
+
+        double total = count();
+        double[] newMeans = new double[Math.max(16, size)];
+        long[] newCounts = new long[newMeans.length];
+        int n = 0;
+        double before = 0;
+        double mean = means[order[0]];
+        long count = counts[order[0]];
+        for (int j = 1; j < size; j++) {
+            int i = order[j];
+            long proposed = count + counts[i];
+            if (scale((before + proposed) / total) - scale(before / total) <= 1) {
+                mean += (means[i] - mean) * counts[i] / proposed;
+                count = proposed;
+            } else {
+                newMeans[n] = mean;
+                newCounts[n++] = count;
+                before += count;
+                mean = means[i];
+                count = counts[i];
+            }
+        }
+        newMeans[n] = mean;
+        newCounts[n++] = count;
+
+        means = newMeans;
+        counts = newCounts;
+        size = n;
+        merged = n;
+    }
+
+    private boolean isSorted() {
+        for (int i = 1; i < size; i++) {
+            if (means[i - 1] > means[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double scale(double q) {
+        return COMPRESSION / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+    }
+
+    byte[] toBytes() {
+        compress();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(size);
+            out.writeDouble(min);
+            out.writeDouble(max);
+            for (int i = 0; i < size; i++) {
+                out.writeDouble(means[i]);
+                writeVarint(out, counts[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static TDigest fromBytes(byte[] bytes) {
+        TDigest digest = new TDigest();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unknown t-digest encoding");
+            }
+            int size = in.readInt();
+            digest.min = in.readDouble();
+            digest.max = in.readDouble();
+            digest.means = new double[Math.max(16, size)];
+            digest.counts = new long[digest.means.length];
+            for (int i = 0; i < size; i++) {
+                digest.means[i] = in.readDouble();
+                digest.counts[i] = readVarint(in);
+            }
+            digest.size = size;
+            digest.merged = size;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return digest;
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.formbuilder.submission;
+
+import com.formbuilder.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a form's submission change feed: the {@code (updated_at, id)} of the last submission
+ * read. Opaque to clients, encoded like the form list cursor.
+ */
+record ChangeCursor(LocalDateTime updatedAt, UUID id) {
+
+    String encode() {
+        String raw = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ChangeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new ChangeCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.formbuilder.submission;
+
+import com.formbuilder.exception.PreconditionFailedException;
+import com.formbuilder.export.ExportPlan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for draft autosaves. A save replaces its user's pending draft of the form,
+ * so a burst of saves is written once. Pending drafts are written in one JDBC batch every flush
+ * interval, as soon as enough of them are pending, before their user submits, and on shutdown.
+ * Reads of a user's draft look in the buffer first. Each save counts one version of the draft.
+ *
+ * <p>The buffer belongs to this instance. A draft's updated_at is the time of the save, so the row
+ * lands within the flush interval of it, well inside the change feed's settle delay. Drafts of
+ * forms deleted meanwhile are dropped, and a late autosave never reopens a submitted draft. A user
+ * has one draft row per form: instances that buffer first saves of it at once write to the same
+ * row, which keeps the id of whichever wrote first.
+ */
+@Slf4j
+@Component
+public class DraftBuffer {
+
+    private static final String SELECT_DRAFT = """
+            SELECT id, submitted_at, version FROM submissions
+            WHERE form_id = ? AND user_id = ? AND status = 'DRAFT' LIMIT 1
+            """;
+
+    // Conflicts on the user's one draft of the form (V24), whichever instance inserted it. A draft
+    // already submitted is no longer a DRAFT row, so its id is checked for instead.
+    private static final String UPSERT_DRAFT = """
+            INSERT INTO submissions (id, form_id, user_id, status, data_json, summary, submitted_at, updated_at, version)
+            SELECT ?, ?, ?, 'DRAFT', ?::jsonb, ?, ?, ?, ?
+            WHERE EXISTS (SELECT 1 FROM forms WHERE id = ?)
+              AND NOT EXISTS (SELECT 1 FROM submissions WHERE id = ? AND status <> 'DRAFT')
+            ON CONFLICT (form_id, user_id) WHERE status = 'DRAFT' DO UPDATE
+            SET data_json = EXCLUDED.data_json, summary = EXCLUDED.summary, updated_at = EXCLUDED.updated_at,
+                version = GREATEST(EXCLUDED.version, submissions.version + 1)
+            """;
+
+    private static final int[] UPSERT_TYPES = {Types.OTHER, Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT, Types.OTHER, Types.OTHER};
+
+    private record Key(UUID formId, UUID userId) {
+    }
+
+    /**
+     * A pending draft, with the id and creation time of the user's draft row, existing or to be, and
+     * its version: the row's, counting the saves since it was read.
+     */
+    public record Draft(UUID id, UUID formId, UUID userId, ExportPlan plan, String data,
+                        LocalDateTime submittedAt, LocalDateTime updatedAt, long version) {
+    }
+
+    private final Map<Key, Draft> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final SubmissionStorage storage;
+    private final SubmissionSummaries summaries;
+    private final int maxPending;
+    private final Counter saves;
+    private final Counter written;
+
+    public DraftBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, TaskExecutor taskExecutor,
+                       SubmissionStorage storage, SubmissionSummaries summaries, MeterRegistry meterRegistry,
+                       @Value("${drafts.buffer.max-pending:1000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.storage = storage;
+        this.summaries = summaries;
+        this.maxPending = maxPending;
+        this.saves = Counter.builder("drafts.buffer.saves")
+                .description("Draft autosaves taken by the buffer")
+                .register(meterRegistry);
+        this.written = Counter.builder("drafts.buffer.writes")
+                .description("Buffered drafts written to the database")
+                .register(meterRegistry);
+        Gauge.builder("drafts.buffer.pending", pending, Map::size)
+                .description("Drafts waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers the user's draft of the form, replacing any pending one. With a {@code base} version,
+     * the save is refused unless it is the draft's current version.
+     */
+    public Draft put(UUID formId, UUID userId, ExportPlan plan, String data, Long base) {
+        Key key = new Key(formId, userId);
+        LocalDateTime now = LocalDateTime.now();
+        Draft previous = pending.get(key);
+        Draft draft;
+        if (previous != null) {
+            checkBase(previous.version(), base);
+            draft = new Draft(previous.id(), formId, userId, plan, data, previous.submittedAt(), now,
+                    previous.version() + 1);
+        } else {
+            Optional<Draft> stored = jdbcTemplate.query(SELECT_DRAFT, (rs, rowNum) -> new Draft(
+                            rs.getObject("id", UUID.class), formId, userId, plan, data,
+                            rs.getTimestamp("submitted_at").toLocalDateTime(), now, rs.getLong("version") + 1),
+                    formId, userId).stream().findFirst();
+            if (base != null) {
+                checkBase(stored.map(found -> found.version() - 1)
+                        .orElseThrow(() -> new PreconditionFailedException("The draft no longer exists")), base);
+            }
+            draft = stored.orElseGet(() -> new Draft(UUID.randomUUID(), formId, userId, plan, data, now, now, 0));
+        }
+        // A concurrent first save may have claimed the row; keep its identity
+        Draft buffered = pending.merge(key, draft, (existing, fresh) -> {
+            checkBase(existing.version(), base);
+            return new Draft(existing.id(), formId, userId, plan, data, existing.submittedAt(), now,
+                    existing.version() + 1);
+        });
+        saves.increment();
+
+        if (pending.size() >= maxPending && flushQueued.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    flushQueued.set(false);
+                }
+            });
+        }
+        return buffered;
+    }
+
+    public Optional<Draft> get(UUID formId, UUID userId) {
+        return Optional.ofNullable(pending.get(new Key(formId, userId)));
+    }
+
+    /**
+     * Writes the user's pending draft of the form, if any, in the surrounding transaction. It
+     * leaves the buffer once the transaction commits, so it is written again if that rolls back.
+     */
+    public void flush(UUID formId, UUID userId) {
+        Key key = new Key(formId, userId);
+        Draft draft = pending.get(key);
+        if (draft == null) {
+            return;
+        }
+        write(List.of(draft));
+        afterCommit(() -> pending.remove(key, draft));
+    }
+
+    /** Writes the pending draft with the given id, if any, as {@link #flush(UUID, UUID)} does. */
+    public void flushDraft(UUID id) {
+        pending.values().stream()
+                .filter(draft -> draft.id().equals(id))
+                .findFirst()
+                .ifPresent(draft -> flush(draft.formId(), draft.userId()));
+    }
+
+    /** Writes every pending draft in one batch. */
+    @Scheduled(fixedDelayString = "${drafts.buffer.flush-millis:1000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Draft> drafts = List.copyOf(pending.values());
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(drafts));
+            drafts.forEach(this::remove);
+        } catch (DataIntegrityViolationException e) {
+            // One draft that can't be written (its user deleted, say) mustn't hold back the rest
+            drafts.forEach(this::flushAlone);
+        } catch (DataAccessException e) {
+            log.error("Writing {} buffered drafts failed; retrying on the next flush", drafts.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void flushAlone(Draft draft) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(List.of(draft)));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Dropping buffered draft of user {} for form {}", draft.userId(), draft.formId(), e);
+        } catch (DataAccessException e) {
+            log.error("Writing buffered draft of user {} for form {} failed", draft.userId(), draft.formId(), e);
+            return;
+        }
+        remove(draft);
+    }
+
+    private static void checkBase(long version, Long base) {
+        if (base != null && base != version) {
+            throw new PreconditionFailedException("The draft has changed since version " + base
+                    + "; it is now at version " + version);
+        }
+    }
+
+    private void remove(Draft draft) {
+        // A newer save of the same draft stays pending
+        pending.remove(new Key(draft.formId(), draft.userId()), draft);
+    }
+
+    private void write(List<Draft> drafts) {
+        List<Object[]> rows = drafts.stream().map(draft -> new Object[]{draft.id(), draft.formId(), draft.userId(),
+                storage.written(draft.data()), summaries.summarize(draft.plan(), draft.data()),
+                Timestamp.valueOf(draft.submittedAt()), Timestamp.valueOf(draft.updatedAt()), draft.version(),
+                draft.formId(), draft.id()}).toList();
+        jdbcTemplate.batchUpdate(UPSERT_DRAFT, rows, UPSERT_TYPES);
+        written.increment(drafts.size());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package com.formbuilder.submission;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.formbuilder.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON Patch (RFC 6902): a list of add, remove, replace, move, copy and test operations on
+ * paths given as JSON pointers. The operations apply in order to a copy of the document, and a
+ * patch with an operation that fails leaves nothing changed. Numbers compare by value in
+ * {@code test}, so 1 and 1.0 are equal.
+ */
+final class JsonPatch {
+
+    private static final Pattern ARRAY_INDEX = Pattern.compile("0|[1-9]\\d{0,8}");
+
+    private static final Comparator<JsonNode> BY_VALUE = (a, b) -> {
+        if (a.equals(b)) {
+            return 0;
+        }
+        return a.isNumber() && b.isNumber() && a.decimalValue().compareTo(b.decimalValue()) == 0 ? 0 : 1;
+    };
+
+    private record Operation(int index, String op, JsonPointer path, JsonPointer from, JsonNode value) {
+    }
+
+    private final List<Operation> operations;
+
+    private JsonPatch(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    static JsonPatch parse(JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            throw new ValidationException("Invalid patch: expected an array of operations");
+        }
+        List<Operation> operations = new ArrayList<>(patch.size());
+        for (int i = 0; i < patch.size(); i++) {
+            JsonNode operation = patch.get(i);
+            if (!operation.isObject()) {
+                throw invalid(i, "expected an object");
+            }
+            String op = operation.path("op").asText();
+            JsonPointer path = pointer(i, operation, "path");
+            JsonPointer from = null;
+            JsonNode value = null;
+            switch (op) {
+                case "add", "replace", "test" -> {
+                    value = operation.get("value");
+                    if (value == null) {
+                        throw invalid(i, "'" + op + "' requires a value");
+                    }
+                }
+                case "move", "copy" -> from = pointer(i, operation, "from");
+                case "remove" -> {
+                }
+                default -> throw invalid(i, "op must be one of add, remove, replace, move, copy, test");
+            }
+            if (op.equals("move") && path.toString().startsWith(from + "/")) {
+                throw invalid(i, "cannot move a value into itself");
+            }
+            operations.add(new Operation(i, op, path, from, value));
+        }
+        return new JsonPatch(operations);
+    }
+
+    /** The document with the patch applied; the document itself is not changed. */
+    JsonNode apply(JsonNode document) {
+        JsonNode result = document.deepCopy();
+        for (Operation operation : operations) {
+            result = switch (operation.op()) {
+                case "add" -> add(operation, result, operation.path(), operation.value().deepCopy());
+                case "remove" -> {
+                    remove(operation, result, operation.path());
+                    yield result;
+                }
+                case "replace" -> {
+                    if (operation.path().matches()) {
+                        yield operation.value().deepCopy();
+                    }
+                    remove(operation, result, operation.path());
+                    yield add(operation, result, operation.path(), operation.value().deepCopy());
+                }
+                case "move" -> {
+                    if (operation.from().toString().equals(operation.path().toString())) {
+                        existing(operation, result, operation.from());
+                        yield result;
+                    }
+                    JsonNode value = remove(operation, result, operation.from());
+                    yield add(operation, result, operation.path(), value);
+                }
+                case "copy" -> add(operation, result, operation.path(),
+                        existing(operation, result, operation.from()).deepCopy());
+                case "test" -> {
+                    if (!existing(operation, result, operation.path()).equals(BY_VALUE, operation.value())) {
+                        throw invalid(operation.index(), "test failed at " + operation.path());
+                    }
+                    yield result;
+                }
+                default -> throw new IllegalStateException("Unknown patch operation: " + operation.op());
+            };
+        }
+        return result;
+    }
+
+    // Returns the document, which the root path replaces
+    private static JsonNode add(Operation operation, JsonNode document, JsonPointer path, JsonNode value) {
+        if (path.matches()) {
+            return value;
+        }
+        JsonNode parent = document.at(path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object) {
+            object.set(name, value);
+        } else if (parent instanceof ArrayNode array) {
+            int index = name.equals("-") ? array.size() : index(operation, name, array.size() + 1);
+            array.insert(index, value);
+        } else {
+            throw invalid(operation.index(), "no object or array to add to at " + path);
+        }
+        return document;
+    }
+
+    private static JsonNode remove(Operation operation, JsonNode document, JsonPointer path) {
+        if (path.matches()) {
+            throw invalid(operation.index(), "cannot remove the whole document");
+        }
+        JsonNode parent = document.at(path.head());
+        String name = path.last().getMatchingProperty();
+        JsonNode removed = null;
+        if (parent instanceof ObjectNode object) {
+            removed = object.remove(name);
+        } else if (parent instanceof ArrayNode array && !name.equals("-")) {
+            removed = array.remove(index(operation, name, array.size()));
+        }
+        if (removed == null) {
+            throw invalid(operation.index(), "nothing at " + path);
+        }
+        return removed;
+    }
+
+    private static JsonNode existing(Operation operation, JsonNode document, JsonPointer path) {
+        JsonNode node = document.at(path);
+        if (node.isMissingNode()) {
+            throw invalid(operation.index(), "nothing at " + path);
+        }
+        return node;
+    }
+
+    // An index below the bound, as an array index segment
+    private static int index(Operation operation, String segment, int bound) {
+        if (!ARRAY_INDEX.matcher(segment).matches() || Integer.parseInt(segment) >= bound) {
+            throw invalid(operation.index(), "array index out of range: " + segment);
+        }
+        return Integer.parseInt(segment);
+    }
+
+    private static JsonPointer pointer(int index, JsonNode operation, String field) {
+        JsonNode pointer = operation.get(field);
+        if (pointer == null || !pointer.isTextual()) {
+            throw invalid(index, "'" + field + "' must be a JSON pointer");
+        }
+        try {
+            return JsonPointer.compile(pointer.asText());
+        } catch (IllegalArgumentException e) {
+            throw invalid(index, "'" + field + "' must be a JSON pointer");
+        }
+    }
+
+    private static ValidationException invalid(int index, String message) {
+        return new ValidationException("Invalid patch: operation " + index + ": " + message);
+    }
+}
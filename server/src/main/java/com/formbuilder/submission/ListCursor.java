@@ -0,0 +1,34 @@
+package com.formbuilder.submission;
+
+import com.formbuilder.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a form's submission list, newest first: the {@code (submitted_at, id)} of the last
+ * submission on the previous page. Opaque to clients, encoded like the change feed cursor.
+ */
+record ListCursor(LocalDateTime submittedAt, UUID id) {
+
+    String encode() {
+        String raw = submittedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ListCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new ListCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.formbuilder.submission;
 
-import com.formbuilder.form.FormDTO;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.formbuilder.form.FormService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,15 +30,17 @@ public class PublicFormController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get published form for public viewing")
-    public ResponseEntity<FormDTO.Response> getPublishedForm(@PathVariable UUID id) {
-        return ResponseEntity.ok(formService.getPublishedForm(id));
+    public ResponseEntity<byte[]> getPublishedForm(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return formService.getPublishedForm(id).toResponseEntity(acceptEncoding);
     }
 
     @GetMapping("/{id}/draft")
     @Operation(summary = "Get authenticated user's draft for a form")
     public ResponseEntity<SubmissionDTO.Response> getDraft(@PathVariable UUID id) {
         Optional<SubmissionDTO.Response> draft = submissionService.getDraft(id);
-        return draft.map(ResponseEntity::ok)
+        return draft.map(response -> ResponseEntity.ok().eTag(String.valueOf(response.getVersion())).body(response))
                 .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
@@ -46,20 +53,45 @@ public class PublicFormController {
         return ResponseEntity.ok(response);
     }
 
-    @PostMapping("/{id}/submit")
-    @Operation(summary = "Submit a form response")
+    @PatchMapping(value = "/{id}/draft", consumes = {SubmissionController.JSON_PATCH_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Apply a JSON Patch to the authenticated user's draft for a form",
+            description = "The body is an RFC 6902 patch of the draft's data. If-Match must carry the draft's "
+                    + "version (its ETag); a draft changed since is answered with 412.")
+    public ResponseEntity<SubmissionDTO.Response> patchDraft(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        SubmissionDTO.Response response = submissionService.patchDraft(id, patch, ifMatch);
+        return ResponseEntity.ok().eTag(String.valueOf(response.getVersion())).body(response);
+    }
+
+    @PostMapping(value = "/{id}/submit", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Submit a form response",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(schema = @Schema(implementation = SubmissionDTO.CreateRequest.class))))
     public ResponseEntity<SubmissionDTO.Response> submitForm(
             @PathVariable UUID id,
-            @Valid @RequestBody SubmissionDTO.CreateRequest request,
-            HttpServletRequest httpRequest) {
+            HttpServletRequest httpRequest) throws IOException {
 
         String ipAddress = getClientIpAddress(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
 
-        SubmissionDTO.Response response = submissionService.submitDraft(id, request.getData(), ipAddress, userAgent);
+        // The body is streamed through the form's validation plan rather than bound to a DTO
+        SubmissionDTO.Response response = submissionService.submitDraft(
+                id, httpRequest.getInputStream(), ipAddress, userAgent);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/{id}/pages/{pageId}/validate")
+    @Operation(summary = "Validate the fields of one page before moving to the next")
+    public ResponseEntity<Void> validatePage(
+            @PathVariable UUID id,
+            @PathVariable UUID pageId,
+            @Valid @RequestBody SubmissionDTO.CreateRequest request) {
+        submissionService.validatePage(id, pageId, request.getData());
+        return ResponseEntity.noContent().build();
+    }
+
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
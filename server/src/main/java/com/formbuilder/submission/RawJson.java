@@ -0,0 +1,42 @@
+package com.formbuilder.submission;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A JSON document that is written into responses as stored, without being parsed and serialized
+ * again. Only documents the server wrote itself belong here: the text is not checked.
+ */
+@EqualsAndHashCode
+public final class RawJson {
+
+    private final String json;
+
+    private RawJson(String json) {
+        this.json = json;
+    }
+
+    public static RawJson of(String json) {
+        return new RawJson(json);
+    }
+
+    // Clients reading a response bind the embedded document back to text
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    static RawJson fromTree(JsonNode tree) {
+        return new RawJson(tree.toString());
+    }
+
+    @JsonValue
+    @JsonRawValue
+    public String getJson() {
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
@@ -4,6 +4,7 @@ import com.formbuilder.auth.User;
 import com.formbuilder.form.Form;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnTransformer;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -29,8 +30,15 @@ public class Submission {
     @JoinColumn(name = "user_id")
     private User user;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String data;
+    // The data as jsonb, so submission filters can query it; set and read through SubmissionStorage
+    @Column(name = "data_json", columnDefinition = "jsonb", nullable = false)
+    @ColumnTransformer(write = "?::jsonb")
+    @Setter(AccessLevel.NONE)
+    private String dataJson;
+
+    // Display text of the form's summary fields by path, as JSON; see SubmissionSummaries
+    @Column(columnDefinition = "TEXT")
+    private String summary;
 
     @Column(name = "submitted_at", nullable = false)
     private LocalDateTime submittedAt;
@@ -49,6 +57,11 @@ public class Submission {
     @Column(name = "user_agent")
     private String userAgent;
 
+    // Null until persisted; clients patch against it (see JsonPatch)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         submittedAt = LocalDateTime.now();
@@ -59,4 +72,8 @@ public class Submission {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    void store(String data) {
+        dataJson = data;
+    }
 }
@@ -1,15 +1,23 @@
 package com.formbuilder.submission;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.formbuilder.export.ExportFormat;
+import com.formbuilder.export.ExportLayout;
+import com.formbuilder.form.FormSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -18,15 +26,31 @@ import java.util.UUID;
 @Tag(name = "Submissions", description = "Form submission endpoints")
 public class SubmissionController {
 
+    static final String JSON_PATCH_VALUE = "application/json-patch+json";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+    private static final MediaType PARQUET = MediaType.parseMediaType("application/vnd.apache.parquet");
+
     private final SubmissionService submissionService;
 
     @GetMapping
-    @Operation(summary = "Get submissions for a form")
+    @Operation(summary = "Get submissions for a form",
+            description = "Each filter is path:op:value, e.g. line_name:prefix:zf or "
+                    + "mutations.genes.linkage_group:eq:LG5. Operators: eq, prefix, has (checkbox option), "
+                    + "gt, gte, lt, lte. Filters are combined with AND. Pass cursor (empty for the first page, "
+                    + "then each page's nextCursor) instead of page to page through any number of submissions "
+                    + "at the same cost per page. count=EXACT|ESTIMATE|NONE chooses how totalElements is "
+                    + "found: EXACT is the default for page, NONE for cursor. size is at most 100. "
+                    + "view=SUMMARY returns each submission's summary fields and submitter instead of its data.")
     public ResponseEntity<SubmissionDTO.PageResponse> getSubmissions(
             @PathVariable UUID formId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(submissionService.getSubmissions(formId, page, size));
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "count", required = false) TotalCount total,
+            @RequestParam(defaultValue = "FULL") SubmissionView view,
+            @RequestParam(required = false) List<String> filter) {
+        return ResponseEntity.ok(submissionService.getSubmissions(formId, page, size, cursor, total, view, filter));
     }
 
     @GetMapping("/{submissionId}")
@@ -34,7 +58,8 @@ public class SubmissionController {
     public ResponseEntity<SubmissionDTO.Response> getSubmission(
             @PathVariable UUID formId,
             @PathVariable UUID submissionId) {
-        return ResponseEntity.ok(submissionService.getSubmission(formId, submissionId));
+        SubmissionDTO.Response response = submissionService.getSubmission(formId, submissionId);
+        return ResponseEntity.ok().eTag(String.valueOf(response.getVersion())).body(response);
     }
 
     @PutMapping("/{submissionId}")
@@ -46,14 +71,91 @@ public class SubmissionController {
         return ResponseEntity.ok(submissionService.updateSubmission(formId, submissionId, request));
     }
 
+    @PatchMapping(value = "/{submissionId}", consumes = {JSON_PATCH_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Apply a JSON Patch to a submission",
+            description = "The body is an RFC 6902 patch of the submission's data, which is validated as a full "
+                    + "update is. If-Match must carry the submission's version (its ETag); a submission changed "
+                    + "since is answered with 412.")
+    public ResponseEntity<SubmissionDTO.Response> patchSubmission(
+            @PathVariable UUID formId,
+            @PathVariable UUID submissionId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        SubmissionDTO.Response response = submissionService.patchSubmission(formId, submissionId, patch, ifMatch);
+        return ResponseEntity.ok().eTag(String.valueOf(response.getVersion())).body(response);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Stream submission changes as NDJSON",
+            description = "One JSON object per line for each submission created or updated after the since "
+                    + "cursor (all when omitted), oldest change first, with the stored data verbatim. Each line "
+                    + "has a cursor; pass the last one read as since to continue. Changes from the last few "
+                    + "seconds are held back until they are final. Gzipped when the client sends "
+                    + "Accept-Encoding: gzip.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportChanges(
+            @PathVariable UUID formId,
+            @RequestParam(required = false) String since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = FormSnapshot.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = submissionService.exportChanges(formId, since, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @GetMapping("/export")
-    @Operation(summary = "Export submissions as CSV")
+    @Operation(summary = "Export submissions as CSV or Parquet",
+            description = "Streams matching submissions, newest first. from and to are inclusive submission "
+                    + "dates (YYYY-MM-DD); columns selects and orders fields by path, e.g. line_name or "
+                    + "mutations.genes (a whole group). layout=WIDE gives one row per submission with numbered "
+                    + "columns per group instance; layout=LONG gives one row per instance of the repeatable "
+                    + "group named by group, keyed by instance numbers. CSV is gzipped when the client sends "
+                    + "Accept-Encoding: gzip. format=parquet gives a Parquet file with typed columns and "
+                    + "repeatable groups as lists of structs.")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<String> exportSubmissions(@PathVariable UUID formId) {
-        String csv = submissionService.exportSubmissionsCsv(formId);
-        return ResponseEntity.ok()
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @PathVariable UUID formId,
+            @RequestParam(required = false) SubmissionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(name = "format", defaultValue = "csv") String formatName,
+            @RequestParam(defaultValue = "WIDE") ExportLayout layout,
+            @RequestParam(required = false) String group,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat format = ExportFormat.of(formatName);
+        SubmissionDTO.ExportFilter filter = SubmissionDTO.ExportFilter.builder()
+                .status(status)
+                .from(from)
+                .to(to)
+                .columns(columns)
+                .format(format)
+                .layout(layout)
+                .group(group)
+                .build();
+        if (format == ExportFormat.PARQUET) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=submissions.parquet")
+                    .contentType(PARQUET)
+                    .body(submissionService.exportSubmissions(formId, filter, false));
+        }
+
+        boolean gzip = FormSnapshot.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = submissionService.exportSubmissions(formId, filter, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=submissions.csv")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csv);
+                .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 }
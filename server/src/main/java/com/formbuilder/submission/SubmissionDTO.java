@@ -1,9 +1,13 @@
 package com.formbuilder.submission;
 
+import com.formbuilder.export.ExportFormat;
+import com.formbuilder.export.ExportLayout;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -16,11 +20,18 @@ public class SubmissionDTO {
     public static class Response {
         private UUID id;
         private UUID formId;
-        private Map<String, Object> data;
+        // The stored document, embedded as is; null in the SUMMARY view
+        private RawJson data;
+        // SUMMARY view only: display text of the summary fields by path, and the signed-in submitter
+        private Map<String, String> summary;
+        private String submitterName;
+        private String submitterEmail;
         private LocalDateTime submittedAt;
         private LocalDateTime updatedAt;
         private SubmissionStatus status;
         private String ipAddress;
+        // Changes with every write of the data; send it as If-Match to patch the data. Null in the SUMMARY view
+        private Long version;
     }
 
     @Data
@@ -29,10 +40,26 @@ public class SubmissionDTO {
     @Builder
     public static class PageResponse {
         private java.util.List<Response> submissions;
-        private int page;
+        // SUMMARY view only: the fields in each summary, in order
+        private java.util.List<SummaryField> summaryFields;
+        // Null for cursor pages
+        private Integer page;
         private int size;
-        private long totalElements;
-        private int totalPages;
+        // Null when not counted; the planner's estimate when totalEstimated
+        private Long totalElements;
+        private Integer totalPages;
+        private boolean totalEstimated;
+        // Pass as cursor for the next page; null on the last page
+        private String nextCursor;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SummaryField {
+        private String path;
+        private String label;
     }
 
     @Data
@@ -54,4 +81,23 @@ public class SubmissionDTO {
 
         private SubmissionStatus status;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ExportFilter {
+        private SubmissionStatus status;
+        // Inclusive range of submission days
+        private LocalDate from;
+        private LocalDate to;
+        // Field or group paths to export, in order; all fields when empty
+        private List<String> columns;
+        @Builder.Default
+        private ExportFormat format = ExportFormat.CSV;
+        @Builder.Default
+        private ExportLayout layout = ExportLayout.WIDE;
+        // Repeatable group path whose instances are the rows of a LONG export
+        private String group;
+    }
 }
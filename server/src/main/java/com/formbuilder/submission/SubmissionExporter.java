@@ -0,0 +1,387 @@
+package com.formbuilder.submission;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.export.ExportColumns;
+import com.formbuilder.export.ExportPlan;
+import com.formbuilder.export.ParquetWriter;
+import com.formbuilder.export.WideColumns;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes submissions as CSV, Parquet or NDJSON straight to the response while reading them from a
+ * server-side cursor, so memory use does not grow with the number of rows. Each row's data is
+ * parsed by the form's {@link ExportPlan} into slot-indexed values, skipping groups the columns
+ * don't use.
+ */
+@Component
+public class SubmissionExporter {
+
+    private static final String SELECT = "SELECT id, submitted_at, " + SubmissionStorage.COLUMNS + " FROM submissions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final SubmissionStorage storage;
+    private final int fetchSize;
+    private final long parquetRowGroupBytes;
+
+    public SubmissionExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper, SubmissionStorage storage,
+                              @Value("${submissions.export.fetch-size:500}") int fetchSize,
+                              @Value("${submissions.export.parquet.row-group-bytes:33554432}") long parquetRowGroupBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Wide column counts and the rows they hold come from the same snapshot
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.storage = storage;
+        this.fetchSize = fetchSize;
+        this.parquetRowGroupBytes = parquetRowGroupBytes;
+    }
+
+    /**
+     * The CSV of the form's submissions matching {@code filter}, newest first. {@code columns} are
+     * used as given; when null, wide columns are built for {@code selected} once the most instances
+     * of each group among the exported rows is known. Nothing is read until the body is written; an
+     * export with no rows is empty, without a header.
+     */
+    public StreamingResponseBody csv(UUID formId, ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected,
+                                     ExportColumns columns, SubmissionDTO.ExportFilter filter, boolean gzip) {
+        return compressed(out -> write(formId, plan, selected, columns, filter, out), gzip);
+    }
+
+    /**
+     * The form's submissions changed after {@code since} (all when null) and before {@code until},
+     * as one JSON object per line in {@code (updated_at, id)} order. Each line carries the stored
+     * data verbatim, the submission's metadata and the cursor to resume after it.
+     */
+    public StreamingResponseBody ndjson(UUID formId, ChangeCursor since, LocalDateTime until, boolean gzip) {
+        return compressed(out -> {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            json.setRootValueSeparator(null);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            List<Object> args = new ArrayList<>(List.of(formId, until));
+            StringBuilder sql = new StringBuilder("SELECT id, status, submitted_at, updated_at, ip_address, "
+                    + SubmissionStorage.COLUMNS + " FROM submissions WHERE form_id = ? AND updated_at < ?");
+            if (since != null) {
+                sql.append(" AND (updated_at, id) > (?, ?)");
+                args.add(since.updatedAt());
+                args.add(since.id());
+            }
+            sql.append(" ORDER BY updated_at, id");
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> scan(sql.toString(), args, rs -> {
+                    try {
+                        writeChange(json, formId, rs);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.flush();
+        }, gzip);
+    }
+
+    private void writeChange(JsonGenerator json, UUID formId, ResultSet rs) throws SQLException, IOException {
+        UUID id = rs.getObject("id", UUID.class);
+        LocalDateTime updatedAt = rs.getTimestamp("updated_at").toLocalDateTime();
+        json.writeStartObject();
+        json.writeStringField("id", id.toString());
+        json.writeStringField("formId", formId.toString());
+        json.writeStringField("status", rs.getString("status"));
+        json.writeStringField("submittedAt", rs.getTimestamp("submitted_at").toLocalDateTime().toString());
+        json.writeStringField("updatedAt", updatedAt.toString());
+        String ipAddress = rs.getString("ip_address");
+        if (ipAddress != null) {
+            json.writeStringField("ipAddress", ipAddress);
+        }
+        json.writeFieldName("data");
+        json.writeRawValue(storage.read(rs));
+        json.writeStringField("cursor", new ChangeCursor(updatedAt, id).encode());
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static StreamingResponseBody compressed(StreamingResponseBody body, boolean gzip) {
+        if (!gzip) {
+            return body;
+        }
+        return out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            body.writeTo(compressed);
+            compressed.finish();
+        };
+    }
+
+    private void write(UUID formId, ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected, ExportColumns columns,
+                       SubmissionDTO.ExportFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16384);
+
+        List<Object> args = new ArrayList<>();
+        String where = where(formId, filter, args);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                ExportColumns resolved = columns != null ? columns
+                        : WideColumns.of(plan, selected, maxInstances(plan, selected, where, args));
+                RowWriter rows = new RowWriter(writer, plan, resolved, true);
+                scan(SELECT + where + " ORDER BY submitted_at DESC", args, rows::write);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /*
+     * Building blocks for exports split into id ranges (see the export jobs). They run in the
+     * caller's transaction, so the caller can give every range the same snapshot.
+     */
+
+    /** The columns of a CSV export: {@code columns} if given, else wide columns sized to the matching rows. */
+    public ExportColumns csvColumns(UUID formId, ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected,
+                                    ExportColumns columns, SubmissionDTO.ExportFilter filter) {
+        if (columns != null) {
+            return columns;
+        }
+        List<Object> args = new ArrayList<>();
+        String where = where(formId, filter, args);
+        return WideColumns.of(plan, selected, maxInstances(plan, selected, where, args));
+    }
+
+    public long count(UUID formId, SubmissionDTO.ExportFilter filter) {
+        List<Object> args = new ArrayList<>();
+        String where = where(formId, filter, args);
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM submissions" + where, Long.class, args.toArray());
+    }
+
+    public void writeCsvHeader(ExportColumns columns, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writeHeader(writer, columns);
+        writer.flush();
+    }
+
+    /**
+     * Writes the CSV rows, without a header, of matching submissions with ids from {@code from}
+     * (inclusive) to {@code to} (exclusive; unbounded when null), in id order. {@code onRow} runs
+     * after each submission.
+     */
+    public void writeCsvRange(UUID formId, ExportPlan plan, ExportColumns columns, SubmissionDTO.ExportFilter filter,
+                              UUID from, UUID to, OutputStream out, Runnable onRow) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16384);
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT).append(where(formId, filter, args)).append(" AND id >= ?");
+        args.add(from);
+        if (to != null) {
+            sql.append(" AND id < ?");
+            args.add(to);
+        }
+        sql.append(" ORDER BY id");
+
+        RowWriter rows = new RowWriter(writer, plan, columns, false);
+        try {
+            scan(sql.toString(), args, rs -> {
+                rows.write(rs);
+                onRow.run();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * The Parquet file of the form's submissions matching {@code filter}, newest first, with the
+     * {@code selected} leaves. Unlike CSV, an export with no rows is still a file with the schema.
+     */
+    public StreamingResponseBody parquet(UUID formId, ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected,
+                                         SubmissionDTO.ExportFilter filter) {
+        return out -> {
+            ParquetWriter parquet = new ParquetWriter(plan, selected, out, parquetRowGroupBytes);
+            boolean[] wanted = parquet.wanted();
+            List<Object> args = new ArrayList<>();
+            String sql = SELECT + where(formId, filter, args) + " ORDER BY submitted_at DESC";
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> scan(sql, args, rs -> {
+                    try {
+                        parquet.write(rs.getObject("id", UUID.class).toString(),
+                                rs.getTimestamp("submitted_at").toLocalDateTime(),
+                                read(plan, wanted, storage.read(rs)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            parquet.finish();
+        };
+    }
+
+    // Postgres only streams through a cursor inside a transaction
+    private void scan(String sql, List<Object> args, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    private ExportPlan.Instance read(ExportPlan plan, boolean[] wanted, String dataJson) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(dataJson)) {
+            parser.nextToken();
+            return plan.read(parser, wanted);
+        } catch (JsonProcessingException e) {
+            // Unreadable data exports as empty fields, as it reads back in the API
+            return plan.empty();
+        }
+    }
+
+    private static String where(UUID formId, SubmissionDTO.ExportFilter filter, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE form_id = ?");
+        args.add(formId);
+        if (filter.getStatus() != null) {
+            where.append(" AND status = ?");
+            args.add(filter.getStatus().name());
+        }
+        if (filter.getFrom() != null) {
+            where.append(" AND submitted_at >= ?");
+            args.add(filter.getFrom().atStartOfDay());
+        }
+        if (filter.getTo() != null) {
+            // Inclusive of the whole end day
+            where.append(" AND submitted_at < ?");
+            args.add(filter.getTo().plusDays(1).atStartOfDay());
+        }
+        return where.toString();
+    }
+
+    // The most instances of each wanted group in any exported submission, by node index, in one scan
+    private int[] maxInstances(ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected, String where, List<Object> args) {
+        int[] max = new int[plan.getNodes().size()];
+        boolean[] wanted = WideColumns.wanted(plan, selected);
+        List<ExportPlan.Node> groups = plan.getNodes().stream()
+                .filter(node -> node != plan.getRoot() && wanted[node.getIndex()])
+                .toList();
+        if (groups.isEmpty()) {
+            return max;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        List<Object> queryArgs = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            sql.append(i > 0 ? ", " : "")
+                    .append("max((SELECT max(n::int) FROM jsonb_path_query(doc, ?::jsonpath) n))");
+            queryArgs.add(groups.get(i).sizePath());
+        }
+        sql.append(" FROM (SELECT data_json AS doc FROM submissions").append(where).append(") d");
+        queryArgs.addAll(args);
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            for (int i = 0; i < groups.size(); i++) {
+                max[groups.get(i).getIndex()] = rs.getInt(i + 1);
+            }
+        }, queryArgs.toArray());
+        return max;
+    }
+
+    private final class RowWriter {
+
+        private final Writer writer;
+        private final ExportPlan plan;
+        private final ExportColumns columns;
+        private final boolean[] wanted;
+        private boolean headerPending;
+
+        // With header set, the header is written before the first row
+        RowWriter(Writer writer, ExportPlan plan, ExportColumns columns, boolean header) {
+            this.writer = writer;
+            this.plan = plan;
+            this.columns = columns;
+            this.wanted = columns.wanted();
+            this.headerPending = header;
+        }
+
+        void write(ResultSet rs) throws SQLException {
+            try {
+                if (headerPending) {
+                    writeHeader(writer, columns);
+                    headerPending = false;
+                }
+
+                String id = rs.getObject("id", UUID.class).toString();
+                String submittedAt = escapeCsv(rs.getTimestamp("submitted_at").toLocalDateTime().toString());
+                columns.rows(read(plan, wanted, storage.read(rs)), cells -> writeRow(id, submittedAt, cells));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeRow(String id, String submittedAt, String[] cells) {
+            try {
+                writer.write(id);
+                writer.write(',');
+                writer.write(submittedAt);
+                for (String cell : cells) {
+                    writer.write(',');
+                    writer.write(escapeCsv(cell));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void writeHeader(Writer writer, ExportColumns columns) throws IOException {
+        writer.write("Submission ID,Submitted At");
+        for (String header : columns.headers()) {
+            writer.write(',');
+            writer.write(escapeCsv(header));
+        }
+        writer.write('\n');
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
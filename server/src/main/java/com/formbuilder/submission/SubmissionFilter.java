@@ -0,0 +1,82 @@
+package com.formbuilder.submission;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.formbuilder.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A field-level predicate on submission data, written {@code path:op:value} in the
+ * {@code filter} query parameter. The path is dot-separated field names and descends through
+ * repeatable groups, matching if any instance matches. Operators:
+ * <ul>
+ *   <li>{@code eq} — equals the value (as a string, or as a number or boolean when it parses as one)</li>
+ *   <li>{@code prefix} — a string starting with the value</li>
+ *   <li>{@code gt}, {@code gte}, {@code lt}, {@code lte} — numeric comparison, or string comparison
+ *       for non-numeric values such as ISO dates</li>
+ *   <li>{@code has} — a checkbox group that includes the option value</li>
+ * </ul>
+ * Each filter compiles to a jsonpath predicate for {@code data_json @@ jsonpath}. Values and field
+ * names are always emitted as quoted jsonpath string literals.
+ */
+public final class SubmissionFilter {
+
+    private static final Pattern JSON_NUMBER = Pattern.compile("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?");
+    private static final Map<String, String> COMPARISONS = Map.of("gt", ">", "gte", ">=", "lt", "<", "lte", "<=");
+
+    private final String jsonPath;
+
+    private SubmissionFilter(String jsonPath) {
+        this.jsonPath = jsonPath;
+    }
+
+    static SubmissionFilter parse(String filter) {
+        String[] parts = filter.split(":", 3);
+        if (parts.length != 3 || parts[0].isEmpty()) {
+            throw new ValidationException("Invalid filter '" + filter + "': expected path:op:value");
+        }
+        String path = toPath(parts[0], filter);
+        String op = parts[1];
+        String value = parts[2];
+
+        String predicate = switch (op) {
+            case "eq" -> equalsPredicate(path, value);
+            case "prefix" -> path + " starts with " + quote(value);
+            case "has" -> path + "[*] == " + quote(value);
+            case "gt", "gte", "lt", "lte" -> path + " " + COMPARISONS.get(op) + " "
+                    + (JSON_NUMBER.matcher(value).matches() ? value : quote(value));
+            default -> throw new ValidationException("Invalid filter '" + filter
+                    + "': operator must be one of eq, prefix, has, gt, gte, lt, lte");
+        };
+        return new SubmissionFilter(predicate);
+    }
+
+    String getJsonPath() {
+        return jsonPath;
+    }
+
+    private static String equalsPredicate(String path, String value) {
+        String predicate = path + " == " + quote(value);
+        if (JSON_NUMBER.matcher(value).matches() || value.equals("true") || value.equals("false")) {
+            predicate = "(" + predicate + " || " + path + " == " + value + ")";
+        }
+        return predicate;
+    }
+
+    private static String toPath(String fieldPath, String filter) {
+        String[] fields = fieldPath.split("\\.", -1);
+        if (Arrays.stream(fields).anyMatch(String::isEmpty)) {
+            throw new ValidationException("Invalid filter '" + filter + "': empty field name in path");
+        }
+        return Arrays.stream(fields)
+                .map(SubmissionFilter::quote)
+                .collect(Collectors.joining(".", "$.", ""));
+    }
+
+    private static String quote(String value) {
+        return "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+}
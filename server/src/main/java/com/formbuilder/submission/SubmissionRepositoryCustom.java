@@ -0,0 +1,28 @@
+package com.formbuilder.submission;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface SubmissionRepositoryCustom {
+
+    /**
+     * A page of a form's submissions, newest first, whose data matches every filter: the first
+     * {@code limit} after the submission at {@code after}, or after skipping {@code offset} when
+     * {@code after} is null. Restricted to one user's submissions when {@code userId} is not null.
+     */
+    List<Submission> findPageMatching(UUID formId, UUID userId, List<SubmissionFilter> filters,
+                                      ListCursor after, int offset, int limit);
+
+    /**
+     * The same page as {@link #findPageMatching}, without the data: the stored summary and the
+     * submitter's name and email, in one query.
+     */
+    List<SubmissionSummary> findSummaryPageMatching(UUID formId, UUID userId, List<SubmissionFilter> filters,
+                                                    ListCursor after, int offset, int limit);
+
+    /** The number of submissions {@link #findPageMatching} pages through. */
+    long countMatching(UUID formId, UUID userId, List<SubmissionFilter> filters);
+
+    /** The query planner's estimate of {@link #countMatching}, from table statistics alone. */
+    long estimateMatching(UUID formId, UUID userId, List<SubmissionFilter> filters);
+}
@@ -0,0 +1,115 @@
+package com.formbuilder.submission;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class SubmissionRepositoryImpl implements SubmissionRepositoryCustom {
+
+    // The row estimate of the top plan node in EXPLAIN's text output
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private static final String SUBMISSIONS = " FROM submissions s";
+
+    private static final String SUMMARIES = """
+            SELECT s.id, s.form_id, s.submitted_at, s.updated_at, s.status, s.ip_address, s.summary,
+                   u.name AS submitter_name, u.email AS submitter_email
+            FROM submissions s LEFT JOIN users u ON u.id = s.user_id""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Submission> findPageMatching(UUID formId, UUID userId, List<SubmissionFilter> filters,
+                                             ListCursor after, int offset, int limit) {
+        String sql = page("SELECT s.*" + SUBMISSIONS + where(userId, filters), after);
+        Query select = entityManager.createNativeQuery(sql, Submission.class);
+        return page(bind(select, formId, userId, filters), after, offset, limit).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SubmissionSummary> findSummaryPageMatching(UUID formId, UUID userId, List<SubmissionFilter> filters,
+                                                           ListCursor after, int offset, int limit) {
+        String sql = page(SUMMARIES + where(userId, filters), after);
+        Query select = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("form_id", UUID.class)
+                .addScalar("submitted_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("status", String.class)
+                .addScalar("ip_address", String.class)
+                .addScalar("summary", String.class)
+                .addScalar("submitter_name", String.class)
+                .addScalar("submitter_email", String.class);
+        List<Object[]> rows = page(bind(select, formId, userId, filters), after, offset, limit).getResultList();
+        return rows.stream()
+                .map(row -> new SubmissionSummary((UUID) row[0], (UUID) row[1], (LocalDateTime) row[2],
+                        (LocalDateTime) row[3], SubmissionStatus.valueOf((String) row[4]), (String) row[5],
+                        (String) row[6], (String) row[7], (String) row[8]))
+                .toList();
+    }
+
+    @Override
+    public long countMatching(UUID formId, UUID userId, List<SubmissionFilter> filters) {
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*)" + SUBMISSIONS + where(userId, filters));
+        return ((Number) bind(count, formId, userId, filters).getSingleResult()).longValue();
+    }
+
+    @Override
+    public long estimateMatching(UUID formId, UUID userId, List<SubmissionFilter> filters) {
+        Query explain = entityManager.createNativeQuery("EXPLAIN SELECT 1" + SUBMISSIONS + where(userId, filters));
+        String plan = (String) bind(explain, formId, userId, filters).getResultList().get(0);
+        Matcher rows = PLAN_ROWS.matcher(plan);
+        return rows.find() ? Long.parseLong(rows.group(1)) : 0;
+    }
+
+    private static String where(UUID userId, List<SubmissionFilter> filters) {
+        StringBuilder where = new StringBuilder(" WHERE s.form_id = :formId");
+        if (userId != null) {
+            where.append(" AND s.user_id = :userId");
+        }
+        for (int i = 0; i < filters.size(); i++) {
+            where.append(" AND s.data_json @@ cast(:p").append(i).append(" AS jsonpath)");
+        }
+        return where.toString();
+    }
+
+    private static String page(String select, ListCursor after) {
+        StringBuilder sql = new StringBuilder(select);
+        if (after != null) {
+            sql.append(" AND (s.submitted_at, s.id) < (:afterSubmittedAt, :afterId)");
+        }
+        // id breaks ties, so that no page skips or repeats submissions made in the same instant
+        return sql.append(" ORDER BY s.submitted_at DESC, s.id DESC").toString();
+    }
+
+    private static Query page(Query select, ListCursor after, int offset, int limit) {
+        if (after != null) {
+            select.setParameter("afterSubmittedAt", after.submittedAt());
+            select.setParameter("afterId", after.id());
+        } else {
+            select.setFirstResult(offset);
+        }
+        return select.setMaxResults(limit);
+    }
+
+    private static Query bind(Query query, UUID formId, UUID userId, List<SubmissionFilter> filters) {
+        query.setParameter("formId", formId);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        for (int i = 0; i < filters.size(); i++) {
+            query.setParameter("p" + i, filters.get(i).getJsonPath());
+        }
+        return query;
+    }
+}
@@ -1,25 +1,41 @@
 package com.formbuilder.submission;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.formbuilder.auth.AuthService;
 import com.formbuilder.auth.User;
 import com.formbuilder.auth.UserRole;
-import com.formbuilder.element.ElementConfiguration;
-import com.formbuilder.element.ElementType;
-import com.formbuilder.element.FormElement;
+import com.formbuilder.exception.PreconditionFailedException;
 import com.formbuilder.exception.ResourceNotFoundException;
 import com.formbuilder.exception.ValidationException;
-import com.formbuilder.form.Form;
+import com.formbuilder.export.ExportColumns;
+import com.formbuilder.export.ExportFormat;
+import com.formbuilder.export.ExportLayout;
+import com.formbuilder.export.ExportPlan;
+import com.formbuilder.export.LongColumns;
 import com.formbuilder.form.FormRepository;
-import com.formbuilder.form.FormStatus;
+import com.formbuilder.form.FormSnapshot;
+import com.formbuilder.form.FormSnapshotCache;
+import com.formbuilder.form.FormSnapshotLoader;
+import com.formbuilder.projection.ProjectionService;
+import com.formbuilder.statistics.StatisticsService;
+import com.formbuilder.validation.ValidationPlan;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,38 +43,95 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SubmissionService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final SubmissionRepository submissionRepository;
     private final FormRepository formRepository;
+    private final FormSnapshotCache snapshotCache;
+    private final FormSnapshotLoader snapshotLoader;
     private final ObjectMapper objectMapper;
     private final AuthService authService;
-
+    private final ProjectionService projectionService;
+    private final StatisticsService statisticsService;
+    private final SubmissionExporter exporter;
+    private final SubmissionSummaries summaries;
+    private final SubmissionStorage storage;
+    private final DraftBuffer draftBuffer;
+
+    @Value("${validation.fail-fast:false}")
+    private boolean failFast;
+
+    // updated_at is stamped before commit; changes this recent may still be joined by slower commits
+    @Value("${submissions.changes.settle-millis:5000}")
+    private long changesSettleMillis;
+
+    /**
+     * A page of a form's submissions, newest first. With a {@code cursor} (empty for the first page)
+     * the page follows the last submission of the previous one, found through the index however
+     * deep it is; otherwise it is page number {@code page}, whose offset rows are scanned and
+     * skipped. The total is counted exactly by default for numbered pages and left out for cursor
+     * pages. The SUMMARY view reads each submission's stored summary instead of its data.
+     */
     @Transactional(readOnly = true)
-    public SubmissionDTO.PageResponse getSubmissions(UUID formId, int page, int size) {
-        validateFormExists(formId);
+    public SubmissionDTO.PageResponse getSubmissions(UUID formId, int page, int size, String cursor,
+                                                     TotalCount total, SubmissionView view, List<String> filters) {
+        ExportPlan plan = null;
+        if (view == SubmissionView.SUMMARY) {
+            plan = loadSnapshot(formId).getExportPlan();
+        } else {
+            validateFormExists(formId);
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        if (page < 0) {
+            throw new ValidationException("Invalid page request", Map.of("page", "must not be negative"));
+        }
+        ListCursor after = cursor != null && !cursor.isBlank() ? ListCursor.decode(cursor) : null;
+        if (total == null) {
+            total = cursor != null ? TotalCount.NONE : TotalCount.EXACT;
+        }
 
         User user = authService.getAuthenticatedUser();
-        Page<Submission> submissionPage;
-        if (user != null && user.getRole() == UserRole.ADMIN) {
-            submissionPage = submissionRepository.findByFormIdOrderBySubmittedAtDesc(
-                    formId, PageRequest.of(page, size));
-        } else if (user != null) {
-            submissionPage = submissionRepository.findByFormIdAndUserIdOrderBySubmittedAtDesc(
-                    formId, user.getId(), PageRequest.of(page, size));
+        UUID userId = user != null && user.getRole() != UserRole.ADMIN ? user.getId() : null;
+        List<SubmissionFilter> parsed = filters != null
+                ? filters.stream().map(SubmissionFilter::parse).toList()
+                : List.of();
+
+        // Fetch one extra row to learn whether another page follows
+        int offset = cursor != null ? 0 : (int) Math.min((long) page * limit, Integer.MAX_VALUE);
+        List<SubmissionDTO.Response> submissions;
+        boolean more;
+        if (plan != null) {
+            List<SubmissionSummary> rows = submissionRepository.findSummaryPageMatching(
+                    formId, userId, parsed, after, offset, limit + 1);
+            more = rows.size() > limit;
+            submissions = rows.stream().limit(limit).map(this::toResponse).collect(Collectors.toList());
         } else {
-            submissionPage = submissionRepository.findByFormIdOrderBySubmittedAtDesc(
-                    formId, PageRequest.of(page, size));
+            List<Submission> rows = submissionRepository.findPageMatching(formId, userId, parsed, after, offset, limit + 1);
+            more = rows.size() > limit;
+            submissions = rows.stream().limit(limit).map(this::toResponse).collect(Collectors.toList());
+        }
+        String nextCursor = null;
+        if (more) {
+            SubmissionDTO.Response last = submissions.get(limit - 1);
+            nextCursor = new ListCursor(last.getSubmittedAt(), last.getId()).encode();
         }
 
-        List<SubmissionDTO.Response> submissions = submissionPage.getContent().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-
+        Long totalElements = switch (total) {
+            case EXACT -> submissionRepository.countMatching(formId, userId, parsed);
+            case ESTIMATE -> submissionRepository.estimateMatching(formId, userId, parsed);
+            case NONE -> null;
+        };
         return SubmissionDTO.PageResponse.builder()
                 .submissions(submissions)
-                .page(page)
-                .size(size)
-                .totalElements(submissionPage.getTotalElements())
-                .totalPages(submissionPage.getTotalPages())
+                .summaryFields(plan != null ? plan.getSummaryLeaves().stream()
+                        .map(leaf -> new SubmissionDTO.SummaryField(leaf.getPath(), leaf.getLabel()))
+                        .toList() : null)
+                .page(cursor != null ? null : page)
+                .size(limit)
+                .totalElements(totalElements)
+                .totalPages(totalElements != null ? (int) ((totalElements + limit - 1) / limit) : null)
+                .totalEstimated(total == TotalCount.ESTIMATE)
+                .nextCursor(nextCursor)
                 .build();
     }
 
@@ -70,70 +143,32 @@ public class SubmissionService {
         return toResponse(submission);
     }
 
-    @Transactional
-    public SubmissionDTO.Response createSubmission(UUID formId, SubmissionDTO.CreateRequest request,
-                                                    String ipAddress, String userAgent) {
-        Form form = formRepository.findByIdWithElements(formId)
-                .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + formId));
-
-        if (form.getStatus() != FormStatus.PUBLISHED) {
-            throw new ValidationException("Form is not published");
-        }
-
-        SubmissionStatus status = request.getStatus() != null ? request.getStatus() : SubmissionStatus.SUBMITTED;
-
-        // Skip validation for drafts
-        if (status != SubmissionStatus.DRAFT) {
-            validateSubmission(form, request.getData());
-        }
-
-        String dataJson;
-        try {
-            dataJson = objectMapper.writeValueAsString(request.getData());
-        } catch (JsonProcessingException e) {
-            throw new ValidationException("Invalid submission data format");
-        }
-
-        Submission submission = Submission.builder()
-                .form(form)
-                .data(dataJson)
-                .status(status)
-                .ipAddress(ipAddress)
-                .userAgent(userAgent)
-                .user(authService.getAuthenticatedUser())
-                .build();
-
-        Submission saved = submissionRepository.save(submission);
-        return toResponse(saved);
-    }
-
     @Transactional
     public SubmissionDTO.Response updateSubmission(UUID formId, UUID submissionId, SubmissionDTO.UpdateRequest request) {
-        Form form = formRepository.findByIdWithElements(formId)
-                .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + formId));
-
-        Submission submission = submissionRepository.findByIdAndFormId(submissionId, formId)
-                .orElseThrow(() -> new ResourceNotFoundException("Submission not found: " + submissionId));
-
+        FormSnapshot snapshot = loadSnapshot(formId);
+        Submission submission = findSubmission(formId, submissionId);
         SubmissionStatus status = request.getStatus() != null ? request.getStatus() : submission.getStatus();
+        return update(formId, snapshot, submission, request.getData(), status);
+    }
 
-        // Skip validation for drafts
-        if (status != SubmissionStatus.DRAFT) {
-            validateSubmission(form, request.getData());
-        }
-
-        String dataJson;
-        try {
-            dataJson = objectMapper.writeValueAsString(request.getData());
-        } catch (JsonProcessingException e) {
-            throw new ValidationException("Invalid submission data format");
-        }
-
-        submission.setData(dataJson);
-        submission.setStatus(status);
-
-        Submission saved = submissionRepository.save(submission);
-        return toResponse(saved);
+    /**
+     * Applies a JSON Patch to a submission's stored data, if the submission is still at the
+     * {@code If-Match} version. The patched data is validated and written as a full update is: the
+     * whole row is rewritten, so a patch shortens the request, not the write.
+     */
+    @Transactional
+    public SubmissionDTO.Response patchSubmission(UUID formId, UUID submissionId, JsonNode patch, String ifMatch) {
+        JsonPatch parsed = JsonPatch.parse(patch);
+        long base = baseVersion(ifMatch);
+        FormSnapshot snapshot = loadSnapshot(formId);
+        Submission submission = findSubmission(formId, submissionId);
+        if (submission.getVersion() != base) {
+            throw new PreconditionFailedException("The submission has changed since version " + base
+                    + "; it is now at version " + submission.getVersion());
+        }
+        JsonNode data = applyPatch(parsed, storage.read(submission));
+        return update(formId, snapshot, submission,
+                objectMapper.convertValue(data, new TypeReference<Map<String, Object>>() {}), submission.getStatus());
     }
 
     @Transactional(readOnly = true)
@@ -142,19 +177,47 @@ public class SubmissionService {
         if (user == null) {
             return Optional.empty();
         }
+        Optional<DraftBuffer.Draft> buffered = draftBuffer.get(formId, user.getId());
+        if (buffered.isPresent()) {
+            return buffered.map(this::toResponse);
+        }
         return submissionRepository.findFirstByFormIdAndUserIdAndStatus(formId, user.getId(), SubmissionStatus.DRAFT)
                 .map(this::toResponse);
     }
 
-    @Transactional
+    /**
+     * Applies a JSON Patch to the user's draft, if it is still at the {@code If-Match} version, and
+     * saves the result as {@link #upsertDraft} does.
+     */
+    @Transactional(readOnly = true)
+    public SubmissionDTO.Response patchDraft(UUID formId, JsonNode patch, String ifMatch) {
+        User user = authService.getAuthenticatedUser();
+        if (user == null) {
+            throw new org.springframework.security.access.AccessDeniedException("Authentication required");
+        }
+        JsonPatch parsed = JsonPatch.parse(patch);
+        long base = baseVersion(ifMatch);
+        FormSnapshot snapshot = loadSnapshot(formId);
+
+        String current = draftBuffer.get(formId, user.getId())
+                .map(DraftBuffer.Draft::data)
+                .or(() -> submissionRepository.findFirstByFormIdAndUserIdAndStatus(
+                        formId, user.getId(), SubmissionStatus.DRAFT).map(storage::read))
+                .orElseThrow(() -> new ResourceNotFoundException("No draft for form: " + formId));
+        String dataJson = applyPatch(parsed, current).toString();
+        // The buffer checks the base again against the draft it replaces
+        return toResponse(draftBuffer.put(formId, user.getId(), snapshot.getExportPlan(), dataJson, base));
+    }
+
+    /** Saves the user's draft to the {@link DraftBuffer}, which writes it shortly after. */
+    @Transactional(readOnly = true)
     public SubmissionDTO.Response upsertDraft(UUID formId, Map<String, Object> data) {
         User user = authService.getAuthenticatedUser();
         if (user == null) {
             throw new org.springframework.security.access.AccessDeniedException("Authentication required");
         }
 
-        Form form = formRepository.findByIdWithElements(formId)
-                .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + formId));
+        FormSnapshot snapshot = loadSnapshot(formId);
 
         String dataJson;
         try {
@@ -162,330 +225,300 @@ public class SubmissionService {
         } catch (JsonProcessingException e) {
             throw new ValidationException("Invalid submission data format");
         }
-
-        Optional<Submission> existingDraft = submissionRepository.findFirstByFormIdAndUserIdAndStatus(
-                formId, user.getId(), SubmissionStatus.DRAFT);
-
-        if (existingDraft.isPresent()) {
-            Submission draft = existingDraft.get();
-            draft.setData(dataJson);
-            return toResponse(submissionRepository.save(draft));
-        }
-
-        Submission draft = Submission.builder()
-                .form(form)
-                .data(dataJson)
-                .status(SubmissionStatus.DRAFT)
-                .user(user)
-                .build();
-        return toResponse(submissionRepository.save(draft));
+        return toResponse(draftBuffer.put(formId, user.getId(), snapshot.getExportPlan(), dataJson, null));
     }
 
+    /**
+     * Submits a response read directly from the request body ({@code {"data": {...}}}). The data
+     * object is validated while it streams through the parser and copied into the JSON that is
+     * persisted, without materializing it as a map. Submits the user's draft if there is one.
+     */
     @Transactional
-    public SubmissionDTO.Response submitDraft(UUID formId, Map<String, Object> data,
-                                               String ipAddress, String userAgent) {
-        User user = authService.getAuthenticatedUser();
+    public SubmissionDTO.Response submitDraft(UUID formId, InputStream body, String ipAddress, String userAgent) {
+        FormSnapshot snapshot = loadSnapshot(formId);
 
-        // Look for existing draft if user is authenticated
-        Optional<Submission> existingDraft = Optional.empty();
-        if (user != null) {
-            existingDraft = submissionRepository.findFirstByFormIdAndUserIdAndStatus(
-                    formId, user.getId(), SubmissionStatus.DRAFT);
+        if (!snapshot.isPublished()) {
+            throw new ValidationException("Form is not published");
         }
 
-        if (existingDraft.isPresent()) {
-            Submission draft = existingDraft.get();
-            Form form = formRepository.findByIdWithElements(formId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + formId));
-
-            if (form.getStatus() != FormStatus.PUBLISHED) {
-                throw new ValidationException("Form is not published");
-            }
+        String dataJson = readValidatedData(snapshot, body);
 
-            validateSubmission(form, data);
+        User user = authService.getAuthenticatedUser();
+        if (user != null) {
+            draftBuffer.flush(formId, user.getId());
+        }
+        Submission submission = Optional.ofNullable(user)
+                .flatMap(u -> submissionRepository.findFirstByFormIdAndUserIdAndStatus(
+                        formId, u.getId(), SubmissionStatus.DRAFT))
+                .orElseGet(() -> Submission.builder()
+                        .form(formRepository.getReferenceById(formId))
+                        .user(user)
+                        .build());
+
+        storage.store(submission, dataJson);
+        submission.setSummary(summaries.summarize(snapshot.getExportPlan(), dataJson));
+        submission.setStatus(SubmissionStatus.SUBMITTED);
+        submission.setIpAddress(ipAddress);
+        submission.setUserAgent(userAgent);
+
+        // Flushed first: projected rows reference the submission
+        Submission saved = submissionRepository.saveAndFlush(submission);
+        projectionService.project(formId, saved.getId(), SubmissionStatus.SUBMITTED,
+                () -> parseSubmissionData(dataJson));
+        // A user's draft is replaced by the submission, so there is nothing to subtract
+        statisticsService.record(snapshot.getExportPlan(), saved, dataJson, null, null);
+        return toResponse(saved);
+    }
 
-            String dataJson;
-            try {
-                dataJson = objectMapper.writeValueAsString(data);
-            } catch (JsonProcessingException e) {
-                throw new ValidationException("Invalid submission data format");
-            }
+    /**
+     * Validates the fields of one page of a published form. {@code data} is the whole draft
+     * document; fields on other pages are ignored.
+     */
+    public void validatePage(UUID formId, UUID pageId, Map<String, Object> data) {
+        FormSnapshot snapshot = loadSnapshot(formId);
 
-            draft.setData(dataJson);
-            draft.setStatus(SubmissionStatus.SUBMITTED);
-            draft.setIpAddress(ipAddress);
-            draft.setUserAgent(userAgent);
-            return toResponse(submissionRepository.save(draft));
+        if (!snapshot.isPublished()) {
+            throw new ValidationException("Form is not published");
         }
 
-        // No draft exists — use existing createSubmission flow
-        SubmissionDTO.CreateRequest request = new SubmissionDTO.CreateRequest();
-        request.setData(data);
-        request.setStatus(SubmissionStatus.SUBMITTED);
-        return createSubmission(formId, request, ipAddress, userAgent);
+        ValidationPlan pagePlan = snapshot.getValidationPlan().forPage(pageId)
+                .orElseThrow(() -> new ResourceNotFoundException("Page not found: " + pageId));
+        pagePlan.validate(data, failFast).throwIfAny();
     }
 
-    @Transactional(readOnly = true)
-    public String exportSubmissionsCsv(UUID formId) {
-        Form form = formRepository.findByIdWithElements(formId)
-                .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + formId));
+    /**
+     * Streams the form's submissions as CSV or Parquet; see {@link SubmissionExporter}. The form, the
+     * requested columns and the layout are checked here, before the response is committed.
+     * {@code gzip} applies to CSV only; Parquet pages are compressed within the file.
+     */
+    public StreamingResponseBody exportSubmissions(UUID formId, SubmissionDTO.ExportFilter filter, boolean gzip) {
+        PreparedExport export = prepareExport(formId, filter);
+        if (filter.getFormat() == ExportFormat.PARQUET) {
+            return exporter.parquet(formId, export.plan(), export.selected(), filter);
+        }
+        return exporter.csv(formId, export.plan(), export.selected(), export.columns(), filter, gzip);
+    }
 
-        List<Submission> submissions = submissionRepository.findByFormIdOrderBySubmittedAtDesc(formId);
+    /**
+     * An export request checked against the form's current version: its plan, the selected leaves,
+     * and the columns of a LONG layout (null for WIDE, whose columns depend on the exported rows).
+     */
+    public record PreparedExport(ExportPlan plan, Map<ExportPlan.Leaf, Integer> selected, ExportColumns columns) {
+    }
 
-        if (submissions.isEmpty()) {
-            return "";
-        }
+    public PreparedExport prepareExport(UUID formId, SubmissionDTO.ExportFilter filter) {
+        ExportPlan plan = loadSnapshot(formId).getExportPlan();
 
-        List<FormElement> elements = form.getElements();
-        List<String> headers = new ArrayList<>();
-        headers.add("Submission ID");
-        headers.add("Submitted At");
-        for (FormElement element : elements) {
-            headers.add(element.getLabel());
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new ValidationException("Invalid export request", Map.of("from", "must not be after to"));
         }
+        Map<ExportPlan.Leaf, Integer> selected = plan.select(filter.getColumns());
 
-        StringBuilder csv = new StringBuilder();
-        csv.append(headers.stream().map(this::escapeCsv).collect(Collectors.joining(","))).append("\n");
-
-        for (Submission submission : submissions) {
-            List<String> row = new ArrayList<>();
-            row.add(submission.getId().toString());
-            row.add(submission.getSubmittedAt().toString());
+        if (filter.getFormat() == ExportFormat.PARQUET && filter.getLayout() == ExportLayout.LONG) {
+            throw new ValidationException("Invalid export request",
+                    Map.of("layout", "Parquet exports nest repeatable groups; LONG is for CSV only"));
+        }
 
-            Map<String, Object> data = parseSubmissionData(submission.getData());
-            for (FormElement element : elements) {
-                Object value = data.get(element.getFieldName());
-                row.add(value != null ? value.toString() : "");
+        ExportColumns columns = null;
+        if (filter.getLayout() == ExportLayout.LONG) {
+            if (filter.getGroup() == null || filter.getGroup().isBlank()) {
+                throw new ValidationException("Invalid export request",
+                        Map.of("group", "A repeatable group is required for the LONG layout"));
             }
-
-            csv.append(row.stream().map(this::escapeCsv).collect(Collectors.joining(","))).append("\n");
+            ExportPlan.Node group = plan.group(filter.getGroup())
+                    .orElseThrow(() -> new ValidationException("Invalid export request",
+                            Map.of("group", "Unknown repeatable group: " + filter.getGroup())));
+            boolean explicit = filter.getColumns() != null && !filter.getColumns().isEmpty();
+            columns = LongColumns.of(plan, group, selected, explicit);
         }
-
-        return csv.toString();
+        return new PreparedExport(plan, selected, columns);
     }
 
-    private void validateSubmission(Form form, Map<String, Object> data) {
-        List<String> errors = new ArrayList<>();
-
-        for (FormElement element : form.getElements()) {
-            // Skip child elements — they are validated via their parent group
-            if (element.getParentElement() != null) {
-                continue;
-            }
-            if (element.getType() == ElementType.STATIC_TEXT) {
-                continue;
-            }
-            if (element.getType() == ElementType.ELEMENT_GROUP) {
-                validateGroupElement(element, data, errors, "");
-                continue;
-            }
-
-            if (element.getType() == ElementType.CHECKBOX_GROUP) {
-                validateCheckboxGroup(element, data.get(element.getFieldName()), errors);
-                continue;
-            }
-
-            // Non-group repeatable elements: expect array of primitive values
-            ElementConfiguration elConfig = element.getConfiguration();
-            if (elConfig != null && Boolean.TRUE.equals(elConfig.getRepeatable())) {
-                validateRepeatableField(element, data, errors);
-                continue;
-            }
+    /**
+     * Streams the form's submissions changed after {@code since} as NDJSON; see
+     * {@link SubmissionExporter#ndjson}. Changes from the last few seconds are held back until
+     * their updated_at can no longer be overtaken, so a client resuming from the last cursor it
+     * read does not miss them.
+     */
+    public StreamingResponseBody exportChanges(UUID formId, String since, boolean gzip) {
+        loadSnapshot(formId);
+        ChangeCursor cursor = since != null && !since.isBlank() ? ChangeCursor.decode(since) : null;
+        LocalDateTime until = LocalDateTime.now().minusNanos(changesSettleMillis * 1_000_000);
+        return exporter.ndjson(formId, cursor, until, gzip);
+    }
 
-            validateField(element, data.get(element.getFieldName()), errors);
-        }
+    private boolean hasDraft(UUID formId, UUID userId) {
+        return draftBuffer.get(formId, userId).isPresent()
+                || submissionRepository.findFirstByFormIdAndUserIdAndStatus(formId, userId, SubmissionStatus.DRAFT)
+                .isPresent();
+    }
 
-        if (!errors.isEmpty()) {
-            throw new ValidationException(String.join("; ", errors));
-        }
+    private FormSnapshot loadSnapshot(UUID formId) {
+        return snapshotCache.get(formId, snapshotLoader::load)
+                .orElseThrow(() -> new ResourceNotFoundException("Form not found: " + formId));
     }
 
-    @SuppressWarnings("unchecked")
-    private void validateRepeatableField(FormElement element, Map<String, Object> data, List<String> errors) {
-        Object value = data.get(element.getFieldName());
-        ElementConfiguration config = element.getConfiguration();
-        int minInstances = config.getMinInstances() != null ? config.getMinInstances() : 0;
-        int maxInstances = config.getMaxInstances() != null ? config.getMaxInstances() : Integer.MAX_VALUE;
+    private Submission findSubmission(UUID formId, UUID submissionId) {
+        // A draft still in the buffer is written first, so it is read and replaced as it stands
+        draftBuffer.flushDraft(submissionId);
+        return submissionRepository.findByIdAndFormId(submissionId, formId)
+                .orElseThrow(() -> new ResourceNotFoundException("Submission not found: " + submissionId));
+    }
 
-        if (!(value instanceof List)) {
-            errors.add(element.getLabel() + " must be an array");
-            return;
+    private SubmissionDTO.Response update(UUID formId, FormSnapshot snapshot, Submission submission,
+                                          Map<String, Object> data, SubmissionStatus status) {
+        // Skip validation for drafts
+        if (status != SubmissionStatus.DRAFT) {
+            validateSubmission(snapshot, data);
+        } else if (submission.getStatus() != SubmissionStatus.DRAFT && submission.getUser() != null
+                && hasDraft(formId, submission.getUser().getId())) {
+            // A user has one draft of a form
+            throw new IllegalStateException("The user already has a draft of this form");
         }
 
-        List<Object> values = (List<Object>) value;
-        if (values.size() < minInstances) {
-            errors.add(element.getLabel() + " requires at least " + minInstances + " value(s)");
-        }
-        if (values.size() > maxInstances) {
-            errors.add(element.getLabel() + " allows at most " + maxInstances + " value(s)");
+        String dataJson;
+        try {
+            dataJson = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Invalid submission data format");
         }
 
-        for (int i = 0; i < values.size(); i++) {
-            validateField(element, values.get(i), errors, element.getLabel() + "[" + (i + 1) + "].");
-        }
-    }
+        SubmissionStatus oldStatus = submission.getStatus();
+        String oldData = storage.read(submission);
+        storage.store(submission, dataJson);
+        submission.setSummary(summaries.summarize(snapshot.getExportPlan(), dataJson));
+        submission.setStatus(status);
 
-    @SuppressWarnings("unchecked")
-    private void validateRepeatableGroup(FormElement group, Map<String, Object> data, List<String> errors) {
-        validateRepeatableGroup(group, data, errors, "");
+        Submission saved = submissionRepository.saveAndFlush(submission);
+        projectionService.project(formId, saved.getId(), status, () -> data);
+        statisticsService.record(snapshot.getExportPlan(), saved, dataJson, oldStatus, oldData);
+        return toResponse(saved);
     }
 
-    @SuppressWarnings("unchecked")
-    private void validateRepeatableGroup(FormElement group, Map<String, Object> data, List<String> errors, String pathPrefix) {
-        Object value = data.get(group.getFieldName());
-        ElementConfiguration config = group.getConfiguration();
-        int minInstances = config.getMinInstances() != null ? config.getMinInstances() : 0;
-        int maxInstances = config.getMaxInstances() != null ? config.getMaxInstances() : Integer.MAX_VALUE;
-        String groupLabel = pathPrefix + group.getLabel();
-
-        if (!(value instanceof List)) {
-            errors.add(groupLabel + " must be an array");
-            return;
+    // The version a patch was made against, sent as an ETag ("3", or W/"3")
+    private static long baseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new ValidationException("Invalid patch request",
+                    Map.of("If-Match", "The version the patch was made against is required"));
         }
-
-        List<Object> instances = (List<Object>) value;
-        if (instances.size() < minInstances) {
-            errors.add(groupLabel + " requires at least " + minInstances + " instance(s)");
+        String tag = ifMatch.strip();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
         }
-        if (instances.size() > maxInstances) {
-            errors.add(groupLabel + " allows at most " + maxInstances + " instance(s)");
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
         }
-
-        List<FormElement> children = group.getChildren() != null ? group.getChildren() : List.of();
-        for (int i = 0; i < instances.size(); i++) {
-            Object instance = instances.get(i);
-            if (!(instance instanceof Map)) {
-                errors.add(groupLabel + " instance " + (i + 1) + " is invalid");
-                continue;
-            }
-            Map<String, Object> instanceData = (Map<String, Object>) instance;
-            String instancePrefix = groupLabel + "[" + (i + 1) + "].";
-            for (FormElement child : children) {
-                if (child.getType() == ElementType.ELEMENT_GROUP) {
-                    validateGroupElement(child, instanceData, errors, instancePrefix);
-                } else if (child.getType() == ElementType.CHECKBOX_GROUP) {
-                    validateCheckboxGroup(child, instanceData.get(child.getFieldName()), errors);
-                } else {
-                    validateField(child, instanceData.get(child.getFieldName()), errors, instancePrefix);
-                }
-            }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid patch request",
+                    Map.of("If-Match", "Must be a version of the document, as sent in its ETag"));
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void validateGroupElement(FormElement group, Map<String, Object> data, List<String> errors, String pathPrefix) {
-        ElementConfiguration groupConfig = group.getConfiguration();
-        if (groupConfig != null && Boolean.TRUE.equals(groupConfig.getRepeatable())) {
-            validateRepeatableGroup(group, data, errors, pathPrefix);
-        } else {
-            // Non-repeatable nested group: validate children directly
-            List<FormElement> children = group.getChildren() != null ? group.getChildren() : List.of();
-            for (FormElement child : children) {
-                if (child.getType() == ElementType.ELEMENT_GROUP) {
-                    validateGroupElement(child, data, errors, pathPrefix);
-                } else if (child.getType() == ElementType.CHECKBOX_GROUP) {
-                    validateCheckboxGroup(child, data.get(child.getFieldName()), errors);
-                } else {
-                    validateField(child, data.get(child.getFieldName()), errors, pathPrefix);
-                }
-            }
+    private JsonNode applyPatch(JsonPatch patch, String dataJson) {
+        JsonNode data;
+        try {
+            data = patch.apply(objectMapper.readTree(dataJson));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored submission data is not JSON", e);
+        }
+        if (!data.isObject()) {
+            throw new ValidationException("Invalid patch: the data must remain an object");
         }
+        return data;
     }
 
-    @SuppressWarnings("unchecked")
-    private void validateCheckboxGroup(FormElement element, Object value, List<String> errors) {
-        ElementConfiguration config = element.getConfiguration();
-        String label = element.getLabel();
+    private void validateSubmission(FormSnapshot snapshot, Map<String, Object> data) {
+        snapshot.getValidationPlan().validate(data, failFast).throwIfAny();
+    }
 
-        if (value == null) {
-            if (config != null && Boolean.TRUE.equals(config.getRequired())) {
-                errors.add(label + " is required");
+    private String readValidatedData(FormSnapshot snapshot, InputStream body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ValidationException("Invalid submission data format");
             }
-            return;
-        }
-
-        if (!(value instanceof List)) {
-            errors.add(label + " must be an array");
-            return;
-        }
 
-        List<Object> values = (List<Object>) value;
-        if (config != null && Boolean.TRUE.equals(config.getRequired()) && values.isEmpty()) {
-            errors.add(label + " is required");
-        }
-
-        if (config != null && config.getOptions() != null) {
-            Set<String> validValues = config.getOptions().stream()
-                    .map(ElementConfiguration.Option::getValue)
-                    .collect(Collectors.toSet());
-            for (Object v : values) {
-                if (v instanceof String strVal) {
-                    if (Boolean.TRUE.equals(config.getAllowOther()) && strVal.startsWith("other:")) continue;
-                    if (!validValues.contains(strVal)) {
-                        errors.add(label + " contains invalid option: " + strVal);
-                    }
+            String dataJson = null;
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                if (!"data".equals(name) || token == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new ValidationException("Invalid submission data format");
                 }
+                dataJson = snapshot.getValidationPlan().isStreamable()
+                        ? streamValidatedData(snapshot, parser)
+                        : bindValidatedData(snapshot, parser);
+            }
+
+            if (dataJson == null) {
+                throw new ValidationException("Invalid request data", Map.of("data", "Form data is required"));
             }
+            return dataJson;
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Invalid submission data format");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
-    private void validateField(FormElement element, Object value, List<String> errors) {
-        validateField(element, value, errors, "");
+    private String streamValidatedData(FormSnapshot snapshot, JsonParser parser) throws IOException {
+        StringWriter dataJson = new StringWriter();
+        try (JsonGenerator out = objectMapper.getFactory().createGenerator(dataJson)) {
+            snapshot.getValidationPlan().validate(parser, out, failFast).throwIfAny();
+        }
+        return dataJson.toString();
     }
 
-    private void validateField(FormElement element, Object value, List<String> errors, String prefix) {
-        if (element.getType() == ElementType.ELEMENT_GROUP) return;
-        if (element.getType() == ElementType.STATIC_TEXT) return;
-
-        ElementConfiguration config = element.getConfiguration();
-        String label = prefix + element.getLabel();
-
-        if (config != null && Boolean.TRUE.equals(config.getRequired())) {
-            if (value == null || (value instanceof String && ((String) value).isBlank())) {
-                errors.add(label + " is required");
-            }
-        }
+    // Plans with duplicate field names need random access to the data, so bind it to a map first
+    private String bindValidatedData(FormSnapshot snapshot, JsonParser parser) throws IOException {
+        Map<String, Object> data = objectMapper.readValue(parser, new TypeReference<Map<String, Object>>() {});
+        validateSubmission(snapshot, data);
+        return objectMapper.writeValueAsString(data);
+    }
 
-        if (value != null && value instanceof String strValue && !strValue.isEmpty()) {
-            if (config != null) {
-                if (config.getMinLength() != null && strValue.length() < config.getMinLength()) {
-                    errors.add(label + " must be at least " + config.getMinLength() + " characters");
-                }
-                if (config.getMaxLength() != null && strValue.length() > config.getMaxLength()) {
-                    errors.add(label + " must not exceed " + config.getMaxLength() + " characters");
-                }
-                if (config.getPattern() != null && !strValue.matches(config.getPattern())) {
-                    String message = config.getPatternMessage() != null
-                            ? config.getPatternMessage()
-                            : label + " has invalid format";
-                    errors.add(message);
-                }
-            }
-        }
+    private SubmissionDTO.Response toResponse(SubmissionSummary summary) {
+        return SubmissionDTO.Response.builder()
+                .id(summary.id())
+                .formId(summary.formId())
+                .summary(summaries.read(summary.summary()))
+                .submitterName(summary.submitterName())
+                .submitterEmail(summary.submitterEmail())
+                .submittedAt(summary.submittedAt())
+                .updatedAt(summary.updatedAt())
+                .status(summary.status())
+                .ipAddress(summary.ipAddress())
+                .build();
     }
 
-    private List<FormElement> flattenElements(List<FormElement> elements) {
-        List<FormElement> flat = new ArrayList<>();
-        for (FormElement element : elements) {
-            flat.add(element);
-            if (element.getChildren() != null && !element.getChildren().isEmpty()) {
-                flat.addAll(flattenElements(element.getChildren()));
-            }
-        }
-        return flat;
+    private SubmissionDTO.Response toResponse(DraftBuffer.Draft draft) {
+        return SubmissionDTO.Response.builder()
+                .id(draft.id())
+                .formId(draft.formId())
+                .data(RawJson.of(draft.data()))
+                .submittedAt(draft.submittedAt())
+                .updatedAt(draft.updatedAt())
+                .status(SubmissionStatus.DRAFT)
+                .version(draft.version())
+                .build();
     }
 
     private SubmissionDTO.Response toResponse(Submission submission) {
-        Map<String, Object> data = parseSubmissionData(submission.getData());
-
         return SubmissionDTO.Response.builder()
                 .id(submission.getId())
                 .formId(submission.getForm().getId())
-                .data(data)
+                // Stored data was written by the server, so it is copied into the response without parsing
+                .data(RawJson.of(storage.read(submission)))
                 .submittedAt(submission.getSubmittedAt())
                 .updatedAt(submission.getUpdatedAt())
                 .status(submission.getStatus())
                 .ipAddress(submission.getIpAddress())
+                .version(submission.getVersion())
                 .build();
     }
 
@@ -497,16 +530,6 @@ public class SubmissionService {
         }
     }
 
-    private String escapeCsv(String value) {
-        if (value == null) {
-            return "";
-        }
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
-    }
-
     private void validateFormExists(UUID formId) {
         if (!formRepository.existsById(formId)) {
             throw new ResourceNotFoundException("Form not found: " + formId);
@@ -0,0 +1,95 @@
+package com.formbuilder.submission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads and writes submission data, which is stored once, as jsonb in {@code data_json}: the
+ * column submission filters query. Postgres compresses it in place (see V19), so the data isn't
+ * packed by the application. Reports the JSON written and the space the submissions table takes.
+ */
+@Slf4j
+@Component
+public class SubmissionStorage {
+
+    /** The columns {@link #read(ResultSet)} reads, for queries to select. */
+    public static final String COLUMNS = "data_json";
+
+    private static final String SELECT_SIZES = """
+            SELECT pg_relation_size(c.oid) AS heap,
+                   coalesce(pg_total_relation_size(nullif(c.reltoastrelid, 0)), 0) AS toast,
+                   pg_indexes_size(c.oid) AS indexes
+            FROM pg_class c WHERE c.oid = 'submissions'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter writtenBytes;
+    private final AtomicLong heapBytes = new AtomicLong();
+    private final AtomicLong toastBytes = new AtomicLong();
+    private final AtomicLong indexBytes = new AtomicLong();
+
+    public SubmissionStorage(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writtenBytes = Counter.builder("submissions.data.written")
+                .description("Submission data written, as JSON text")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        register(meterRegistry, "table", heapBytes, "Submission rows, with data stored inline");
+        register(meterRegistry, "toast", toastBytes, "Submission data stored out of line");
+        register(meterRegistry, "indexes", indexBytes, "Submission indexes, including the data_json index");
+    }
+
+    private static void register(MeterRegistry meterRegistry, String kind, AtomicLong bytes, String description) {
+        Gauge.builder("submissions.storage", bytes, AtomicLong::get)
+                .tag("kind", kind)
+                .description(description)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /** Sets the submission's data. */
+    public void store(Submission submission, String data) {
+        submission.store(written(data));
+    }
+
+    /** The submission's data as JSON text. */
+    public String read(Submission submission) {
+        return submission.getDataJson();
+    }
+
+    /** The data of the current row, from the {@link #COLUMNS} the query selected. */
+    public String read(ResultSet rs) throws SQLException {
+        return rs.getString("data_json");
+    }
+
+    /** Counts data that a writer binds to {@code data_json} itself, and returns it. */
+    String written(String data) {
+        writtenBytes.increment(data.getBytes(StandardCharsets.UTF_8).length);
+        return data;
+    }
+
+    /** Reads the current size of the submissions table, its TOAST table and its indexes. */
+    @Scheduled(fixedDelayString = "${submissions.storage.refresh-millis:300000}")
+    public void refreshSizes() {
+        try {
+            jdbcTemplate.query(SELECT_SIZES, rs -> {
+                heapBytes.set(rs.getLong("heap"));
+                toastBytes.set(rs.getLong("toast"));
+                indexBytes.set(rs.getLong("indexes"));
+            });
+        } catch (DataAccessException e) {
+            log.error("Reading the submission storage size failed", e);
+        }
+    }
+}
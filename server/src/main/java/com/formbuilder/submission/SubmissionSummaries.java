@@ -0,0 +1,177 @@
+package com.formbuilder.submission;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.export.ExportPlan;
+import com.formbuilder.form.FormSnapshot;
+import com.formbuilder.form.FormSnapshotCache;
+import com.formbuilder.form.FormSnapshotLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Each submission's summary: the values of its form's summary fields (see
+ * {@link ExportPlan#getSummaryLeaves}) as display text by field path, stored as a small JSON object
+ * in {@code submissions.summary}, so the summary view of the submission list never reads the data.
+ *
+ * <p>Writers store the summary with the data. When a form is published its summary fields may have
+ * changed, so its submissions are summarized again in the background, in batches by id; rows
+ * updated meanwhile are left to the summary their writer stored. Rows written before the column
+ * existed are summarized the same way after startup.
+ */
+@Slf4j
+@Component
+public class SubmissionSummaries {
+
+    // Longer values are cut, with an ellipsis
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    private static final String SELECT_MISSING =
+            "SELECT DISTINCT form_id FROM submissions WHERE summary IS NULL";
+
+    private static final String SELECT_BATCH = "SELECT id, updated_at, " + SubmissionStorage.COLUMNS
+            + " FROM submissions WHERE form_id = ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SUMMARY =
+            "UPDATE submissions SET summary = ? WHERE id = ? AND updated_at = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final FormSnapshotCache snapshotCache;
+    private final FormSnapshotLoader snapshotLoader;
+    private final TaskExecutor taskExecutor;
+    private final SubmissionStorage storage;
+    private final int batchSize;
+
+    public SubmissionSummaries(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                               FormSnapshotCache snapshotCache, FormSnapshotLoader snapshotLoader,
+                               TaskExecutor taskExecutor, SubmissionStorage storage,
+                               @Value("${submissions.backfill.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshotCache = snapshotCache;
+        this.snapshotLoader = snapshotLoader;
+        this.taskExecutor = taskExecutor;
+        this.storage = storage;
+        this.batchSize = batchSize;
+    }
+
+    /** The summary of submission data, read with the form's export plan; malformed data has an empty one. */
+    public String summarize(ExportPlan plan, String dataJson) {
+        Map<String, String> summary = new LinkedHashMap<>();
+        if (!plan.getSummaryLeaves().isEmpty()) {
+            // Summary fields are top-level, so no group is read
+            boolean[] wanted = new boolean[plan.getNodes().size()];
+            try (JsonParser parser = objectMapper.getFactory().createParser(dataJson)) {
+                parser.nextToken();
+                ExportPlan.Instance instance = plan.read(parser, wanted);
+                for (ExportPlan.Leaf leaf : plan.getSummaryLeaves()) {
+                    String value = instance.value(leaf.getSlot());
+                    if (!value.isEmpty()) {
+                        summary.put(leaf.getPath(), value.length() > MAX_VALUE_LENGTH
+                                ? value.substring(0, MAX_VALUE_LENGTH - 1) + "…" : value);
+                    }
+                }
+            } catch (IOException e) {
+                summary.clear();
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(summary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode submission summary", e);
+        }
+    }
+
+    /** Reads a stored summary; a submission not yet summarized has an empty one. */
+    Map<String, String> read(String summary) {
+        if (summary == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(summary, new TypeReference<LinkedHashMap<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+
+    /** Summarizes the form's submissions again in the background once the surrounding transaction commits. */
+    public void refreshLater(UUID formId) {
+        afterCommit(() -> taskExecutor.execute(() -> {
+            try {
+                refresh(formId);
+            } catch (DataAccessException e) {
+                log.error("Summarizing submissions of form {} failed", formId, e);
+            }
+        }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskExecutor.execute(() -> {
+            try {
+                jdbcTemplate.queryForList(SELECT_MISSING, UUID.class).forEach(this::refresh);
+            } catch (DataAccessException e) {
+                log.error("Submission summary backfill failed", e);
+            }
+        });
+    }
+
+    /** Summarizes every submission of the form with its current fields; returns the number of rows written. */
+    public long refresh(UUID formId) {
+        Optional<ExportPlan> plan = snapshotCache.get(formId, snapshotLoader::load).map(FormSnapshot::getExportPlan);
+        if (plan.isEmpty()) {
+            return 0;
+        }
+        long written = 0;
+        UUID after = new UUID(0, 0);
+        while (true) {
+            List<Object[]> updates = new ArrayList<>();
+            UUID[] last = {null};
+            jdbcTemplate.query(SELECT_BATCH, rs -> {
+                last[0] = rs.getObject("id", UUID.class);
+                Timestamp updatedAt = rs.getTimestamp("updated_at");
+                updates.add(new Object[]{summarize(plan.get(), storage.read(rs)), last[0], updatedAt});
+            }, formId, after, batchSize);
+            if (last[0] == null) {
+                break;
+            }
+            written += Arrays.stream(jdbcTemplate.batchUpdate(UPDATE_SUMMARY, updates)).sum();
+            after = last[0];
+        }
+        return written;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
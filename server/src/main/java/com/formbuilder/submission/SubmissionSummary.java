@@ -0,0 +1,10 @@
+package com.formbuilder.submission;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** A row of the summary view of the submission list; {@code summary} is as stored. */
+record SubmissionSummary(UUID id, UUID formId, LocalDateTime submittedAt, LocalDateTime updatedAt,
+                         SubmissionStatus status, String ipAddress, String summary,
+                         String submitterName, String submitterEmail) {
+}
@@ -0,0 +1,9 @@
+package com.formbuilder.submission;
+
+/** What each submission in a list page carries. */
+public enum SubmissionView {
+    // The submission data
+    FULL,
+    // The summary fields and the submitter, without reading the data
+    SUMMARY
+}
@@ -0,0 +1,11 @@
+package com.formbuilder.submission;
+
+/** How a submission list page reports the total number of matching submissions. */
+public enum TotalCount {
+    // count(*) over every match
+    EXACT,
+    // The query planner's row estimate, without running the count
+    ESTIMATE,
+    // No total
+    NONE
+}
@@ -0,0 +1,122 @@
+package com.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.FormElement;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A checkbox group: an array of selected option values, optionally allowing {@code other:} entries.
+ */
+final class CheckboxGroupValidator implements FieldElementValidator {
+
+    private static final String OTHER_PREFIX = "other:";
+
+    private final String fieldName;
+    private final String token;
+    private final String label;
+    private final boolean required;
+    private final boolean allowOther;
+    private final Set<String> options;
+
+    CheckboxGroupValidator(FormElement element) {
+        ElementConfiguration config = element.getConfiguration();
+        this.fieldName = element.getFieldName();
+        this.token = ElementValidator.pointerToken(fieldName);
+        this.label = element.getLabel();
+        this.required = config != null && Boolean.TRUE.equals(config.getRequired());
+        this.allowOther = config != null && Boolean.TRUE.equals(config.getAllowOther());
+        this.options = config != null && config.getOptions() != null
+                ? config.getOptions().stream()
+                        .map(ElementConfiguration.Option::getValue)
+                        // An option saved without a value can't be selected
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toUnmodifiableSet())
+                : null;
+    }
+
+    // Checkbox group labels are not prefixed with the enclosing group instance
+    @Override
+    public void validate(Map<String, Object> data, String pointer, String labelPrefix, ValidationErrors errors) {
+        Object value = data.get(fieldName);
+
+        if (value == null) {
+            if (required) {
+                errors.add(pointer + "/" + token, label + " is required");
+            }
+            return;
+        }
+
+        if (!(value instanceof List<?> values)) {
+            errors.add(pointer + "/" + token, label + " must be an array");
+            return;
+        }
+
+        if (required && values.isEmpty()) {
+            errors.add(pointer + "/" + token, label + " is required");
+        }
+
+        if (options != null) {
+            for (int i = 0; i < values.size() && !errors.isDone(); i++) {
+                checkOption(values.get(i), pointer, i, errors);
+            }
+        }
+    }
+
+    @Override
+    public void validateStream(JsonParser parser, JsonGenerator out, String pointer, String labelPrefix,
+                               ValidationErrors errors) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            out.writeNull();
+            if (required) {
+                errors.add(pointer + "/" + token, label + " is required");
+            }
+            return;
+        }
+
+        if (!parser.isExpectedStartArrayToken()) {
+            JsonStreams.copyValue(parser, out);
+            errors.add(pointer + "/" + token, label + " must be an array");
+            return;
+        }
+
+        ValidationErrors optionErrors = errors.bucket();
+        int size = 0;
+        out.writeStartArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            Object value = JsonStreams.copyValue(parser, out);
+            if (options != null && !errors.isDone()) {
+                checkOption(value, pointer, size, optionErrors);
+            }
+            size++;
+        }
+        out.writeEndArray();
+
+        if (required && size == 0) {
+            errors.add(pointer + "/" + token, label + " is required");
+        }
+        errors.addAll(optionErrors);
+    }
+
+    @Override
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    private void checkOption(Object value, String pointer, int index, ValidationErrors errors) {
+        if (value instanceof String strVal) {
+            if (allowOther && strVal.startsWith(OTHER_PREFIX)) return;
+            if (!options.contains(strVal)) {
+                errors.add(pointer + "/" + token + "/" + index, label + " contains invalid option: " + strVal);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.formbuilder.validation;
+
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * DATE values: ISO {@code yyyy-MM-dd} as sent by date inputs, checked field by field so invalid
+ * input is rejected without constructing or catching exceptions.
+ */
+final class DateCheck implements ValueCheck {
+
+    static final DateCheck INSTANCE = new DateCheck();
+
+    private DateCheck() {
+    }
+
+    @Override
+    public String check(Object value) {
+        return value instanceof String s && isIsoDate(s) ? null : "must be a valid date (YYYY-MM-DD)";
+    }
+
+    static boolean isIsoDate(String s) {
+        if (s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return false;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        if (year < 1 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        return day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    // The value of s[from, to) as a decimal, or -1 if it has a non-digit
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
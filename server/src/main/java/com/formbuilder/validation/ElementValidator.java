@@ -0,0 +1,24 @@
+package com.formbuilder.validation;
+
+import java.util.Map;
+
+/**
+ * Validates one element of a compiled {@link ValidationPlan} against a materialized object.
+ * Elements that read a field of their own are {@link FieldElementValidator}s and can also be
+ * streamed; a {@link GroupValidator} only groups those of the enclosing object.
+ */
+interface ElementValidator {
+
+    /**
+     * Validates this element's value in {@code data}.
+     *
+     * @param data        the submission object (or group instance) containing the element's field
+     * @param pointer     JSON pointer of {@code data}; empty for the submission root
+     * @param labelPrefix prefix for error labels, e.g. {@code "Work History[2]."} inside group instances
+     */
+    void validate(Map<String, Object> data, String pointer, String labelPrefix, ValidationErrors errors);
+
+    static String pointerToken(String fieldName) {
+        return fieldName.replace("~", "~0").replace("/", "~1");
+    }
+}
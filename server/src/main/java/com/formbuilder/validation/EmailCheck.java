@@ -0,0 +1,76 @@
+package com.formbuilder.validation;
+
+/**
+ * EMAIL values: a single-pass scan for {@code local@domain}. The local part is dot-separated
+ * RFC 5322 atext; the domain is at least two DNS labels ending in an alphabetic TLD.
+ */
+final class EmailCheck implements ValueCheck {
+
+    static final EmailCheck INSTANCE = new EmailCheck();
+
+    private static final int MAX_LENGTH = 254;
+    private static final int MAX_LOCAL_LENGTH = 64;
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final String ATEXT_SYMBOLS = "!#$%&'*+-/=?^_`{|}~";
+
+    private EmailCheck() {
+    }
+
+    @Override
+    public String check(Object value) {
+        return value instanceof String s && isEmail(s) ? null : "must be a valid email address";
+    }
+
+    static boolean isEmail(String s) {
+        int length = s.length();
+        int at = s.indexOf('@');
+        if (at < 1 || at > MAX_LOCAL_LENGTH || length > MAX_LENGTH) {
+            return false;
+        }
+
+        char previous = '.';
+        for (int i = 0; i < at; i++) {
+            char c = s.charAt(i);
+            if (c == '.' ? previous == '.' : !isAtext(c)) {
+                return false;
+            }
+            previous = c;
+        }
+        if (previous == '.') {
+            return false;
+        }
+
+        int labels = 0;
+        int labelStart = at + 1;
+        boolean alphabetic = true;
+        for (int i = labelStart; i <= length; i++) {
+            char c = i < length ? s.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength < 1 || labelLength > MAX_LABEL_LENGTH
+                        || s.charAt(labelStart) == '-' || s.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                if (i < length) {
+                    labelStart = i + 1;
+                    alphabetic = true;
+                }
+            } else if (!isAsciiLetter(c)) {
+                if ((c < '0' || c > '9') && c != '-') {
+                    return false;
+                }
+                alphabetic = false;
+            }
+        }
+        return labels >= 2 && alphabetic && length - labelStart >= 2;
+    }
+
+    private static boolean isAtext(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9') || ATEXT_SYMBOLS.indexOf(c) >= 0;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,27 @@
+package com.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * An element that reads one field of its enclosing object, so that {@link FieldIndex} can
+ * validate it as the field streams past.
+ */
+interface FieldElementValidator extends ElementValidator {
+
+    /**
+     * Validates the value the parser is positioned on and copies it to {@code out}, consuming it
+     * entirely. Produces the same errors as {@link #validate} for the equivalent map.
+     */
+    void validateStream(JsonParser parser, JsonGenerator out, String pointer, String labelPrefix,
+                        ValidationErrors errors) throws IOException;
+
+    /** The field this element reads. */
+    String getFieldName();
+
+    default boolean isStreamable() {
+        return true;
+    }
+}
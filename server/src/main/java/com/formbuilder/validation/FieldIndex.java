@@ -0,0 +1,96 @@
+package com.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The validators of one JSON object level, flattened through non-repeatable groups and indexed by
+ * field name, so that an object can be validated as its fields stream past in document order.
+ * Errors are buffered per field and emitted in plan order once the object ends.
+ */
+final class FieldIndex {
+
+    private final FieldElementValidator[] fields;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final boolean streamable;
+
+    FieldIndex(List<ElementValidator> validators) {
+        List<FieldElementValidator> flattened = new ArrayList<>();
+        flatten(validators, flattened);
+        this.fields = flattened.toArray(new FieldElementValidator[0]);
+
+        boolean unique = true;
+        boolean nested = true;
+        for (int i = 0; i < fields.length; i++) {
+            unique &= positions.putIfAbsent(fields[i].getFieldName(), i) == null;
+            nested &= fields[i].isStreamable();
+        }
+        // Two elements reading the same field would need the value twice
+        this.streamable = unique && nested;
+    }
+
+    boolean isStreamable() {
+        return streamable;
+    }
+
+    /** Validates and copies the object the parser is positioned on (START_OBJECT). */
+    void stream(JsonParser parser, JsonGenerator out, String pointer, String labelPrefix,
+                ValidationErrors errors) throws IOException {
+        ValidationErrors[] buckets = new ValidationErrors[fields.length];
+        out.writeStartObject();
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+            out.writeFieldName(name);
+            parser.nextToken();
+            Integer position = positions.get(name);
+            if (position == null) {
+                out.copyCurrentStructure(parser);
+                continue;
+            }
+            ValidationErrors bucket = errors.bucket();
+            buckets[position] = bucket;
+            fields[position].validateStream(parser, out, pointer, labelPrefix, bucket);
+            if (errors.isDone()) {
+                // Fail-fast: abandon the rest of the input
+                appendInPlanOrder(buckets, errors);
+                return;
+            }
+        }
+        out.writeEndObject();
+
+        Map<String, Object> absent = Map.of();
+        for (int i = 0; i < fields.length && !errors.isDone(); i++) {
+            if (buckets[i] == null) {
+                buckets[i] = errors.bucket();
+                fields[i].validate(absent, pointer, labelPrefix, buckets[i]);
+            }
+        }
+        appendInPlanOrder(buckets, errors);
+    }
+
+    private static void appendInPlanOrder(ValidationErrors[] buckets, ValidationErrors errors) {
+        for (ValidationErrors bucket : buckets) {
+            if (bucket != null) {
+                errors.addAll(bucket);
+            }
+        }
+    }
+
+    private static void flatten(List<ElementValidator> validators, List<FieldElementValidator> into) {
+        for (ElementValidator validator : validators) {
+            if (validator instanceof GroupValidator group) {
+                flatten(group.getChildren(), into);
+            } else if (validator instanceof FieldElementValidator field) {
+                into.add(field);
+            } else {
+                throw new IllegalStateException("Unknown element validator: " + validator.getClass().getName());
+            }
+        }
+    }
+}
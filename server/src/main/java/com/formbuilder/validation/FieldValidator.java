@@ -0,0 +1,121 @@
+package com.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.FormElement;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Required, length and pattern checks for a scalar field, plus the {@link ValueChecks type check}
+ * for its element type.
+ */
+final class FieldValidator implements FieldElementValidator {
+
+    private final String fieldName;
+    private final String token;
+    private final String label;
+    private final boolean required;
+    private final Integer minLength;
+    private final Integer maxLength;
+    private final boolean hasPattern;
+    private final SafePattern pattern;
+    private final String patternMessage;
+    private final ValueCheck typeCheck;
+    // The type check when it is NUMBER's, which streamed numbers reach without boxing
+    private final NumberCheck numberCheck;
+
+    FieldValidator(FormElement element, PatternSafety patternSafety) {
+        ElementConfiguration config = element.getConfiguration();
+        this.fieldName = element.getFieldName();
+        this.token = ElementValidator.pointerToken(fieldName);
+        this.label = element.getLabel();
+        this.required = config != null && Boolean.TRUE.equals(config.getRequired());
+        this.minLength = config != null ? config.getMinLength() : null;
+        this.maxLength = config != null ? config.getMaxLength() : null;
+        this.hasPattern = config != null && config.getPattern() != null;
+        // A pattern that doesn't compile can't match anything; reject values rather than fail the request
+        this.pattern = hasPattern ? patternSafety.compile(config.getPattern()) : null;
+        this.patternMessage = config != null ? config.getPatternMessage() : null;
+        this.typeCheck = ValueChecks.forElement(element);
+        this.numberCheck = typeCheck instanceof NumberCheck check ? check : null;
+    }
+
+    @Override
+    public void validate(Map<String, Object> data, String pointer, String labelPrefix, ValidationErrors errors) {
+        validateValue(data.get(fieldName), pointer, token, labelPrefix, errors);
+    }
+
+    @Override
+    public void validateStream(JsonParser parser, JsonGenerator out, String pointer, String labelPrefix,
+                               ValidationErrors errors) throws IOException {
+        validateStreamValue(parser, out, pointer, token, labelPrefix, errors);
+    }
+
+    /**
+     * Copies the parser's current value to {@code out} and validates it as {@link #validateValue}
+     * does. Numbers are read as primitives unless a check other than NUMBER's needs them.
+     */
+    void validateStreamValue(JsonParser parser, JsonGenerator out, String parentPointer, String token,
+                             String labelPrefix, ValidationErrors errors) throws IOException {
+        if (parser.currentToken().isNumeric() && (typeCheck == null || numberCheck != null)) {
+            out.copyCurrentEvent(parser);
+            if (numberCheck != null) {
+                report(numberCheck.check(parser.getDoubleValue()), parentPointer, token, labelPrefix, errors);
+            }
+            return;
+        }
+        validateValue(JsonStreams.copyValue(parser, out), parentPointer, token, labelPrefix, errors);
+    }
+
+    /** Validates a single value whose pointer is {@code parentPointer + "/" + token}. */
+    void validateValue(Object value, String parentPointer, String token, String labelPrefix,
+                       ValidationErrors errors) {
+        boolean blank = value == null || (value instanceof String s && s.isBlank());
+        if (required && blank) {
+            errors.add(parentPointer + "/" + token, labelPrefix + label + " is required");
+        }
+
+        if (value instanceof String strValue && !strValue.isEmpty()) {
+            if (minLength != null && strValue.length() < minLength) {
+                errors.add(parentPointer + "/" + token,
+                        labelPrefix + label + " must be at least " + minLength + " characters");
+            }
+            if (maxLength != null && strValue.length() > maxLength) {
+                errors.add(parentPointer + "/" + token,
+                        labelPrefix + label + " must not exceed " + maxLength + " characters");
+            }
+            if (hasPattern && (pattern == null || !pattern.matches(strValue))) {
+                errors.add(parentPointer + "/" + token, patternMessage != null
+                        ? patternMessage
+                        : labelPrefix + label + " has invalid format");
+            }
+        }
+
+        if (typeCheck != null && !blank) {
+            report(typeCheck.check(value), parentPointer, token, labelPrefix, errors);
+        }
+    }
+
+    private void report(String problem, String parentPointer, String token, String labelPrefix,
+                        ValidationErrors errors) {
+        if (problem != null) {
+            errors.add(parentPointer + "/" + token, labelPrefix + label + " " + problem);
+        }
+    }
+
+    @Override
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    String getLabel() {
+        return label;
+    }
+}
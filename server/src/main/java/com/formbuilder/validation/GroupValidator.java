@@ -0,0 +1,32 @@
+package com.formbuilder.validation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A non-repeatable element group. Its children's values live directly in the enclosing object,
+ * so it reads no field of its own: when streaming, {@link FieldIndex} validates the children in
+ * its place.
+ */
+final class GroupValidator implements ElementValidator {
+
+    private final List<ElementValidator> children;
+
+    GroupValidator(List<ElementValidator> children) {
+        this.children = List.copyOf(children);
+    }
+
+    @Override
+    public void validate(Map<String, Object> data, String pointer, String labelPrefix, ValidationErrors errors) {
+        for (ElementValidator child : children) {
+            child.validate(data, pointer, labelPrefix, errors);
+            if (errors.isDone()) {
+                return;
+            }
+        }
+    }
+
+    List<ElementValidator> getChildren() {
+        return children;
+    }
+}
@@ -0,0 +1,49 @@
+package com.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+final class JsonStreams {
+
+    private JsonStreams() {
+    }
+
+    /**
+     * Copies the current value to {@code out} and returns what a scalar validator needs to see:
+     * the string, number or boolean itself, null, or an empty list/map standing in for a
+     * structure whose contents are not inspected.
+     */
+    static Object copyValue(JsonParser parser, JsonGenerator out) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING -> {
+                String text = parser.getText();
+                out.writeString(text);
+                return text;
+            }
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                out.copyCurrentEvent(parser);
+                return parser.getNumberValue();
+            }
+            case VALUE_TRUE, VALUE_FALSE -> {
+                out.copyCurrentEvent(parser);
+                return parser.getBooleanValue();
+            }
+            case START_ARRAY -> {
+                out.copyCurrentStructure(parser);
+                return List.of();
+            }
+            case START_OBJECT -> {
+                out.copyCurrentStructure(parser);
+                return Map.of();
+            }
+            default -> {
+                out.copyCurrentEvent(parser);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.formbuilder.validation;
+
+import com.formbuilder.element.ElementConfiguration;
+
+/**
+ * NUMBER values: JSON numbers or numeric strings, within the configured min and max. Strings are
+ * scanned before parsing, so malformed input never reaches {@link Double#parseDouble}.
+ */
+final class NumberCheck implements ValueCheck {
+
+    private final boolean hasMin;
+    private final boolean hasMax;
+    private final double min;
+    private final double max;
+    private final String minMessage;
+    private final String maxMessage;
+
+    NumberCheck(ElementConfiguration config) {
+        this.hasMin = config.getMin() != null;
+        this.hasMax = config.getMax() != null;
+        this.min = hasMin ? config.getMin() : 0;
+        this.max = hasMax ? config.getMax() : 0;
+        this.minMessage = "must be at least " + format(min);
+        this.maxMessage = "must not exceed " + format(max);
+    }
+
+    @Override
+    public String check(Object value) {
+        if (value instanceof Number n) {
+            return check(n.doubleValue());
+        }
+        if (value instanceof String s && isDecimal(s)) {
+            return check(Double.parseDouble(s));
+        }
+        return "must be a number";
+    }
+
+    /** Checks a JSON number, read as a primitive by the streaming path. */
+    String check(double number) {
+        if (hasMin && number < min) {
+            return minMessage;
+        }
+        if (hasMax && number > max) {
+            return maxMessage;
+        }
+        return null;
+    }
+
+    /** Accepts {@code [+-]digits[.digits][(e|E)[+-]digits]} with at least one mantissa digit. */
+    static boolean isDecimal(String s) {
+        int length = s.length();
+        int i = 0;
+        if (i < length && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            i++;
+        }
+
+        int digits = 0;
+        while (i < length && isDigit(s.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && s.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Whole bounds print without a trailing ".0"
+    private static String format(double bound) {
+        return bound == Math.rint(bound) && Math.abs(bound) < 1e15
+                ? Long.toString((long) bound)
+                : Double.toString(bound);
+    }
+}
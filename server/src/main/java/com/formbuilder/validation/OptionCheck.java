@@ -0,0 +1,44 @@
+package com.formbuilder.validation;
+
+import com.formbuilder.element.ElementConfiguration;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * RADIO_GROUP and SELECT values: one of the configured option values, or an {@code other:} entry
+ * when the element allows it. Option values are hashed once when the plan is compiled.
+ */
+final class OptionCheck implements ValueCheck {
+
+    private static final String OTHER_PREFIX = "other:";
+
+    private final Set<String> values;
+    private final boolean allowOther;
+
+    private OptionCheck(Set<String> values, boolean allowOther) {
+        this.values = values;
+        this.allowOther = allowOther;
+    }
+
+    static OptionCheck forConfig(ElementConfiguration config) {
+        if (config.getOptions() == null) {
+            return null;
+        }
+        Set<String> values = config.getOptions().stream()
+                .map(ElementConfiguration.Option::getValue)
+                // An option saved without a value can't be chosen
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        return new OptionCheck(values, Boolean.TRUE.equals(config.getAllowOther()));
+    }
+
+    @Override
+    public String check(Object value) {
+        if (value instanceof String s && (values.contains(s) || (allowOther && s.startsWith(OTHER_PREFIX)))) {
+            return null;
+        }
+        return "is not one of the available options";
+    }
+}
@@ -0,0 +1,107 @@
+package com.formbuilder.validation;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Validates the instances of large repeatable groups and fields on a bounded fork-join pool.
+ *
+ * <p>Lists shorter than {@code validation.parallel.threshold} (or any list, when the pool has a
+ * single thread) are validated sequentially. Longer lists are split into contiguous chunks, each
+ * collecting into its own {@link ValidationErrors#split() split}. Chunks are merged left to right,
+ * so errors come out in the same order as a sequential run, and in fail-fast mode the error kept
+ * is the first one in list order.
+ */
+@Component
+public class ParallelValidation implements DisposableBean {
+
+    // Chunks per worker thread, so uneven instances still balance
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    public ParallelValidation(@Value("${validation.parallel.threshold:64}") int threshold,
+                              @Value("${validation.parallel.threads:0}") int threads) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.threshold = threshold;
+        this.pool = threshold > 0 && parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    public static ParallelValidation sequential() {
+        return new ParallelValidation(0, 1);
+    }
+
+    @FunctionalInterface
+    interface ItemCheck<T> {
+        void check(int index, T item, ValidationErrors errors);
+    }
+
+    <T> void forEach(List<T> items, ValidationErrors errors, ItemCheck<T> check) {
+        if (pool == null || items.size() < threshold) {
+            for (int i = 0; i < items.size() && !errors.isDone(); i++) {
+                check.check(i, items.get(i), errors);
+            }
+            return;
+        }
+        if (errors.isDone()) {
+            return;
+        }
+
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        int leafSize = Math.max(1, (items.size() + chunks - 1) / chunks);
+        Chunk<T> task = new Chunk<>(items, 0, items.size(), leafSize, errors, check);
+        // Nested groups already run on a worker; fork inline instead of queueing and blocking
+        errors.merge(ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task));
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static final class Chunk<T> extends RecursiveTask<ValidationErrors> {
+
+        private final List<T> items;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final ValidationErrors parent;
+        private final ItemCheck<T> check;
+
+        Chunk(List<T> items, int from, int to, int leafSize, ValidationErrors parent, ItemCheck<T> check) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.parent = parent;
+            this.check = check;
+        }
+
+        @Override
+        protected ValidationErrors compute() {
+            if (to - from <= leafSize) {
+                ValidationErrors errors = parent.split();
+                for (int i = from; i < to && !errors.isDone(); i++) {
+                    check.check(i, items.get(i), errors);
+                }
+                return errors;
+            }
+            int mid = (from + to) >>> 1;
+            Chunk<T> left = new Chunk<>(items, from, mid, leafSize, parent, check);
+            left.fork();
+            ValidationErrors right = new Chunk<>(items, mid, to, leafSize, parent, check).compute();
+            ValidationErrors errors = left.join();
+            errors.merge(right);
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.formbuilder.validation;
+
+import com.formbuilder.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Guards against admin-supplied element patterns that backtrack catastrophically.
+ *
+ * <p>{@link #check} rejects risky patterns when elements are saved: syntax errors, backreferences,
+ * and unbounded quantifiers applied to groups that themselves contain variable quantifiers
+ * ({@code (a+)+}, {@code (\w*\s?)*}). Patterns that slip through, or were stored before the check
+ * existed, are matched with a step budget by {@link SafePattern}. A match that exhausts the budget
+ * counts as a failed match and increments {@code validation.pattern.budget.exceeded}.
+ */
+@Component
+public class PatternSafety {
+
+    static final int MAX_PATTERN_LENGTH = 1000;
+
+    private final long stepBudget;
+    private final Counter budgetExceeded;
+
+    public PatternSafety(MeterRegistry meterRegistry,
+                         @Value("${validation.pattern.step-budget:1000000}") long stepBudget) {
+        this.stepBudget = stepBudget;
+        this.budgetExceeded = Counter.builder("validation.pattern.budget.exceeded")
+                .description("Pattern evaluations aborted after exhausting the step budget")
+                .register(meterRegistry);
+    }
+
+    public void check(String regex) {
+        if (regex == null) {
+            return;
+        }
+        if (regex.length() > MAX_PATTERN_LENGTH) {
+            throw new ValidationException("Pattern must not exceed " + MAX_PATTERN_LENGTH + " characters");
+        }
+        try {
+            Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new ValidationException("Invalid pattern: " + e.getDescription());
+        }
+        String problem = findUnsafeConstruct(regex);
+        if (problem != null) {
+            throw new ValidationException("Pattern " + problem);
+        }
+    }
+
+    /**
+     * Compiles {@code regex} for budgeted matching, or returns null if it doesn't compile.
+     */
+    public SafePattern compile(String regex) {
+        try {
+            return new SafePattern(Pattern.compile(regex), stepBudget, budgetExceeded);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    private static final class Group {
+        boolean variable;
+        boolean atomic;
+        boolean alternation;
+        final List<String> variableAtoms = new ArrayList<>();
+        final StringBuilder delimiters = new StringBuilder();
+
+        /**
+         * A group whose body has variable width can split the same input across iterations in many
+         * ways, unless every iteration must contain a literal delimiter that none of the
+         * variable-width atoms can consume, as in {@code (?:-[a-z]+)*}.
+         */
+        boolean isAmbiguous() {
+            if (!variable || atomic) {
+                return false;
+            }
+            if (alternation) {
+                return true;
+            }
+            for (int d = 0; d < delimiters.length(); d++) {
+                String delimiter = String.valueOf(delimiters.charAt(d));
+                boolean consumable = variableAtoms.stream()
+                        .anyMatch(atom -> Pattern.compile(atom).matcher(delimiter).find());
+                if (!consumable) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Returns a description of the first unsafe construct, or null if the pattern looks linear. */
+    static String findUnsafeConstruct(String regex) {
+        Deque<Group> groups = new ArrayDeque<>();
+        int n = regex.length();
+        int i = 0;
+        while (i < n) {
+            char c = regex.charAt(i);
+            int atomStart = i;
+            Group closed = null;
+            char literal = 0;
+            if (c == '\\') {
+                char next = i + 1 < n ? regex.charAt(i + 1) : 0;
+                if ((next >= '1' && next <= '9') || next == 'k') {
+                    return "must not use backreferences";
+                }
+                if (next == 'Q') {
+                    int end = regex.indexOf("\\E", i + 2);
+                    i = end < 0 ? n : end + 2;
+                } else if ((next == 'p' || next == 'P') && i + 2 < n && regex.charAt(i + 2) == '{') {
+                    int end = regex.indexOf('}', i + 2);
+                    i = end < 0 ? n : end + 1;
+                } else {
+                    i += 2;
+                    if (!Character.isLetterOrDigit(next)) {
+                        literal = next;
+                    }
+                }
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                Group group = new Group();
+                i++;
+                if (i < n && regex.charAt(i) == '?') {
+                    i = skipGroupHeader(regex, i, group);
+                    if (i < 0) {
+                        // Inline flags such as (?i) don't open a group
+                        i = -i;
+                        continue;
+                    }
+                }
+                groups.push(group);
+                continue;
+            } else if (c == ')') {
+                closed = groups.isEmpty() ? null : groups.pop();
+                i++;
+            } else if (c == '|') {
+                if (!groups.isEmpty()) {
+                    groups.peek().alternation = true;
+                }
+                i++;
+                continue;
+            } else if (c == '^' || c == '$') {
+                i++;
+                continue;
+            } else {
+                i++;
+                if (c != '.') {
+                    literal = c;
+                }
+            }
+            String atom = regex.substring(atomStart, i);
+
+            boolean quantified = false;
+            boolean variable = false;
+            boolean unbounded = false;
+            int quantifierEnd = quantifierEnd(regex, i);
+            if (quantifierEnd > i) {
+                boolean possessive = quantifierEnd < n && regex.charAt(quantifierEnd) == '+';
+                quantified = true;
+                variable = !possessive && !isExact(regex, i, quantifierEnd);
+                unbounded = !possessive && isUnbounded(regex, i, quantifierEnd);
+                i = quantifierEnd;
+                if (i < n && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+                    i++;
+                }
+            }
+
+            Group parent = groups.peek();
+            if (closed != null) {
+                if (unbounded && closed.isAmbiguous()) {
+                    return "contains nested quantifiers that can cause catastrophic backtracking";
+                }
+                if (parent != null && !closed.atomic) {
+                    parent.variable |= variable || closed.variable;
+                    parent.variableAtoms.addAll(closed.variableAtoms);
+                    if (variable) {
+                        // A repeated group's delimiters are no longer mandatory in the parent
+                        for (int d = 0; d < closed.delimiters.length(); d++) {
+                            parent.variableAtoms.add(Pattern.quote(String.valueOf(closed.delimiters.charAt(d))));
+                        }
+                    } else {
+                        parent.delimiters.append(closed.delimiters);
+                    }
+                }
+            } else if (parent != null) {
+                if (variable) {
+                    parent.variable = true;
+                    parent.variableAtoms.add(atom);
+                } else if (literal != 0 && !Character.isLetterOrDigit(literal) && !quantified) {
+                    parent.delimiters.append(literal);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int n = regex.length();
+        int i = start + 1;
+        if (i < n && regex.charAt(i) == '^') i++;
+        if (i < n && regex.charAt(i) == ']') i++;
+        int depth = 1;
+        while (i < n && depth > 0) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') depth++;
+            else if (c == ']') depth--;
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skips the {@code ?...} header after an opening parenthesis. Returns the index of the group
+     * body, or the negated index after the closing parenthesis for inline flag groups.
+     */
+    private static int skipGroupHeader(String regex, int i, Group group) {
+        int n = regex.length();
+        char kind = i + 1 < n ? regex.charAt(i + 1) : 0;
+        switch (kind) {
+            case ':', '=', '!':
+                return i + 2;
+            case '>':
+                group.atomic = true;
+                return i + 2;
+            case '<':
+                char next = i + 2 < n ? regex.charAt(i + 2) : 0;
+                if (next == '=' || next == '!') {
+                    return i + 3;
+                }
+                int close = regex.indexOf('>', i);
+                return close < 0 ? n : close + 1;
+            default:
+                int j = i + 1;
+                while (j < n && regex.charAt(j) != ':' && regex.charAt(j) != ')') j++;
+                if (j < n && regex.charAt(j) == ')') {
+                    return -(j + 1);
+                }
+                return Math.min(j + 1, n);
+        }
+    }
+
+    private static int quantifierEnd(String regex, int i) {
+        if (i >= regex.length()) {
+            return i;
+        }
+        char c = regex.charAt(i);
+        if (c == '*' || c == '+' || c == '?') {
+            return i + 1;
+        }
+        if (c == '{') {
+            int close = regex.indexOf('}', i);
+            return close < 0 ? i : close + 1;
+        }
+        return i;
+    }
+
+    private static boolean isUnbounded(String regex, int start, int end) {
+        char c = regex.charAt(start);
+        return c == '*' || c == '+' || (c == '{' && regex.charAt(end - 2) == ',');
+    }
+
+    private static boolean isExact(String regex, int start, int end) {
+        return regex.charAt(start) == '{' && regex.substring(start, end).indexOf(',') < 0;
+    }
+}
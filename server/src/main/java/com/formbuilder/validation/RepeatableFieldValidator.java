@@ -0,0 +1,93 @@
+package com.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.FormElement;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A top-level repeatable scalar field: an array of values, each checked like a plain field.
+ */
+final class RepeatableFieldValidator implements FieldElementValidator {
+
+    private final FieldValidator item;
+    private final int minInstances;
+    private final int maxInstances;
+    private final ParallelValidation parallel;
+
+    RepeatableFieldValidator(FormElement element, PatternSafety patternSafety, ParallelValidation parallel) {
+        ElementConfiguration config = element.getConfiguration();
+        this.item = new FieldValidator(element, patternSafety);
+        this.minInstances = config.getMinInstances() != null ? config.getMinInstances() : 0;
+        this.maxInstances = config.getMaxInstances() != null ? config.getMaxInstances() : Integer.MAX_VALUE;
+        this.parallel = parallel;
+    }
+
+    @Override
+    public void validate(Map<String, Object> data, String pointer, String labelPrefix, ValidationErrors errors) {
+        Object value = data.get(item.getFieldName());
+        String label = item.getLabel();
+        String arrayPointer = pointer + "/" + item.getToken();
+
+        if (!(value instanceof List<?> values)) {
+            errors.add(arrayPointer, label + " must be an array");
+            return;
+        }
+
+        if (values.size() < minInstances) {
+            errors.add(arrayPointer, label + " requires at least " + minInstances + " value(s)");
+        }
+        if (values.size() > maxInstances) {
+            errors.add(arrayPointer, label + " allows at most " + maxInstances + " value(s)");
+        }
+
+        parallel.forEach(values, errors, (i, element, itemErrors) -> item.validateValue(
+                element, arrayPointer, Integer.toString(i), label + "[" + (i + 1) + "].", itemErrors));
+    }
+
+    @Override
+    public void validateStream(JsonParser parser, JsonGenerator out, String pointer, String labelPrefix,
+                               ValidationErrors errors) throws IOException {
+        String label = item.getLabel();
+        String arrayPointer = pointer + "/" + item.getToken();
+
+        if (!parser.isExpectedStartArrayToken()) {
+            JsonStreams.copyValue(parser, out);
+            errors.add(arrayPointer, label + " must be an array");
+            return;
+        }
+
+        // Count errors depend on the size, known only at the end; they still come first
+        ValidationErrors itemErrors = errors.bucket();
+        int size = 0;
+        out.writeStartArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (errors.isDone()) {
+                out.copyCurrentStructure(parser);
+            } else {
+                item.validateStreamValue(parser, out, arrayPointer, Integer.toString(size),
+                        label + "[" + (size + 1) + "].", itemErrors);
+            }
+            size++;
+        }
+        out.writeEndArray();
+
+        if (size < minInstances) {
+            errors.add(arrayPointer, label + " requires at least " + minInstances + " value(s)");
+        }
+        if (size > maxInstances) {
+            errors.add(arrayPointer, label + " allows at most " + maxInstances + " value(s)");
+        }
+        errors.addAll(itemErrors);
+    }
+
+    @Override
+    public String getFieldName() {
+        return item.getFieldName();
+    }
+}
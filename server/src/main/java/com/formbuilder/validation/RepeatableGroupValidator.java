@@ -0,0 +1,125 @@
+package com.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.FormElement;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A repeatable element group: an array of instance objects, each validated against the children.
+ */
+final class RepeatableGroupValidator implements FieldElementValidator {
+
+    private final String fieldName;
+    private final String token;
+    private final String label;
+    private final int minInstances;
+    private final int maxInstances;
+    private final List<ElementValidator> children;
+    private final FieldIndex instanceFields;
+    private final ParallelValidation parallel;
+
+    RepeatableGroupValidator(FormElement group, List<ElementValidator> children, ParallelValidation parallel) {
+        ElementConfiguration config = group.getConfiguration();
+        this.fieldName = group.getFieldName();
+        this.token = ElementValidator.pointerToken(fieldName);
+        this.label = group.getLabel();
+        this.minInstances = config.getMinInstances() != null ? config.getMinInstances() : 0;
+        this.maxInstances = config.getMaxInstances() != null ? config.getMaxInstances() : Integer.MAX_VALUE;
+        this.children = List.copyOf(children);
+        this.instanceFields = new FieldIndex(this.children);
+        this.parallel = parallel;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void validate(Map<String, Object> data, String pointer, String labelPrefix, ValidationErrors errors) {
+        Object value = data.get(fieldName);
+        String groupLabel = labelPrefix + label;
+        String groupPointer = pointer + "/" + token;
+
+        if (!(value instanceof List<?> instances)) {
+            errors.add(groupPointer, groupLabel + " must be an array");
+            return;
+        }
+
+        if (instances.size() < minInstances) {
+            errors.add(groupPointer, groupLabel + " requires at least " + minInstances + " instance(s)");
+        }
+        if (instances.size() > maxInstances) {
+            errors.add(groupPointer, groupLabel + " allows at most " + maxInstances + " instance(s)");
+        }
+
+        parallel.forEach(instances, errors, (i, item, instanceErrors) -> {
+            String instancePointer = groupPointer + "/" + i;
+            if (!(item instanceof Map<?, ?> instance)) {
+                instanceErrors.add(instancePointer, groupLabel + " instance " + (i + 1) + " is invalid");
+                return;
+            }
+            String instancePrefix = groupLabel + "[" + (i + 1) + "].";
+            for (ElementValidator child : children) {
+                child.validate((Map<String, Object>) instance, instancePointer, instancePrefix, instanceErrors);
+                if (instanceErrors.isDone()) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void validateStream(JsonParser parser, JsonGenerator out, String pointer, String labelPrefix,
+                               ValidationErrors errors) throws IOException {
+        String groupLabel = labelPrefix + label;
+        String groupPointer = pointer + "/" + token;
+
+        if (!parser.isExpectedStartArrayToken()) {
+            JsonStreams.copyValue(parser, out);
+            errors.add(groupPointer, groupLabel + " must be an array");
+            return;
+        }
+
+        // Count errors depend on the size, known only at the end; they still come first
+        ValidationErrors instanceErrors = errors.bucket();
+        int size = 0;
+        out.writeStartArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String instancePointer = groupPointer + "/" + size;
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                instanceFields.stream(parser, out, instancePointer,
+                        groupLabel + "[" + (size + 1) + "].", instanceErrors);
+            } else {
+                JsonStreams.copyValue(parser, out);
+                instanceErrors.add(instancePointer, groupLabel + " instance " + (size + 1) + " is invalid");
+            }
+            size++;
+            if (errors.isDone()) {
+                errors.addAll(instanceErrors);
+                return;
+            }
+        }
+        out.writeEndArray();
+
+        if (size < minInstances) {
+            errors.add(groupPointer, groupLabel + " requires at least " + minInstances + " instance(s)");
+        }
+        if (size > maxInstances) {
+            errors.add(groupPointer, groupLabel + " allows at most " + maxInstances + " instance(s)");
+        }
+        errors.addAll(instanceErrors);
+    }
+
+    @Override
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    @Override
+    public boolean isStreamable() {
+        return instanceFields.isStreamable();
+    }
+}
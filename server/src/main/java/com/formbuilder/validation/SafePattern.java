@@ -0,0 +1,82 @@
+package com.formbuilder.validation;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.regex.Pattern;
+
+/**
+ * A compiled pattern whose full-match evaluation stops after a fixed number of character reads.
+ * The regex engine reads its input only through {@link CharSequence#charAt}, so counting those
+ * reads bounds backtracking work without a separate thread or timer.
+ */
+public final class SafePattern {
+
+    private final Pattern pattern;
+    private final long stepBudget;
+    private final Counter budgetExceeded;
+
+    SafePattern(Pattern pattern, long stepBudget, Counter budgetExceeded) {
+        this.pattern = pattern;
+        this.stepBudget = stepBudget;
+        this.budgetExceeded = budgetExceeded;
+    }
+
+    /** Whether {@code input} fully matches; false if the step budget runs out first. */
+    public boolean matches(String input) {
+        try {
+            return pattern.matcher(new BudgetedInput(input, stepBudget)).matches();
+        } catch (BudgetExceeded e) {
+            budgetExceeded.increment();
+            return false;
+        }
+    }
+
+    private static final class BudgetExceeded extends RuntimeException {
+        private static final BudgetExceeded INSTANCE = new BudgetExceeded();
+
+        private BudgetExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class BudgetedInput implements CharSequence {
+        private final String input;
+        private final int offset;
+        private final int length;
+        private final long[] remaining;
+
+        BudgetedInput(String input, long budget) {
+            this(input, 0, input.length(), new long[] {budget});
+        }
+
+        private BudgetedInput(String input, int offset, int length, long[] remaining) {
+            this.input = input;
+            this.offset = offset;
+            this.length = length;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (--remaining[0] < 0) {
+                throw BudgetExceeded.INSTANCE;
+            }
+            return input.charAt(offset + index);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new BudgetedInput(input, offset + start, end - start, remaining);
+        }
+
+        @Override
+        public String toString() {
+            return input.substring(offset, offset + length);
+        }
+    }
+}
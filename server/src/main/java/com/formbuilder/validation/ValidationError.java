@@ -0,0 +1,13 @@
+package com.formbuilder.validation;
+
+import lombok.Value;
+
+/**
+ * A single submission validation failure. {@code pointer} is an RFC 6901 JSON pointer into the
+ * submitted {@code data} object, e.g. {@code /work_history/0/job_title}.
+ */
+@Value
+public class ValidationError {
+    String pointer;
+    String message;
+}
@@ -0,0 +1,104 @@
+package com.formbuilder.validation;
+
+import com.formbuilder.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Collects errors in plan order while a {@link ValidationPlan} runs. In fail-fast mode
+ * validators stop at the first error.
+ *
+ * <p>When values are visited out of plan order (streaming, where fields arrive in document order),
+ * each element writes to its own {@link #bucket()} and the buckets are appended in plan order with
+ * {@link #addAll}. Buckets share the fail-fast state of the collector that created them.
+ *
+ * <p>Collectors are not thread-safe. Parallel validation gives each chunk an independent
+ * {@link #split()} and {@link #merge merges} them back in order.
+ */
+public class ValidationErrors {
+
+    private final boolean failFast;
+    private final AtomicInteger recorded;
+    private List<ValidationError> errors;
+
+    public ValidationErrors(boolean failFast) {
+        this(failFast, new AtomicInteger());
+    }
+
+    private ValidationErrors(boolean failFast, AtomicInteger recorded) {
+        this.failFast = failFast;
+        this.recorded = recorded;
+    }
+
+    public void add(String pointer, String message) {
+        list().add(new ValidationError(pointer, message));
+        recorded.incrementAndGet();
+    }
+
+    /** A new, empty collector sharing this one's fail-fast state. */
+    public ValidationErrors bucket() {
+        return new ValidationErrors(failFast, recorded);
+    }
+
+    /** Appends the errors of a bucket created by {@link #bucket()}. */
+    public void addAll(ValidationErrors bucket) {
+        if (bucket.errors != null) {
+            list().addAll(bucket.errors);
+        }
+    }
+
+    /** A new, empty collector with its own fail-fast state, for validating on another thread. */
+    public ValidationErrors split() {
+        return new ValidationErrors(failFast);
+    }
+
+    /** Records the errors of a {@link #split()}, in order, stopping once this collector is done. */
+    public void merge(ValidationErrors split) {
+        for (ValidationError error : split.getErrors()) {
+            if (isDone()) {
+                return;
+            }
+            add(error.getPointer(), error.getMessage());
+        }
+    }
+
+    /** True once validation can stop: fail-fast is on and an error has been recorded anywhere. */
+    public boolean isDone() {
+        return failFast && recorded.get() > 0;
+    }
+
+    public boolean isEmpty() {
+        return errors == null || errors.isEmpty();
+    }
+
+    public List<ValidationError> getErrors() {
+        return errors == null ? List.of() : Collections.unmodifiableList(errors);
+    }
+
+    public void throwIfAny() {
+        if (isEmpty()) {
+            return;
+        }
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (ValidationError error : errors) {
+            fieldErrors.merge(error.getPointer(), error.getMessage(), (a, b) -> a + "; " + b);
+        }
+        String message = errors.stream()
+                .map(ValidationError::getMessage)
+                .collect(Collectors.joining("; "));
+        throw new ValidationException(message, fieldErrors);
+    }
+
+    private List<ValidationError> list() {
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,135 @@
+package com.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElement;
+import com.formbuilder.form.FormGraph;
+import com.formbuilder.page.FormPage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable, pre-compiled validator tree for one version of a form. Built once from a
+ * {@link FormGraph} (patterns compiled with a step budget, option sets hashed) and cached on the form snapshot,
+ * so validating a submission never touches JPA entities.
+ *
+ * <p>Validating a map can spread large repeatable lists across {@link ParallelValidation}'s pool.
+ * Streaming validation is bound to the parser and always runs on the calling thread.
+ */
+public final class ValidationPlan {
+
+    private final List<ElementValidator> roots;
+    private final FieldIndex rootFields;
+    private final Map<UUID, ValidationPlan> pagePlans;
+
+    private ValidationPlan(List<ElementValidator> roots, Map<UUID, ValidationPlan> pagePlans) {
+        this.roots = List.copyOf(roots);
+        this.rootFields = new FieldIndex(this.roots);
+        this.pagePlans = pagePlans;
+    }
+
+    public static ValidationPlan compile(FormGraph graph, PatternSafety patternSafety, ParallelValidation parallel) {
+        List<ElementValidator> roots = new ArrayList<>();
+        Map<UUID, List<ElementValidator>> rootsByPage = new LinkedHashMap<>();
+        for (FormPage page : graph.getPages()) {
+            rootsByPage.put(page.getId(), new ArrayList<>());
+        }
+
+        for (FormElement element : graph.getRootElements()) {
+            ElementConfiguration config = element.getConfiguration();
+            ElementValidator validator;
+            if (element.getType() == ElementType.STATIC_TEXT) {
+                continue;
+            }
+            if (element.getType() == ElementType.ELEMENT_GROUP) {
+                validator = compileGroup(graph, element, patternSafety, parallel);
+            } else if (element.getType() == ElementType.CHECKBOX_GROUP) {
+                validator = new CheckboxGroupValidator(element);
+            } else if (config != null && Boolean.TRUE.equals(config.getRepeatable())) {
+                // Only top-level scalar fields may repeat; inside groups the instance repeats instead
+                validator = new RepeatableFieldValidator(element, patternSafety, parallel);
+            } else {
+                validator = new FieldValidator(element, patternSafety);
+            }
+            roots.add(validator);
+            // Children always sit on their root element's page, so slicing the roots slices the tree
+            rootsByPage.computeIfAbsent(element.getPage().getId(), id -> new ArrayList<>()).add(validator);
+        }
+
+        Map<UUID, ValidationPlan> pagePlans = new HashMap<>();
+        rootsByPage.forEach((pageId, pageRoots) -> pagePlans.put(pageId, new ValidationPlan(pageRoots, Map.of())));
+        return new ValidationPlan(roots, pagePlans);
+    }
+
+    /**
+     * The slice of this plan holding only the elements on the given page, or empty if the form has
+     * no such page. Page slices are compiled with the plan and validate the same data document.
+     */
+    public Optional<ValidationPlan> forPage(UUID pageId) {
+        return Optional.ofNullable(pagePlans.get(pageId));
+    }
+
+    public ValidationErrors validate(Map<String, Object> data, boolean failFast) {
+        ValidationErrors errors = new ValidationErrors(failFast);
+        Map<String, Object> root = data != null ? data : Map.of();
+        for (ElementValidator validator : roots) {
+            validator.validate(root, "", "", errors);
+            if (errors.isDone()) {
+                break;
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Whether {@link #validate(JsonParser, JsonGenerator, boolean)} can be used. False when two
+     * elements in the same object read the same field name.
+     */
+    public boolean isStreamable() {
+        return rootFields.isStreamable();
+    }
+
+    /**
+     * Validates the submission object the parser is positioned on while copying it, token by token,
+     * to {@code out}, without building a map tree. Reports the same errors, in the same order, as
+     * {@link #validate(Map, boolean)}. In fail-fast mode it stops at the first error in document
+     * order, leaving the parser and {@code out} mid-value.
+     */
+    public ValidationErrors validate(JsonParser parser, JsonGenerator out, boolean failFast) throws IOException {
+        ValidationErrors errors = new ValidationErrors(failFast);
+        rootFields.stream(parser, out, "", "", errors);
+        return errors;
+    }
+
+    private static ElementValidator compileGroup(FormGraph graph, FormElement group, PatternSafety patternSafety,
+                                                 ParallelValidation parallel) {
+        List<ElementValidator> children = new ArrayList<>();
+        for (FormElement child : graph.getChildren(group)) {
+            if (child.getType() == ElementType.STATIC_TEXT) {
+                continue;
+            }
+            if (child.getType() == ElementType.ELEMENT_GROUP) {
+                children.add(compileGroup(graph, child, patternSafety, parallel));
+            } else if (child.getType() == ElementType.CHECKBOX_GROUP) {
+                children.add(new CheckboxGroupValidator(child));
+            } else {
+                children.add(new FieldValidator(child, patternSafety));
+            }
+        }
+
+        ElementConfiguration config = group.getConfiguration();
+        if (config != null && Boolean.TRUE.equals(config.getRepeatable())) {
+            return new RepeatableGroupValidator(group, children, parallel);
+        }
+        return new GroupValidator(children);
+    }
+}
@@ -0,0 +1,16 @@
+package com.formbuilder.validation;
+
+/**
+ * A type-specific check on a present, non-blank field value, registered per element type in
+ * {@link ValueChecks}. Implementations are built once per element when a plan is compiled and
+ * should not allocate on the success path.
+ */
+@FunctionalInterface
+public interface ValueCheck {
+
+    /**
+     * Returns null if {@code value} is acceptable, otherwise the problem as a predicate for the
+     * field label, e.g. {@code "must be a number"}.
+     */
+    String check(Object value);
+}
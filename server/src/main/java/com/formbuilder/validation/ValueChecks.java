@@ -0,0 +1,52 @@
+package com.formbuilder.validation;
+
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElement;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Registry of {@link ValueCheck} factories by element type. Types without an entry only get the
+ * generic required, length and pattern checks of {@link FieldValidator}.
+ */
+public final class ValueChecks {
+
+    private static final Map<ElementType, Function<ElementConfiguration, ValueCheck>> FACTORIES;
+
+    static {
+        Map<ElementType, Function<ElementConfiguration, ValueCheck>> factories = new EnumMap<>(ElementType.class);
+        factories.put(ElementType.NUMBER, NumberCheck::new);
+        factories.put(ElementType.EMAIL, config -> EmailCheck.INSTANCE);
+        factories.put(ElementType.DATE, config -> DateCheck.INSTANCE);
+        factories.put(ElementType.RADIO_GROUP, OptionCheck::forConfig);
+        factories.put(ElementType.SELECT, OptionCheck::forConfig);
+        FACTORIES = Collections.unmodifiableMap(factories);
+    }
+
+    private ValueChecks() {
+    }
+
+    /** The check for {@code element}, or null if its type has none or its configuration needs none. */
+    public static ValueCheck forElement(FormElement element) {
+        Function<ElementConfiguration, ValueCheck> factory = FACTORIES.get(element.getType());
+        if (factory == null) {
+            return null;
+        }
+        ElementConfiguration config = element.getConfiguration();
+        return factory.apply(config != null ? config : new ElementConfiguration());
+    }
+
+    /** Whether {@code s} is a decimal number as accepted for NUMBER fields. */
+    public static boolean isNumber(String s) {
+        return NumberCheck.isDecimal(s);
+    }
+
+    /** Whether {@code s} is a calendar date in ISO {@code yyyy-MM-dd} form, as accepted for DATE fields. */
+    public static boolean isDate(String s) {
+        return DateCheck.isIsoDate(s);
+    }
+}
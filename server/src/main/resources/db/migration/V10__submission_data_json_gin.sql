@@ -0,0 +1,4 @@
+-- Serves equality and option-membership filters (data_json @@ jsonpath). Built concurrently so
+-- submissions stay writable; Flyway runs this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_submissions_data_json
+    ON submissions USING GIN (data_json jsonb_path_ops);
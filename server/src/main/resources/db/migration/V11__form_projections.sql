@@ -0,0 +1,11 @@
+-- One relational projection per published form: the layout (JSON) of its generated fp_* tables,
+-- which are created and dropped by the application as the form's structure changes.
+-- BUILDING until existing submissions have been backfilled, then READY.
+CREATE TABLE form_projections (
+    form_id UUID PRIMARY KEY REFERENCES forms(id) ON DELETE CASCADE,
+    version VARCHAR(16) NOT NULL,
+    layout TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    ready_at TIMESTAMP
+);
@@ -0,0 +1,3 @@
+-- Projection backfill walks a form's submissions in id order, a batch at a time. Built
+-- concurrently so submissions stay writable; Flyway runs this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_submissions_form_id_id ON submissions(form_id, id);
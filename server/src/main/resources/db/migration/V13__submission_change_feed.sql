@@ -0,0 +1,3 @@
+-- The submission change feed reads a form's submissions after an (updated_at, id) cursor, in that
+-- order. Built concurrently so submissions stay writable; Flyway runs this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_submissions_form_id_updated_at_id ON submissions(form_id, updated_at, id);
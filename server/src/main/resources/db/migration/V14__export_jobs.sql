@@ -0,0 +1,23 @@
+-- Background submission exports. Any node's worker claims a QUEUED job with FOR UPDATE SKIP LOCKED
+-- and keeps heartbeat_at fresh while RUNNING; a RUNNING job whose heartbeat stops is claimed again.
+-- The finished file is spooled on the worker's disk at file_path.
+CREATE TABLE export_jobs (
+    id UUID PRIMARY KEY,
+    form_id UUID NOT NULL REFERENCES forms(id) ON DELETE CASCADE,
+    user_id UUID REFERENCES users(id) ON DELETE SET NULL,
+    filter TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_rows BIGINT,
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    worker VARCHAR(255),
+    file_path TEXT,
+    file_size BIGINT,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    heartbeat_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_export_jobs_status_created_at ON export_jobs(status, created_at);
+CREATE INDEX idx_export_jobs_form_id ON export_jobs(form_id);
@@ -0,0 +1,51 @@
+-- Per-field aggregates of each form's non-draft submissions. Submits and updates append their
+-- changes to field_statistic_deltas in their own transaction; a background job folds the deltas
+-- into field_statistics and field_statistic_buckets in batches. A rebuild recomputes a form's
+-- aggregates from its submissions. BUILDING while a rebuild runs, then READY.
+CREATE TABLE form_statistics (
+    form_id UUID PRIMARY KEY REFERENCES forms(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL,
+    rebuilt_at TIMESTAMP,
+    applied_at TIMESTAMP
+);
+
+-- One row per field path; the row with an empty path counts the submissions themselves
+CREATE TABLE field_statistics (
+    form_id UUID NOT NULL REFERENCES forms(id) ON DELETE CASCADE,
+    path TEXT NOT NULL,
+    answered BIGINT NOT NULL DEFAULT 0,
+    num_count BIGINT NOT NULL DEFAULT 0,
+    num_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    num_min DOUBLE PRECISION,
+    num_max DOUBLE PRECISION,
+    PRIMARY KEY (form_id, path)
+);
+
+-- OPTION: submissions per chosen option; BIN: numeric values per histogram bin
+CREATE TABLE field_statistic_buckets (
+    form_id UUID NOT NULL REFERENCES forms(id) ON DELETE CASCADE,
+    path TEXT NOT NULL,
+    kind VARCHAR(10) NOT NULL,
+    bucket TEXT NOT NULL,
+    frequency BIGINT NOT NULL,
+    PRIMARY KEY (form_id, path, kind, bucket)
+);
+
+-- FIELD rows change field_statistics, OPTION and BIN rows a bucket's frequency by delta.
+-- added_* and removed_* are the extremes of the numeric values added and removed.
+CREATE TABLE field_statistic_deltas (
+    id BIGSERIAL PRIMARY KEY,
+    form_id UUID NOT NULL REFERENCES forms(id) ON DELETE CASCADE,
+    path TEXT NOT NULL,
+    kind VARCHAR(10) NOT NULL,
+    bucket TEXT NOT NULL DEFAULT '',
+    delta BIGINT NOT NULL DEFAULT 0,
+    num_count BIGINT NOT NULL DEFAULT 0,
+    num_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    added_min DOUBLE PRECISION,
+    added_max DOUBLE PRECISION,
+    removed_min DOUBLE PRECISION,
+    removed_max DOUBLE PRECISION
+);
+
+CREATE INDEX idx_field_statistic_deltas_form_id ON field_statistic_deltas(form_id);
@@ -0,0 +1,16 @@
+-- Mergeable sketches of each form's non-draft submissions, one per field, kind and day submitted.
+-- HLL: distinct values of a field (on the empty path, distinct submitters); TDIGEST: quantiles
+-- of a number field. Queries over a range of days merge the days' sketches.
+CREATE TABLE field_sketches (
+    form_id UUID NOT NULL REFERENCES forms(id) ON DELETE CASCADE,
+    path TEXT NOT NULL,
+    kind VARCHAR(10) NOT NULL,
+    day DATE NOT NULL,
+    sketch BYTEA NOT NULL,
+    PRIMARY KEY (form_id, path, kind, day)
+);
+
+-- HLL and TDIGEST deltas carry the sketch of the values added on the day
+ALTER TABLE field_statistic_deltas
+    ADD COLUMN day DATE,
+    ADD COLUMN sketch BYTEA;
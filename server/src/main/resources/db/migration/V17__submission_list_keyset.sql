@@ -0,0 +1,4 @@
+-- Keyset pagination of a form's submissions: ORDER BY submitted_at DESC, id DESC after a cursor.
+-- Built concurrently so submissions stay writable; Flyway runs this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_submissions_form_id_submitted_at_id
+    ON submissions(form_id, submitted_at DESC, id DESC);
@@ -0,0 +1,7 @@
+-- The values of each submission's summary fields as a small JSON object, so the summary view of
+-- the submission list never reads the data. Nullable so the column is added without rewriting the
+-- table; existing rows are filled in the background by SubmissionSummaries.
+ALTER TABLE submissions ADD COLUMN summary TEXT;
+
+-- Lets the backfill find the forms with rows to fill without scanning filled ones
+CREATE INDEX idx_submissions_summary_missing ON submissions(form_id) WHERE summary IS NULL;
@@ -0,0 +1,3 @@
+-- Compress submission data once a row passes 256 bytes, rather than the default of about 2kB, so
+-- typical submissions are stored compressed in the row. Applies to rows as they are next written.
+ALTER TABLE submissions SET (toast_tuple_target = 256);
@@ -0,0 +1,4 @@
+-- Counts changes to a submission's data, for clients that patch it against the version they read.
+-- Set on every write of the data by the application and the draft buffer; background jobs that
+-- only summarize the data leave it alone.
+ALTER TABLE submissions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
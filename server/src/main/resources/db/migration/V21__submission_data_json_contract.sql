@@ -0,0 +1,7 @@
+-- Finishes the data_json migration (V9): fills any rows SubmissionDataBackfill hadn't reached and
+-- makes the column required, so filters read it alone and no longer fall back to casting data.
+UPDATE submissions SET data_json = data::jsonb WHERE data_json IS NULL;
+
+ALTER TABLE submissions ALTER COLUMN data_json SET NOT NULL;
+
+DROP INDEX IF EXISTS idx_submissions_data_json_missing;
@@ -0,0 +1,4 @@
+-- data_json (V9, V21) becomes the only copy of submission data the application writes or reads.
+-- The text column is no longer written: new rows leave it NULL, and existing rows keep their text
+-- until a later migration drops the column.
+ALTER TABLE submissions ALTER COLUMN data DROP NOT NULL;
@@ -0,0 +1,25 @@
+-- Drafts buffered on different instances, or first saves that raced, could each insert a DRAFT row
+-- for the same user and form. Keeps the most recently saved one, ahead of V24's unique index, and
+-- moves the others here rather than losing them.
+CREATE TABLE abandoned_drafts (
+    id UUID PRIMARY KEY,
+    form_id UUID NOT NULL REFERENCES forms(id) ON DELETE CASCADE,
+    user_id UUID REFERENCES users(id) ON DELETE SET NULL,
+    data_json JSONB NOT NULL,
+    submitted_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    abandoned_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_abandoned_drafts_form_user ON abandoned_drafts(form_id, user_id);
+
+WITH abandoned AS (
+    DELETE FROM submissions s
+    WHERE s.status = 'DRAFT'
+      AND EXISTS (SELECT 1 FROM submissions newer
+                  WHERE newer.form_id = s.form_id AND newer.user_id = s.user_id AND newer.status = 'DRAFT'
+                    AND (newer.updated_at, newer.id) > (s.updated_at, s.id))
+    RETURNING s.id, s.form_id, s.user_id, s.data_json, s.submitted_at, s.updated_at
+)
+INSERT INTO abandoned_drafts (id, form_id, user_id, data_json, submitted_at, updated_at)
+SELECT id, form_id, user_id, data_json, submitted_at, updated_at FROM abandoned;
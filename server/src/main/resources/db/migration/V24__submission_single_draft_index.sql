@@ -0,0 +1,4 @@
+-- One draft per user and form; the draft buffer upserts on it. Built concurrently so submissions
+-- stay writable; Flyway runs this migration outside a transaction.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_submissions_draft_form_user
+    ON submissions(form_id, user_id) WHERE status = 'DRAFT';
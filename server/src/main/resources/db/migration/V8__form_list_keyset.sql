@@ -0,0 +1,4 @@
+-- Keyset pagination for the form list: ORDER BY updated_at DESC, id DESC
+CREATE INDEX idx_forms_updated_at_id ON forms(updated_at DESC, id DESC);
+CREATE INDEX idx_forms_user_updated_at_id ON forms(user_id, updated_at DESC, id DESC);
+CREATE INDEX idx_forms_status_updated_at_id ON forms(status, updated_at DESC, id DESC);
@@ -0,0 +1,7 @@
+-- jsonb copy of submissions.data for field-level filtering. Nullable so the column is added
+-- without rewriting the table; existing rows are filled in batches by SubmissionDataBackfill
+-- while new writes populate both columns.
+ALTER TABLE submissions ADD COLUMN data_json JSONB;
+
+-- Lets each backfill batch find remaining rows without rescanning filled ones; drop once empty
+CREATE INDEX idx_submissions_data_json_missing ON submissions(id) WHERE data_json IS NULL;
@@ -5,17 +5,32 @@ import com.formbuilder.auth.AuthDTO;
 import com.formbuilder.element.ElementConfiguration;
 import com.formbuilder.element.ElementType;
 import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.export.ExportPlan;
 import com.formbuilder.form.FormDTO;
+import com.formbuilder.form.FormSnapshotLoader;
+import com.formbuilder.submission.DraftBuffer;
+import com.formbuilder.submission.SubmissionDTO;
+import com.formbuilder.submission.SubmissionStatus;
+import com.formbuilder.submission.SubmissionStorage;
+import com.formbuilder.submission.SubmissionSummaries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,6 +51,27 @@ class DraftSubmissionTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DraftBuffer draftBuffer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    @Autowired
+    private SubmissionSummaries summaries;
+
+    @Autowired
+    private FormSnapshotLoader snapshotLoader;
+
     private String adminToken;
     private String userToken;
     private String formId;
@@ -293,6 +329,122 @@ class DraftSubmissionTest {
 
     @Test
     @Order(13)
+    void autosavesCoalesceIntoOneDraftRow() throws Exception {
+        UUID draftId = null;
+        for (String name : List.of("First", "Second", "Third")) {
+            MvcResult result = mockMvc.perform(put("/api/public/forms/{id}/draft", formId)
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("data", Map.of("full_name", name)))))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            UUID id = objectMapper.readValue(result.getResponse().getContentAsString(),
+                    SubmissionDTO.Response.class).getId();
+            Assertions.assertEquals(draftId != null ? draftId : id, id);
+            draftId = id;
+        }
+        draftBuffer.flush();
+
+        Assertions.assertEquals(List.of("Third"), jdbcTemplate.queryForList(
+                "SELECT data_json->>'full_name' FROM submissions WHERE form_id = ? AND status = 'DRAFT'",
+                String.class, UUID.fromString(formId)));
+        mockMvc.perform(get("/api/public/forms/{id}/draft", formId)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(draftId.toString()))
+                .andExpect(jsonPath("$.data.full_name").value("Third"));
+    }
+
+    // A buffer of its own, as on another instance, that flushes only when told to
+    private DraftBuffer otherInstance() {
+        return new DraftBuffer(jdbcTemplate, transactionTemplate, taskExecutor, storage, summaries,
+                new SimpleMeterRegistry(), 1000);
+    }
+
+    @Test
+    @Order(14)
+    void firstSavesOnTwoInstancesShareOneDraftRow() {
+        UUID form = UUID.fromString(formId);
+        UUID userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'draftuser@example.com'", UUID.class);
+        draftBuffer.flush();
+        jdbcTemplate.update("DELETE FROM submissions WHERE form_id = ? AND user_id = ? AND status = 'DRAFT'",
+                form, userId);
+        ExportPlan plan = snapshotLoader.load(form).orElseThrow().getExportPlan();
+
+        DraftBuffer first = otherInstance();
+        DraftBuffer second = otherInstance();
+        UUID firstId = first.put(form, userId, plan, "{\"full_name\":\"From first\"}", null).id();
+        UUID secondId = second.put(form, userId, plan, "{\"full_name\":\"From second\"}", null).id();
+        Assertions.assertNotEquals(firstId, secondId);
+        first.flush();
+        second.flush();
+
+        List<Map<String, Object>> drafts = jdbcTemplate.queryForList("""
+                SELECT id, data_json->>'full_name' AS name FROM submissions
+                WHERE form_id = ? AND user_id = ? AND status = 'DRAFT'
+                """, form, userId);
+        Assertions.assertEquals(List.of(Map.of("id", firstId, "name", "From second")), drafts);
+    }
+
+    @Test
+    @Order(15)
+    void submissionIsNotReturnedToDraftWhileItsUserHasOne() throws Exception {
+        UUID submitted = jdbcTemplate.queryForObject("""
+                SELECT s.id FROM submissions s JOIN users u ON u.id = s.user_id
+                WHERE s.form_id = ? AND u.email = 'draftuser@example.com' AND s.status = 'SUBMITTED' LIMIT 1
+                """, UUID.class, UUID.fromString(formId));
+        SubmissionDTO.UpdateRequest request = new SubmissionDTO.UpdateRequest();
+        request.setData(Map.of("full_name", "Reopened"));
+        request.setStatus(SubmissionStatus.DRAFT);
+
+        mockMvc.perform(put("/api/forms/{formId}/submissions/{id}", formId, submitted)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(16)
+    void duplicateDraftsAreArchivedAheadOfTheUniqueIndex() throws Exception {
+        UUID form = UUID.fromString(formId);
+        UUID userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'draftuser@example.com'", UUID.class);
+        String migration = new ClassPathResource("db/migration/V23__submission_single_draft.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        draftBuffer.flush();
+
+        // Replays V23 against the schema it ran on, with two older duplicates, and rolls it all back
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("DROP INDEX idx_submissions_draft_form_user");
+            jdbcTemplate.execute("DROP TABLE abandoned_drafts");
+            UUID kept = jdbcTemplate.queryForObject(
+                    "SELECT id FROM submissions WHERE form_id = ? AND user_id = ? AND status = 'DRAFT'",
+                    UUID.class, form, userId);
+            for (int i = 1; i <= 2; i++) {
+                jdbcTemplate.update("""
+                        INSERT INTO submissions (id, form_id, user_id, status, data_json, submitted_at, updated_at)
+                        VALUES (gen_random_uuid(), ?, ?, 'DRAFT', ?::jsonb, now() - ? * interval '1 day', now() - ? * interval '1 day')
+                        """, form, userId, "{\"full_name\":\"Older " + i + "\"}", i, i);
+            }
+
+            jdbcTemplate.execute(migration);
+
+            Assertions.assertEquals(List.of(kept), jdbcTemplate.queryForList(
+                    "SELECT id FROM submissions WHERE form_id = ? AND user_id = ? AND status = 'DRAFT'",
+                    UUID.class, form, userId));
+            Assertions.assertEquals(List.of("Older 1", "Older 2"), jdbcTemplate.queryForList("""
+                    SELECT data_json->>'full_name' FROM abandoned_drafts
+                    WHERE form_id = ? AND user_id = ? ORDER BY updated_at DESC
+                    """, String.class, form, userId));
+            status.setRollbackOnly();
+        });
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM abandoned_drafts", Integer.class));
+    }
+
+    @Test
+    @Order(17)
     void cleanUp() throws Exception {
         mockMvc.perform(delete("/api/forms/{id}", formId)
                 .header("Authorization", "Bearer " + adminToken))
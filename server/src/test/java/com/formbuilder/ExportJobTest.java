@@ -0,0 +1,180 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.exportjob.ExportJobDTO;
+import com.formbuilder.exportjob.ExportJobStatus;
+import com.formbuilder.form.FormDTO;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for background exports under /api/forms/{formId}/submissions/export-jobs.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportJobTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String adminToken;
+    private String formId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        FormDTO.CreateRequest createRequest = new FormDTO.CreateRequest();
+        createRequest.setName("Export Job Test Form");
+        MvcResult createResult = mockMvc.perform(post("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(createResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        FormElementDTO.CreateRequest element = new FormElementDTO.CreateRequest();
+        element.setType(ElementType.TEXT_INPUT);
+        element.setLabel("Line Name");
+        element.setFieldName("line_name");
+        element.setConfiguration(new ElementConfiguration());
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(element)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        // Random ids, so the rows spread over the job's id ranges
+        for (int i = 0; i < 25; i++) {
+            mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("data", Map.of("line_name", "zf" + i)))))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private ExportJobDTO.Response getJob(String jobId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/forms/{formId}/submissions/export-jobs/{jobId}", formId, jobId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), ExportJobDTO.Response.class);
+    }
+
+    private String download(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url).header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void jobExportsSameRowsAsStreamedExportInIdOrder() throws Exception {
+        ExportJobDTO.CreateRequest request = ExportJobDTO.CreateRequest.builder().build();
+        MvcResult created = mockMvc.perform(post("/api/forms/{formId}/submissions/export-jobs", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        String jobId = objectMapper.readValue(created.getResponse().getContentAsString(),
+                ExportJobDTO.Response.class).getId().toString();
+
+        ExportJobDTO.Response job = getJob(jobId);
+        for (int i = 0; i < 300 && (job.getStatus() == ExportJobStatus.QUEUED
+                || job.getStatus() == ExportJobStatus.RUNNING); i++) {
+            Thread.sleep(100);
+            job = getJob(jobId);
+        }
+        Assertions.assertEquals(ExportJobStatus.SUCCEEDED, job.getStatus(), job.getError());
+        Assertions.assertEquals(25L, job.getTotalRows());
+        Assertions.assertEquals(25L, job.getProcessedRows());
+
+        String csv = download("/api/forms/" + formId + "/submissions/export-jobs/" + jobId + "/file");
+        Assertions.assertEquals(job.getFileSize(), csv.getBytes(StandardCharsets.UTF_8).length);
+        List<String> lines = List.of(csv.split("\n"));
+
+        List<String> streamed = List.of(download("/api/forms/" + formId + "/submissions/export").split("\n"));
+        Assertions.assertEquals(streamed.get(0), lines.get(0));
+        List<String> expectedRows = new ArrayList<>(streamed.subList(1, streamed.size()));
+        expectedRows.sort(null);
+        Assertions.assertEquals(expectedRows, lines.subList(1, lines.size()));
+    }
+
+    @Test
+    void rejectsUnknownColumnWhenCreated() throws Exception {
+        ExportJobDTO.CreateRequest request = ExportJobDTO.CreateRequest.builder()
+                .columns(List.of("no_such_field"))
+                .build();
+        mockMvc.perform(post("/api/forms/{formId}/submissions/export-jobs", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+}
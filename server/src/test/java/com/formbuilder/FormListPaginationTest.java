@@ -0,0 +1,148 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.form.FormDTO;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests cursor pagination of the form list and its aggregate element counts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FormListPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String adminToken;
+    private final List<UUID> createdIds = new ArrayList<>();
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        for (int i = 0; i < 5; i++) {
+            FormDTO.CreateRequest request = new FormDTO.CreateRequest();
+            request.setName("Paged Form " + i);
+            MvcResult result = mockMvc.perform(post("/api/forms")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            createdIds.add(objectMapper.readValue(result.getResponse().getContentAsString(),
+                    FormDTO.Response.class).getId());
+        }
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private FormDTO.ListPage fetchPage(String cursor, int size) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("size", String.valueOf(size))
+                .param("cursor", cursor != null ? cursor : ""))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), FormDTO.ListPage.class);
+    }
+
+    @Test
+    @Order(1)
+    void cursorWalksEveryFormOnceInUpdatedOrder() throws Exception {
+        List<FormDTO.ListResponse> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            FormDTO.ListPage page = fetchPage(cursor, 2);
+            Assertions.assertTrue(page.getItems().size() <= 2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < seen.size(); i++) {
+            Assertions.assertTrue(ids.add(seen.get(i).getId()), "Duplicate form in listing");
+            if (i > 0) {
+                Assertions.assertFalse(seen.get(i).getUpdatedAt().isAfter(seen.get(i - 1).getUpdatedAt()));
+            }
+        }
+        Assertions.assertTrue(ids.containsAll(createdIds));
+    }
+
+    @Test
+    @Order(2)
+    void listRowsCarryCounts() throws Exception {
+        // Most recently created form comes first; new forms have no elements or submissions
+        mockMvc.perform(get("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(createdIds.get(createdIds.size() - 1).toString()))
+                .andExpect(jsonPath("$.items[0].elementCount").value(0))
+                .andExpect(jsonPath("$.items[0].submissionCount").value(0))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    @Order(3)
+    void invalidCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,167 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.form.FormSnapshotCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Guards against N+1 loading of form trees: reading, exporting and validating against the
+ * zebrafish example form must issue a bounded number of SQL statements regardless of its size.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FormQueryCountTest {
+
+    // Form + pages, elements; plus the user lookup done by the JWT filter
+    private static final long MAX_STATEMENTS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FormSnapshotCache snapshotCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String adminToken;
+    private String formId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        String json = Files.readString(Path.of("../examples/zebrafish-line-submission.json"));
+        MvcResult result = mockMvc.perform(post("/api/forms/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(result.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private long countStatements(ThrowingRunnable action) throws Exception {
+        snapshotCache.evict(UUID.fromString(formId));
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private ResultActions getAsAdmin(String path) throws Exception {
+        return mockMvc.perform(get(path, formId)
+                .header("Authorization", "Bearer " + adminToken));
+    }
+
+    @Test
+    @Order(1)
+    void getFormUsesBoundedQueries() throws Exception {
+        long statements = countStatements(() -> getAsAdmin("/api/forms/{id}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elements.length()").value(24)));
+
+        Assertions.assertTrue(statements <= MAX_STATEMENTS, "getForm issued " + statements + " statements");
+    }
+
+    @Test
+    @Order(2)
+    void getPublishedFormUsesBoundedQueries() throws Exception {
+        long statements = countStatements(() -> mockMvc.perform(get("/api/public/forms/{id}", formId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pages.length()").value(6)));
+
+        Assertions.assertTrue(statements <= MAX_STATEMENTS, "getPublishedForm issued " + statements + " statements");
+    }
+
+    @Test
+    @Order(3)
+    void exportFormUsesBoundedQueries() throws Exception {
+        long statements = countStatements(() -> getAsAdmin("/api/forms/{id}/export")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elements[?(@.fieldName=='mutations')].children").isNotEmpty()));
+
+        Assertions.assertTrue(statements <= MAX_STATEMENTS, "exportForm issued " + statements + " statements");
+    }
+
+    @Test
+    @Order(4)
+    void validateSubmissionUsesBoundedQueries() throws Exception {
+        // Empty data fails required-field validation after walking the whole element tree
+        long statements = countStatements(() -> mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\":{}}"))
+                .andExpect(status().isBadRequest()));
+
+        Assertions.assertTrue(statements <= MAX_STATEMENTS, "validateSubmission issued " + statements + " statements");
+    }
+}
@@ -0,0 +1,294 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.form.FormSnapshot;
+import com.formbuilder.form.FormSnapshotCache;
+import com.formbuilder.form.FormStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests that published forms are served from the snapshot cache and that form, page and
+ * element mutations invalidate the cached snapshot.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FormSnapshotCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FormSnapshotCache snapshotCache;
+
+    private String adminToken;
+    private String formId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        FormDTO.CreateRequest createRequest = new FormDTO.CreateRequest();
+        createRequest.setName("Cached Form");
+
+        MvcResult createResult = mockMvc.perform(post("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(createResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        addTextElement("First Field", "first_field");
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private void addTextElement(String label, String fieldName) throws Exception {
+        FormElementDTO.CreateRequest element = new FormElementDTO.CreateRequest();
+        element.setType(ElementType.TEXT_INPUT);
+        element.setLabel(label);
+        element.setFieldName(fieldName);
+        element.setConfiguration(new ElementConfiguration());
+
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(element)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @Order(1)
+    void draftFormIsNotPublic() throws Exception {
+        mockMvc.perform(get("/api/public/forms/{id}", formId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(2)
+    void publishReplacesTheCachedDraftSnapshot() throws Exception {
+        UUID id = UUID.fromString(formId);
+        snapshotCache.get(id, key -> Optional.of(FormSnapshot.builder().id(key).status(FormStatus.DRAFT).build()));
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        // Background jobs started by publish may have loaded the published snapshot meanwhile
+        Optional<FormSnapshot> cached = snapshotCache.get(id, key -> Optional.empty());
+        Assertions.assertEquals(FormStatus.PUBLISHED, cached.map(FormSnapshot::getStatus).orElse(FormStatus.PUBLISHED));
+
+        mockMvc.perform(get("/api/public/forms/{id}", formId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cached Form"))
+                .andExpect(jsonPath("$.elements.length()").value(1));
+    }
+
+    @Test
+    @Order(3)
+    void elementChangeInvalidatesSnapshot() throws Exception {
+        addTextElement("Second Field", "second_field");
+
+        mockMvc.perform(get("/api/public/forms/{id}", formId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elements.length()").value(2));
+    }
+
+    @Test
+    @Order(4)
+    void formUpdateInvalidatesSnapshot() throws Exception {
+        FormDTO.UpdateRequest update = new FormDTO.UpdateRequest();
+        update.setName("Renamed Cached Form");
+
+        mockMvc.perform(put("/api/forms/{id}", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/public/forms/{id}", formId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed Cached Form"));
+    }
+
+    @Test
+    @Order(5)
+    void conditionalGetReturnsNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/public/forms/{id}", formId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/public/forms/{id}", formId)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/forms/{id}", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Order(6)
+    void gzipEncodingServesPrecompressedBody() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/public/forms/{id}", formId)
+                .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] body;
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = in.readAllBytes();
+        }
+        FormDTO.Response form = objectMapper.readValue(body, FormDTO.Response.class);
+        Assertions.assertEquals("Renamed Cached Form", form.getName());
+    }
+
+    @Test
+    @Order(7)
+    void concurrentMissesLoadOnce() throws Exception {
+        FormSnapshotCache cache = new FormSnapshotCache(new SimpleMeterRegistry(), 100);
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<FormSnapshot>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(id, key -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        return Optional.of(FormSnapshot.builder().id(key).status(FormStatus.PUBLISHED).build());
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Optional<FormSnapshot>> result : results) {
+                Assertions.assertTrue(result.get(5, TimeUnit.SECONDS).isPresent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    @Order(8)
+    void leastRecentlyUsedSnapshotIsDroppedAtCapacity() {
+        FormSnapshotCache cache = new FormSnapshotCache(new SimpleMeterRegistry(), 2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        Function<UUID, Optional<FormSnapshot>> loader = key -> {
+            loads.incrementAndGet();
+            return Optional.of(FormSnapshot.builder().id(key).status(FormStatus.PUBLISHED).build());
+        };
+
+        cache.get(first, loader);
+        cache.get(second, loader);
+        cache.get(first, loader);
+        cache.get(UUID.randomUUID(), loader);
+        Assertions.assertEquals(3, loads.get());
+        Assertions.assertEquals(2, cache.size());
+
+        cache.get(first, loader);
+        Assertions.assertEquals(3, loads.get());
+        cache.get(second, loader);
+        Assertions.assertEquals(4, loads.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @Order(9)
+    void deleteEvictsSnapshot() throws Exception {
+        mockMvc.perform(delete("/api/forms/{id}", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/public/forms/{id}", formId))
+                .andExpect(status().isNotFound());
+    }
+}
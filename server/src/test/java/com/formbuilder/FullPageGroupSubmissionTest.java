@@ -381,7 +381,10 @@ class FullPageGroupSubmissionTest {
         mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestBody)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Work History[1].Job Title is required"))
+                .andExpect(jsonPath("$.fieldErrors['/work_history/0/job_title']")
+                        .value("Work History[1].Job Title is required"));
     }
 
     @Test
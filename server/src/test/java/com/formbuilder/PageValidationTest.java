@@ -0,0 +1,136 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.form.FormDTO;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for POST /api/public/forms/{id}/pages/{pageId}/validate on the multi-page zebrafish form.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PageValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String formId;
+    private JsonNode pages;
+
+    @BeforeAll
+    void setup() throws Exception {
+        String adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        String json = Files.readString(Path.of("../examples/zebrafish-line-submission.json"));
+        MvcResult result = mockMvc.perform(post("/api/forms/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(result.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        MvcResult published = mockMvc.perform(get("/api/public/forms/{id}", formId))
+                .andExpect(status().isOk())
+                .andReturn();
+        pages = objectMapper.readTree(published.getResponse().getContentAsString()).get("pages");
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private String pageId(int index) {
+        return pages.get(index).get("id").asText();
+    }
+
+    @Test
+    void validatesOnlyTheRequestedPage() throws Exception {
+        // General Info holds the required line name and abbreviation
+        mockMvc.perform(post("/api/public/forms/{id}/pages/{pageId}/validate", formId, pageId(1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\": {\"line_name\": \"abc\"}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors['/line_abbreviation']").value("Line Abbreviation is required"))
+                .andExpect(jsonPath("$.fieldErrors['/line_name']").doesNotExist());
+
+        mockMvc.perform(post("/api/public/forms/{id}/pages/{pageId}/validate", formId, pageId(1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\": {\"line_name\": \"abc\", \"line_abbreviation\": \"a\"}}"))
+                .andExpect(status().isNoContent());
+
+        // Missing required fields on other pages are not reported
+        mockMvc.perform(post("/api/public/forms/{id}/pages/{pageId}/validate", formId, pageId(2))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\": {\"mutations\": []}}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/public/forms/{id}/pages/{pageId}/validate", formId, pageId(2))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\": {\"mutations\": \"none\"}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors['/mutations']").exists());
+    }
+
+    @Test
+    void unknownPageIsNotFound() throws Exception {
+        mockMvc.perform(post("/api/public/forms/{id}/pages/{pageId}/validate", formId, UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\": {}}"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,63 @@
+package com.formbuilder;
+
+import com.formbuilder.bench.ZebrafishFixture;
+import com.formbuilder.form.FormGraph;
+import com.formbuilder.validation.ParallelValidation;
+import com.formbuilder.validation.PatternSafety;
+import com.formbuilder.validation.ValidationErrors;
+import com.formbuilder.validation.ValidationPlan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Map;
+
+/**
+ * Tests that splitting large repeatable groups across the pool reports exactly the errors of a
+ * sequential run, in the same order.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParallelValidationTest {
+
+    private final ParallelValidation parallelValidation = new ParallelValidation(8, 4);
+    private ValidationPlan sequentialPlan;
+    private ValidationPlan parallelPlan;
+
+    @BeforeAll
+    void setup() throws Exception {
+        FormGraph graph = ZebrafishFixture.graph();
+        PatternSafety patternSafety = new PatternSafety(new SimpleMeterRegistry(), 100_000);
+        sequentialPlan = ValidationPlan.compile(graph, patternSafety, ParallelValidation.sequential());
+        parallelPlan = ValidationPlan.compile(graph, patternSafety, parallelValidation);
+    }
+
+    @AfterAll
+    void tearDown() {
+        parallelValidation.destroy();
+    }
+
+    @Test
+    void parallelErrorsMatchSequentialOrder() {
+        for (int size : new int[] {5, 8, 97, 500}) {
+            Map<String, Object> data = ZebrafishFixture.submission(size);
+            ValidationErrors expected = sequentialPlan.validate(data, false);
+            ValidationErrors actual = parallelPlan.validate(data, false);
+
+            Assertions.assertFalse(expected.isEmpty());
+            Assertions.assertEquals(expected.getErrors(), actual.getErrors(), "size " + size);
+        }
+    }
+
+    @Test
+    void failFastKeepsFirstErrorInListOrder() {
+        Map<String, Object> data = ZebrafishFixture.submission(500);
+        ValidationErrors expected = sequentialPlan.validate(data, true);
+        ValidationErrors actual = parallelPlan.validate(data, true);
+
+        Assertions.assertEquals(1, actual.getErrors().size());
+        Assertions.assertEquals(expected.getErrors(), actual.getErrors());
+    }
+}
@@ -0,0 +1,230 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElement;
+import com.formbuilder.export.ExportPlan;
+import com.formbuilder.export.ParquetWriter;
+import com.formbuilder.form.Form;
+import com.formbuilder.form.FormGraph;
+import com.formbuilder.page.FormPage;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tests that Parquet exports read back through parquet-java: typed values, nulls, empty versus
+ * missing lists, and nested repeatable groups, across several row groups.
+ */
+class ParquetRoundTripTest {
+
+    private static final int ROWS = 13;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    private final Form form = Form.builder().id(UUID.randomUUID()).name("Round trip").build();
+    private final FormPage page = FormPage.builder().id(UUID.randomUUID()).form(form).pageNumber(0).build();
+    private final List<FormElement> elements = new ArrayList<>();
+
+    private FormElement element(ElementType type, String fieldName, FormElement parent, boolean repeatable) {
+        FormElement element = FormElement.builder()
+                .id(UUID.randomUUID())
+                .form(form)
+                .page(page)
+                .parentElement(parent)
+                .type(type)
+                .label(fieldName)
+                .fieldName(fieldName)
+                .configuration(ElementConfiguration.builder().repeatable(repeatable).build())
+                .build();
+        elements.add(element);
+        return element;
+    }
+
+    private ExportPlan plan() {
+        element(ElementType.TEXT_INPUT, "name", null, false);
+        element(ElementType.NUMBER, "hours", null, false);
+        element(ElementType.DATE, "observed", null, false);
+        element(ElementType.CHECKBOX, "consented", null, false);
+        element(ElementType.CHECKBOX_GROUP, "tags", null, false);
+        FormElement mutations = element(ElementType.ELEMENT_GROUP, "mutations", null, true);
+        element(ElementType.TEXT_INPUT, "allele", mutations, false);
+        FormElement genes = element(ElementType.ELEMENT_GROUP, "genes", mutations, true);
+        element(ElementType.TEXT_INPUT, "gene", genes, false);
+        element(ElementType.NUMBER, "size", genes, false);
+        element(ElementType.TEXT_INPUT, "notes", mutations, true);
+        return ExportPlan.compile(new FormGraph(form, List.of(page), elements));
+    }
+
+    // Every value kind, null and absent, with lists empty, missing and nested
+    private static Map<String, Object> submission(int i) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        if (i % 4 != 3) {
+            data.put("name", "line " + i);
+        }
+        if (i % 3 == 0) {
+            data.put("hours", i * 1.5);
+        } else if (i % 3 == 1) {
+            data.put("hours", "n/a");
+        }
+        if (i % 2 == 0) {
+            data.put("observed", String.format("2024-03-%02d", i + 1));
+        }
+        if (i % 3 != 2) {
+            data.put("consented", i % 3 == 0);
+        }
+        switch (i % 4) {
+            case 1 -> data.put("tags", List.of());
+            case 2 -> data.put("tags", List.of("red"));
+            case 3 -> data.put("tags", List.of("red", "blue"));
+            default -> {
+            }
+        }
+        switch (i % 5) {
+            case 1 -> data.put("mutations", List.of());
+            case 2 -> data.put("mutations", List.of(Map.of("allele", "a" + i, "genes", List.of())));
+            case 3 -> data.put("mutations", List.of(
+                    Map.of("allele", "a" + i, "notes", List.of("x", "y"), "genes", List.of(
+                            Map.of("gene", "g1", "size", 3), Map.of("gene", "g2"))),
+                    Map.of("notes", List.of())));
+            case 4 -> data.put("mutations", List.of(Map.of(), Map.of("allele", "b" + i, "genes", List.of(Map.of()))));
+            default -> {
+            }
+        }
+        return data;
+    }
+
+    // What the row should read back as: every column present, null where the value is absent or mistyped
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> expected(String id, LocalDateTime submittedAt, Map<String, Object> data) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("submission_id", id);
+        row.put("submitted_at", submittedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000);
+        row.put("name", data.get("name"));
+        row.put("hours", data.get("hours") instanceof Double hours ? hours : null);
+        row.put("observed", data.containsKey("observed") ? LocalDate.parse((String) data.get("observed")) : null);
+        row.put("consented", data.get("consented"));
+        row.put("tags", data.get("tags"));
+        List<Map<String, Object>> mutations = (List<Map<String, Object>>) data.get("mutations");
+        row.put("mutations", mutations == null ? null : mutations.stream().map(mutation -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("allele", mutation.get("allele"));
+            entry.put("notes", mutation.get("notes"));
+            List<Map<String, Object>> genes = (List<Map<String, Object>>) mutation.get("genes");
+            entry.put("genes", genes == null ? null : genes.stream().map(gene -> {
+                Map<String, Object> g = new LinkedHashMap<>();
+                g.put("gene", gene.get("gene"));
+                g.put("size", gene.get("size") instanceof Integer size ? size.doubleValue() : null);
+                return g;
+            }).toList());
+            return entry;
+        }).toList());
+        return row;
+    }
+
+    @Test
+    void exportReadsBackThroughParquetJava() throws Exception {
+        ExportPlan plan = plan();
+        Path file = dir.resolve("submissions.parquet");
+        List<Map<String, Object>> expected = new ArrayList<>();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            // A small row group size, so the rows span several
+            ParquetWriter writer = new ParquetWriter(plan, plan.select(List.of()), out, 400);
+            for (int i = 0; i < ROWS; i++) {
+                String id = UUID.randomUUID().toString();
+                LocalDateTime submittedAt = LocalDateTime.of(2024, 3, 1, 12, 0).plusMinutes(i);
+                Map<String, Object> data = submission(i);
+                try (JsonParser parser = objectMapper.getFactory().createParser(objectMapper.writeValueAsBytes(data))) {
+                    parser.nextToken();
+                    writer.write(id, submittedAt, plan.read(parser, writer.wanted()));
+                }
+                expected.add(expected(id, submittedAt, data));
+            }
+            writer.finish();
+        }
+
+        List<Map<String, Object>> actual = new ArrayList<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            Assertions.assertTrue(reader.getRowGroups().size() > 1, "expected several row groups");
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            PageReadStore pages;
+            while ((pages = reader.readNextRowGroup()) != null) {
+                RecordReader<Group> records = new ColumnIOFactory().getColumnIO(schema)
+                        .getRecordReader(pages, new GroupRecordConverter(schema));
+                for (long i = 0; i < pages.getRowCount(); i++) {
+                    actual.add(toMap(records.read()));
+                }
+            }
+        }
+
+        Assertions.assertEquals(ROWS, actual.size());
+        for (int i = 0; i < ROWS; i++) {
+            Assertions.assertEquals(expected.get(i), actual.get(i), "row " + i);
+        }
+    }
+
+    private static Map<String, Object> toMap(Group group) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        GroupType type = group.getType();
+        for (int field = 0; field < type.getFieldCount(); field++) {
+            row.put(type.getFieldName(field), group.getFieldRepetitionCount(field) == 0
+                    ? null
+                    : value(group, field, 0, type.getType(field)));
+        }
+        return row;
+    }
+
+    private static Object value(Group group, int field, int index, Type type) {
+        if (type.getLogicalTypeAnnotation() instanceof LogicalTypeAnnotation.ListLogicalTypeAnnotation) {
+            Group list = group.getGroup(field, index);
+            Type element = type.asGroupType().getType(0).asGroupType().getType(0);
+            List<Object> items = new ArrayList<>();
+            for (int i = 0; i < list.getFieldRepetitionCount(0); i++) {
+                Group entry = list.getGroup(0, i);
+                items.add(entry.getFieldRepetitionCount(0) == 0 ? null : value(entry, 0, 0, element));
+            }
+            return items;
+        }
+        if (!type.isPrimitive()) {
+            return toMap(group.getGroup(field, index));
+        }
+        PrimitiveType primitive = type.asPrimitiveType();
+        return switch (primitive.getPrimitiveTypeName()) {
+            case BINARY -> group.getString(field, index);
+            case DOUBLE -> group.getDouble(field, index);
+            case BOOLEAN -> group.getBoolean(field, index);
+            case INT64 -> group.getLong(field, index);
+            case INT32 -> LocalDate.ofEpochDay(group.getInteger(field, index));
+            default -> throw new AssertionError("Unexpected column type: " + primitive);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.formbuilder;
+
+import com.formbuilder.exception.ValidationException;
+import com.formbuilder.validation.PatternSafety;
+import com.formbuilder.validation.SafePattern;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that risky element patterns are rejected on save and that evaluation is step-bounded.
+ */
+class PatternSafetyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PatternSafety patternSafety = new PatternSafety(meterRegistry, 100_000);
+
+    @Test
+    void acceptsCommonPatterns() {
+        patternSafety.check("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        patternSafety.check("^\\d{3}-\\d{3}-\\d{4}$");
+        patternSafety.check("(\\d{3})?[A-Z]+");
+        patternSafety.check("^(?:[a-z]{2,8}-)*[a-z]+$");
+        patternSafety.check("(?i)^\\p{L}+(?: \\p{L}+)*$");
+        patternSafety.check("(?>a+)+b");
+        patternSafety.check("(.*a){12}");
+    }
+
+    @Test
+    void rejectsNestedQuantifiers() {
+        assertRejected("(a+)+$", "nested quantifiers");
+        assertRejected("^(\\w+\\s?)*$", "nested quantifiers");
+        assertRejected("((ab)*c?){2,}", "nested quantifiers");
+    }
+
+    @Test
+    void rejectsBackreferencesAndSyntaxErrors() {
+        assertRejected("(a)\\1", "backreferences");
+        assertRejected("(?<x>a)\\k<x>", "backreferences");
+        assertRejected("[a-", "Invalid pattern");
+    }
+
+    @Test
+    void budgetStopsCatastrophicBacktracking() {
+        // Passes the static check (bounded repetition) but needs ~10^8 reads to fail on this input
+        SafePattern pattern = patternSafety.compile("(.*a){12}");
+        String input = "a".repeat(25) + "!";
+
+        long start = System.nanoTime();
+        Assertions.assertFalse(pattern.matches(input));
+        Assertions.assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        Assertions.assertEquals(1.0, meterRegistry.counter("validation.pattern.budget.exceeded").count());
+
+        Assertions.assertTrue(pattern.matches("a".repeat(12)));
+    }
+
+    private void assertRejected(String regex, String reason) {
+        ValidationException e = Assertions.assertThrows(ValidationException.class,
+                () -> patternSafety.check(regex));
+        Assertions.assertTrue(e.getMessage().contains(reason), e.getMessage());
+    }
+}
@@ -0,0 +1,268 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.bench.ZebrafishFixture;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.projection.ProjectionLayout;
+import com.formbuilder.submission.SubmissionDTO;
+import com.formbuilder.submission.SubmissionStatus;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests that published forms get typed projection tables that follow submits, updates,
+ * republishing and deletion.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProjectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+    private String formId;
+    private String submissionId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        String json = Files.readString(Path.of("../examples/zebrafish-line-submission.json"));
+        MvcResult result = mockMvc.perform(post("/api/forms/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(result.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        publish();
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private void publish() throws Exception {
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+
+    private ProjectionLayout layout() throws Exception {
+        String json = jdbcTemplate.queryForObject(
+                "SELECT layout FROM form_projections WHERE form_id = ?", String.class, UUID.fromString(formId));
+        return objectMapper.readValue(json, ProjectionLayout.class);
+    }
+
+    private String table(ProjectionLayout layout, String path) {
+        return layout.tables().stream()
+                .filter(t -> t.getPath().equals(path))
+                .findFirst().orElseThrow()
+                .getName();
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"" + table + "\"", Integer.class);
+    }
+
+    private boolean exists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    private void awaitReady() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            String status = jdbcTemplate.queryForObject(
+                    "SELECT status FROM form_projections WHERE form_id = ?", String.class, UUID.fromString(formId));
+            if ("READY".equals(status)) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        Assertions.fail("Projection was not backfilled");
+    }
+
+    @Test
+    @Order(1)
+    void submitsAreProjectedIntoTypedTables() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("data", ZebrafishFixture.submission(3)))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        submissionId = objectMapper.readValue(result.getResponse().getContentAsString(),
+                SubmissionDTO.Response.class).getId().toString();
+        UUID id = UUID.fromString(submissionId);
+
+        ProjectionLayout layout = layout();
+        Assertions.assertEquals(6, layout.tables().size());
+
+        Map<String, Object> root = jdbcTemplate.queryForMap(
+                "SELECT * FROM \"" + layout.getRoot().getName() + "\" WHERE submission_id = ?", id);
+        Assertions.assertEquals("line", root.get("line_name"));
+        Assertions.assertEquals("SUBMITTED", root.get("status"));
+
+        Assertions.assertEquals(List.of("zf0", "zf1", "zf2"), jdbcTemplate.queryForList(
+                "SELECT allele_designation FROM \"" + table(layout, "mutations") + "\" ORDER BY instance_path",
+                String.class));
+
+        String genes = table(layout, "mutations.genes");
+        Assertions.assertEquals(6, count(genes));
+        Assertions.assertEquals("gene1b", jdbcTemplate.queryForObject(
+                "SELECT mutated_gene FROM \"" + genes + "\" WHERE instance_path = '{1,1}'", String.class));
+
+        BigDecimal size = jdbcTemplate.queryForObject(
+                "SELECT indel_deletion_size FROM \"" + table(layout, "mutations.lesions") + "\" LIMIT 1",
+                BigDecimal.class);
+        Assertions.assertEquals(0, BigDecimal.TEN.compareTo(size));
+
+        // Tables can be queried on their typed columns
+        Assertions.assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"" + table(layout, "mutations.phenotypes")
+                        + "\" WHERE hours_post_fertilization >= 24 AND 'mendelian_recessive' = ANY(segregation)",
+                Integer.class));
+    }
+
+    @Test
+    @Order(2)
+    void updatesReplaceProjectedRows() throws Exception {
+        SubmissionDTO.UpdateRequest update = new SubmissionDTO.UpdateRequest();
+        update.setData(ZebrafishFixture.submission(1));
+        mockMvc.perform(put("/api/forms/{formId}/submissions/{id}", formId, submissionId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        ProjectionLayout layout = layout();
+        Assertions.assertEquals(1, count(table(layout, "mutations")));
+        Assertions.assertEquals(2, count(table(layout, "mutations.genes")));
+
+        update.setStatus(SubmissionStatus.DRAFT);
+        mockMvc.perform(put("/api/forms/{formId}/submissions/{id}", formId, submissionId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(0, count(layout.getRoot().getName()));
+        Assertions.assertEquals(0, count(table(layout, "mutations")));
+
+        update.setStatus(SubmissionStatus.SUBMITTED);
+        mockMvc.perform(put("/api/forms/{formId}/submissions/{id}", formId, submissionId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(1, count(layout.getRoot().getName()));
+    }
+
+    @Test
+    @Order(3)
+    void republishingUnchangedFormKeepsTables() throws Exception {
+        ProjectionLayout before = layout();
+        publish();
+        ProjectionLayout after = layout();
+
+        Assertions.assertEquals(before.getVersion(), after.getVersion());
+        Assertions.assertEquals(1, count(after.getRoot().getName()));
+    }
+
+    @Test
+    @Order(4)
+    void structuralChangesRebuildAndBackfill() throws Exception {
+        ProjectionLayout before = layout();
+
+        FormElementDTO.CreateRequest element = new FormElementDTO.CreateRequest();
+        element.setType(ElementType.DATE);
+        element.setLabel("Received");
+        element.setFieldName("received");
+        element.setConfiguration(new ElementConfiguration());
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(element)))
+                .andExpect(status().isCreated());
+        publish();
+        awaitReady();
+
+        ProjectionLayout after = layout();
+        Assertions.assertNotEquals(before.getVersion(), after.getVersion());
+        Assertions.assertFalse(exists(before.getRoot().getName()));
+        Assertions.assertEquals(1, count(after.getRoot().getName()));
+        Assertions.assertEquals(2, count(table(after, "mutations.genes")));
+    }
+
+    @Test
+    @Order(5)
+    void deletingFormDropsTables() throws Exception {
+        List<String> tables = layout().tables().stream().map(ProjectionLayout.Table::getName).toList();
+
+        mockMvc.perform(delete("/api/forms/{id}", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+
+        for (String table : tables) {
+            Assertions.assertFalse(exists(table), table);
+        }
+    }
+}
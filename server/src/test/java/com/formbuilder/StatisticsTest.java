@@ -0,0 +1,309 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.statistics.StatisticsDTO;
+import com.formbuilder.statistics.StatisticsService;
+import com.formbuilder.submission.SubmissionDTO;
+import com.formbuilder.submission.SubmissionStatus;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the incrementally maintained statistics of GET /api/forms/{formId}/statistics, and the
+ * sketches of GET /api/forms/{formId}/statistics/sketches.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatisticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    private String adminToken;
+    private String formId;
+    private String firstId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        FormDTO.CreateRequest createRequest = new FormDTO.CreateRequest();
+        createRequest.setName("Statistics Test Form");
+        MvcResult createResult = mockMvc.perform(post("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(createResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        addElement(ElementType.TEXT_INPUT, "Line Name", "line_name", new ElementConfiguration());
+        addElement(ElementType.SELECT, "Genotyping Assay", "assay", ElementConfiguration.builder()
+                .options(List.of(new ElementConfiguration.Option("PCR", "pcr"),
+                        new ElementConfiguration.Option("HRM", "hrm")))
+                .build());
+        addElement(ElementType.NUMBER, "Hours", "hours", new ElementConfiguration());
+        addElement(ElementType.CHECKBOX_GROUP, "Tags", "tags", ElementConfiguration.builder()
+                .options(List.of(new ElementConfiguration.Option("Red", "red"),
+                        new ElementConfiguration.Option("Blue", "blue")))
+                .build());
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        firstId = submit(Map.of("line_name", "zf1", "assay", "pcr", "hours", 24, "tags", List.of("red", "blue")));
+        submit(Map.of("line_name", "zf2", "assay", "pcr", "hours", 1.5, "tags", List.of("red")));
+        submit(Map.of("line_name", "zf3", "assay", "hrm"));
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private void addElement(ElementType type, String label, String fieldName, ElementConfiguration config)
+            throws Exception {
+        FormElementDTO.CreateRequest element = new FormElementDTO.CreateRequest();
+        element.setType(type);
+        element.setLabel(label);
+        element.setFieldName(fieldName);
+        element.setConfiguration(config);
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(element)))
+                .andExpect(status().isCreated());
+    }
+
+    private String submit(Map<String, Object> data) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("data", data))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                SubmissionDTO.Response.class).getId().toString();
+    }
+
+    private StatisticsDTO.Response statistics() throws Exception {
+        statisticsService.applyDeltas();
+        MvcResult result = mockMvc.perform(get("/api/forms/{formId}/statistics", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), StatisticsDTO.Response.class);
+    }
+
+    private static StatisticsDTO.FieldStatistics field(StatisticsDTO.Response statistics, String path) {
+        return statistics.getFields().stream().filter(f -> f.getPath().equals(path)).findFirst().orElseThrow();
+    }
+
+    private static List<String> bins(StatisticsDTO.FieldStatistics field) {
+        return field.getNumeric().getHistogram().stream()
+                .map(bin -> bin.getLower() + ".." + bin.getUpper() + "=" + bin.getCount())
+                .toList();
+    }
+
+    @Test
+    @Order(1)
+    void countsSubmittedValues() throws Exception {
+        StatisticsDTO.Response statistics = statistics();
+        Assertions.assertEquals(3, statistics.getSubmissions());
+        Assertions.assertEquals(List.of("line_name", "assay", "hours", "tags"),
+                statistics.getFields().stream().map(StatisticsDTO.FieldStatistics::getPath).toList());
+
+        StatisticsDTO.FieldStatistics assay = field(statistics, "assay");
+        Assertions.assertEquals(List.of(new StatisticsDTO.OptionCount("pcr", 2), new StatisticsDTO.OptionCount("hrm", 1)),
+                assay.getOptions());
+        Assertions.assertNull(assay.getNumeric());
+
+        StatisticsDTO.FieldStatistics tags = field(statistics, "tags");
+        Assertions.assertEquals(2, tags.getAnswered());
+        Assertions.assertEquals(1, tags.getMissing());
+        Assertions.assertEquals(List.of(new StatisticsDTO.OptionCount("red", 2), new StatisticsDTO.OptionCount("blue", 1)),
+                tags.getOptions());
+
+        StatisticsDTO.FieldStatistics hours = field(statistics, "hours");
+        Assertions.assertNull(hours.getOptions());
+        Assertions.assertEquals(2, hours.getNumeric().getCount());
+        Assertions.assertEquals(1.5, hours.getNumeric().getMin());
+        Assertions.assertEquals(24.0, hours.getNumeric().getMax());
+        Assertions.assertEquals(12.75, hours.getNumeric().getMean());
+        Assertions.assertEquals(List.of("1.0..2.0=1", "20.0..30.0=1"), bins(hours));
+    }
+
+    @Test
+    @Order(2)
+    void updatesReplaceValuesAndRestoreExtremes() throws Exception {
+        SubmissionDTO.UpdateRequest update = new SubmissionDTO.UpdateRequest();
+        update.setData(Map.of("line_name", "zf1", "assay", "hrm", "hours", 3, "tags", List.of("blue")));
+        mockMvc.perform(put("/api/forms/{formId}/submissions/{id}", formId, firstId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        StatisticsDTO.Response statistics = statistics();
+        Assertions.assertEquals(List.of(new StatisticsDTO.OptionCount("hrm", 2), new StatisticsDTO.OptionCount("pcr", 1)),
+                field(statistics, "assay").getOptions());
+        Assertions.assertEquals(List.of(new StatisticsDTO.OptionCount("blue", 1), new StatisticsDTO.OptionCount("red", 1)),
+                field(statistics, "tags").getOptions());
+        StatisticsDTO.FieldStatistics hours = field(statistics, "hours");
+        Assertions.assertEquals(1.5, hours.getNumeric().getMin());
+        Assertions.assertEquals(3.0, hours.getNumeric().getMax());
+        Assertions.assertEquals(List.of("1.0..2.0=1", "3.0..4.0=1"), bins(hours));
+
+        // Back to a draft: no longer counted
+        update.setStatus(SubmissionStatus.DRAFT);
+        mockMvc.perform(put("/api/forms/{formId}/submissions/{id}", formId, firstId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        statistics = statistics();
+        Assertions.assertEquals(2, statistics.getSubmissions());
+        Assertions.assertEquals(1, field(statistics, "hours").getNumeric().getCount());
+        Assertions.assertEquals(1.5, field(statistics, "hours").getNumeric().getMax());
+    }
+
+    @Test
+    @Order(3)
+    void rebuildMatchesAppliedDeltas() throws Exception {
+        StatisticsDTO.Response applied = statistics();
+        statisticsService.rebuild(UUID.fromString(formId));
+        StatisticsDTO.Response rebuilt = statistics();
+
+        Assertions.assertEquals("READY", rebuilt.getStatus());
+        Assertions.assertEquals(applied.getSubmissions(), rebuilt.getSubmissions());
+        Assertions.assertEquals(applied.getFields(), rebuilt.getFields());
+    }
+
+    private StatisticsDTO.SketchResponse sketches(String from, String to) throws Exception {
+        statisticsService.applyDeltas();
+        MvcResult result = mockMvc.perform(get("/api/forms/{formId}/statistics/sketches", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("from", from)
+                .param("to", to)
+                .param("quantiles", "0.5", "0.95"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), StatisticsDTO.SketchResponse.class);
+    }
+
+    private static StatisticsDTO.FieldSketch sketch(StatisticsDTO.SketchResponse sketches, String path) {
+        return sketches.getFields().stream().filter(f -> f.getPath().equals(path)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @Order(4)
+    void sketchesEstimateDistinctValuesAndQuantiles() throws Exception {
+        for (int i = 1; i <= 100; i++) {
+            submit(Map.of("line_name", "line" + i, "assay", i % 2 == 0 ? "pcr" : "hrm", "hours", i));
+        }
+        String today = LocalDate.now().toString();
+        StatisticsDTO.SketchResponse sketches = sketches(today, today);
+
+        // Anonymous submissions from one address
+        Assertions.assertEquals(1, sketches.getDistinctSubmitters());
+        Assertions.assertEquals(102, sketch(sketches, "line_name").getDistinct(), 2);
+        Assertions.assertEquals(2, sketch(sketches, "assay").getDistinct());
+        Assertions.assertNull(sketch(sketches, "assay").getQuantiles());
+
+        StatisticsDTO.FieldSketch hours = sketch(sketches, "hours");
+        Assertions.assertEquals(101, hours.getValues());
+        Assertions.assertEquals(0.5, hours.getQuantiles().get(0).getQ());
+        Assertions.assertEquals(50, hours.getQuantiles().get(0).getValue(), 2);
+        Assertions.assertEquals(95, hours.getQuantiles().get(1).getValue(), 2);
+
+        // Rebuilding sketches the same values
+        statisticsService.rebuild(UUID.fromString(formId));
+        StatisticsDTO.SketchResponse rebuilt = sketches(today, today);
+        Assertions.assertEquals(sketch(sketches, "line_name").getDistinct(), sketch(rebuilt, "line_name").getDistinct());
+        Assertions.assertEquals(hours.getValues(), sketch(rebuilt, "hours").getValues());
+
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+        StatisticsDTO.SketchResponse empty = sketches(tomorrow, tomorrow);
+        Assertions.assertEquals(0, empty.getDistinctSubmitters());
+        Assertions.assertEquals(0, sketch(empty, "line_name").getDistinct());
+        Assertions.assertNull(sketch(empty, "hours").getQuantiles().get(0).getValue());
+    }
+
+    @Test
+    @Order(5)
+    void invalidSketchRequestsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/forms/{formId}/statistics/sketches", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("from", "2024-02-01")
+                .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/forms/{formId}/statistics/sketches", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("quantiles", "1.5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(6)
+    void unknownFormIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/forms/{formId}/statistics", UUID.randomUUID())
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,158 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.form.FormSnapshotLoader;
+import com.formbuilder.validation.ValidationErrors;
+import com.formbuilder.validation.ValidationPlan;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks that validating a submission while streaming it reports the same errors, in the same
+ * order, and persists the same JSON as validating the bound map.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StreamingValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FormSnapshotLoader snapshotLoader;
+
+    private String formId;
+    private ValidationPlan plan;
+
+    @BeforeAll
+    void setup() throws Exception {
+        String adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        String json = Files.readString(Path.of("../examples/zebrafish-line-submission.json"));
+        MvcResult result = mockMvc.perform(post("/api/forms/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(result.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        plan = snapshotLoader.load(UUID.fromString(formId)).orElseThrow().getValidationPlan();
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private void assertEquivalent(String data) throws Exception {
+        Map<String, Object> map = objectMapper.readValue(data, new TypeReference<>() {});
+        ValidationErrors expected = plan.validate(map, false);
+
+        StringWriter written = new StringWriter();
+        ValidationErrors actual;
+        try (JsonParser parser = objectMapper.getFactory().createParser(data);
+             JsonGenerator out = objectMapper.getFactory().createGenerator(written)) {
+            Assertions.assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            actual = plan.validate(parser, out, false);
+        }
+
+        Assertions.assertEquals(expected.getErrors(), actual.getErrors(), data);
+        Assertions.assertEquals(map, objectMapper.readValue(written.toString(), new TypeReference<>() {}), data);
+    }
+
+    @Test
+    void streamingMatchesTreeValidation() throws Exception {
+        Assertions.assertTrue(plan.isStreamable());
+
+        assertEquivalent("{}");
+        assertEquivalent("{\"line_name\": 42, \"reasons_to_accept\": \"yes\", \"extra\": {\"a\": [1, 2]}}");
+        assertEquivalent("{\"line_name\": \"abc\", \"line_abbreviation\": \"\", \"reasons_to_accept\": [\"nope\"]}");
+        assertEquivalent("{\"mutations\": \"oops\"}");
+        assertEquivalent("{\"mutations\": [{\"allele_designation\": \"zf1\","
+                + " \"mutation_molecularly_characterized\": \"maybe\","
+                + " \"genes\": [{\"mutated_gene\": \"\"}, 7],"
+                + " \"lesions\": [{\"lesion_type\": \"x\", \"indel_deletion_size\": \"ten\"}]}, null]}");
+        assertEquivalent("{\"line_name\": 1e3, \"mutations\": [{\"lesions\": [{\"indel_deletion_size\": 12,"
+                + " \"indel_insertion_size\": -3.5}, {\"indel_deletion_size\": 12345678901234567890}]}]}");
+    }
+
+    @Test
+    void submitRejectsMalformedEnvelopes() throws Exception {
+        mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid submission data format"));
+
+        mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.data").value("Form data is required"));
+
+        mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"data\": {\"line_name\": \"a\", \"line_name\": \"b\"}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid submission data format"));
+    }
+}
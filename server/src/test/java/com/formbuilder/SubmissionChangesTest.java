@@ -0,0 +1,195 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.submission.SubmissionDTO;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the NDJSON change feed of GET /api/forms/{formId}/submissions/changes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubmissionChangesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String adminToken;
+    private String formId;
+    private final List<String> submissionIds = new ArrayList<>();
+    private String lastCursor;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        FormDTO.CreateRequest createRequest = new FormDTO.CreateRequest();
+        createRequest.setName("Change Feed Test Form");
+        MvcResult createResult = mockMvc.perform(post("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(createResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        FormElementDTO.CreateRequest element = new FormElementDTO.CreateRequest();
+        element.setType(ElementType.TEXT_INPUT);
+        element.setLabel("Line Name");
+        element.setFieldName("line_name");
+        element.setConfiguration(new ElementConfiguration());
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(element)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        for (String lineName : List.of("zf1", "zf2", "zf3")) {
+            MvcResult result = mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("data", Map.of("line_name", lineName)))))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            submissionIds.add(objectMapper.readValue(result.getResponse().getContentAsString(),
+                    SubmissionDTO.Response.class).getId().toString());
+        }
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private List<JsonNode> changes(String since) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/forms/{formId}/submissions/changes", formId)
+                .header("Authorization", "Bearer " + adminToken);
+        if (since != null) {
+            request.param("since", since);
+        }
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        Assertions.assertEquals("application/x-ndjson;charset=UTF-8", result.getResponse().getContentType());
+
+        List<JsonNode> lines = new ArrayList<>();
+        String body = new String(result.getResponse().getContentAsByteArray(), StandardCharsets.UTF_8);
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    @Order(1)
+    void streamsAllSubmissionsOldestChangeFirst() throws Exception {
+        List<JsonNode> lines = changes(null);
+
+        Assertions.assertEquals(3, lines.size());
+        for (int i = 0; i < 3; i++) {
+            JsonNode line = lines.get(i);
+            Assertions.assertEquals(submissionIds.get(i), line.get("id").asText());
+            Assertions.assertEquals(formId, line.get("formId").asText());
+            Assertions.assertEquals("SUBMITTED", line.get("status").asText());
+            Assertions.assertEquals("zf" + (i + 1), line.get("data").get("line_name").asText());
+            Assertions.assertTrue(line.hasNonNull("updatedAt"));
+        }
+        lastCursor = lines.get(2).get("cursor").asText();
+
+        List<JsonNode> rest = changes(lines.get(0).get("cursor").asText());
+        Assertions.assertEquals(List.of(submissionIds.get(1), submissionIds.get(2)),
+                rest.stream().map(line -> line.get("id").asText()).toList());
+    }
+
+    @Test
+    @Order(2)
+    void resumingFromLastCursorReturnsOnlyLaterChanges() throws Exception {
+        Assertions.assertTrue(changes(lastCursor).isEmpty());
+
+        SubmissionDTO.UpdateRequest update = new SubmissionDTO.UpdateRequest();
+        update.setData(Map.of("line_name", "zf1-renamed"));
+        mockMvc.perform(put("/api/forms/{formId}/submissions/{id}", formId, submissionIds.get(0))
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        List<JsonNode> lines = changes(lastCursor);
+        Assertions.assertEquals(1, lines.size());
+        Assertions.assertEquals(submissionIds.get(0), lines.get(0).get("id").asText());
+        Assertions.assertEquals("zf1-renamed", lines.get(0).get("data").get("line_name").asText());
+    }
+
+    @Test
+    @Order(3)
+    void rejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/forms/{formId}/submissions/changes", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("since", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
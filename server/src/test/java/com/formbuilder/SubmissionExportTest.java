@@ -0,0 +1,330 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.bench.ZebrafishFixture;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.submission.SubmissionDTO;
+import com.formbuilder.submission.SubmissionStatus;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the streamed CSV and Parquet exports of GET /api/forms/{formId}/submissions/export.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubmissionExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String adminToken;
+    private String formId;
+    private String zebrafishId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        FormDTO.CreateRequest createRequest = new FormDTO.CreateRequest();
+        createRequest.setName("Export Test Form");
+        MvcResult createResult = mockMvc.perform(post("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(createResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        addElement(ElementType.TEXT_INPUT, "Line Name", "line_name", new ElementConfiguration());
+        addElement(ElementType.NUMBER, "Hours", "hours", new ElementConfiguration());
+        addElement(ElementType.CHECKBOX_GROUP, "Tags", "tags", ElementConfiguration.builder()
+                .options(List.of(new ElementConfiguration.Option("Red", "red"),
+                        new ElementConfiguration.Option("Blue", "blue")))
+                .build());
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        submit(Map.of("line_name", "zf101", "hours", 24, "tags", List.of("red")));
+        submit(Map.of("line_name", "with, comma", "hours", 1.5, "tags", List.of("red", "blue")));
+        String draftId = submit(Map.of("line_name", "draft", "hours", 3));
+
+        String json = Files.readString(Path.of("../examples/zebrafish-line-submission.json"));
+        MvcResult importResult = mockMvc.perform(post("/api/forms/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andReturn();
+        zebrafishId = objectMapper.readValue(importResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+        mockMvc.perform(post("/api/forms/{id}/publish", zebrafishId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        for (int mutations : new int[] {1, 3}) {
+            mockMvc.perform(post("/api/public/forms/{id}/submit", zebrafishId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("data", ZebrafishFixture.submission(mutations)))))
+                    .andExpect(status().isCreated());
+        }
+
+        SubmissionDTO.UpdateRequest update = new SubmissionDTO.UpdateRequest();
+        update.setData(Map.of("line_name", "draft", "hours", 3));
+        update.setStatus(SubmissionStatus.DRAFT);
+        mockMvc.perform(put("/api/forms/{formId}/submissions/{id}", formId, draftId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private void addElement(ElementType type, String label, String fieldName, ElementConfiguration config)
+            throws Exception {
+        FormElementDTO.CreateRequest element = new FormElementDTO.CreateRequest();
+        element.setType(type);
+        element.setLabel(label);
+        element.setFieldName(fieldName);
+        element.setConfiguration(config);
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(element)))
+                .andExpect(status().isCreated());
+    }
+
+    private String submit(Map<String, Object> data) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("data", data))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                SubmissionDTO.Response.class).getId().toString();
+    }
+
+    private MvcResult export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request.header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private List<String> exportLines(String... params) throws Exception {
+        return exportFormLines(formId, params);
+    }
+
+    private List<String> exportFormLines(String form, String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/forms/{formId}/submissions/export", form);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        String csv = export(request).getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return csv.isEmpty() ? List.of() : List.of(csv.split("\n"));
+    }
+
+    @Test
+    void exportsAllSubmissionsNewestFirst() throws Exception {
+        List<String> lines = exportLines();
+
+        Assertions.assertEquals(4, lines.size());
+        Assertions.assertEquals("Submission ID,Submitted At,Line Name,Hours,Tags", lines.get(0));
+        Assertions.assertTrue(lines.get(1).endsWith(",draft,3,"), lines.get(1));
+        Assertions.assertTrue(lines.get(2).endsWith(",\"with, comma\",1.5,red; blue"), lines.get(2));
+        Assertions.assertTrue(lines.get(3).endsWith(",zf101,24,red"), lines.get(3));
+    }
+
+    @Test
+    void filtersByStatusAndDate() throws Exception {
+        Assertions.assertEquals(3, exportLines("status", "SUBMITTED").size());
+        Assertions.assertEquals(2, exportLines("status", "DRAFT").size());
+
+        String today = LocalDate.now().toString();
+        Assertions.assertEquals(4, exportLines("from", today, "to", today).size());
+        Assertions.assertEquals(List.of(), exportLines("from", LocalDate.now().plusDays(1).toString()));
+        Assertions.assertEquals(List.of(), exportLines("to", LocalDate.now().minusDays(1).toString()));
+    }
+
+    @Test
+    void selectsAndOrdersColumns() throws Exception {
+        List<String> lines = exportLines("columns", "hours,line_name", "status", "SUBMITTED");
+
+        Assertions.assertEquals("Submission ID,Submitted At,Hours,Line Name", lines.get(0));
+        Assertions.assertTrue(lines.get(2).endsWith(",24,zf101"), lines.get(2));
+    }
+
+    @Test
+    void wideLayoutNumbersGroupInstancesUpToObservedMaximum() throws Exception {
+        List<String> lines = exportFormLines(zebrafishId, "columns", "line_name,mutations.allele_designation,mutations.genes");
+
+        List<String> header = List.of(lines.get(0).split(","));
+        String allele = "Allele designation assigned to the mutation ";
+        Assertions.assertEquals(List.of("Submission ID", "Submitted At", "Line Name",
+                "Mutations 1 / " + allele, "Mutations 2 / " + allele, "Mutations 3 / " + allele,
+                "Mutations 1 / Gene 1 / Mutated gene"), header.subList(0, 7));
+        // Two genes per mutation, four gene fields each
+        Assertions.assertEquals(6 + 3 * 2 * 4, header.size());
+        Assertions.assertEquals("Mutations 3 / Gene 2 / GenBank accession # for cDNA", header.get(header.size() - 1));
+
+        // Newest first: three mutations, then one with the remaining columns empty
+        Assertions.assertTrue(lines.get(1).contains(",line,zf0,zf1,zf2,gene0,LG0,,,gene0b,,,NM_0,"), lines.get(1));
+        Assertions.assertTrue(lines.get(2).endsWith(",line,zf0,,,gene0,LG0,,,gene0b,,,NM_0" + ",".repeat(16)),
+                lines.get(2));
+    }
+
+    @Test
+    void longLayoutHasRowPerGroupInstance() throws Exception {
+        List<String> lines = exportFormLines(zebrafishId, "layout", "LONG", "group", "mutations.genes",
+                "columns", "line_name,mutations.allele_designation,mutations.genes.mutated_gene");
+
+        Assertions.assertEquals("Submission ID,Submitted At,Mutations #,Gene #,Line Name,"
+                + "Mutations / Allele designation assigned to the mutation ,Gene / Mutated gene", lines.get(0));
+        Assertions.assertEquals(1 + 3 * 2 + 2, lines.size());
+        Assertions.assertTrue(lines.get(1).endsWith(",1,1,line,zf0,gene0"), lines.get(1));
+        Assertions.assertTrue(lines.get(6).endsWith(",3,2,line,zf2,gene2b"), lines.get(6));
+        Assertions.assertTrue(lines.get(8).endsWith(",1,2,line,zf0,gene0b"), lines.get(8));
+
+        mockMvc.perform(get("/api/forms/{formId}/submissions/export", zebrafishId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("layout", "LONG"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/forms/{formId}/submissions/export", zebrafishId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("layout", "LONG")
+                .param("group", "mutations")
+                .param("columns", "mutations.genes.mutated_gene"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void gzipsWhenAccepted() throws Exception {
+        MvcResult result = export(get("/api/forms/{formId}/submissions/export", formId)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        Assertions.assertEquals("gzip", result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+
+        byte[] csv = new GZIPInputStream(new ByteArrayInputStream(
+                result.getResponse().getContentAsByteArray())).readAllBytes();
+        Assertions.assertEquals(String.join("\n", exportLines()) + "\n", new String(csv, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parquetExportIsFramedFileWithNestedSchema() throws Exception {
+        MvcResult result = export(get("/api/forms/{formId}/submissions/export", zebrafishId)
+                .param("format", "parquet")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        Assertions.assertEquals("application/vnd.apache.parquet", result.getResponse().getContentType());
+        Assertions.assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+
+        byte[] file = result.getResponse().getContentAsByteArray();
+        String magic = "PAR1";
+        Assertions.assertEquals(magic, new String(file, 0, 4, StandardCharsets.US_ASCII));
+        Assertions.assertEquals(magic, new String(file, file.length - 4, 4, StandardCharsets.US_ASCII));
+        int footerLength = ByteBuffer.wrap(file, file.length - 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        String footer = new String(file, file.length - 8 - footerLength, footerLength, StandardCharsets.ISO_8859_1);
+        for (String field : List.of("submission_id", "line_name", "mutations", "genes", "mutated_gene",
+                "hours_post_fertilization", "segregation")) {
+            Assertions.assertTrue(footer.contains(field), field);
+        }
+
+        // Column selection narrows the schema; with no matching rows the file still holds it
+        result = export(get("/api/forms/{formId}/submissions/export", zebrafishId)
+                .param("format", "parquet")
+                .param("columns", "line_name")
+                .param("status", "DRAFT"));
+        file = result.getResponse().getContentAsByteArray();
+        footerLength = ByteBuffer.wrap(file, file.length - 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        Assertions.assertEquals(file.length - 12, footerLength);
+        footer = new String(file, 4, footerLength, StandardCharsets.ISO_8859_1);
+        Assertions.assertTrue(footer.contains("line_name"));
+        Assertions.assertFalse(footer.contains("mutations"));
+
+        mockMvc.perform(get("/api/forms/{formId}/submissions/export", zebrafishId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("format", "parquet")
+                .param("layout", "LONG")
+                .param("group", "mutations"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsUnknownColumnsAndInvertedRanges() throws Exception {
+        mockMvc.perform(get("/api/forms/{formId}/submissions/export", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("columns", "line_name,nope"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.columns").value("Unknown field: nope"));
+
+        mockMvc.perform(get("/api/forms/{formId}/submissions/export", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("from", "2024-02-01")
+                .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
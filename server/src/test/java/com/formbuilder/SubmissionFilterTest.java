@@ -0,0 +1,182 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.form.FormDTO;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for field-level filters on GET /api/forms/{formId}/submissions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubmissionFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+    private String formId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        FormDTO.CreateRequest createRequest = new FormDTO.CreateRequest();
+        createRequest.setName("Filter Test Form");
+        MvcResult createResult = mockMvc.perform(post("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(createResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        addElement(ElementType.TEXT_INPUT, "Line Name", "line_name", new ElementConfiguration());
+        addElement(ElementType.NUMBER, "Hours", "hours", new ElementConfiguration());
+        addElement(ElementType.DATE, "Observed", "observed", new ElementConfiguration());
+        addElement(ElementType.CHECKBOX_GROUP, "Tags", "tags", ElementConfiguration.builder()
+                .options(List.of(new ElementConfiguration.Option("Red", "red"),
+                        new ElementConfiguration.Option("Blue", "blue")))
+                .build());
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        submit(Map.of("line_name", "zf101", "hours", 24, "observed", "2024-01-15", "tags", List.of("red")));
+        submit(Map.of("line_name", "zf102", "hours", 48, "observed", "2024-03-01", "tags", List.of("red", "blue")));
+        submit(Map.of("line_name", "ab200", "hours", 72, "observed", "2024-06-30", "tags", List.of()));
+        submit(Map.of("line_name", "q\"uote's", "hours", 5, "tags", List.of("blue")));
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private void addElement(ElementType type, String label, String fieldName, ElementConfiguration config)
+            throws Exception {
+        FormElementDTO.CreateRequest element = new FormElementDTO.CreateRequest();
+        element.setType(type);
+        element.setLabel(label);
+        element.setFieldName(fieldName);
+        element.setConfiguration(config);
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(element)))
+                .andExpect(status().isCreated());
+    }
+
+    private void submit(Map<String, Object> data) throws Exception {
+        mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("data", data))))
+                .andExpect(status().isCreated());
+    }
+
+    private ResultActions filter(String... filters) throws Exception {
+        return mockMvc.perform(get("/api/forms/{formId}/submissions", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("filter", filters));
+    }
+
+    private void assertLines(String[] filters, String... lineNames) throws Exception {
+        filter(filters)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(lineNames.length))
+                .andExpect(jsonPath("$.submissions[*].data.line_name").value(containsInAnyOrder((Object[]) lineNames)));
+    }
+
+    private void assertAllFilters() throws Exception {
+        assertLines(new String[] {"line_name:prefix:zf"}, "zf101", "zf102");
+        assertLines(new String[] {"line_name:eq:ab200"}, "ab200");
+        assertLines(new String[] {"line_name:eq:q\"uote's"}, "q\"uote's");
+        assertLines(new String[] {"hours:gte:48"}, "zf102", "ab200");
+        assertLines(new String[] {"hours:eq:24"}, "zf101");
+        assertLines(new String[] {"observed:lt:2024-03-01"}, "zf101");
+        assertLines(new String[] {"tags:has:blue"}, "zf102", "q\"uote's");
+        assertLines(new String[] {"tags:has:red", "hours:gt:30"}, "zf102");
+        assertLines(new String[] {"missing.field:eq:x"});
+    }
+
+    @Test
+    @Order(1)
+    void filtersArePushedDownToJsonb() throws Exception {
+        assertAllFilters();
+    }
+
+    @Test
+    @Order(2)
+    void rejectsMalformedFilters() throws Exception {
+        filter("line_name").andExpect(status().isBadRequest());
+        filter("line_name:like:zf").andExpect(status().isBadRequest());
+        filter("a..b:eq:x").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(3)
+    void dataJsonIsRequired() {
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "UPDATE submissions SET data_json = NULL WHERE form_id = ?", UUID.fromString(formId)));
+    }
+}
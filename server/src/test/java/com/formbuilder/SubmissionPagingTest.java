@@ -0,0 +1,251 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.submission.SubmissionDTO;
+import com.formbuilder.submission.SubmissionStorage;
+import com.formbuilder.submission.SubmissionSummaries;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for cursor pages, total counts, the page size limit and the summary view of
+ * GET /api/forms/{formId}/submissions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubmissionPagingTest {
+
+    private static final int SUBMISSIONS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SubmissionSummaries summaries;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    private String adminToken;
+    private String formId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        FormDTO.CreateRequest createRequest = new FormDTO.CreateRequest();
+        createRequest.setName("Paging Test Form");
+        MvcResult createResult = mockMvc.perform(post("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(createResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        FormElementDTO.CreateRequest element = new FormElementDTO.CreateRequest();
+        element.setType(ElementType.TEXT_INPUT);
+        element.setLabel("Line Name");
+        element.setFieldName("line_name");
+        element.setConfiguration(new ElementConfiguration());
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(element)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            MockHttpServletRequestBuilder submit = post("/api/public/forms/{id}/submit", formId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("data", Map.of("line_name", "zf" + i))));
+            // The first is made signed in
+            if (i == 0) {
+                submit.header("Authorization", "Bearer " + adminToken);
+            }
+            mockMvc.perform(submit).andExpect(status().isCreated());
+        }
+        // Ten submissions made in the same instant, ordered by id alone
+        jdbcTemplate.update("""
+                UPDATE submissions SET submitted_at = '2024-01-01 12:00:00'
+                WHERE id IN (SELECT id FROM submissions WHERE form_id = ? ORDER BY id LIMIT 10)
+                """, UUID.fromString(formId));
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private SubmissionDTO.PageResponse list(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), SubmissionDTO.PageResponse.class);
+    }
+
+    @Test
+    void cursorPagesVisitEverySubmissionOnceInListOrder() throws Exception {
+        List<UUID> paged = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            SubmissionDTO.PageResponse page = list(get("/api/forms/{formId}/submissions", formId)
+                    .param("cursor", cursor)
+                    .param("size", "10"));
+            Assertions.assertNull(page.getTotalElements());
+            Assertions.assertNull(page.getPage());
+            page.getSubmissions().forEach(submission -> paged.add(submission.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Assertions.assertEquals(3, pages);
+        Assertions.assertEquals(SUBMISSIONS, paged.size());
+        Assertions.assertEquals(SUBMISSIONS, new HashSet<>(paged).size());
+
+        SubmissionDTO.PageResponse all = list(get("/api/forms/{formId}/submissions", formId)
+                .param("size", "100"));
+        Assertions.assertEquals(all.getSubmissions().stream().map(SubmissionDTO.Response::getId).toList(), paged);
+        Assertions.assertEquals(SUBMISSIONS, all.getTotalElements());
+        Assertions.assertFalse(all.isTotalEstimated());
+    }
+
+    @Test
+    void countCanBeEstimatedOrLeftOut() throws Exception {
+        SubmissionDTO.PageResponse estimated = list(get("/api/forms/{formId}/submissions", formId)
+                .param("count", "ESTIMATE"));
+        Assertions.assertTrue(estimated.isTotalEstimated());
+        Assertions.assertNotNull(estimated.getTotalElements());
+        Assertions.assertNotNull(estimated.getTotalPages());
+
+        SubmissionDTO.PageResponse uncounted = list(get("/api/forms/{formId}/submissions", formId)
+                .param("page", "1")
+                .param("size", "10")
+                .param("count", "NONE"));
+        Assertions.assertNull(uncounted.getTotalElements());
+        Assertions.assertEquals(10, uncounted.getSubmissions().size());
+        Assertions.assertNotNull(uncounted.getNextCursor());
+    }
+
+    @Test
+    void pageSizeIsCapped() throws Exception {
+        SubmissionDTO.PageResponse page = list(get("/api/forms/{formId}/submissions", formId)
+                .param("size", "100000"));
+        Assertions.assertEquals(100, page.getSize());
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/forms/{formId}/submissions", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void summaryViewCarriesSummaryFieldsAndSubmitterWithoutData() throws Exception {
+        SubmissionDTO.PageResponse page = list(get("/api/forms/{formId}/submissions", formId)
+                .param("view", "SUMMARY")
+                .param("size", "100"));
+        Assertions.assertEquals(List.of(new SubmissionDTO.SummaryField("line_name", "Line Name")), page.getSummaryFields());
+        Assertions.assertEquals(SUBMISSIONS, page.getSubmissions().size());
+        for (SubmissionDTO.Response submission : page.getSubmissions()) {
+            Assertions.assertNull(submission.getData());
+            Assertions.assertTrue(submission.getSummary().get("line_name").startsWith("zf"));
+        }
+        SubmissionDTO.Response signedIn = page.getSubmissions().stream()
+                .filter(submission -> "zf0".equals(submission.getSummary().get("line_name")))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals("admin@example.com", signedIn.getSubmitterEmail());
+        Assertions.assertEquals("Admin User", signedIn.getSubmitterName());
+    }
+
+    @Test
+    void fullViewEmbedsTheStoredDataAsIs() throws Exception {
+        SubmissionDTO.Response submission = list(get("/api/forms/{formId}/submissions", formId)
+                .param("size", "1")).getSubmissions().get(0);
+        String stored = jdbcTemplate.queryForObject("SELECT " + SubmissionStorage.COLUMNS + " FROM submissions WHERE id = ?",
+                (rs, rowNum) -> storage.read(rs), submission.getId());
+
+        MvcResult result = mockMvc.perform(get("/api/forms/{formId}/submissions/{id}", formId, submission.getId())
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        Assertions.assertTrue(result.getResponse().getContentAsString().contains("\"data\":" + stored));
+        Assertions.assertEquals(objectMapper.readTree(stored).toString(), submission.getData().getJson());
+    }
+
+    @Test
+    void summariesAreRestoredFromTheData() throws Exception {
+        jdbcTemplate.update("UPDATE submissions SET summary = NULL WHERE form_id = ?", UUID.fromString(formId));
+        Assertions.assertEquals(SUBMISSIONS, summaries.refresh(UUID.fromString(formId)));
+
+        SubmissionDTO.PageResponse page = list(get("/api/forms/{formId}/submissions", formId)
+                .param("view", "SUMMARY")
+                .param("size", "100"));
+        Assertions.assertTrue(page.getSubmissions().stream()
+                .allMatch(submission -> submission.getSummary().containsKey("line_name")));
+    }
+}
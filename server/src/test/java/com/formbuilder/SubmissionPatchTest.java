@@ -0,0 +1,317 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElementDTO;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.submission.DraftBuffer;
+import com.formbuilder.submission.SubmissionDTO;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for JSON Patch updates of drafts and submissions: PATCH /api/public/forms/{id}/draft and
+ * PATCH /api/forms/{formId}/submissions/{id}, checked against the If-Match version.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubmissionPatchTest {
+
+    private static final MediaType JSON_PATCH = MediaType.parseMediaType("application/json-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DraftBuffer draftBuffer;
+
+    private String adminToken;
+    private String userToken;
+    private String formId;
+    private UUID submissionId;
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+        userToken = loginOrRegister("patchuser@example.com", "password123", "Patch User");
+
+        FormDTO.CreateRequest createRequest = new FormDTO.CreateRequest();
+        createRequest.setName("Patch Test Form");
+        MvcResult createResult = mockMvc.perform(post("/api/forms")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(createResult.getResponse().getContentAsString(),
+                FormDTO.Response.class).getId().toString();
+
+        FormElementDTO.CreateRequest nameEl = new FormElementDTO.CreateRequest();
+        nameEl.setType(ElementType.TEXT_INPUT);
+        nameEl.setLabel("Line Name");
+        nameEl.setFieldName("line_name");
+        ElementConfiguration nameConfig = new ElementConfiguration();
+        nameConfig.setRequired(true);
+        nameEl.setConfiguration(nameConfig);
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(nameEl)))
+                .andExpect(status().isCreated());
+
+        FormElementDTO.CreateRequest notesEl = new FormElementDTO.CreateRequest();
+        notesEl.setType(ElementType.TEXT_INPUT);
+        notesEl.setLabel("Notes");
+        notesEl.setFieldName("notes");
+        notesEl.setConfiguration(new ElementConfiguration());
+        mockMvc.perform(post("/api/forms/{formId}/elements", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(notesEl)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private ResultActions patchDraft(Object version, List<Map<String, Object>> patch) throws Exception {
+        return mockMvc.perform(patch("/api/public/forms/{id}/draft", formId)
+                .header("Authorization", "Bearer " + userToken)
+                .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                .contentType(JSON_PATCH)
+                .content(objectMapper.writeValueAsString(patch)));
+    }
+
+    private ResultActions patchSubmission(Object version, List<Map<String, Object>> patch) throws Exception {
+        return mockMvc.perform(patch("/api/forms/{formId}/submissions/{id}", formId, submissionId)
+                .header("Authorization", "Bearer " + adminToken)
+                .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                .contentType(JSON_PATCH)
+                .content(objectMapper.writeValueAsString(patch)));
+    }
+
+    private SubmissionDTO.Response read(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), SubmissionDTO.Response.class);
+    }
+
+    @Test
+    @Order(1)
+    void draftIsPatchedAgainstItsVersion() throws Exception {
+        SubmissionDTO.Response saved = read(mockMvc.perform(put("/api/public/forms/{id}/draft", formId)
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("data", Map.of("line_name", "zf1", "alleles", List.of("a1"))))))
+                .andExpect(status().isOk()));
+
+        SubmissionDTO.Response patched = read(patchDraft(saved.getVersion(), List.of(
+                Map.of("op", "test", "path", "/line_name", "value", "zf1"),
+                Map.of("op", "replace", "path", "/line_name", "value", "zf2"),
+                Map.of("op", "add", "path", "/alleles/-", "value", "a2"),
+                Map.of("op", "copy", "from", "/alleles/0", "path", "/alleles/0"),
+                Map.of("op", "move", "from", "/line_name", "path", "/notes")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (saved.getVersion() + 1) + "\"")));
+        Assertions.assertEquals(saved.getId(), patched.getId());
+        Assertions.assertEquals(saved.getVersion() + 1, patched.getVersion());
+        Assertions.assertEquals(objectMapper.readTree("{\"alleles\":[\"a1\",\"a1\",\"a2\"],\"notes\":\"zf2\"}"),
+                objectMapper.readTree(patched.getData().getJson()));
+
+        // The version the first patch was made against is gone
+        patchDraft(saved.getVersion(), List.of(Map.of("op", "remove", "path", "/notes")))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @Order(2)
+    void writtenDraftIsPatchedFromTheDatabase() throws Exception {
+        draftBuffer.flush();
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT version FROM submissions WHERE form_id = ? AND status = 'DRAFT'", Long.class, UUID.fromString(formId));
+
+        patchDraft(version, List.of(
+                Map.of("op", "remove", "path", "/alleles"),
+                Map.of("op", "add", "path", "/line_name", "value", "zf3")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1))
+                .andExpect(jsonPath("$.data.line_name").value("zf3"))
+                .andExpect(jsonPath("$.data.alleles").doesNotExist());
+        draftBuffer.flush();
+
+        Assertions.assertEquals(List.of("zf3"), jdbcTemplate.queryForList(
+                "SELECT data_json->>'line_name' FROM submissions WHERE form_id = ? AND version = ?",
+                String.class, UUID.fromString(formId), version + 1));
+    }
+
+    @Test
+    @Order(3)
+    void failedPatchesChangeNothing() throws Exception {
+        long version = read(mockMvc.perform(get("/api/public/forms/{id}/draft", formId)
+                .header("Authorization", "Bearer " + userToken))).getVersion();
+
+        // The remove succeeds, but the failed test undoes it
+        patchDraft(version, List.of(
+                Map.of("op", "remove", "path", "/line_name"),
+                Map.of("op", "test", "path", "/notes", "value", "other")))
+                .andExpect(status().isBadRequest());
+        patchDraft(version, List.of(Map.of("op", "replace", "path", "/missing", "value", 1)))
+                .andExpect(status().isBadRequest());
+        patchDraft(version, List.of(Map.of("op", "rename", "path", "/line_name")))
+                .andExpect(status().isBadRequest());
+        patchDraft(version, List.of(Map.of("op", "replace", "path", "", "value", List.of())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/public/forms/{id}/draft", formId)
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(JSON_PATCH)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/public/forms/{id}/draft", formId)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + version + "\""))
+                .andExpect(jsonPath("$.data.line_name").value("zf3"));
+    }
+
+    @Test
+    @Order(4)
+    void draftPatchNeedsADraftAndASignedInUser() throws Exception {
+        mockMvc.perform(patch("/api/public/forms/{id}/draft", formId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(JSON_PATCH)
+                .content("[]"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/public/forms/{id}/draft", formId)
+                .header("Authorization", "Bearer " + adminToken)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(JSON_PATCH)
+                .content("[]"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(5)
+    void submissionIsPatchedAndRevalidated() throws Exception {
+        submissionId = read(mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("data", Map.of("line_name", "zf10"))))))
+                .getId();
+        MvcResult current = mockMvc.perform(get("/api/forms/{formId}/submissions/{id}", formId, submissionId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        long version = objectMapper.readValue(current.getResponse().getContentAsString(),
+                SubmissionDTO.Response.class).getVersion();
+        Assertions.assertEquals("\"" + version + "\"", current.getResponse().getHeader(HttpHeaders.ETAG));
+
+        patchSubmission(version, List.of(Map.of("op", "add", "path", "/notes", "value", "outcrossed")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1))
+                .andExpect(jsonPath("$.data.line_name").value("zf10"))
+                .andExpect(jsonPath("$.data.notes").value("outcrossed"));
+        Assertions.assertEquals("outcrossed", jdbcTemplate.queryForObject(
+                "SELECT data_json->>'notes' FROM submissions WHERE id = ?", String.class, submissionId));
+
+        patchSubmission(version, List.of(Map.of("op", "remove", "path", "/notes")))
+                .andExpect(status().isPreconditionFailed());
+        // A submitted response still has to pass the form's validation
+        patchSubmission(version + 1, List.of(Map.of("op", "remove", "path", "/line_name")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors['/line_name']").exists());
+    }
+
+    @Test
+    @Order(6)
+    void submissionPatchAcceptsJsonAndChecksTheBaseVersion() throws Exception {
+        long version = jdbcTemplate.queryForObject(
+                "SELECT version FROM submissions WHERE id = ?", Long.class, submissionId);
+        JsonNode patch = objectMapper.valueToTree(List.of(Map.of("op", "replace", "path", "/notes", "value", "w")));
+
+        mockMvc.perform(patch("/api/forms/{formId}/submissions/{id}", formId, submissionId)
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(patch.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/forms/{formId}/submissions/{id}", formId, submissionId)
+                .header("Authorization", "Bearer " + adminToken)
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(patch.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/forms/{formId}/submissions/{id}", formId, submissionId)
+                .header("Authorization", "Bearer " + adminToken)
+                .header(HttpHeaders.IF_MATCH, "W/\"" + version + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(patch.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.notes").value("w"));
+    }
+
+    @Test
+    @Order(7)
+    void cleanUp() throws Exception {
+        mockMvc.perform(delete("/api/forms/{id}", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,188 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.auth.AuthDTO;
+import com.formbuilder.bench.ZebrafishFixture;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.submission.SubmissionDTO;
+import com.formbuilder.submission.SubmissionStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests that submission data is stored once, as compressed jsonb, reads back unchanged through the
+ * API and exports, and is reported in the storage metrics.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFlywayConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubmissionStorageTest {
+
+    private static final int SUBMISSIONS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String adminToken;
+    private UUID formId;
+    private final Map<UUID, JsonNode> submitted = new HashMap<>();
+
+    @BeforeAll
+    void setup() throws Exception {
+        adminToken = loginOrRegister("admin@example.com", "password123", "Admin User");
+
+        String json = Files.readString(Path.of("../examples/zebrafish-line-submission.json"));
+        MvcResult result = mockMvc.perform(post("/api/forms/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andReturn();
+        formId = objectMapper.readValue(result.getResponse().getContentAsString(), FormDTO.Response.class).getId();
+
+        mockMvc.perform(post("/api/forms/{id}/publish", formId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            submit(1 + i % 3);
+        }
+    }
+
+    private String loginOrRegister(String email, String password, String name) throws Exception {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        if (loginResult.getResponse().getStatus() == 200) {
+            return objectMapper.readValue(
+                    loginResult.getResponse().getContentAsString(),
+                    AuthDTO.AuthResponse.class).getToken();
+        }
+
+        AuthDTO.RegisterRequest registerRequest = new AuthDTO.RegisterRequest();
+        registerRequest.setName(name);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword(password);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                AuthDTO.AuthResponse.class).getToken();
+    }
+
+    private UUID submit(int mutations) throws Exception {
+        Map<String, Object> data = ZebrafishFixture.submission(mutations);
+        MvcResult result = mockMvc.perform(post("/api/public/forms/{id}/submit", formId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("data", data))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID id = objectMapper.readValue(result.getResponse().getContentAsString(), SubmissionDTO.Response.class).getId();
+        submitted.put(id, objectMapper.valueToTree(data));
+        return id;
+    }
+
+    private void assertReadsBackUnchanged() throws Exception {
+        for (Map.Entry<UUID, JsonNode> entry : submitted.entrySet()) {
+            MvcResult result = mockMvc.perform(get("/api/forms/{formId}/submissions/{id}", formId, entry.getKey())
+                    .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            Assertions.assertEquals(entry.getValue(),
+                    objectMapper.readTree(result.getResponse().getContentAsString()).get("data"));
+        }
+    }
+
+    @Test
+    @Order(1)
+    void dataIsStoredOnceAsCompressedJsonb() throws Exception {
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM information_schema.columns
+                WHERE table_name = 'submissions' AND column_name IN ('data_packed', 'data_dictionary_id')
+                """, Integer.class));
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM submissions WHERE form_id = ? AND data IS NOT NULL", Integer.class, formId));
+
+        Map<String, Object> sizes = jdbcTemplate.queryForMap("""
+                SELECT sum(octet_length(data_json::text)) AS text, sum(pg_column_size(data_json)) AS stored
+                FROM submissions WHERE form_id = ?
+                """, formId);
+        Assertions.assertTrue(((Number) sizes.get("stored")).longValue() < ((Number) sizes.get("text")).longValue(),
+                () -> "jsonb stored uncompressed: " + sizes);
+        assertReadsBackUnchanged();
+    }
+
+    @Test
+    @Order(2)
+    void metricsCountTheDataWrittenAndTheTableSize() throws Exception {
+        double before = meterRegistry.get("submissions.data.written").counter().count();
+        UUID id = submit(2);
+        String data = jdbcTemplate.queryForObject("SELECT data_json::text FROM submissions WHERE id = ?", String.class, id);
+        Assertions.assertTrue(meterRegistry.get("submissions.data.written").counter().count() - before
+                >= data.length() / 2);
+
+        storage.refreshSizes();
+        for (String kind : new String[] {"table", "toast", "indexes"}) {
+            Assertions.assertTrue(meterRegistry.get("submissions.storage").tag("kind", kind).gauge().value() > 0, kind);
+        }
+    }
+
+    @Test
+    @Order(3)
+    void exportsReadTheJsonb() throws Exception {
+        UUID id = submitted.keySet().iterator().next();
+        MvcResult started = mockMvc.perform(get("/api/forms/{formId}/submissions/export", formId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(csv.contains(id.toString()));
+        Assertions.assertTrue(csv.contains("zf1"));
+    }
+}
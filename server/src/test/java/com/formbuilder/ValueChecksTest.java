@@ -0,0 +1,162 @@
+package com.formbuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElement;
+import com.formbuilder.form.Form;
+import com.formbuilder.form.FormGraph;
+import com.formbuilder.page.FormPage;
+import com.formbuilder.validation.ParallelValidation;
+import com.formbuilder.validation.PatternSafety;
+import com.formbuilder.validation.ValidationError;
+import com.formbuilder.validation.ValidationErrors;
+import com.formbuilder.validation.ValidationPlan;
+import com.formbuilder.validation.ValueCheck;
+import com.formbuilder.validation.ValueChecks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tests for the per-type value checks applied to NUMBER, EMAIL, DATE and option fields.
+ */
+class ValueChecksTest {
+
+    private static ValueCheck checkFor(ElementType type, ElementConfiguration config) {
+        return ValueChecks.forElement(FormElement.builder().type(type).configuration(config).build());
+    }
+
+    @Test
+    void numbersRespectBounds() {
+        ValueCheck check = checkFor(ElementType.NUMBER, ElementConfiguration.builder().min(0.0).max(100.0).build());
+
+        Assertions.assertNull(check.check(42));
+        Assertions.assertNull(check.check(99.5));
+        Assertions.assertNull(check.check("-0.0"));
+        Assertions.assertNull(check.check("1e2"));
+        Assertions.assertEquals("must be at least 0", check.check(-1));
+        Assertions.assertEquals("must not exceed 100", check.check("100.01"));
+        for (Object invalid : List.of("ten", "1e", ".", "+", " 5", "NaN", "Infinity", true)) {
+            Assertions.assertEquals("must be a number", check.check(invalid), String.valueOf(invalid));
+        }
+    }
+
+    @Test
+    void streamedNumbersAreCheckedLikeParsedOnes() throws Exception {
+        Form form = Form.builder().id(UUID.randomUUID()).name("Numbers").build();
+        FormPage page = FormPage.builder().id(UUID.randomUUID()).form(form).pageNumber(0).build();
+        FormElement hours = FormElement.builder()
+                .id(UUID.randomUUID())
+                .form(form)
+                .page(page)
+                .type(ElementType.NUMBER)
+                .label("Hours")
+                .fieldName("hours")
+                .configuration(ElementConfiguration.builder().min(0.0).max(100.0).build())
+                .build();
+        ValidationPlan plan = ValidationPlan.compile(new FormGraph(form, List.of(page), List.of(hours)),
+                new PatternSafety(new SimpleMeterRegistry(), 100_000), ParallelValidation.sequential());
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        for (String value : List.of("42", "99.5", "-1", "100.01", "1e2", "\"50\"", "\"ten\"", "true")) {
+            String data = "{\"hours\": " + value + "}";
+            StringWriter written = new StringWriter();
+            ValidationErrors streamed;
+            try (JsonParser parser = objectMapper.getFactory().createParser(data);
+                 JsonGenerator out = objectMapper.getFactory().createGenerator(written)) {
+                parser.nextToken();
+                streamed = plan.validate(parser, out, false);
+            }
+            Map<String, Object> map = objectMapper.readValue(data, new TypeReference<>() {});
+            Assertions.assertEquals(plan.validate(map, false).getErrors(), streamed.getErrors(), value);
+            Assertions.assertEquals(map, objectMapper.readValue(written.toString(), new TypeReference<>() {}), value);
+        }
+    }
+
+    @Test
+    void emailsAreScanned() {
+        ValueCheck check = checkFor(ElementType.EMAIL, null);
+
+        for (String valid : List.of("a@b.co", "first.last+tag@sub.example.org", "o'neil@x-y.io")) {
+            Assertions.assertNull(check.check(valid), valid);
+        }
+        for (String invalid : List.of("plain", "@x.io", "a@", "a@b", "a..b@x.io", ".a@x.io", "a.@x.io",
+                "a@-x.io", "a@x-.io", "a@x..io", "a@x.i", "a@x.123", "a b@x.io", "a@b@x.io", "a@x.io.")) {
+            Assertions.assertEquals("must be a valid email address", check.check(invalid), invalid);
+        }
+    }
+
+    @Test
+    void datesAreCalendarDates() {
+        ValueCheck check = checkFor(ElementType.DATE, null);
+
+        for (String valid : List.of("2024-02-29", "1999-12-31", "2023-01-01")) {
+            Assertions.assertNull(check.check(valid), valid);
+        }
+        for (String invalid : List.of("2023-02-29", "2023-13-01", "2023-04-31", "2023-00-10", "2023-1-01",
+                "23-01-01", "2023/01/01", "0000-01-01", "2023-01-01T00:00")) {
+            Assertions.assertNotNull(check.check(invalid), invalid);
+        }
+    }
+
+    @Test
+    void optionsAreLookedUp() {
+        ElementConfiguration config = ElementConfiguration.builder()
+                .options(List.of(new ElementConfiguration.Option("Yes", "yes"),
+                        new ElementConfiguration.Option("No", "no")))
+                .build();
+
+        ValueCheck radio = checkFor(ElementType.RADIO_GROUP, config);
+        Assertions.assertNull(radio.check("yes"));
+        Assertions.assertNotNull(radio.check("maybe"));
+        Assertions.assertNotNull(radio.check("other:maybe"));
+
+        config.setAllowOther(true);
+        ValueCheck select = checkFor(ElementType.SELECT, config);
+        Assertions.assertNull(select.check("other:maybe"));
+
+        ValueCheck withBlank = checkFor(ElementType.SELECT, ElementConfiguration.builder()
+                .options(List.of(new ElementConfiguration.Option("Yes", "yes"),
+                        new ElementConfiguration.Option("Blank", null)))
+                .build());
+        Assertions.assertNull(withBlank.check("yes"));
+        Assertions.assertNotNull(withBlank.check("Blank"));
+
+        Assertions.assertNull(checkFor(ElementType.RADIO_GROUP, new ElementConfiguration()));
+        Assertions.assertNull(checkFor(ElementType.TEXT_INPUT, config));
+    }
+
+    @Test
+    void checkboxOptionsWithoutAValueAreSkipped() {
+        Form form = Form.builder().id(UUID.randomUUID()).name("Options").build();
+        FormPage page = FormPage.builder().id(UUID.randomUUID()).form(form).pageNumber(0).build();
+        FormElement checkboxes = FormElement.builder()
+                .id(UUID.randomUUID())
+                .form(form)
+                .page(page)
+                .type(ElementType.CHECKBOX_GROUP)
+                .label("Markers")
+                .fieldName("markers")
+                .configuration(ElementConfiguration.builder()
+                        .options(List.of(new ElementConfiguration.Option("GFP", "gfp"),
+                                new ElementConfiguration.Option("Blank", null)))
+                        .build())
+                .build();
+        ValidationPlan plan = ValidationPlan.compile(new FormGraph(form, List.of(page), List.of(checkboxes)),
+                new PatternSafety(new SimpleMeterRegistry(), 100_000), ParallelValidation.sequential());
+
+        Assertions.assertTrue(plan.validate(Map.of("markers", List.of("gfp")), false).isEmpty());
+        Assertions.assertEquals(List.of("/markers/0"),
+                plan.validate(Map.of("markers", List.of("rfp")), false).getErrors().stream()
+                        .map(ValidationError::getPointer).toList());
+    }
+}
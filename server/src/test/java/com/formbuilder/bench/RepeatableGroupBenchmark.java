@@ -0,0 +1,65 @@
+package com.formbuilder.bench;
+
+import com.formbuilder.form.FormGraph;
+import com.formbuilder.validation.ParallelValidation;
+import com.formbuilder.validation.PatternSafety;
+import com.formbuilder.validation.ValidationErrors;
+import com.formbuilder.validation.ValidationPlan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential vs. fork-join validation of the zebrafish form's {@code mutations} group, to pick
+ * {@code validation.parallel.threshold}: the instance count where {@code parallel} overtakes
+ * {@code sequential} on the target hardware.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="RepeatableGroupBenchmark -f 0"}; exec:java runs in Maven's JVM,
+ * whose class path a forked benchmark JVM would not see.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepeatableGroupBenchmark {
+
+    @Param({"8", "32", "64", "128", "512", "2048"})
+    private int instances;
+
+    private ParallelValidation parallelValidation;
+    private ValidationPlan sequentialPlan;
+    private ValidationPlan parallelPlan;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setup() throws IOException {
+        FormGraph graph = ZebrafishFixture.graph();
+        PatternSafety patternSafety = new PatternSafety(new SimpleMeterRegistry(), 1_000_000);
+        // Threshold 1 forces the pool on every list so the crossover shows in the results
+        parallelValidation = new ParallelValidation(1, 0);
+        sequentialPlan = ValidationPlan.compile(graph, patternSafety, ParallelValidation.sequential());
+        parallelPlan = ValidationPlan.compile(graph, patternSafety, parallelValidation);
+        data = ZebrafishFixture.submission(instances);
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelValidation.destroy();
+    }
+
+    @Benchmark
+    public ValidationErrors sequential() {
+        return sequentialPlan.validate(data, false);
+    }
+
+    @Benchmark
+    public ValidationErrors parallel() {
+        return parallelPlan.validate(data, false);
+    }
+}
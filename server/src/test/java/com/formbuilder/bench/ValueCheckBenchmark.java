@@ -0,0 +1,134 @@
+package com.formbuilder.bench;
+
+import com.formbuilder.element.ElementConfiguration;
+import com.formbuilder.element.ElementType;
+import com.formbuilder.element.FormElement;
+import com.formbuilder.validation.ValueCheck;
+import com.formbuilder.validation.ValueChecks;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Typed value checks against the straightforward alternatives: a regex for emails,
+ * {@code LocalDate.parse} with a catch for dates, {@code Double.valueOf(toString())} for numbers
+ * and a scan of the option list. Each input set mixes valid and invalid values.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="ValueCheckBenchmark -f 0"}; exec:java runs in Maven's JVM,
+ * whose class path a forked benchmark JVM would not see.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueCheckBenchmark {
+
+    private static final Pattern EMAIL_REGEX = Pattern.compile("^[\\w.!#$%&'*+/=?^`{|}~-]+@[\\w-]+(\\.[\\w-]+)+$");
+
+    private final Object[] numbers = {42, "17.5", "-3", "ten", 1e3, "1e-2", "", "12abc"};
+    private final String[] emails = {"a@b.co", "first.last+tag@sub.example.org", "not-an-email", "a@b", "x@y.io"};
+    private final String[] dates = {"2024-02-29", "2023-02-29", "1999-12-31", "31/12/1999", "2023-13-01"};
+    private final String[] options = {"opt_3", "opt_17", "missing", "opt_0", "other"};
+
+    private ValueCheck numberCheck;
+    private ValueCheck emailCheck;
+    private ValueCheck dateCheck;
+    private ValueCheck optionCheck;
+    private List<String> optionValues;
+
+    @Setup
+    public void setup() {
+        optionValues = IntStream.range(0, 20).mapToObj(i -> "opt_" + i).toList();
+        ElementConfiguration optionConfig = ElementConfiguration.builder()
+                .options(optionValues.stream().map(v -> new ElementConfiguration.Option(v, v)).toList())
+                .build();
+
+        numberCheck = check(ElementType.NUMBER, ElementConfiguration.builder().min(0.0).max(100.0).build());
+        emailCheck = check(ElementType.EMAIL, new ElementConfiguration());
+        dateCheck = check(ElementType.DATE, new ElementConfiguration());
+        optionCheck = check(ElementType.RADIO_GROUP, optionConfig);
+    }
+
+    private static ValueCheck check(ElementType type, ElementConfiguration config) {
+        return ValueChecks.forElement(FormElement.builder().type(type).configuration(config).build());
+    }
+
+    @Benchmark
+    public void numberTyped(Blackhole bh) {
+        for (Object value : numbers) {
+            bh.consume(numberCheck.check(value));
+        }
+    }
+
+    @Benchmark
+    public void numberBoxed(Blackhole bh) {
+        for (Object value : numbers) {
+            String error;
+            try {
+                Double number = Double.valueOf(value.toString());
+                error = number < 0 ? "min" : number > 100 ? "max" : null;
+            } catch (NumberFormatException e) {
+                error = "nan";
+            }
+            bh.consume(error);
+        }
+    }
+
+    @Benchmark
+    public void emailScanner(Blackhole bh) {
+        for (String value : emails) {
+            bh.consume(emailCheck.check(value));
+        }
+    }
+
+    @Benchmark
+    public void emailRegex(Blackhole bh) {
+        for (String value : emails) {
+            bh.consume(EMAIL_REGEX.matcher(value).matches());
+        }
+    }
+
+    @Benchmark
+    public void dateScanner(Blackhole bh) {
+        for (String value : dates) {
+            bh.consume(dateCheck.check(value));
+        }
+    }
+
+    @Benchmark
+    public void dateParse(Blackhole bh) {
+        for (String value : dates) {
+            boolean valid;
+            try {
+                LocalDate.parse(value);
+                valid = true;
+            } catch (DateTimeParseException e) {
+                valid = false;
+            }
+            bh.consume(valid);
+        }
+    }
+
+    @Benchmark
+    public void optionHash(Blackhole bh) {
+        for (String value : options) {
+            bh.consume(optionCheck.check(value));
+        }
+    }
+
+    @Benchmark
+    public void optionScan(Blackhole bh) {
+        for (String value : options) {
+            bh.consume(optionValues.contains(value));
+        }
+    }
+}
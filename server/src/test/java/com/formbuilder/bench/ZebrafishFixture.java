@@ -0,0 +1,93 @@
+package com.formbuilder.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formbuilder.element.FormElement;
+import com.formbuilder.form.Form;
+import com.formbuilder.form.FormDTO;
+import com.formbuilder.form.FormGraph;
+import com.formbuilder.page.FormPage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The zebrafish example form as an in-memory {@link FormGraph}, plus submissions of any size,
+ * for benchmarks and tests that exercise validation without a database.
+ */
+public final class ZebrafishFixture {
+
+    private ZebrafishFixture() {
+    }
+
+    public static FormGraph graph() throws IOException {
+        FormDTO.ImportRequest request = new ObjectMapper().readValue(
+                Files.readString(Path.of("../examples/zebrafish-line-submission.json")), FormDTO.ImportRequest.class);
+
+        Form form = Form.builder().id(UUID.randomUUID()).name(request.getName()).build();
+        FormPage page = FormPage.builder().id(UUID.randomUUID()).form(form).pageNumber(0).build();
+        List<FormElement> elements = new ArrayList<>();
+        for (FormDTO.ExportElement element : request.getElements()) {
+            addElement(element, form, page, null, elements);
+        }
+        return new FormGraph(form, List.of(page), elements);
+    }
+
+    private static void addElement(FormDTO.ExportElement exported, Form form, FormPage page, FormElement parent,
+                                   List<FormElement> elements) {
+        FormElement element = FormElement.builder()
+                .id(UUID.randomUUID())
+                .form(form)
+                .page(page)
+                .parentElement(parent)
+                .type(exported.getType())
+                .label(exported.getLabel())
+                .fieldName(exported.getFieldName())
+                .sortOrder(exported.getSortOrder())
+                .configuration(exported.getConfiguration())
+                .build();
+        elements.add(element);
+        if (exported.getChildren() != null) {
+            for (FormDTO.ExportElement child : exported.getChildren()) {
+                addElement(child, form, page, element, elements);
+            }
+        }
+    }
+
+    /** A submission with {@code mutations} mutation instances; every fifth one has invalid values. */
+    public static Map<String, Object> submission(int mutations) {
+        List<Object> instances = new ArrayList<>();
+        for (int i = 0; i < mutations; i++) {
+            boolean invalid = i % 5 == 4;
+            Map<String, Object> mutation = new HashMap<>();
+            mutation.put("allele_designation", "zf" + i);
+            mutation.put("mutagenesis_protocol", "ENU");
+            mutation.put("mutation_molecularly_characterized", "yes");
+            mutation.put("genes", invalid ? "unknown" : List.of(
+                    Map.of("mutated_gene", "gene" + i, "linkage_group", "LG" + (i % 25)),
+                    Map.of("mutated_gene", "gene" + i + "b", "genbank_cdna", "NM_" + i)));
+            mutation.put("lesions", List.of(
+                    Map.of("lesion_type", "point_mutation", "indel_deletion_size", 10),
+                    Map.of("lesion_type", "point_mutation", "wt_genomic_sequence", "ACGTACGT")));
+            mutation.put("genotyping_assays", List.of(
+                    Map.of("assay_type", "pcr_gel", "forward_primer", "ACGT", "reverse_primer", "TGCA")));
+            mutation.put("phenotypes", List.of(
+                    Map.of("phenotype_description", "curly tail", "hours_post_fertilization", 48,
+                            "segregation", List.of(invalid ? "sometimes" : "mendelian_recessive"),
+                            "non_mendelian_percentage", 25)));
+            mutation.put("publications", List.of("PMID:" + i));
+            instances.add(mutation);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("line_name", "line");
+        data.put("line_abbreviation", "ln");
+        data.put("mutations", instances);
+        return data;
+    }
+}